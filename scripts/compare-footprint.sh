@@ -0,0 +1,59 @@
+#!/usr/bin/env sh
+# Compares time-to-first-request and resident memory of the JVM jar and the native executable.
+#
+#   mvn -Pnative native:compile        # builds target/mobile-banking-api
+#   mvn package                        # builds target/mobile-banking-api-1.0.0.jar
+#   scripts/compare-footprint.sh
+#
+# Each binary is started on its own port, GET /api/users is polled until it answers,
+# and RSS is sampled once after startup and again after a short burst of requests.
+
+set -eu
+
+JAR=${JAR:-target/mobile-banking-api-1.0.0.jar}
+NATIVE=${NATIVE:-target/mobile-banking-api}
+REQUESTS=${REQUESTS:-200}
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    ps -o rss= -p "$1" | tr -d ' '
+}
+
+measure() {
+    label=$1
+    port=$2
+    shift 2
+
+    start=$(now_ms)
+    "$@" --server.port="$port" --spring.jpa.show-sql=false > "target/footprint-$label.log" 2>&1 &
+    pid=$!
+
+    until curl -sf "http://localhost:$port/api/users" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$label exited during startup, see target/footprint-$label.log" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    ready=$(now_ms)
+    idle_rss=$(rss_kb "$pid")
+
+    i=0
+    while [ "$i" -lt "$REQUESTS" ]; do
+        curl -sf "http://localhost:$port/api/users" > /dev/null
+        i=$((i + 1))
+    done
+    busy_rss=$(rss_kb "$pid")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    printf '%-8s first request %6d ms   RSS idle %7d KB   RSS after %d requests %7d KB\n' \
+        "$label" $((ready - start)) "$idle_rss" "$REQUESTS" "$busy_rss"
+}
+
+measure jvm 18083 java -jar "$JAR"
+measure native 18084 "$NATIVE"
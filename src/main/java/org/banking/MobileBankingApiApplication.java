@@ -6,14 +6,24 @@
  */
 package org.banking;
 
+import org.banking.config.BankingRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "org.banking")
+@EnableScheduling
+@ImportRuntimeHints(BankingRuntimeHints.class)
 public class MobileBankingApiApplication {
     public static void main(String[] args) {
-        SpringApplication.run(MobileBankingApiApplication.class, args);
+        SpringApplication application = new SpringApplication(MobileBankingApiApplication.class);
+        if (Boolean.getBoolean("banking.startup.record-steps")) {
+            application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        }
+        application.run(args);
     }
-}
\ No newline at end of file
+}
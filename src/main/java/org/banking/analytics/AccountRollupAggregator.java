@@ -0,0 +1,315 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.analytics;
+
+import org.banking.event.TransactionPostedEvent;
+import org.banking.exception.ResourceNotFoundException;
+import org.banking.model.AccountRollup;
+import org.banking.model.AccountRollup.Granularity;
+import org.banking.model.Transaction;
+import org.banking.repository.AccountRepository;
+import org.banking.repository.AccountRollupRepository;
+import org.banking.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Maintains hourly and daily per-account posting rollups. Committed postings are added to
+ * in-memory deltas keyed by a packed (account id, bucket index) long and flushed on a
+ * schedule as additive upserts into {@code account_rollups}, so a burst of postings to one
+ * account costs one row update per bucket rather than one per posting. Reads merge the
+ * flushed rows with the pending deltas and never touch the transactions table.
+ * <p>
+ * Deltas not yet flushed are lost if the process stops; {@link #rebuildFromHistory()}
+ * recomputes every account's rollups from its transaction history in parallel.
+ */
+@Component
+public class AccountRollupAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountRollupAggregator.class);
+
+    private static final int BUCKET_BITS = 24;
+    private static final long BUCKET_MASK = (1L << BUCKET_BITS) - 1;
+
+    private static final String UPDATE_SQL = "UPDATE account_rollups SET "
+            + "credit_total = credit_total + ?, credit_count = credit_count + ?, "
+            + "debit_total = debit_total + ?, debit_count = debit_count + ?, fee_total = fee_total + ?, "
+            + "deposit_total = deposit_total + ?, withdrawal_total = withdrawal_total + ?, "
+            + "transfer_total = transfer_total + ?, payment_total = payment_total + ? "
+            + "WHERE account_id = ? AND granularity = ? AND bucket_start = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO account_rollups "
+            + "(credit_total, credit_count, debit_total, debit_count, fee_total, "
+            + "deposit_total, withdrawal_total, transfer_total, payment_total, "
+            + "account_id, granularity, bucket_start) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccountRollupRepository accountRollupRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Value("${banking.analytics.rebuild-threads:4}")
+    private int rebuildThreads;
+
+    @Value("${banking.analytics.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private final Map<Granularity, ConcurrentHashMap<Long, RollupDelta>> pending = newRollups(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    @TransactionalEventListener
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        accumulate(pending, null,
+                event.fromAccount().id(),
+                event.toAccount() != null ? event.toAccount().id() : null,
+                event.transactionType(), event.amount(), event.fee(), event.credited(),
+                event.createdAt() != null ? event.createdAt() : LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${banking.analytics.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        Map<Granularity, Map<Long, RollupDelta>> drained = newRollups(new HashMap<>(), new HashMap<>());
+        int buckets = 0;
+        for (Granularity granularity : Granularity.values()) {
+            ConcurrentHashMap<Long, RollupDelta> deltas = pending.get(granularity);
+            for (Long key : deltas.keySet()) {
+                RollupDelta delta = deltas.remove(key);
+                if (delta != null) {
+                    drained.get(granularity).put(key, delta);
+                    buckets++;
+                }
+            }
+        }
+        if (buckets == 0) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(drained));
+            return buckets;
+        } catch (RuntimeException e) {
+            log.warn("Flushing {} rollup buckets failed, retrying on next flush", buckets, e);
+            drained.forEach((granularity, deltas) -> deltas.forEach((key, delta) ->
+                    pending.get(granularity).merge(key, delta, RollupDelta::merge)));
+            return 0;
+        }
+    }
+
+    /**
+     * Rollups for one account between {@code from} and {@code to}, keyed by bucket start.
+     * Buckets without postings are left out.
+     */
+    public SortedMap<LocalDateTime, RollupDelta> getRollups(Long accountId, Granularity granularity,
+                                                            LocalDateTime from, LocalDateTime to) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new ResourceNotFoundException("Account not found with id: " + accountId);
+        }
+        long fromIndex = bucketIndex(granularity, from);
+        long toIndex = bucketIndex(granularity, to);
+
+        SortedMap<LocalDateTime, RollupDelta> rollups = new TreeMap<>();
+        for (AccountRollup row : accountRollupRepository.findByAccountIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+                accountId, granularity, bucketStart(granularity, fromIndex), bucketStart(granularity, toIndex))) {
+            rollups.put(row.getBucketStart(), RollupDelta.of(row));
+        }
+        pending.get(granularity).forEach((key, ignored) -> {
+            long bucket = key & BUCKET_MASK;
+            if ((key >>> BUCKET_BITS) == accountId && bucket >= fromIndex && bucket <= toIndex) {
+                pending.get(granularity).computeIfPresent(key, (k, delta) -> {
+                    rollups.merge(bucketStart(granularity, bucket), delta.copy(), RollupDelta::merge);
+                    return delta;
+                });
+            }
+        });
+        return rollups;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildFromHistory();
+        }
+    }
+
+    /**
+     * Recomputes every account's rollups from its transaction history, one account per task
+     * on {@code banking.analytics.rebuild-threads} workers. Pending deltas are dropped since
+     * the history already contains them, so run it before postings are accepted.
+     */
+    public synchronized int rebuildFromHistory() {
+        pending.values().forEach(Map::clear);
+        List<Long> accountIds = accountRepository.findAllIds();
+        long started = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, rebuildThreads));
+        try {
+            List<Future<Integer>> results = new ArrayList<>(accountIds.size());
+            for (Long accountId : accountIds) {
+                results.add(workers.submit(() -> rebuildAccount(accountId)));
+            }
+            int postings = 0;
+            for (Future<Integer> result : results) {
+                postings += result.get();
+            }
+            log.info("Rebuilt rollups for {} accounts from {} postings in {} ms", accountIds.size(), postings,
+                    (System.nanoTime() - started) / 1_000_000);
+            return postings;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rollup rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollup rebuild failed", e.getCause());
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private int rebuildAccount(Long accountId) {
+        Integer postings = transactionTemplate.execute(status -> {
+            Map<Granularity, Map<Long, RollupDelta>> rollups = newRollups(new HashMap<>(), new HashMap<>());
+            int count = 0;
+            for (Transaction transaction : transactionService.getTransactionsByAccountId(accountId, null, null)) {
+                if (transaction.getStatus() != Transaction.TransactionStatus.COMPLETED) {
+                    continue;
+                }
+                accumulate(rollups, accountId,
+                        transaction.getFromAccount().getId(),
+                        transaction.getToAccount() != null ? transaction.getToAccount().getId() : null,
+                        transaction.getTransactionType(), transaction.getAmount(), transaction.getFee(),
+                        transaction.getCreditedAmount() != null ? transaction.getCreditedAmount() : transaction.getAmount(),
+                        transaction.getCreatedAt());
+                count++;
+            }
+            jdbcTemplate.update("DELETE FROM account_rollups WHERE account_id = ?", accountId);
+            List<Object[]> rows = new ArrayList<>();
+            rollups.forEach((granularity, deltas) -> deltas.forEach((key, delta) -> rows.add(row(granularity, key, delta))));
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            return count;
+        });
+        return postings != null ? postings : 0;
+    }
+
+    private void upsert(Map<Granularity, Map<Long, RollupDelta>> drained) {
+        List<Object[]> rows = new ArrayList<>();
+        drained.forEach((granularity, deltas) -> deltas.forEach((key, delta) -> rows.add(row(granularity, key, delta))));
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                inserts.add(rows.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+    }
+
+    private static Object[] row(Granularity granularity, long key, RollupDelta delta) {
+        long bucket = key & BUCKET_MASK;
+        return new Object[]{
+                delta.getCreditTotal(), delta.getCreditCount(),
+                delta.getDebitTotal(), delta.getDebitCount(), delta.getFeeTotal(),
+                delta.getTypeTotal(Transaction.TransactionType.DEPOSIT),
+                delta.getTypeTotal(Transaction.TransactionType.WITHDRAWAL),
+                delta.getTypeTotal(Transaction.TransactionType.TRANSFER),
+                delta.getTypeTotal(Transaction.TransactionType.PAYMENT),
+                key >>> BUCKET_BITS, granularity.name(), bucketStart(granularity, bucket)
+        };
+    }
+
+    /**
+     * Adds one posting to the rollups of the accounts it touches, or only to
+     * {@code accountFilter}'s when rebuilding a single account. A transfer's to account is
+     * credited {@code credited}, which is in its own currency.
+     */
+    private static void accumulate(Map<Granularity, ? extends Map<Long, RollupDelta>> rollups, Long accountFilter,
+                                   Long fromAccountId, Long toAccountId, Transaction.TransactionType type,
+                                   BigDecimal amount, BigDecimal fee, BigDecimal credited, LocalDateTime at) {
+        long amountCents = RollupDelta.cents(amount);
+        if (accountFilter == null || accountFilter.equals(fromAccountId)) {
+            if (type == Transaction.TransactionType.DEPOSIT) {
+                add(rollups, fromAccountId, at, delta -> delta.credit(type, amountCents));
+            } else {
+                long feeCents = RollupDelta.cents(fee);
+                add(rollups, fromAccountId, at, delta -> delta.debit(type, amountCents, feeCents));
+            }
+        }
+        if (toAccountId != null && (accountFilter == null || accountFilter.equals(toAccountId))) {
+            long creditedCents = RollupDelta.cents(credited);
+            add(rollups, toAccountId, at, delta -> delta.credit(type, creditedCents));
+        }
+    }
+
+    private static void add(Map<Granularity, ? extends Map<Long, RollupDelta>> rollups, Long accountId,
+                            LocalDateTime at, Consumer<RollupDelta> change) {
+        for (Granularity granularity : Granularity.values()) {
+            long key = (accountId << BUCKET_BITS) | bucketIndex(granularity, at);
+            rollups.get(granularity).compute(key, (k, delta) -> {
+                RollupDelta target = delta != null ? delta : new RollupDelta();
+                change.accept(target);
+                return target;
+            });
+        }
+    }
+
+    static long bucketIndex(Granularity granularity, LocalDateTime at) {
+        return switch (granularity) {
+            case HOUR -> Math.floorDiv(at.toEpochSecond(ZoneOffset.UTC), 3600L);
+            case DAY -> at.toLocalDate().toEpochDay();
+        };
+    }
+
+    static LocalDateTime bucketStart(Granularity granularity, long bucket) {
+        return switch (granularity) {
+            case HOUR -> LocalDateTime.ofEpochSecond(bucket * 3600L, 0, ZoneOffset.UTC);
+            case DAY -> LocalDateTime.ofEpochSecond(bucket * 86_400L, 0, ZoneOffset.UTC);
+        };
+    }
+
+    private static <M extends Map<Long, RollupDelta>> Map<Granularity, M> newRollups(M hourly, M daily) {
+        Map<Granularity, M> rollups = new EnumMap<>(Granularity.class);
+        rollups.put(Granularity.HOUR, hourly);
+        rollups.put(Granularity.DAY, daily);
+        return rollups;
+    }
+}
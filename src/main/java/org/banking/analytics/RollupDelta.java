@@ -0,0 +1,100 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.analytics;
+
+import org.banking.model.AccountRollup;
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Mutable rollup totals in cents. Used for pending, not yet flushed, increments and for
+ * merging flushed rows with them on read. Not thread-safe; callers confine an instance to
+ * one map entry and mutate it under that entry's lock.
+ */
+public final class RollupDelta {
+
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private long creditCents;
+    private long creditCount;
+    private long debitCents;
+    private long debitCount;
+    private long feeCents;
+    private final long[] typeCents = new long[TYPES.length];
+
+    public static RollupDelta of(AccountRollup rollup) {
+        RollupDelta delta = new RollupDelta();
+        delta.creditCents = cents(rollup.getCreditTotal());
+        delta.creditCount = rollup.getCreditCount();
+        delta.debitCents = cents(rollup.getDebitTotal());
+        delta.debitCount = rollup.getDebitCount();
+        delta.feeCents = cents(rollup.getFeeTotal());
+        for (Transaction.TransactionType type : TYPES) {
+            delta.typeCents[type.ordinal()] = cents(rollup.getTypeTotal(type));
+        }
+        return delta;
+    }
+
+    static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    void credit(Transaction.TransactionType type, long amountCents) {
+        creditCents += amountCents;
+        creditCount++;
+        typeCents[type.ordinal()] += amountCents;
+    }
+
+    void debit(Transaction.TransactionType type, long amountCents, long feeCents) {
+        debitCents += amountCents;
+        debitCount++;
+        this.feeCents += feeCents;
+        typeCents[type.ordinal()] += amountCents;
+    }
+
+    public RollupDelta merge(RollupDelta other) {
+        creditCents += other.creditCents;
+        creditCount += other.creditCount;
+        debitCents += other.debitCents;
+        debitCount += other.debitCount;
+        feeCents += other.feeCents;
+        for (int i = 0; i < typeCents.length; i++) {
+            typeCents[i] += other.typeCents[i];
+        }
+        return this;
+    }
+
+    RollupDelta copy() {
+        return new RollupDelta().merge(this);
+    }
+
+    public BigDecimal getCreditTotal() {
+        return BigDecimal.valueOf(creditCents, 2);
+    }
+
+    public long getCreditCount() {
+        return creditCount;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return BigDecimal.valueOf(debitCents, 2);
+    }
+
+    public long getDebitCount() {
+        return debitCount;
+    }
+
+    public BigDecimal getFeeTotal() {
+        return BigDecimal.valueOf(feeCents, 2);
+    }
+
+    public BigDecimal getTypeTotal(Transaction.TransactionType type) {
+        return BigDecimal.valueOf(typeCents[type.ordinal()], 2);
+    }
+}
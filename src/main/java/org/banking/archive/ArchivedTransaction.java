@@ -0,0 +1,51 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.archive;
+
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ArchivedTransaction(long id,
+                                  String transactionReference,
+                                  long fromAccountId,
+                                  Long toAccountId,
+                                  BigDecimal amount,
+                                  Transaction.TransactionType transactionType,
+                                  Transaction.TransactionStatus status,
+                                  String description,
+                                  BigDecimal fee,
+                                  String currency,
+                                  BigDecimal creditedAmount,
+                                  BigDecimal fxRate,
+                                  LocalDateTime createdAt,
+                                  LocalDateTime processedAt) {
+
+    public static ArchivedTransaction of(Transaction transaction) {
+        return new ArchivedTransaction(
+                transaction.getId(),
+                transaction.getTransactionReference(),
+                transaction.getFromAccount().getId(),
+                transaction.getToAccount() != null ? transaction.getToAccount().getId() : null,
+                transaction.getAmount(),
+                transaction.getTransactionType(),
+                transaction.getStatus(),
+                transaction.getDescription(),
+                transaction.getFee() != null ? transaction.getFee() : BigDecimal.ZERO,
+                transaction.getCurrency(),
+                transaction.getCreditedAmount(),
+                transaction.getFxRate(),
+                transaction.getCreatedAt(),
+                transaction.getProcessedAt()
+        );
+    }
+
+    public boolean involves(long accountId) {
+        return fromAccountId == accountId || (toAccountId != null && toAccountId == accountId);
+    }
+}
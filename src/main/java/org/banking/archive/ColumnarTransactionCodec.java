@@ -0,0 +1,227 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.archive;
+
+import org.banking.model.Transaction;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip-compressed column-major encoding of archived transactions. Each column is written
+ * as one contiguous block, so similar values (ids, account ids, enum ordinals) sit next
+ * to each other and compress far better than row-by-row JSON or CSV.
+ * <p>
+ * Version 2 added the currency, credited amount and FX rate columns. Version 1 files are
+ * still read, with those columns empty.
+ */
+public final class ColumnarTransactionCodec {
+
+    private static final int MAGIC = 0x54584E43;
+    private static final int VERSION = 2;
+    private static final long NO_ACCOUNT = -1L;
+    private static final long NO_AMOUNT = -1L;
+
+    private ColumnarTransactionCodec() {
+    }
+
+    public static void write(List<ArchivedTransaction> rows, OutputStream target) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(target, 64 * 1024);
+        DataOutputStream out = new DataOutputStream(gzip);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(rows.size());
+
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(row.id());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeUTF(row.transactionReference());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(row.fromAccountId());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(row.toAccountId() != null ? row.toAccountId() : NO_ACCOUNT);
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(toCents(row.amount()));
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(toCents(row.fee()));
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeByte(row.transactionType().ordinal());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeByte(row.status().ordinal());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeBoolean(row.description() != null);
+            if (row.description() != null) {
+                out.writeUTF(row.description());
+            }
+        }
+        for (ArchivedTransaction row : rows) {
+            writeOptionalString(out, row.currency());
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeLong(row.creditedAmount() != null ? toCents(row.creditedAmount()) : NO_AMOUNT);
+        }
+        for (ArchivedTransaction row : rows) {
+            writeOptionalString(out, row.fxRate() != null ? row.fxRate().toPlainString() : null);
+        }
+        for (ArchivedTransaction row : rows) {
+            writeTimestamp(out, row.createdAt());
+        }
+        for (ArchivedTransaction row : rows) {
+            writeTimestamp(out, row.processedAt());
+        }
+
+        out.flush();
+        gzip.finish();
+    }
+
+    public static List<ArchivedTransaction> read(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(new GZIPInputStream(source, 64 * 1024));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a transaction archive file");
+        }
+        int version = in.readInt();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported transaction archive version: " + version);
+        }
+        int count = in.readInt();
+
+        long[] ids = new long[count];
+        String[] references = new String[count];
+        long[] fromAccounts = new long[count];
+        long[] toAccounts = new long[count];
+        long[] amounts = new long[count];
+        long[] fees = new long[count];
+        byte[] types = new byte[count];
+        byte[] statuses = new byte[count];
+        String[] descriptions = new String[count];
+        String[] currencies = new String[count];
+        long[] creditedAmounts = new long[count];
+        String[] fxRates = new String[count];
+        LocalDateTime[] createdAt = new LocalDateTime[count];
+        LocalDateTime[] processedAt = new LocalDateTime[count];
+
+        for (int i = 0; i < count; i++) {
+            ids[i] = in.readLong();
+        }
+        for (int i = 0; i < count; i++) {
+            references[i] = in.readUTF();
+        }
+        for (int i = 0; i < count; i++) {
+            fromAccounts[i] = in.readLong();
+        }
+        for (int i = 0; i < count; i++) {
+            toAccounts[i] = in.readLong();
+        }
+        for (int i = 0; i < count; i++) {
+            amounts[i] = in.readLong();
+        }
+        for (int i = 0; i < count; i++) {
+            fees[i] = in.readLong();
+        }
+        in.readFully(types);
+        in.readFully(statuses);
+        for (int i = 0; i < count; i++) {
+            descriptions[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        Arrays.fill(creditedAmounts, NO_AMOUNT);
+        if (version >= 2) {
+            for (int i = 0; i < count; i++) {
+                currencies[i] = readOptionalString(in);
+            }
+            for (int i = 0; i < count; i++) {
+                creditedAmounts[i] = in.readLong();
+            }
+            for (int i = 0; i < count; i++) {
+                fxRates[i] = readOptionalString(in);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            createdAt[i] = readTimestamp(in);
+        }
+        for (int i = 0; i < count; i++) {
+            processedAt[i] = readTimestamp(in);
+        }
+
+        Transaction.TransactionType[] typeValues = Transaction.TransactionType.values();
+        Transaction.TransactionStatus[] statusValues = Transaction.TransactionStatus.values();
+        List<ArchivedTransaction> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new ArchivedTransaction(
+                    ids[i],
+                    references[i],
+                    fromAccounts[i],
+                    toAccounts[i] == NO_ACCOUNT ? null : toAccounts[i],
+                    BigDecimal.valueOf(amounts[i], 2),
+                    typeValues[types[i]],
+                    statusValues[statuses[i]],
+                    descriptions[i],
+                    BigDecimal.valueOf(fees[i], 2),
+                    currencies[i],
+                    creditedAmounts[i] == NO_AMOUNT ? null : BigDecimal.valueOf(creditedAmounts[i], 2),
+                    fxRates[i] != null ? new BigDecimal(fxRates[i]) : null,
+                    createdAt[i],
+                    processedAt[i]
+            ));
+        }
+        return rows;
+    }
+
+    private static long toCents(BigDecimal value) {
+        if (value == null) {
+            return 0L;
+        }
+        return value.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static void writeOptionalString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptionalString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
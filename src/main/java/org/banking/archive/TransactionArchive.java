@@ -0,0 +1,259 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.archive;
+
+import jakarta.annotation.PostConstruct;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.LongStream;
+
+/**
+ * Cold tier for transactions: one compressed columnar file per calendar month, plus a
+ * small sidecar listing the accounts that appear in it. The sidecars are held in memory,
+ * so an account's history only decompresses the months that actually contain it.
+ */
+@Component
+public class TransactionArchive {
+
+    private static final String PREFIX = "transactions-";
+    private static final String SUFFIX = ".col.gz";
+    private static final String ACCOUNTS_SUFFIX = ".accounts";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${banking.archive.directory:./archive/transactions}")
+    private String directory;
+
+    private final NavigableSet<YearMonth> archivedMonths = new ConcurrentSkipListSet<>();
+
+    /** Sorted ids of the accounts with at least one row in each archived month. */
+    private final Map<YearMonth, long[]> accountsByMonth = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadIndex() throws IOException {
+        Path root = Paths.get(directory);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                YearMonth month = YearMonth.parse(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                accountsByMonth.put(month, loadAccounts(root, month));
+                archivedMonths.add(month);
+            }
+        }
+    }
+
+    /**
+     * Reads a month's account sidecar. Partitions written before sidecars existed (or whose
+     * sidecar was lost) are decompressed once here and get one written.
+     */
+    private long[] loadAccounts(Path root, YearMonth month) throws IOException {
+        Path sidecar = root.resolve(accountsFileName(month));
+        if (Files.exists(sidecar)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+                long[] accounts = new long[in.readInt()];
+                for (int i = 0; i < accounts.length; i++) {
+                    accounts[i] = in.readLong();
+                }
+                return accounts;
+            }
+        }
+        long[] accounts = accountIds(readMonth(month));
+        writeAtomically(root, accountsFileName(month), out -> writeAccounts(accounts, out));
+        return accounts;
+    }
+
+    public NavigableSet<YearMonth> getArchivedMonths() {
+        return archivedMonths;
+    }
+
+    /**
+     * Writes a month partition, merging with any file left behind by an earlier run that
+     * was interrupted before the hot rows were deleted. The file is synced and moved into
+     * place atomically, so readers never see a partial partition. The account sidecar is
+     * replaced first: a merged partition only adds accounts, so a crash in between leaves
+     * a sidecar that lists too many accounts, never too few.
+     */
+    public synchronized void writeMonth(YearMonth month, List<ArchivedTransaction> rows) {
+        Map<Long, ArchivedTransaction> merged = new LinkedHashMap<>();
+        if (archivedMonths.contains(month)) {
+            readMonth(month).forEach(row -> merged.put(row.id(), row));
+        }
+        rows.forEach(row -> merged.put(row.id(), row));
+
+        List<ArchivedTransaction> ordered = new ArrayList<>(merged.values());
+        ordered.sort(Comparator.comparingLong(ArchivedTransaction::id));
+
+        long[] accounts = accountIds(ordered);
+        try {
+            Path root = Files.createDirectories(Paths.get(directory));
+            writeAtomically(root, accountsFileName(month), out -> writeAccounts(accounts, out));
+            accountsByMonth.put(month, accounts);
+            writeAtomically(root, fileName(month), out -> ColumnarTransactionCodec.write(ordered, out));
+            archivedMonths.add(month);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive partition " + month, e);
+        }
+    }
+
+    private static void writeAtomically(Path root, String name, PartitionWriter writer) throws IOException {
+        Path target = root.resolve(name);
+        Path temp = root.resolve(name + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            writer.write(out);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeAccounts(long[] accounts, OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+        out.writeInt(accounts.length);
+        for (long account : accounts) {
+            out.writeLong(account);
+        }
+        out.flush();
+    }
+
+    private static long[] accountIds(List<ArchivedTransaction> rows) {
+        return rows.stream()
+                .flatMapToLong(row -> row.toAccountId() != null
+                        ? LongStream.of(row.fromAccountId(), row.toAccountId())
+                        : LongStream.of(row.fromAccountId()))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    public List<ArchivedTransaction> readMonth(YearMonth month) {
+        Path file = Paths.get(directory).resolve(fileName(month));
+        try (InputStream in = Files.newInputStream(file)) {
+            return ColumnarTransactionCodec.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive partition " + month, e);
+        }
+    }
+
+    public boolean covers(LocalDateTime from) {
+        return !archivedMonths.isEmpty() && !YearMonth.from(from).isAfter(archivedMonths.last());
+    }
+
+    /**
+     * Archived transactions of an account with {@code from <= createdAt < to}, newest first.
+     * Only the month partitions that overlap the range and contain the account are opened,
+     * so an open-ended range costs no more than the account's own months.
+     */
+    public List<Transaction> findByAccountBetween(long accountId, LocalDateTime from, LocalDateTime to) {
+        List<ArchivedTransaction> matches = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            return new ArrayList<>();
+        }
+        for (YearMonth month : archivedMonths.subSet(YearMonth.from(from), true, YearMonth.from(to), true)) {
+            long[] accounts = accountsByMonth.get(month);
+            if (accounts != null && Arrays.binarySearch(accounts, accountId) < 0) {
+                continue;
+            }
+            for (ArchivedTransaction row : readMonth(month)) {
+                if (row.involves(accountId) && !row.createdAt().isBefore(from) && row.createdAt().isBefore(to)) {
+                    matches.add(row);
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(ArchivedTransaction::createdAt).reversed());
+        return toTransactions(matches);
+    }
+
+    private List<Transaction> toTransactions(List<ArchivedTransaction> rows) {
+        Set<Long> accountIds = new HashSet<>();
+        for (ArchivedTransaction row : rows) {
+            accountIds.add(row.fromAccountId());
+            if (row.toAccountId() != null) {
+                accountIds.add(row.toAccountId());
+            }
+        }
+        Map<Long, Account> accounts = new HashMap<>();
+        if (!accountIds.isEmpty()) {
+            accountRepository.findAllById(accountIds).forEach(account -> accounts.put(account.getId(), account));
+        }
+
+        List<Transaction> transactions = new ArrayList<>(rows.size());
+        for (ArchivedTransaction row : rows) {
+            Transaction transaction = new Transaction(
+                    row.transactionReference(),
+                    accounts.get(row.fromAccountId()),
+                    row.toAccountId() != null ? accounts.get(row.toAccountId()) : null,
+                    row.amount(),
+                    row.transactionType(),
+                    row.description()
+            );
+            transaction.setId(row.id());
+            transaction.setStatus(row.status());
+            transaction.setFee(row.fee());
+            transaction.setCurrency(row.currency());
+            transaction.setCreditedAmount(row.creditedAmount());
+            transaction.setFxRate(row.fxRate());
+            transaction.setCreatedAt(row.createdAt());
+            transaction.setProcessedAt(row.processedAt());
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    private static String fileName(YearMonth month) {
+        return PREFIX + month + SUFFIX;
+    }
+
+    private static String accountsFileName(YearMonth month) {
+        return PREFIX + month + ACCOUNTS_SUFFIX;
+    }
+
+    @FunctionalInterface
+    private interface PartitionWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.archive;
+
+import jakarta.annotation.PostConstruct;
+import org.banking.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Moves monthly partitions of the transactions table that fall outside the retention
+ * window into {@link TransactionArchive}. A partition is deleted from the hot table only
+ * after its archive file has been written and synced, and only the rows that were written
+ * are deleted, so rows that land in the month afterwards (e.g. backdated journal postings)
+ * stay hot until the next run.
+ * <p>
+ * Reads and deletes go straight to the main database, so the archiver refuses to start
+ * when transactions are sharded.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.archive", name = "enabled", havingValue = "true")
+public class TransactionArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${banking.archive.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${banking.archive.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    @Value("${banking.sharding.enabled:false}")
+    private boolean shardingEnabled;
+
+    @PostConstruct
+    public void initialize() {
+        if (shardingEnabled) {
+            throw new IllegalStateException("The transaction archiver needs banking.sharding.enabled=false");
+        }
+    }
+
+    @Scheduled(cron = "${banking.archive.cron:0 30 2 * * *}")
+    public void archiveExpiredPartitions() {
+        archivePartitionsBefore(YearMonth.now().minusMonths(retentionMonths));
+    }
+
+    public synchronized int archivePartitionsBefore(YearMonth cutoff) {
+        LocalDateTime oldest = transactionRepository.findOldestCreatedAt();
+        if (oldest == null) {
+            return 0;
+        }
+
+        int archived = 0;
+        for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            LocalDateTime start = month.atDay(1).atStartOfDay();
+            LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+
+            List<ArchivedTransaction> rows = transactionTemplate.execute(status ->
+                    transactionRepository.findByCreatedAtRange(start, end).stream()
+                            .map(ArchivedTransaction::of)
+                            .toList());
+            if (rows == null || rows.isEmpty()) {
+                continue;
+            }
+
+            transactionArchive.writeMonth(month, rows);
+            int deleted = deleteArchived(rows);
+            log.info("Archived {} transactions for {} ({} removed from hot table)", rows.size(), month, deleted);
+            archived += rows.size();
+        }
+        return archived;
+    }
+
+    private int deleteArchived(List<ArchivedTransaction> rows) {
+        List<Long> ids = rows.stream().map(ArchivedTransaction::id).toList();
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += deleteBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + deleteBatchSize, ids.size()));
+            Integer count = transactionTemplate.execute(status -> transactionRepository.deleteByIdIn(chunk));
+            deleted += count != null ? count : 0;
+        }
+        return deleted;
+    }
+}
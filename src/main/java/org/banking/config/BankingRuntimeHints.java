@@ -0,0 +1,117 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.config;
+
+import org.banking.dto.AccountAnalyticsResponse;
+import org.banking.dto.AccountBalanceResponse;
+import org.banking.dto.AccountDto;
+import org.banking.dto.AccountResponse;
+import org.banking.dto.ReconciliationResponse;
+import org.banking.dto.StandingOrderDto;
+import org.banking.dto.StandingOrderResponse;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.TransactionResponse;
+import org.banking.dto.UserDto;
+import org.banking.dto.UserResponse;
+import org.banking.dto.UserSummaryResponse;
+import org.banking.dto.serializer.AccountAnalyticsResponseSerializer;
+import org.banking.dto.serializer.AccountBalanceResponseSerializer;
+import org.banking.dto.serializer.AccountResponseSerializer;
+import org.banking.dto.serializer.ReconciliationResponseSerializer;
+import org.banking.dto.serializer.StandingOrderResponseSerializer;
+import org.banking.dto.serializer.TransactionResponseSerializer;
+import org.banking.dto.serializer.UserResponseSerializer;
+import org.banking.dto.serializer.UserSummaryResponseSerializer;
+import org.banking.event.AccountChangedEvent;
+import org.banking.event.AccountSnapshot;
+import org.banking.event.TransactionPostedEvent;
+import org.banking.event.UserChangedEvent;
+import org.banking.exception.GlobalExceptionHandler;
+import org.banking.model.Account;
+import org.banking.model.OutboxEvent;
+import org.banking.model.ReconciliationRun;
+import org.banking.model.StandingOrder;
+import org.banking.model.Transaction;
+import org.banking.model.User;
+import org.banking.outbox.OutboxMessage;
+import org.banking.stream.AccountStreamEvent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection hints for native images. Spring AOT covers beans, repositories and the JPA
+ * managed types, but Jackson binds request bodies and writes responses, outbox payloads and
+ * stream events reflectively, so those types need their constructors, fields and accessors.
+ */
+public class BankingRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> JSON_TYPES = List.of(
+            User.class,
+            Account.class,
+            Account.AccountType.class,
+            Account.AccountStatus.class,
+            Transaction.class,
+            Transaction.TransactionType.class,
+            Transaction.TransactionStatus.class,
+            OutboxEvent.class,
+            StandingOrder.Frequency.class,
+            StandingOrder.Status.class,
+            ReconciliationRun.Mode.class,
+            UserDto.class,
+            AccountDto.class,
+            TransactionDto.class,
+            StandingOrderDto.class,
+            UserResponse.class,
+            AccountResponse.class,
+            TransactionResponse.class,
+            TransactionResponse.AccountRef.class,
+            UserSummaryResponse.class,
+            UserSummaryResponse.CurrencyBalances.class,
+            AccountAnalyticsResponse.class,
+            AccountAnalyticsResponse.Bucket.class,
+            AccountBalanceResponse.class,
+            StandingOrderResponse.class,
+            ReconciliationResponse.class,
+            ReconciliationResponse.Drift.class,
+            AccountSnapshot.class,
+            AccountChangedEvent.class,
+            AccountChangedEvent.ChangeType.class,
+            TransactionPostedEvent.class,
+            UserChangedEvent.class,
+            OutboxMessage.class,
+            AccountStreamEvent.class,
+            GlobalExceptionHandler.ErrorResponse.class
+    );
+
+    private static final List<Class<?>> SERIALIZERS = List.of(
+            UserResponseSerializer.class,
+            AccountResponseSerializer.class,
+            TransactionResponseSerializer.class,
+            UserSummaryResponseSerializer.class,
+            AccountAnalyticsResponseSerializer.class,
+            StandingOrderResponseSerializer.class,
+            ReconciliationResponseSerializer.class,
+            AccountBalanceResponseSerializer.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : JSON_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        for (Class<?> serializer : SERIALIZERS) {
+            hints.reflection().registerType(serializer, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern("fx-rates.csv");
+    }
+}
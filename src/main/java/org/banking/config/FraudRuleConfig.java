@@ -0,0 +1,58 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.banking.fraud.AmountSpikeRule;
+import org.banking.fraud.FraudRule;
+import org.banking.fraud.FraudRuleEngine;
+import org.banking.fraud.NewPayeeRule;
+import org.banking.fraud.VelocityRule;
+import org.banking.fx.Currencies;
+import org.banking.model.Transaction;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Configuration
+public class FraudRuleConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "banking.fraud.velocity", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public VelocityRule withdrawalVelocityRule(@Value("${banking.fraud.velocity.max-withdrawals:30}") int maxWithdrawals,
+                                               @Value("${banking.fraud.velocity.window-ms:60000}") long windowMillis) {
+        return new VelocityRule(Transaction.TransactionType.WITHDRAWAL, maxWithdrawals, windowMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "banking.fraud.amount-spike", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public AmountSpikeRule amountSpikeRule(@Value("${banking.fraud.amount-spike.multiplier:10}") double multiplier,
+                                           @Value("${banking.fraud.amount-spike.alpha:0.1}") double alpha,
+                                           @Value("${banking.fraud.amount-spike.min-samples:5}") long minSamples) {
+        return new AmountSpikeRule(multiplier, alpha, minSamples);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "banking.fraud.new-payee", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public NewPayeeRule newPayeeRule(@Value("${banking.fraud.new-payee.min-age-minutes:60}") long minAgeMinutes,
+                                     @Value("${banking.fraud.new-payee.min-amount:1000.00}") BigDecimal minAmount,
+                                     @Value("${banking.fraud.currency:USD}") String currency) {
+        return new NewPayeeRule(minAgeMinutes * 60_000,
+                minAmount.movePointRight(Currencies.fractionDigits(Currencies.normalize(currency)))
+                        .setScale(0, RoundingMode.HALF_EVEN).longValueExact());
+    }
+
+    @Bean
+    public FraudRuleEngine fraudRuleEngine(ObjectProvider<FraudRule> rules, MeterRegistry meterRegistry) {
+        return new FraudRuleEngine(rules.orderedStream().toList(), meterRegistry);
+    }
+}
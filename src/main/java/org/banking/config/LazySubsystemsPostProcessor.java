@@ -0,0 +1,56 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Defers creation of subsystems that are not on the request path (API docs and Swagger UI)
+ * until they are first used. Their handler mappings are still registered by type, so the
+ * first request to /v3/api-docs or /swagger-ui.html pays the initialization cost instead of
+ * every pod start.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.startup", name = "lazy-subsystems", havingValue = "true")
+public class LazySubsystemsPostProcessor implements BeanFactoryPostProcessor {
+
+    private static final List<String> LAZY_PACKAGES = List.of("org.springdoc.");
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE && isLazyCandidate(beanFactory, definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private boolean isLazyCandidate(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        String factoryBean = definition.getFactoryBeanName();
+        if (className == null && factoryBean != null && beanFactory.containsBeanDefinition(factoryBean)) {
+            className = beanFactory.getBeanDefinition(factoryBean).getBeanClassName();
+        }
+        if (className == null) {
+            return false;
+        }
+        for (String prefix : LAZY_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
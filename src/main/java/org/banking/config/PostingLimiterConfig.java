@@ -0,0 +1,41 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.banking.ratelimit.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+@Configuration
+public class PostingLimiterConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter postingLimiter(MeterRegistry meterRegistry,
+                                                     @Value("${banking.posting-limiter.initial-limit:10}") int initialLimit,
+                                                     @Value("${banking.posting-limiter.min-limit:4}") int minLimit,
+                                                     @Value("${banking.posting-limiter.max-limit:200}") int maxLimit,
+                                                     @Value("${banking.posting-limiter.max-queued:100}") int maxQueued,
+                                                     @Value("${banking.posting-limiter.queue-timeout-ms:100}") long queueTimeoutMillis,
+                                                     @Value("${banking.posting-limiter.probe-interval:1000}") int probeInterval) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                maxQueued, queueTimeoutMillis, probeInterval,
+                e -> e instanceof TransientDataAccessException || e instanceof CannotCreateTransactionException);
+        Gauge.builder("banking.posting.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("banking.posting.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        FunctionCounter.builder("banking.posting.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
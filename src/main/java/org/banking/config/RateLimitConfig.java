@@ -0,0 +1,57 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.banking.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnProperty(prefix = "banking.ratelimit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${banking.ratelimit.api-key-header:X-API-Key}") String apiKeyHeader,
+                                           @Value("${banking.ratelimit.api-keys:}") String[] apiKeys,
+                                           @Value("${banking.ratelimit.trusted-proxies:}") String[] trustedProxies,
+                                           @Value("${banking.ratelimit.read.tokens-per-second:200}") double readRate,
+                                           @Value("${banking.ratelimit.read.burst:400}") int readBurst,
+                                           @Value("${banking.ratelimit.write.tokens-per-second:50}") double writeRate,
+                                           @Value("${banking.ratelimit.write.burst:100}") int writeBurst,
+                                           @Value("${banking.ratelimit.max-in-flight:64}") int maxInFlight,
+                                           @Value("${banking.ratelimit.queue-timeout-ms:50}") long queueTimeoutMillis) {
+        return new RateLimitFilter(objectMapper, meterRegistry, apiKeyHeader,
+                nonBlank(apiKeys), nonBlank(trustedProxies),
+                new RateLimitFilter.Budget(readRate, readBurst),
+                new RateLimitFilter.Budget(writeRate, writeBurst),
+                maxInFlight, queueTimeoutMillis);
+    }
+
+    private static Set<String> nonBlank(String[] values) {
+        return Arrays.stream(values).map(String::strip).filter(value -> !value.isEmpty()).collect(Collectors.toSet());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Writes a heartbeat row on the primary and reads it back from the replica.
+ * Reads are only routed to the replica while its copy of the heartbeat is
+ * within {@code maxLagMillis} of the last one written.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable = false;
+    private volatile long lastObservedLagMillis = -1;
+    private long lastWrittenBeat = 0;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public void initialize() {
+        primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+    }
+
+    @Scheduled(fixedDelayString = "${banking.datasource.replica.heartbeat-interval-ms:1000}")
+    public synchronized void checkLag() {
+        long now = System.currentTimeMillis();
+        try {
+            List<Long> beats = replica.queryForList("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+            if (beats.isEmpty()) {
+                markUnusable("replica has no heartbeat yet");
+            } else {
+                long replicaBeat = beats.get(0);
+                long lag = replicaBeat >= lastWrittenBeat ? 0 : now - replicaBeat;
+                lastObservedLagMillis = lag;
+                if (lag > maxLagMillis) {
+                    markUnusable("replica lag " + lag + "ms exceeds " + maxLagMillis + "ms");
+                } else {
+                    replicaUsable = true;
+                }
+            }
+        } catch (Exception e) {
+            markUnusable("replica heartbeat query failed: " + e.getMessage());
+        }
+
+        writeBeat(now);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastObservedLagMillis() {
+        return lastObservedLagMillis;
+    }
+
+    private void writeBeat(long now) {
+        try {
+            int updated = primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", now);
+            if (updated == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", now);
+            }
+            lastWrittenBeat = now;
+        } catch (Exception e) {
+            log.warn("Could not write replica heartbeat on primary: {}", e.getMessage());
+        }
+    }
+
+    private void markUnusable(String reason) {
+        if (replicaUsable) {
+            log.warn("Routing reads to primary: {}", reason);
+        }
+        replicaUsable = false;
+    }
+}
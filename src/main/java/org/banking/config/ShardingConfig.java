@@ -0,0 +1,41 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.config;
+
+import org.banking.repository.AccountRepository;
+import org.banking.sharding.ShardedTransactionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "banking.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(initMethod = "initialize")
+    public ShardedTransactionStore shardedTransactionStore(@Value("${banking.sharding.urls}") String[] urls,
+                                                           @Value("${banking.sharding.username:}") String username,
+                                                           @Value("${banking.sharding.password:}") String password,
+                                                           @Value("${banking.sharding.relay-batch-size:500}") int relayBatchSize,
+                                                           AccountRepository accountRepository) {
+        List<DataSource> shards = new ArrayList<>();
+        for (String url : urls) {
+            shards.add(DataSourceBuilder.create()
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build());
+        }
+        return new ShardedTransactionStore(shards, accountRepository, relayBatchSize);
+    }
+}
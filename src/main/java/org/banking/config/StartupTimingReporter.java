@@ -0,0 +1,55 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+
+/**
+ * Logs how long the JVM took to become ready for traffic. When the application was started
+ * with startup step recording (see {@code MobileBankingApiApplication}) the slowest steps are
+ * listed as well.
+ */
+@Component
+public class StartupTimingReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingReporter.class);
+
+    @Value("${banking.startup.report-steps:15}")
+    private int reportSteps;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Ready for requests: context {} ms, JVM uptime {} ms, AOT {}",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+                jvmUptime,
+                Boolean.getBoolean("spring.aot.enabled") ? "on" : "off");
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (startup instanceof BufferingApplicationStartup buffering) {
+            StartupTimeline timeline = buffering.getBufferedTimeline();
+            timeline.getEvents().stream()
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(reportSteps)
+                    .forEach(step -> log.info("  {} ms  {} {}",
+                            step.getDuration().toMillis(),
+                            step.getStartupStep().getName(),
+                            step.getStartupStep().getTags()));
+        }
+    }
+}
@@ -6,18 +6,38 @@
  */
 package org.banking.controller;
 
+import org.banking.analytics.AccountRollupAggregator;
+import org.banking.dto.AccountAnalyticsResponse;
+import org.banking.dto.AccountBalanceResponse;
 import org.banking.dto.AccountDto;
+import org.banking.dto.AccountLookupRequest;
+import org.banking.dto.AccountResponse;
+import org.banking.event.AccountSnapshot;
+import org.banking.ledger.EventSourcedLedger;
 import org.banking.model.Account;
+import org.banking.model.AccountRollup;
+import org.banking.reconciliation.HistoricalBalance;
 import org.banking.service.AccountService;
+import org.banking.service.BalanceHistoryService;
+import org.banking.stream.AccountEventHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -28,39 +48,65 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private AccountEventHub accountEventHub;
+
+    @Autowired
+    private AccountRollupAggregator accountRollupAggregator;
+
+    @Autowired
+    private ObjectProvider<BalanceHistoryService> balanceHistoryService;
+
+    @Autowired
+    private ObjectProvider<EventSourcedLedger> eventSourcedLedger;
+
     @PostMapping
     @Operation(summary = "Create a new account", description = "Create a new bank account")
-    public ResponseEntity<Account> createAccount(@Valid @RequestBody AccountDto accountDto) {
+    public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody AccountDto accountDto) {
         Account account = accountService.createAccount(accountDto);
-        return new ResponseEntity<>(account, HttpStatus.CREATED);
+        return new ResponseEntity<>(AccountResponse.of(account), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get account by ID", description = "Retrieve account information by ID")
-    public ResponseEntity<Account> getAccountById(@PathVariable Long id) {
+    @Operation(summary = "Get account by ID", description = "Retrieve account information by ID; honours If-None-Match")
+    public ResponseEntity<AccountResponse> getAccountById(@PathVariable Long id, WebRequest request) {
+        String etag = RepresentationETags.forRequest(accountService.getAccountETag(id), request);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Account account = accountService.getAccountById(id);
-        return ResponseEntity.ok(account);
+        return ResponseEntity.ok().eTag(etag).body(AccountResponse.of(account));
     }
 
     @GetMapping
     @Operation(summary = "Get all accounts", description = "Retrieve all accounts")
-    public ResponseEntity<List<Account>> getAllAccounts() {
+    public ResponseEntity<List<AccountResponse>> getAllAccounts() {
         List<Account> accounts = accountService.getAllAccounts();
-        return ResponseEntity.ok(accounts);
+        return ResponseEntity.ok(AccountResponse.of(accounts));
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get accounts by user ID", description = "Retrieve all accounts for a specific user")
-    public ResponseEntity<List<Account>> getAccountsByUserId(@PathVariable Long userId) {
+    public ResponseEntity<List<AccountResponse>> getAccountsByUserId(@PathVariable Long userId) {
         List<Account> accounts = accountService.getAccountsByUserId(userId);
+        return ResponseEntity.ok(AccountResponse.of(accounts));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up accounts in bulk",
+            description = "Resolve up to 100 account ids and/or account numbers; returns a map keyed by the requested value")
+    public ResponseEntity<Map<String, AccountResponse>> lookupAccounts(@Valid @RequestBody AccountLookupRequest request) {
+        Map<String, AccountResponse> accounts = new LinkedHashMap<>();
+        accountService.lookupAccounts(request.getIds(), request.getAccountNumbers())
+                .forEach((key, account) -> accounts.put(key, AccountResponse.of(account)));
         return ResponseEntity.ok(accounts);
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update account", description = "Update account information")
-    public ResponseEntity<Account> updateAccount(@PathVariable Long id, @Valid @RequestBody AccountDto accountDto) {
+    public ResponseEntity<AccountResponse> updateAccount(@PathVariable Long id, @Valid @RequestBody AccountDto accountDto) {
         Account account = accountService.updateAccount(id, accountDto);
-        return ResponseEntity.ok(account);
+        return ResponseEntity.ok(AccountResponse.of(account));
     }
 
     @DeleteMapping("/{id}")
@@ -72,8 +118,54 @@ public class AccountController {
 
     @GetMapping("/number/{accountNumber}")
     @Operation(summary = "Get account by account number", description = "Retrieve account by account number")
-    public ResponseEntity<Account> getAccountByNumber(@PathVariable String accountNumber) {
+    public ResponseEntity<AccountResponse> getAccountByNumber(@PathVariable String accountNumber) {
         Account account = accountService.findByAccountNumber(accountNumber);
-        return ResponseEntity.ok(account);
+        return ResponseEntity.ok(AccountResponse.of(account));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream account events", description = "Server-Sent Events stream of balance and transaction updates for an account")
+    public SseEmitter streamAccountEvents(@PathVariable Long id,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return accountEventHub.subscribe(id, lastEventId, () -> AccountSnapshot.of(accountService.getAccountById(id)));
+    }
+
+    @GetMapping("/{id}/analytics")
+    @Operation(summary = "Get account spending analytics",
+            description = "Hourly or daily debit/credit, fee and per-type totals from precomputed rollups; defaults to the last 30 days or 48 hours")
+    public ResponseEntity<AccountAnalyticsResponse> getAccountAnalytics(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AccountRollup.Granularity bucketSize = AccountRollup.Granularity.fromParameter(granularity);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from
+                : bucketSize == AccountRollup.Granularity.DAY ? end.minusDays(30) : end.minusHours(48);
+        return ResponseEntity.ok(AccountAnalyticsResponse.of(id, bucketSize, start, end,
+                accountRollupAggregator.getRollups(id, bucketSize, start, end)));
+    }
+
+    @GetMapping("/{id}/balance")
+    @Operation(summary = "Get account balance at a point in time",
+            description = "Balance derived from the nearest snapshot plus the transactions after it; defaults to now, "
+                    + "which is served from memory when event-sourced balances are enabled")
+    public ResponseEntity<AccountBalanceResponse> getBalanceAsOf(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        EventSourcedLedger ledger = eventSourcedLedger.getIfAvailable();
+        if (asOf == null && ledger != null) {
+            BigDecimal balance = ledger.getBalance(id);
+            if (balance != null) {
+                return ResponseEntity.ok(AccountBalanceResponse.of(
+                        new HistoricalBalance(id, LocalDateTime.now(), balance, 0, null, 0)));
+            }
+        }
+        BalanceHistoryService history = balanceHistoryService.getIfAvailable();
+        if (history == null) {
+            throw new IllegalArgumentException("Point-in-time balances are not available when sharding is enabled");
+        }
+        return ResponseEntity.ok(AccountBalanceResponse.of(
+                history.getBalanceAsOf(id, asOf != null ? asOf : LocalDateTime.now())));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.controller;
+
+import org.banking.dto.ReconciliationResponse;
+import org.banking.model.ReconciliationRun;
+import org.banking.reconciliation.ReconciliationEngine;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reconciliation")
+@ConditionalOnProperty(prefix = "banking.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173", "http://localhost:4200", "http://localhost:8003"})
+@Tag(name = "Reconciliation", description = "APIs for checking balances against transaction history")
+public class ReconciliationController {
+
+    @Autowired
+    private ReconciliationEngine reconciliationEngine;
+
+    @PostMapping("/runs")
+    @Operation(summary = "Run a reconciliation",
+            description = "FULL checks every account; INCREMENTAL only accounts touched since the last run")
+    public ResponseEntity<ReconciliationResponse> runReconciliation(
+            @RequestParam(defaultValue = "FULL") ReconciliationRun.Mode mode) {
+        return ResponseEntity.ok(ReconciliationResponse.of(reconciliationEngine.reconcile(mode)));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong ETags for reads served as JSON or CBOR. A strong tag names one exact byte
+ * representation, so the format the request will be answered in is part of the tag, and
+ * both 200 and 304 responses carry {@code Vary: Accept} for shared caches.
+ */
+final class RepresentationETags {
+
+    private RepresentationETags() {
+    }
+
+    static String forRequest(String etag, WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (!prefersCbor(request.getHeader(HttpHeaders.ACCEPT))) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-cbor\"";
+    }
+
+    /**
+     * Mirrors content negotiation for these endpoints: the JSON converter is registered
+     * first, so wildcards and ties resolve to JSON and only a preferred CBOR type wins.
+     */
+    private static boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+        } catch (IllegalArgumentException e) {
+            // Unparseable or oversized headers are answered as JSON (or rejected) by Spring
+            return false;
+        }
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
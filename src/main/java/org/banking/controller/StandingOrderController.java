@@ -0,0 +1,58 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.controller;
+
+import org.banking.dto.StandingOrderDto;
+import org.banking.dto.StandingOrderResponse;
+import org.banking.model.StandingOrder;
+import org.banking.service.StandingOrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/standing-orders")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173", "http://localhost:4200", "http://localhost:8003"})
+@Tag(name = "Standing Orders", description = "APIs for recurring payments and transfers")
+public class StandingOrderController {
+
+    @Autowired
+    private StandingOrderService standingOrderService;
+
+    @PostMapping
+    @Operation(summary = "Create a standing order",
+            description = "Schedule a recurring PAYMENT or TRANSFER (DAILY, WEEKLY or MONTHLY) starting at startAt")
+    public ResponseEntity<StandingOrderResponse> createStandingOrder(@Valid @RequestBody StandingOrderDto dto) {
+        StandingOrder order = standingOrderService.createStandingOrder(dto);
+        return new ResponseEntity<>(StandingOrderResponse.of(order), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get standing order by ID", description = "Retrieve a standing order and its last execution")
+    public ResponseEntity<StandingOrderResponse> getStandingOrderById(@PathVariable Long id) {
+        return ResponseEntity.ok(StandingOrderResponse.of(standingOrderService.getStandingOrderById(id)));
+    }
+
+    @GetMapping("/account/{accountId}")
+    @Operation(summary = "Get standing orders by account ID", description = "Standing orders paid from an account, next due first")
+    public ResponseEntity<List<StandingOrderResponse>> getStandingOrdersByAccountId(@PathVariable Long accountId) {
+        return ResponseEntity.ok(StandingOrderResponse.of(standingOrderService.getStandingOrdersByAccountId(accountId)));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel standing order", description = "Stop future executions of a standing order")
+    public ResponseEntity<Void> cancelStandingOrder(@PathVariable Long id) {
+        standingOrderService.cancelStandingOrder(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -7,17 +7,22 @@
 package org.banking.controller;
 
 import org.banking.dto.TransactionDto;
+import org.banking.dto.TransactionResponse;
 import org.banking.model.Transaction;
+import org.banking.ratelimit.AdaptiveConcurrencyLimiter;
+import org.banking.search.SearchHits;
 import org.banking.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -29,38 +34,73 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private AdaptiveConcurrencyLimiter postingLimiter;
+
     @PostMapping
-    @Operation(summary = "Create a new transaction", description = "Create a new financial transaction")
-    public ResponseEntity<Transaction> createTransaction(@Valid @RequestBody TransactionDto transactionDto) {
-        Transaction transaction = transactionService.createTransaction(transactionDto);
-        return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+    @Operation(summary = "Create a new transaction",
+            description = "Create a new financial transaction; returns 202 with a PENDING transaction when the posting "
+                    + "journal is enabled, and 503 when posting capacity is exhausted")
+    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody TransactionDto transactionDto) {
+        // Outside the service's @Transactional boundary so queued requests do not hold a connection
+        Transaction transaction = postingLimiter.execute(() -> transactionService.submitTransaction(transactionDto));
+        return new ResponseEntity<>(TransactionResponse.of(transaction),
+                transaction.getId() != null ? HttpStatus.CREATED : HttpStatus.ACCEPTED);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get transaction by ID", description = "Retrieve transaction information by ID")
-    public ResponseEntity<Transaction> getTransactionById(@PathVariable Long id) {
+    public ResponseEntity<TransactionResponse> getTransactionById(@PathVariable Long id) {
         Transaction transaction = transactionService.getTransactionById(id);
-        return ResponseEntity.ok(transaction);
+        return ResponseEntity.ok(TransactionResponse.of(transaction));
     }
 
     @GetMapping
-    @Operation(summary = "Get all transactions", description = "Retrieve all transactions")
-    public ResponseEntity<List<Transaction>> getAllTransactions() {
-        List<Transaction> transactions = transactionService.getAllTransactions();
-        return ResponseEntity.ok(transactions);
+    @Operation(summary = "Get all transactions", description = "Retrieve all transactions a page at a time, newest first")
+    public ResponseEntity<List<TransactionResponse>> getTransactions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<Transaction> transactions = transactionService.getTransactions(page, size);
+        return ResponseEntity.ok(TransactionResponse.of(transactions));
     }
 
     @GetMapping("/account/{accountId}")
-    @Operation(summary = "Get transactions by account ID", description = "Retrieve all transactions for a specific account")
-    public ResponseEntity<List<Transaction>> getTransactionsByAccountId(@PathVariable Long accountId) {
-        List<Transaction> transactions = transactionService.getTransactionsByAccountId(accountId);
-        return ResponseEntity.ok(transactions);
+    @Operation(summary = "Get transactions by account ID",
+            description = "Retrieve transactions for a specific account, including archived months; from/to narrow the range. Honours If-None-Match")
+    public ResponseEntity<List<TransactionResponse>> getTransactionsByAccountId(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            WebRequest request) {
+        String etag = RepresentationETags.forRequest(transactionService.getHistoryETag(accountId), request);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<Transaction> transactions = transactionService.getTransactionsByAccountId(accountId, from, to);
+        return ResponseEntity.ok().eTag(etag).body(TransactionResponse.of(transactions));
+    }
+
+    @GetMapping("/account/{accountId}/search")
+    @Operation(summary = "Search an account's transactions",
+            description = "Full-text search over descriptions; words are ANDed, a trailing * matches a prefix. "
+                    + "Newest first; the total match count is returned in X-Total-Count. Only transactions still in "
+                    + "the hot table are indexed; archived months are not searched")
+    public ResponseEntity<List<TransactionResponse>> searchTransactions(
+            @PathVariable Long accountId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        SearchHits hits = transactionService.searchTransactions(accountId, q, page, size);
+        List<Transaction> transactions = transactionService.getTransactionsByIds(hits.ids());
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(hits.total()))
+                .body(TransactionResponse.of(transactions));
     }
 
     @GetMapping("/reference/{reference}")
     @Operation(summary = "Get transaction by reference", description = "Retrieve transaction by reference number")
-    public ResponseEntity<Transaction> getTransactionByReference(@PathVariable String reference) {
+    public ResponseEntity<TransactionResponse> getTransactionByReference(@PathVariable String reference) {
         Transaction transaction = transactionService.findByTransactionReference(reference);
-        return ResponseEntity.ok(transaction);
+        return ResponseEntity.ok(TransactionResponse.of(transaction));
     }
 }
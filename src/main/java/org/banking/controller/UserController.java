@@ -7,8 +7,12 @@
 package org.banking.controller;
 
 import org.banking.dto.UserDto;
+import org.banking.dto.UserLookupRequest;
+import org.banking.dto.UserResponse;
+import org.banking.dto.UserSummaryResponse;
 import org.banking.model.User;
 import org.banking.service.UserService;
+import org.banking.service.UserSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,7 +21,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -28,32 +34,61 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserSummaryService userSummaryService;
+
     @PostMapping
     @Operation(summary = "Create a new user", description = "Create a new user account")
-    public ResponseEntity<User> createUser(@Valid @RequestBody UserDto userDto) {
+    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserDto userDto) {
         User user = userService.createUser(userDto);
-        return new ResponseEntity<>(user, HttpStatus.CREATED);
+        return new ResponseEntity<>(UserResponse.of(user), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Retrieve user information by ID")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
         User user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserResponse.of(user));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search users",
+            description = "Typeahead over username, email, full name and phone number; tolerates one typo for queries of 4+ characters")
+    public ResponseEntity<List<UserResponse>> searchUsers(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(UserResponse.of(userService.searchUsers(q, limit)));
+    }
+
+    @GetMapping("/{id}/summary")
+    @Operation(summary = "Get user portfolio summary",
+            description = "Balances per currency and converted into the reporting currency, available credit, "
+                    + "account counts by status and last activity")
+    public ResponseEntity<UserSummaryResponse> getUserSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(userSummaryService.summarize(id));
     }
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Retrieve all users")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<UserResponse>> getAllUsers() {
         List<User> users = userService.getAllUsers();
+        return ResponseEntity.ok(UserResponse.of(users));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up users in bulk",
+            description = "Resolve up to 100 user ids and/or usernames; returns a map keyed by the requested value")
+    public ResponseEntity<Map<String, UserResponse>> lookupUsers(@Valid @RequestBody UserLookupRequest request) {
+        Map<String, UserResponse> users = new LinkedHashMap<>();
+        userService.lookupUsers(request.getIds(), request.getUsernames())
+                .forEach((key, user) -> users.put(key, UserResponse.of(user)));
         return ResponseEntity.ok(users);
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update user", description = "Update user information")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody UserDto userDto) {
+    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @Valid @RequestBody UserDto userDto) {
         User user = userService.updateUser(id, userDto);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserResponse.of(user));
     }
 
     @DeleteMapping("/{id}")
@@ -65,8 +100,8 @@ public class UserController {
 
     @GetMapping("/username/{username}")
     @Operation(summary = "Get user by username", description = "Retrieve user information by username")
-    public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<UserResponse> getUserByUsername(@PathVariable String username) {
         User user = userService.findByUsername(username);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserResponse.of(user));
     }
 }
\ No newline at end of file
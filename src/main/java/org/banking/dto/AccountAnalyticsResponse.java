@@ -0,0 +1,56 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.banking.analytics.RollupDelta;
+import org.banking.dto.serializer.AccountAnalyticsResponseSerializer;
+import org.banking.model.AccountRollup;
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+@JsonSerialize(using = AccountAnalyticsResponseSerializer.class)
+public record AccountAnalyticsResponse(Long accountId,
+                                       AccountRollup.Granularity granularity,
+                                       LocalDateTime from,
+                                       LocalDateTime to,
+                                       List<Bucket> buckets) {
+
+    public record Bucket(LocalDateTime start,
+                         BigDecimal creditTotal,
+                         long creditCount,
+                         BigDecimal debitTotal,
+                         long debitCount,
+                         BigDecimal feeTotal,
+                         Map<Transaction.TransactionType, BigDecimal> totalsByType) {
+    }
+
+    public static AccountAnalyticsResponse of(Long accountId, AccountRollup.Granularity granularity,
+                                              LocalDateTime from, LocalDateTime to,
+                                              SortedMap<LocalDateTime, RollupDelta> rollups) {
+        List<Bucket> buckets = new ArrayList<>(rollups.size());
+        rollups.forEach((start, rollup) -> {
+            Map<Transaction.TransactionType, BigDecimal> totals = new EnumMap<>(Transaction.TransactionType.class);
+            for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+                totals.put(type, rollup.getTypeTotal(type));
+            }
+            buckets.add(new Bucket(start,
+                    rollup.getCreditTotal(), rollup.getCreditCount(),
+                    rollup.getDebitTotal(), rollup.getDebitCount(),
+                    rollup.getFeeTotal(), Collections.unmodifiableMap(totals)));
+        });
+        return new AccountAnalyticsResponse(accountId, granularity, from, to, List.copyOf(buckets));
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.banking.dto.serializer.AccountBalanceResponseSerializer;
+import org.banking.reconciliation.HistoricalBalance;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@JsonSerialize(using = AccountBalanceResponseSerializer.class)
+public record AccountBalanceResponse(Long accountId,
+                                     LocalDateTime asOf,
+                                     BigDecimal balance,
+                                     Long snapshotTransactionId,
+                                     LocalDateTime snapshotAsOf,
+                                     long replayedTransactions) {
+
+    public static AccountBalanceResponse of(HistoricalBalance balance) {
+        return new AccountBalanceResponse(
+                balance.accountId(),
+                balance.asOf(),
+                balance.balance(),
+                balance.snapshotTransactionId() > 0 ? balance.snapshotTransactionId() : null,
+                balance.snapshotAsOf(),
+                balance.replayedTransactions()
+        );
+    }
+}
@@ -10,6 +10,7 @@ import org.banking.model.Account.AccountType;
 import org.banking.model.Account.AccountStatus;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 
 import java.math.BigDecimal;
 
@@ -27,6 +28,10 @@ public class AccountDto {
     @DecimalMin(value = "0.0", inclusive = true)
     private BigDecimal balance;
 
+    /** ISO 4217 code; defaults to USD when opening an account and cannot be changed afterwards. */
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a 3-letter ISO 4217 code")
+    private String currency;
+
     private BigDecimal creditLimit = BigDecimal.ZERO;
     private AccountStatus status = AccountStatus.ACTIVE;
 
@@ -81,6 +86,14 @@ public class AccountDto {
         this.balance = balance;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
     public BigDecimal getCreditLimit() {
         return creditLimit;
     }
@@ -0,0 +1,45 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccountLookupRequest {
+
+    @Size(max = 100, message = "At most 100 ids per lookup")
+    private List<Long> ids = new ArrayList<>();
+
+    @Size(max = 100, message = "At most 100 account numbers per lookup")
+    private List<String> accountNumbers = new ArrayList<>();
+
+    public AccountLookupRequest() {
+    }
+
+    public AccountLookupRequest(List<Long> ids, List<String> accountNumbers) {
+        this.ids = ids;
+        this.accountNumbers = accountNumbers;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getAccountNumbers() {
+        return accountNumbers;
+    }
+
+    public void setAccountNumbers(List<String> accountNumbers) {
+        this.accountNumbers = accountNumbers;
+    }
+}
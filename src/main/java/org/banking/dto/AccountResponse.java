@@ -0,0 +1,47 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.banking.dto.serializer.AccountResponseSerializer;
+import org.banking.model.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@JsonSerialize(using = AccountResponseSerializer.class)
+public record AccountResponse(Long id,
+                              String accountNumber,
+                              UserResponse user,
+                              Account.AccountType accountType,
+                              BigDecimal balance,
+                              String currency,
+                              BigDecimal creditLimit,
+                              Account.AccountStatus status,
+                              LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+
+    public static AccountResponse of(Account account) {
+        return new AccountResponse(
+                account.getId(),
+                account.getAccountNumber(),
+                account.getUser() != null ? UserResponse.of(account.getUser()) : null,
+                account.getAccountType(),
+                account.getBalance(),
+                account.getCurrency(),
+                account.getCreditLimit(),
+                account.getStatus(),
+                account.getCreatedAt(),
+                account.getUpdatedAt()
+        );
+    }
+
+    public static List<AccountResponse> of(List<Account> accounts) {
+        return accounts.stream().map(AccountResponse::of).toList();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.banking.dto.serializer.ReconciliationResponseSerializer;
+import org.banking.model.ReconciliationRun;
+import org.banking.reconciliation.ReconciliationReport;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@JsonSerialize(using = ReconciliationResponseSerializer.class)
+public record ReconciliationResponse(Long runId,
+                                     ReconciliationRun.Mode mode,
+                                     long highWaterTransactionId,
+                                     long accountsChecked,
+                                     long legsFolded,
+                                     long deferred,
+                                     long drifted,
+                                     List<Drift> drifts,
+                                     long elapsedMillis) {
+
+    public record Drift(Long accountId,
+                        BigDecimal recordedBalance,
+                        BigDecimal expectedBalance,
+                        BigDecimal difference) {
+    }
+
+    public static ReconciliationResponse of(ReconciliationReport report) {
+        List<Drift> drifts = report.drifts().stream()
+                .map(drift -> new Drift(drift.accountId(), drift.recordedBalance(), drift.expectedBalance(),
+                        drift.difference()))
+                .toList();
+        return new ReconciliationResponse(report.runId(), report.mode(), report.highWaterTransactionId(),
+                report.accountsChecked(), report.legsFolded(), report.deferred(), report.drifted(), drifts,
+                report.elapsedMillis());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import org.banking.model.StandingOrder.Frequency;
+import org.banking.model.Transaction.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class StandingOrderDto {
+
+    @NotNull(message = "From account ID is required")
+    private Long fromAccountId;
+
+    private Long toAccountId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType transactionType;
+
+    private String description;
+
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+
+    // Constructors
+    public StandingOrderDto() {
+    }
+
+    public StandingOrderDto(Long fromAccountId, Long toAccountId, BigDecimal amount, TransactionType transactionType,
+                            String description, Frequency frequency, LocalDateTime startAt, LocalDateTime endAt) {
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.transactionType = transactionType;
+        this.description = description;
+        this.frequency = frequency;
+        this.startAt = startAt;
+        this.endAt = endAt;
+    }
+
+    // Getters and Setters
+    public Long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(Long fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public Long getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(Long toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(LocalDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return endAt;
+    }
+
+    public void setEndAt(LocalDateTime endAt) {
+        this.endAt = endAt;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.banking.dto.serializer.StandingOrderResponseSerializer;
+import org.banking.model.StandingOrder;
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@JsonSerialize(using = StandingOrderResponseSerializer.class)
+public record StandingOrderResponse(Long id,
+                                    Long fromAccountId,
+                                    Long toAccountId,
+                                    BigDecimal amount,
+                                    Transaction.TransactionType transactionType,
+                                    String description,
+                                    StandingOrder.Frequency frequency,
+                                    StandingOrder.Status status,
+                                    LocalDateTime startAt,
+                                    LocalDateTime endAt,
+                                    LocalDateTime nextRunAt,
+                                    long executionCount,
+                                    LocalDateTime lastRunAt,
+                                    Long lastTransactionId,
+                                    int failureCount,
+                                    String lastError) {
+
+    public static StandingOrderResponse of(StandingOrder order) {
+        return new StandingOrderResponse(
+                order.getId(),
+                order.getFromAccountId(),
+                order.getToAccountId(),
+                order.getAmount(),
+                order.getTransactionType(),
+                order.getDescription(),
+                order.getFrequency(),
+                order.getStatus(),
+                order.getStartAt(),
+                order.getEndAt(),
+                order.getNextRunAt(),
+                order.getExecutionCount(),
+                order.getLastRunAt(),
+                order.getLastTransactionId(),
+                order.getFailureCount(),
+                order.getLastError()
+        );
+    }
+
+    public static List<StandingOrderResponse> of(List<StandingOrder> orders) {
+        return orders.stream().map(StandingOrderResponse::of).toList();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.banking.dto.serializer.TransactionResponseSerializer;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Wire form of a transaction. The accounts are referenced rather than embedded: their current
+ * balance says nothing about this transaction and only inflated every history page.
+ */
+@JsonSerialize(using = TransactionResponseSerializer.class)
+public record TransactionResponse(Long id,
+                                  String transactionReference,
+                                  AccountRef fromAccount,
+                                  AccountRef toAccount,
+                                  BigDecimal amount,
+                                  String currency,
+                                  Transaction.TransactionType transactionType,
+                                  Transaction.TransactionStatus status,
+                                  String description,
+                                  BigDecimal fee,
+                                  BigDecimal creditedAmount,
+                                  BigDecimal fxRate,
+                                  LocalDateTime createdAt,
+                                  LocalDateTime processedAt) {
+
+    public record AccountRef(Long id, String accountNumber, Account.AccountType accountType) {
+
+        public static AccountRef of(Account account) {
+            return account != null
+                    ? new AccountRef(account.getId(), account.getAccountNumber(), account.getAccountType())
+                    : null;
+        }
+    }
+
+    public static TransactionResponse of(Transaction transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getTransactionReference(),
+                AccountRef.of(transaction.getFromAccount()),
+                AccountRef.of(transaction.getToAccount()),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getTransactionType(),
+                transaction.getStatus(),
+                transaction.getDescription(),
+                transaction.getFee(),
+                transaction.getCreditedAmount(),
+                transaction.getFxRate(),
+                transaction.getCreatedAt(),
+                transaction.getProcessedAt()
+        );
+    }
+
+    public static List<TransactionResponse> of(List<Transaction> transactions) {
+        return transactions.stream().map(TransactionResponse::of).toList();
+    }
+}
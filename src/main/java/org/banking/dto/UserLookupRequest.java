@@ -0,0 +1,45 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserLookupRequest {
+
+    @Size(max = 100, message = "At most 100 ids per lookup")
+    private List<Long> ids = new ArrayList<>();
+
+    @Size(max = 100, message = "At most 100 usernames per lookup")
+    private List<String> usernames = new ArrayList<>();
+
+    public UserLookupRequest() {
+    }
+
+    public UserLookupRequest(List<Long> ids, List<String> usernames) {
+        this.ids = ids;
+        this.usernames = usernames;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getUsernames() {
+        return usernames;
+    }
+
+    public void setUsernames(List<String> usernames) {
+        this.usernames = usernames;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.banking.dto.serializer.UserResponseSerializer;
+import org.banking.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@JsonSerialize(using = UserResponseSerializer.class)
+public record UserResponse(Long id,
+                           String username,
+                           String email,
+                           String fullName,
+                           String phoneNumber,
+                           LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+
+    public static UserResponse of(User user) {
+        return new UserResponse(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFullName(),
+                user.getPhoneNumber(),
+                user.getCreatedAt(),
+                user.getUpdatedAt()
+        );
+    }
+
+    public static List<UserResponse> of(List<User> users) {
+        return users.stream().map(UserResponse::of).toList();
+    }
+}
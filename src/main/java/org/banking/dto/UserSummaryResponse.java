@@ -0,0 +1,104 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.banking.dto.serializer.UserSummaryResponseSerializer;
+import org.banking.fx.Currencies;
+import org.banking.fx.FxRate;
+import org.banking.fx.FxRateTable;
+import org.banking.model.Account;
+import org.banking.model.CurrencyTotals;
+import org.banking.model.UserSummary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A user's totals per currency, plus the same totals converted into
+ * {@code reportingCurrency} at the current rates. The converted figures are left out when
+ * a currency the user holds has no rate to the reporting currency.
+ */
+@JsonSerialize(using = UserSummaryResponseSerializer.class)
+public record UserSummaryResponse(Long userId,
+                                  String reportingCurrency,
+                                  Map<Account.AccountType, BigDecimal> balancesByType,
+                                  BigDecimal totalBalance,
+                                  BigDecimal availableCredit,
+                                  Map<String, CurrencyBalances> balancesByCurrency,
+                                  Map<Account.AccountStatus, Integer> accountsByStatus,
+                                  int totalAccounts,
+                                  LocalDateTime lastActivityAt) {
+
+    public record CurrencyBalances(Map<Account.AccountType, BigDecimal> balancesByType,
+                                   BigDecimal totalBalance,
+                                   BigDecimal availableCredit) {
+    }
+
+    public static UserSummaryResponse of(UserSummary summary, String reportingCurrency, FxRateTable rates) {
+        BigDecimal zero = BigDecimal.ZERO.setScale(Currencies.fractionDigits(reportingCurrency));
+        Map<Account.AccountType, BigDecimal> converted = new EnumMap<>(Account.AccountType.class);
+        for (Account.AccountType type : Account.AccountType.values()) {
+            converted.put(type, zero);
+        }
+        BigDecimal convertedCredit = zero;
+        boolean convertible = true;
+
+        Map<String, CurrencyBalances> byCurrency = new TreeMap<>();
+        for (Map.Entry<String, CurrencyTotals> entry : summary.getTotalsByCurrency().entrySet()) {
+            String currency = entry.getKey();
+            CurrencyTotals totals = entry.getValue();
+            int scale = Currencies.fractionDigits(currency);
+            FxRate rate = currency.equals(reportingCurrency) ? null : rates.find(currency, reportingCurrency);
+            convertible &= rate != null || currency.equals(reportingCurrency);
+
+            Map<Account.AccountType, BigDecimal> balances = new EnumMap<>(Account.AccountType.class);
+            BigDecimal total = BigDecimal.ZERO.setScale(scale);
+            for (Account.AccountType type : Account.AccountType.values()) {
+                BigDecimal balance = totals.getBalance(type).setScale(scale, RoundingMode.HALF_EVEN);
+                balances.put(type, balance);
+                total = total.add(balance);
+                if (convertible) {
+                    converted.merge(type, convert(balance, rate, zero.scale()), BigDecimal::add);
+                }
+            }
+            BigDecimal credit = totals.getAvailableCredit().setScale(scale, RoundingMode.HALF_EVEN);
+            if (convertible) {
+                convertedCredit = convertedCredit.add(convert(credit, rate, zero.scale()));
+            }
+            byCurrency.put(currency, new CurrencyBalances(Collections.unmodifiableMap(balances), total, credit));
+        }
+
+        Map<Account.AccountStatus, Integer> counts = new EnumMap<>(Account.AccountStatus.class);
+        int accounts = 0;
+        for (Account.AccountStatus status : Account.AccountStatus.values()) {
+            int count = summary.getAccountCount(status);
+            counts.put(status, count);
+            accounts += count;
+        }
+        return new UserSummaryResponse(
+                summary.getUserId(),
+                reportingCurrency,
+                convertible ? Collections.unmodifiableMap(converted) : null,
+                convertible ? converted.values().stream().reduce(zero, BigDecimal::add) : null,
+                convertible ? convertedCredit : null,
+                Collections.unmodifiableMap(byCurrency),
+                Collections.unmodifiableMap(counts),
+                accounts,
+                summary.getLastActivityAt()
+        );
+    }
+
+    private static BigDecimal convert(BigDecimal amount, FxRate rate, int scale) {
+        return rate != null ? rate.convert(amount) : amount.setScale(scale, RoundingMode.HALF_EVEN);
+    }
+}
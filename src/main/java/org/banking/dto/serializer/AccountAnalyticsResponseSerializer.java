@@ -0,0 +1,72 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.banking.dto.AccountAnalyticsResponse;
+import org.banking.model.Transaction;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.banking.dto.serializer.JsonFields.*;
+
+public class AccountAnalyticsResponseSerializer extends StdSerializer<AccountAnalyticsResponse> {
+
+    private static final SerializableString ACCOUNT_ID = name("accountId");
+    private static final SerializableString GRANULARITY = name("granularity");
+    private static final SerializableString FROM = name("from");
+    private static final SerializableString TO = name("to");
+    private static final SerializableString BUCKETS = name("buckets");
+    private static final SerializableString START = name("start");
+    private static final SerializableString CREDIT_TOTAL = name("creditTotal");
+    private static final SerializableString CREDIT_COUNT = name("creditCount");
+    private static final SerializableString DEBIT_TOTAL = name("debitTotal");
+    private static final SerializableString DEBIT_COUNT = name("debitCount");
+    private static final SerializableString FEE_TOTAL = name("feeTotal");
+    private static final SerializableString TOTALS_BY_TYPE = name("totalsByType");
+
+    public AccountAnalyticsResponseSerializer() {
+        super(AccountAnalyticsResponse.class);
+    }
+
+    @Override
+    public void serialize(AccountAnalyticsResponse analytics, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(analytics);
+        writeNumber(gen, ACCOUNT_ID, analytics.accountId());
+        writeEnum(gen, GRANULARITY, analytics.granularity());
+        writeDateTime(gen, FROM, analytics.from());
+        writeDateTime(gen, TO, analytics.to());
+        gen.writeFieldName(BUCKETS);
+        gen.writeStartArray();
+        for (AccountAnalyticsResponse.Bucket bucket : analytics.buckets()) {
+            gen.writeStartObject(bucket);
+            writeDateTime(gen, START, bucket.start());
+            writeDecimal(gen, CREDIT_TOTAL, bucket.creditTotal());
+            gen.writeFieldName(CREDIT_COUNT);
+            gen.writeNumber(bucket.creditCount());
+            writeDecimal(gen, DEBIT_TOTAL, bucket.debitTotal());
+            gen.writeFieldName(DEBIT_COUNT);
+            gen.writeNumber(bucket.debitCount());
+            writeDecimal(gen, FEE_TOTAL, bucket.feeTotal());
+            gen.writeFieldName(TOTALS_BY_TYPE);
+            gen.writeStartObject();
+            for (Map.Entry<Transaction.TransactionType, BigDecimal> total : bucket.totalsByType().entrySet()) {
+                gen.writeFieldName(total.getKey().name());
+                gen.writeString(total.getValue().toPlainString());
+            }
+            gen.writeEndObject();
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+}
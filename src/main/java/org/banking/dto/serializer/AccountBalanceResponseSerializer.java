@@ -0,0 +1,43 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.banking.dto.AccountBalanceResponse;
+
+import java.io.IOException;
+
+import static org.banking.dto.serializer.JsonFields.*;
+
+public class AccountBalanceResponseSerializer extends StdSerializer<AccountBalanceResponse> {
+
+    private static final SerializableString ACCOUNT_ID = name("accountId");
+    private static final SerializableString AS_OF = name("asOf");
+    private static final SerializableString BALANCE = name("balance");
+    private static final SerializableString SNAPSHOT_TRANSACTION_ID = name("snapshotTransactionId");
+    private static final SerializableString SNAPSHOT_AS_OF = name("snapshotAsOf");
+    private static final SerializableString REPLAYED_TRANSACTIONS = name("replayedTransactions");
+
+    public AccountBalanceResponseSerializer() {
+        super(AccountBalanceResponse.class);
+    }
+
+    @Override
+    public void serialize(AccountBalanceResponse balance, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(balance);
+        writeNumber(gen, ACCOUNT_ID, balance.accountId());
+        writeDateTime(gen, AS_OF, balance.asOf());
+        writeDecimal(gen, BALANCE, balance.balance());
+        writeNumber(gen, SNAPSHOT_TRANSACTION_ID, balance.snapshotTransactionId());
+        writeDateTime(gen, SNAPSHOT_AS_OF, balance.snapshotAsOf());
+        writeNumber(gen, REPLAYED_TRANSACTIONS, balance.replayedTransactions());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.banking.dto.AccountResponse;
+
+import java.io.IOException;
+
+import static org.banking.dto.serializer.JsonFields.*;
+
+public class AccountResponseSerializer extends StdSerializer<AccountResponse> {
+
+    private static final SerializableString ID = name("id");
+    private static final SerializableString ACCOUNT_NUMBER = name("accountNumber");
+    private static final SerializableString USER = name("user");
+    private static final SerializableString ACCOUNT_TYPE = name("accountType");
+    private static final SerializableString BALANCE = name("balance");
+    private static final SerializableString CURRENCY = name("currency");
+    private static final SerializableString CREDIT_LIMIT = name("creditLimit");
+    private static final SerializableString STATUS = name("status");
+    private static final SerializableString CREATED_AT = name("createdAt");
+    private static final SerializableString UPDATED_AT = name("updatedAt");
+
+    public AccountResponseSerializer() {
+        super(AccountResponse.class);
+    }
+
+    @Override
+    public void serialize(AccountResponse account, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(account);
+        writeNumber(gen, ID, account.id());
+        writeString(gen, ACCOUNT_NUMBER, account.accountNumber());
+        if (account.user() != null) {
+            gen.writeFieldName(USER);
+            gen.writeStartObject(account.user());
+            UserResponseSerializer.writeFields(account.user(), gen);
+            gen.writeEndObject();
+        }
+        writeEnum(gen, ACCOUNT_TYPE, account.accountType());
+        writeDecimal(gen, BALANCE, account.balance());
+        writeString(gen, CURRENCY, account.currency());
+        writeDecimal(gen, CREDIT_LIMIT, account.creditLimit());
+        writeEnum(gen, STATUS, account.status());
+        writeDateTime(gen, CREATED_AT, account.createdAt());
+        writeDateTime(gen, UPDATED_AT, account.updatedAt());
+        gen.writeEndObject();
+    }
+}
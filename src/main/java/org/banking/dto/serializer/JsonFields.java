@@ -0,0 +1,69 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Write helpers shared by the response serializers. Field names are pre-encoded once, null
+ * values are skipped (matching {@code default-property-inclusion: non_null}), amounts are
+ * plain decimal strings so clients never see a binary float, and timestamps use one shared
+ * ISO formatter.
+ */
+final class JsonFields {
+
+    static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private JsonFields() {
+    }
+
+    static SerializableString name(String name) {
+        return new SerializedString(name);
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeNumber(value);
+        }
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    static void writeEnum(JsonGenerator gen, SerializableString name, Enum<?> value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value.name());
+        }
+    }
+
+    static void writeDecimal(JsonGenerator gen, SerializableString name, BigDecimal value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value.toPlainString());
+        }
+    }
+
+    static void writeDateTime(JsonGenerator gen, SerializableString name, LocalDateTime value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(DATE_TIME.format(value));
+        }
+    }
+}
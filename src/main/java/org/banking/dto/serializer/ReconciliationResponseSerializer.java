@@ -0,0 +1,63 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.banking.dto.ReconciliationResponse;
+
+import java.io.IOException;
+
+import static org.banking.dto.serializer.JsonFields.*;
+
+public class ReconciliationResponseSerializer extends StdSerializer<ReconciliationResponse> {
+
+    private static final SerializableString RUN_ID = name("runId");
+    private static final SerializableString MODE = name("mode");
+    private static final SerializableString HIGH_WATER_TRANSACTION_ID = name("highWaterTransactionId");
+    private static final SerializableString ACCOUNTS_CHECKED = name("accountsChecked");
+    private static final SerializableString LEGS_FOLDED = name("legsFolded");
+    private static final SerializableString DEFERRED = name("deferred");
+    private static final SerializableString DRIFTED = name("drifted");
+    private static final SerializableString DRIFTS = name("drifts");
+    private static final SerializableString ACCOUNT_ID = name("accountId");
+    private static final SerializableString RECORDED_BALANCE = name("recordedBalance");
+    private static final SerializableString EXPECTED_BALANCE = name("expectedBalance");
+    private static final SerializableString DIFFERENCE = name("difference");
+    private static final SerializableString ELAPSED_MILLIS = name("elapsedMillis");
+
+    public ReconciliationResponseSerializer() {
+        super(ReconciliationResponse.class);
+    }
+
+    @Override
+    public void serialize(ReconciliationResponse report, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(report);
+        writeNumber(gen, RUN_ID, report.runId());
+        writeEnum(gen, MODE, report.mode());
+        writeNumber(gen, HIGH_WATER_TRANSACTION_ID, report.highWaterTransactionId());
+        writeNumber(gen, ACCOUNTS_CHECKED, report.accountsChecked());
+        writeNumber(gen, LEGS_FOLDED, report.legsFolded());
+        writeNumber(gen, DEFERRED, report.deferred());
+        writeNumber(gen, DRIFTED, report.drifted());
+        gen.writeFieldName(DRIFTS);
+        gen.writeStartArray();
+        for (ReconciliationResponse.Drift drift : report.drifts()) {
+            gen.writeStartObject(drift);
+            writeNumber(gen, ACCOUNT_ID, drift.accountId());
+            writeDecimal(gen, RECORDED_BALANCE, drift.recordedBalance());
+            writeDecimal(gen, EXPECTED_BALANCE, drift.expectedBalance());
+            writeDecimal(gen, DIFFERENCE, drift.difference());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        writeNumber(gen, ELAPSED_MILLIS, report.elapsedMillis());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.banking.dto.StandingOrderResponse;
+
+import java.io.IOException;
+
+import static org.banking.dto.serializer.JsonFields.*;
+
+public class StandingOrderResponseSerializer extends StdSerializer<StandingOrderResponse> {
+
+    private static final SerializableString ID = name("id");
+    private static final SerializableString FROM_ACCOUNT_ID = name("fromAccountId");
+    private static final SerializableString TO_ACCOUNT_ID = name("toAccountId");
+    private static final SerializableString AMOUNT = name("amount");
+    private static final SerializableString TRANSACTION_TYPE = name("transactionType");
+    private static final SerializableString DESCRIPTION = name("description");
+    private static final SerializableString FREQUENCY = name("frequency");
+    private static final SerializableString STATUS = name("status");
+    private static final SerializableString START_AT = name("startAt");
+    private static final SerializableString END_AT = name("endAt");
+    private static final SerializableString NEXT_RUN_AT = name("nextRunAt");
+    private static final SerializableString EXECUTION_COUNT = name("executionCount");
+    private static final SerializableString LAST_RUN_AT = name("lastRunAt");
+    private static final SerializableString LAST_TRANSACTION_ID = name("lastTransactionId");
+    private static final SerializableString FAILURE_COUNT = name("failureCount");
+    private static final SerializableString LAST_ERROR = name("lastError");
+
+    public StandingOrderResponseSerializer() {
+        super(StandingOrderResponse.class);
+    }
+
+    @Override
+    public void serialize(StandingOrderResponse order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(order);
+        writeNumber(gen, ID, order.id());
+        writeNumber(gen, FROM_ACCOUNT_ID, order.fromAccountId());
+        writeNumber(gen, TO_ACCOUNT_ID, order.toAccountId());
+        writeDecimal(gen, AMOUNT, order.amount());
+        writeEnum(gen, TRANSACTION_TYPE, order.transactionType());
+        writeString(gen, DESCRIPTION, order.description());
+        writeEnum(gen, FREQUENCY, order.frequency());
+        writeEnum(gen, STATUS, order.status());
+        writeDateTime(gen, START_AT, order.startAt());
+        writeDateTime(gen, END_AT, order.endAt());
+        writeDateTime(gen, NEXT_RUN_AT, order.nextRunAt());
+        writeNumber(gen, EXECUTION_COUNT, order.executionCount());
+        writeDateTime(gen, LAST_RUN_AT, order.lastRunAt());
+        writeNumber(gen, LAST_TRANSACTION_ID, order.lastTransactionId());
+        gen.writeFieldName(FAILURE_COUNT);
+        gen.writeNumber(order.failureCount());
+        writeString(gen, LAST_ERROR, order.lastError());
+        gen.writeEndObject();
+    }
+}
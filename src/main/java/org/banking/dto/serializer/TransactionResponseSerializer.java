@@ -0,0 +1,73 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.banking.dto.TransactionResponse;
+
+import java.io.IOException;
+
+import static org.banking.dto.serializer.JsonFields.*;
+
+public class TransactionResponseSerializer extends StdSerializer<TransactionResponse> {
+
+    private static final SerializableString ID = name("id");
+    private static final SerializableString TRANSACTION_REFERENCE = name("transactionReference");
+    private static final SerializableString FROM_ACCOUNT = name("fromAccount");
+    private static final SerializableString TO_ACCOUNT = name("toAccount");
+    private static final SerializableString ACCOUNT_NUMBER = name("accountNumber");
+    private static final SerializableString ACCOUNT_TYPE = name("accountType");
+    private static final SerializableString AMOUNT = name("amount");
+    private static final SerializableString CURRENCY = name("currency");
+    private static final SerializableString TRANSACTION_TYPE = name("transactionType");
+    private static final SerializableString STATUS = name("status");
+    private static final SerializableString DESCRIPTION = name("description");
+    private static final SerializableString FEE = name("fee");
+    private static final SerializableString CREDITED_AMOUNT = name("creditedAmount");
+    private static final SerializableString FX_RATE = name("fxRate");
+    private static final SerializableString CREATED_AT = name("createdAt");
+    private static final SerializableString PROCESSED_AT = name("processedAt");
+
+    public TransactionResponseSerializer() {
+        super(TransactionResponse.class);
+    }
+
+    @Override
+    public void serialize(TransactionResponse transaction, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(transaction);
+        writeNumber(gen, ID, transaction.id());
+        writeString(gen, TRANSACTION_REFERENCE, transaction.transactionReference());
+        writeAccount(gen, FROM_ACCOUNT, transaction.fromAccount());
+        writeAccount(gen, TO_ACCOUNT, transaction.toAccount());
+        writeDecimal(gen, AMOUNT, transaction.amount());
+        writeString(gen, CURRENCY, transaction.currency());
+        writeEnum(gen, TRANSACTION_TYPE, transaction.transactionType());
+        writeEnum(gen, STATUS, transaction.status());
+        writeString(gen, DESCRIPTION, transaction.description());
+        writeDecimal(gen, FEE, transaction.fee());
+        writeDecimal(gen, CREDITED_AMOUNT, transaction.creditedAmount());
+        writeDecimal(gen, FX_RATE, transaction.fxRate());
+        writeDateTime(gen, CREATED_AT, transaction.createdAt());
+        writeDateTime(gen, PROCESSED_AT, transaction.processedAt());
+        gen.writeEndObject();
+    }
+
+    private static void writeAccount(JsonGenerator gen, SerializableString name,
+                                     TransactionResponse.AccountRef account) throws IOException {
+        if (account != null) {
+            gen.writeFieldName(name);
+            gen.writeStartObject(account);
+            writeNumber(gen, ID, account.id());
+            writeString(gen, ACCOUNT_NUMBER, account.accountNumber());
+            writeEnum(gen, ACCOUNT_TYPE, account.accountType());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.banking.dto.UserResponse;
+
+import java.io.IOException;
+
+import static org.banking.dto.serializer.JsonFields.*;
+
+public class UserResponseSerializer extends StdSerializer<UserResponse> {
+
+    private static final SerializableString ID = name("id");
+    private static final SerializableString USERNAME = name("username");
+    private static final SerializableString EMAIL = name("email");
+    private static final SerializableString FULL_NAME = name("fullName");
+    private static final SerializableString PHONE_NUMBER = name("phoneNumber");
+    private static final SerializableString CREATED_AT = name("createdAt");
+    private static final SerializableString UPDATED_AT = name("updatedAt");
+
+    public UserResponseSerializer() {
+        super(UserResponse.class);
+    }
+
+    @Override
+    public void serialize(UserResponse user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(user);
+        writeFields(user, gen);
+        gen.writeEndObject();
+    }
+
+    static void writeFields(UserResponse user, JsonGenerator gen) throws IOException {
+        writeNumber(gen, ID, user.id());
+        writeString(gen, USERNAME, user.username());
+        writeString(gen, EMAIL, user.email());
+        writeString(gen, FULL_NAME, user.fullName());
+        writeString(gen, PHONE_NUMBER, user.phoneNumber());
+        writeDateTime(gen, CREATED_AT, user.createdAt());
+        writeDateTime(gen, UPDATED_AT, user.updatedAt());
+    }
+}
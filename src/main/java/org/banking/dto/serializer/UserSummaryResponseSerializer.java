@@ -0,0 +1,81 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.banking.dto.UserSummaryResponse;
+import org.banking.model.Account;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.banking.dto.serializer.JsonFields.*;
+
+public class UserSummaryResponseSerializer extends StdSerializer<UserSummaryResponse> {
+
+    private static final SerializableString USER_ID = name("userId");
+    private static final SerializableString REPORTING_CURRENCY = name("reportingCurrency");
+    private static final SerializableString BALANCES_BY_CURRENCY = name("balancesByCurrency");
+    private static final SerializableString BALANCES_BY_TYPE = name("balancesByType");
+    private static final SerializableString TOTAL_BALANCE = name("totalBalance");
+    private static final SerializableString AVAILABLE_CREDIT = name("availableCredit");
+    private static final SerializableString ACCOUNTS_BY_STATUS = name("accountsByStatus");
+    private static final SerializableString TOTAL_ACCOUNTS = name("totalAccounts");
+    private static final SerializableString LAST_ACTIVITY_AT = name("lastActivityAt");
+
+    public UserSummaryResponseSerializer() {
+        super(UserSummaryResponse.class);
+    }
+
+    @Override
+    public void serialize(UserSummaryResponse summary, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(summary);
+        writeNumber(gen, USER_ID, summary.userId());
+        writeString(gen, REPORTING_CURRENCY, summary.reportingCurrency());
+        writeBalances(gen, summary.balancesByType(), summary.totalBalance(), summary.availableCredit());
+        gen.writeFieldName(BALANCES_BY_CURRENCY);
+        gen.writeStartObject();
+        for (Map.Entry<String, UserSummaryResponse.CurrencyBalances> currency : summary.balancesByCurrency().entrySet()) {
+            UserSummaryResponse.CurrencyBalances balances = currency.getValue();
+            gen.writeFieldName(currency.getKey());
+            gen.writeStartObject();
+            writeBalances(gen, balances.balancesByType(), balances.totalBalance(), balances.availableCredit());
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+        gen.writeFieldName(ACCOUNTS_BY_STATUS);
+        gen.writeStartObject();
+        for (Map.Entry<Account.AccountStatus, Integer> count : summary.accountsByStatus().entrySet()) {
+            gen.writeFieldName(count.getKey().name());
+            gen.writeNumber(count.getValue());
+        }
+        gen.writeEndObject();
+        gen.writeFieldName(TOTAL_ACCOUNTS);
+        gen.writeNumber(summary.totalAccounts());
+        writeDateTime(gen, LAST_ACTIVITY_AT, summary.lastActivityAt());
+        gen.writeEndObject();
+    }
+
+    private static void writeBalances(JsonGenerator gen, Map<Account.AccountType, BigDecimal> balancesByType,
+                                      BigDecimal totalBalance, BigDecimal availableCredit) throws IOException {
+        if (balancesByType != null) {
+            gen.writeFieldName(BALANCES_BY_TYPE);
+            gen.writeStartObject();
+            for (Map.Entry<Account.AccountType, BigDecimal> balance : balancesByType.entrySet()) {
+                gen.writeFieldName(balance.getKey().name());
+                gen.writeString(balance.getValue().toPlainString());
+            }
+            gen.writeEndObject();
+        }
+        writeDecimal(gen, TOTAL_BALANCE, totalBalance);
+        writeDecimal(gen, AVAILABLE_CREDIT, availableCredit);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.event;
+
+import org.banking.model.Account;
+
+/**
+ * Published inside the account's database transaction whenever an account is created,
+ * updated or deleted. {@code before} is null on creation, {@code after} is null on deletion.
+ */
+public record AccountChangedEvent(ChangeType changeType, AccountSnapshot before, AccountSnapshot after) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static AccountChangedEvent created(Account account) {
+        return new AccountChangedEvent(ChangeType.CREATED, null, AccountSnapshot.of(account));
+    }
+
+    public static AccountChangedEvent updated(AccountSnapshot before, Account account) {
+        return new AccountChangedEvent(ChangeType.UPDATED, before, AccountSnapshot.of(account));
+    }
+
+    public static AccountChangedEvent deleted(AccountSnapshot before) {
+        return new AccountChangedEvent(ChangeType.DELETED, before, null);
+    }
+
+    public Long accountId() {
+        return after != null ? after.id() : before.id();
+    }
+}
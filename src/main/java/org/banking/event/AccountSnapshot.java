@@ -0,0 +1,37 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.event;
+
+import org.banking.model.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record AccountSnapshot(Long id,
+                              Long userId,
+                              String accountNumber,
+                              Account.AccountType accountType,
+                              Account.AccountStatus status,
+                              BigDecimal balance,
+                              String currency,
+                              BigDecimal creditLimit,
+                              LocalDateTime createdAt) {
+
+    public static AccountSnapshot of(Account account) {
+        return new AccountSnapshot(
+                account.getId(),
+                account.getUser() != null ? account.getUser().getId() : null,
+                account.getAccountNumber(),
+                account.getAccountType(),
+                account.getStatus(),
+                account.getBalance(),
+                account.getCurrency(),
+                account.getCreditLimit(),
+                account.getCreatedAt()
+        );
+    }
+}
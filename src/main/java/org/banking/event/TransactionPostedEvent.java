@@ -0,0 +1,53 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.event;
+
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the posting's database transaction once balances have moved and the
+ * transaction has been stored. The account snapshots carry the balances after posting.
+ * {@code creditedAmount} is what a transfer added to the to account, in that account's
+ * currency; {@link #credited()} falls back to {@code amount} when it is not set.
+ */
+public record TransactionPostedEvent(Long transactionId,
+                                     String transactionReference,
+                                     Transaction.TransactionType transactionType,
+                                     Transaction.TransactionStatus status,
+                                     BigDecimal amount,
+                                     BigDecimal fee,
+                                     String currency,
+                                     BigDecimal creditedAmount,
+                                     String description,
+                                     LocalDateTime createdAt,
+                                     AccountSnapshot fromAccount,
+                                     AccountSnapshot toAccount) {
+
+    public static TransactionPostedEvent of(Transaction transaction) {
+        return new TransactionPostedEvent(
+                transaction.getId(),
+                transaction.getTransactionReference(),
+                transaction.getTransactionType(),
+                transaction.getStatus(),
+                transaction.getAmount(),
+                transaction.getFee(),
+                transaction.getCurrency(),
+                transaction.getCreditedAmount(),
+                transaction.getDescription(),
+                transaction.getCreatedAt(),
+                AccountSnapshot.of(transaction.getFromAccount()),
+                transaction.getToAccount() != null ? AccountSnapshot.of(transaction.getToAccount()) : null
+        );
+    }
+
+    public BigDecimal credited() {
+        return creditedAmount != null ? creditedAmount : amount;
+    }
+}
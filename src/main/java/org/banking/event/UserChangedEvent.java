@@ -0,0 +1,38 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.event;
+
+import org.banking.model.User;
+
+public record UserChangedEvent(ChangeType changeType,
+                               Long userId,
+                               String username,
+                               String email,
+                               String fullName,
+                               String phoneNumber) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static UserChangedEvent created(User user) {
+        return of(ChangeType.CREATED, user);
+    }
+
+    public static UserChangedEvent updated(User user) {
+        return of(ChangeType.UPDATED, user);
+    }
+
+    public static UserChangedEvent deleted(Long userId) {
+        return new UserChangedEvent(ChangeType.DELETED, userId, null, null, null, null);
+    }
+
+    private static UserChangedEvent of(ChangeType changeType, User user) {
+        return new UserChangedEvent(changeType, user.getId(), user.getUsername(), user.getEmail(),
+                user.getFullName(), user.getPhoneNumber());
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.exception;
+
+public class TransactionDeclinedException extends RuntimeException {
+
+    private final String rule;
+
+    public TransactionDeclinedException(String rule, String message) {
+        super(message);
+        this.rule = rule;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+/**
+ * Declines a debit larger than {@code multiplier} times the account's moving average debit.
+ * The average only includes accepted debits and is ignored until it has
+ * {@code minSamples} of them.
+ */
+public class AmountSpikeRule implements FraudRule {
+
+    private final double multiplier;
+    private final double alpha;
+    private final long minSamples;
+    private final ConcurrentLongMap<Ewma> averages = new ConcurrentLongMap<>();
+
+    public AmountSpikeRule(double multiplier, double alpha, long minSamples) {
+        this.multiplier = multiplier;
+        this.alpha = alpha;
+        this.minSamples = minSamples;
+    }
+
+    @Override
+    public String getName() {
+        return "amount-spike";
+    }
+
+    @Override
+    public String evaluate(PostingAttempt attempt) {
+        if (!attempt.isDebit()) {
+            return null;
+        }
+        Ewma average = averages.get(attempt.accountId());
+        if (average != null && average.getSamples() >= minSamples
+                && attempt.amountMinor() > multiplier * average.getAverage()) {
+            return "Amount is more than " + multiplier + "x the account's average debit";
+        }
+        return null;
+    }
+
+    @Override
+    public void onAccepted(PostingAttempt attempt) {
+        if (attempt.isDebit()) {
+            averages.computeIfAbsent(attempt.accountId(), id -> new Ewma(alpha)).update(attempt.amountMinor());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Map from non-zero {@code long} keys to values, without boxing the keys. Keys are spread
+ * over segments, each an open-addressing table. Lookups never lock: a slot's value is
+ * published before its key, and a grown table replaces the old one only once fully copied.
+ * Inserts lock their segment. Entries are never removed, so the map is meant for state
+ * keyed by account id.
+ */
+public class ConcurrentLongMap<V> {
+
+    private static final int SEGMENT_BITS = 4;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongMap() {
+        segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    public V get(long key) {
+        long hash = hash(key);
+        return segmentFor(hash).table.find(key, (int) hash);
+    }
+
+    public V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        long hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        V value = segment.table.find(key, (int) hash);
+        return value != null ? value : segment.insert(key, (int) hash, factory);
+    }
+
+    /**
+     * Visits every entry with its key. Entries inserted while iterating may or may not be
+     * seen.
+     */
+    public void forEach(ObjLongConsumer<? super V> action) {
+        for (Segment<V> segment : segments) {
+            Table<V> table = segment.table;
+            for (int i = 0; i < table.keys.length(); i++) {
+                long key = table.keys.get(i);
+                if (key != 0) {
+                    action.accept(table.values.get(i), key);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static long hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static final class Segment<V> {
+
+        volatile Table<V> table = new Table<>(INITIAL_SEGMENT_CAPACITY);
+        volatile int size;
+
+        synchronized V insert(long key, int hash, LongFunction<? extends V> factory) {
+            V existing = table.find(key, hash);
+            if (existing != null) {
+                return existing;
+            }
+            Table<V> current = table;
+            if ((size + 1) * 4 > current.keys.length() * 3) {
+                Table<V> grown = new Table<>(current.keys.length() * 2);
+                for (int i = 0; i < current.keys.length(); i++) {
+                    long k = current.keys.get(i);
+                    if (k != 0) {
+                        grown.put(k, (int) hash(k), current.values.get(i));
+                    }
+                }
+                table = current = grown;
+            }
+            V value = factory.apply(key);
+            current.put(key, hash, value);
+            size++;
+            return value;
+        }
+    }
+
+    private static final class Table<V> {
+
+        final AtomicLongArray keys;
+        final AtomicReferenceArray<V> values;
+        final int mask;
+
+        Table(int capacity) {
+            keys = new AtomicLongArray(capacity);
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+
+        V find(long key, int hash) {
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                long k = keys.get(i);
+                if (k == key) {
+                    return values.get(i);
+                }
+                if (k == 0) {
+                    return null;
+                }
+            }
+        }
+
+        void put(long key, int hash, V value) {
+            int i = hash & mask;
+            while (keys.get(i) != 0) {
+                i = (i + 1) & mask;
+            }
+            values.set(i, value);
+            keys.set(i, key);
+        }
+    }
+}
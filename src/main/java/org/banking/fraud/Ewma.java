@@ -0,0 +1,45 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exponentially weighted moving average, updated with compare-and-set on the double's
+ * bits. The sample count is kept alongside so callers can ignore averages built from too
+ * few samples.
+ */
+public class Ewma {
+
+    private final double alpha;
+    private final AtomicLong averageBits = new AtomicLong(Double.doubleToRawLongBits(0));
+    private final AtomicLong samples = new AtomicLong();
+
+    public Ewma(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public void update(double value) {
+        boolean first = samples.getAndIncrement() == 0;
+        while (true) {
+            long currentBits = averageBits.get();
+            double current = Double.longBitsToDouble(currentBits);
+            double next = first ? value : current + alpha * (value - current);
+            if (averageBits.compareAndSet(currentBits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public double getAverage() {
+        return Double.longBitsToDouble(averageBits.get());
+    }
+
+    public long getSamples() {
+        return samples.get();
+    }
+}
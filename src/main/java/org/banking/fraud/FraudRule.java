@@ -0,0 +1,28 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+/**
+ * A check run on every posting before balances move. Rules keep whatever state they need
+ * in memory and must answer in microseconds; they run on the request thread, inside the
+ * posting's transaction.
+ */
+public interface FraudRule {
+
+    String getName();
+
+    /**
+     * Returns why the posting should be declined, or {@code null} to let it through.
+     */
+    String evaluate(PostingAttempt attempt);
+
+    /**
+     * Called once every rule has let the posting through.
+     */
+    default void onAccepted(PostingAttempt attempt) {
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.banking.exception.TransactionDeclinedException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@link FraudRule} against a posting and throws
+ * {@link TransactionDeclinedException} for the first one that declines it. Each rule's
+ * evaluation time is recorded in the {@code banking.fraud.rule.latency} histogram and each
+ * decline in {@code banking.fraud.declined}, both tagged with the rule name.
+ */
+public class FraudRuleEngine {
+
+    private final FraudRule[] rules;
+    private final Timer[] latencies;
+    private final Counter[] declines;
+
+    public FraudRuleEngine(List<FraudRule> rules, MeterRegistry meterRegistry) {
+        this.rules = rules.toArray(new FraudRule[0]);
+        this.latencies = new Timer[this.rules.length];
+        this.declines = new Counter[this.rules.length];
+        for (int i = 0; i < this.rules.length; i++) {
+            String name = this.rules[i].getName();
+            latencies[i] = Timer.builder("banking.fraud.rule.latency")
+                    .tag("rule", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            declines[i] = Counter.builder("banking.fraud.declined")
+                    .tag("rule", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public void check(PostingAttempt attempt) {
+        for (int i = 0; i < rules.length; i++) {
+            long start = System.nanoTime();
+            String reason = rules[i].evaluate(attempt);
+            latencies[i].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (reason != null) {
+                declines[i].increment();
+                throw new TransactionDeclinedException(rules[i].getName(), "Transaction declined: " + reason);
+            }
+        }
+        for (FraudRule rule : rules) {
+            rule.onAccepted(attempt);
+        }
+    }
+
+    public int getRuleCount() {
+        return rules.length;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+import org.banking.model.Transaction;
+
+/**
+ * Declines a transfer of at least {@code minAmountMinor} (minor units of the screening
+ * currency, compared with {@link PostingAttempt#screeningAmountMinor()}) to another user's
+ * account that was opened less than {@code minPayeeAgeMillis} ago. Transfers between a
+ * user's own accounts are not checked.
+ */
+public class NewPayeeRule implements FraudRule {
+
+    private final long minPayeeAgeMillis;
+    private final long minAmountMinor;
+
+    public NewPayeeRule(long minPayeeAgeMillis, long minAmountMinor) {
+        this.minPayeeAgeMillis = minPayeeAgeMillis;
+        this.minAmountMinor = minAmountMinor;
+    }
+
+    @Override
+    public String getName() {
+        return "new-payee";
+    }
+
+    @Override
+    public String evaluate(PostingAttempt attempt) {
+        if (attempt.type() != Transaction.TransactionType.TRANSFER
+                || attempt.screeningAmountMinor() < minAmountMinor
+                || (attempt.ownerId() != 0 && attempt.counterpartyOwnerId() == attempt.ownerId())) {
+            return null;
+        }
+        long payeeAgeMillis = attempt.timestampMillis() - attempt.counterpartyCreatedAtMillis();
+        if (attempt.counterpartyCreatedAtMillis() != Long.MIN_VALUE && payeeAgeMillis < minPayeeAgeMillis) {
+            return "Transfer to an account opened less than " + minPayeeAgeMillis / 60_000 + " minutes ago";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+import org.banking.fx.Currencies;
+import org.banking.fx.FxRate;
+import org.banking.fx.FxRateTable;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+
+/**
+ * The facts fraud rules look at, flattened to primitives so rules never touch entities or
+ * the database. Ids are 0 and the creation time is {@link Long#MIN_VALUE} when unknown.
+ * {@code amountMinor} is in minor units of the account's own currency (cents, or whole
+ * yen), which is all per-account rules need. {@code screeningAmountMinor} is the same
+ * amount converted to the single screening currency that fixed thresholds are set in; it
+ * is {@link Long#MAX_VALUE} when there is no rate, so such postings meet every threshold.
+ */
+public record PostingAttempt(
+        long accountId,
+        long ownerId,
+        long counterpartyId,
+        long counterpartyOwnerId,
+        long counterpartyCreatedAtMillis,
+        Transaction.TransactionType type,
+        long amountMinor,
+        long screeningAmountMinor,
+        long timestampMillis
+) {
+
+    public static PostingAttempt of(Transaction transaction, FxRateTable rates, String screeningCurrency,
+                                    long timestampMillis) {
+        String currency = transaction.getCurrency() != null ? transaction.getCurrency() : Currencies.DEFAULT;
+        Account from = transaction.getFromAccount();
+        Account to = transaction.getToAccount();
+        return new PostingAttempt(
+                from.getId(),
+                ownerId(from),
+                to != null ? to.getId() : 0,
+                to != null ? ownerId(to) : 0,
+                to != null && to.getCreatedAt() != null
+                        ? to.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : Long.MIN_VALUE,
+                transaction.getTransactionType(),
+                minorUnits(transaction.getAmount(), currency),
+                screeningAmountMinor(transaction.getAmount(), currency, rates, screeningCurrency),
+                timestampMillis
+        );
+    }
+
+    private static long screeningAmountMinor(BigDecimal amount, String currency, FxRateTable rates,
+                                             String screeningCurrency) {
+        if (currency.equals(screeningCurrency)) {
+            return minorUnits(amount, currency);
+        }
+        FxRate rate = rates.find(currency, screeningCurrency);
+        return rate != null ? minorUnits(rate.convert(amount), screeningCurrency) : Long.MAX_VALUE;
+    }
+
+    private static long minorUnits(BigDecimal amount, String currency) {
+        return amount.movePointRight(Currencies.fractionDigits(currency))
+                .setScale(0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+
+    public boolean isDebit() {
+        return type != Transaction.TransactionType.DEPOSIT;
+    }
+
+    private static long ownerId(Account account) {
+        return account.getUser() != null ? account.getUser().getId() : 0;
+    }
+}
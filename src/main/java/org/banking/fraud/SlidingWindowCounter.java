@@ -0,0 +1,65 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free event counter over a sliding time window, split into a ring of buckets. Each
+ * bucket packs the bucket number it belongs to with its count in one {@code long}, so a
+ * stale bucket is reset and incremented by a single compare-and-set. The window moves a
+ * bucket at a time: a count covers between {@code window - window / buckets} and
+ * {@code window} of history.
+ */
+public class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray buckets;
+    private final long bucketMillis;
+
+    public SlidingWindowCounter(int bucketCount, long windowMillis) {
+        if (bucketCount < 1 || windowMillis < bucketCount) {
+            throw new IllegalArgumentException("Window must span at least one millisecond per bucket");
+        }
+        this.buckets = new AtomicLongArray(bucketCount);
+        this.bucketMillis = windowMillis / bucketCount;
+    }
+
+    /**
+     * Counts one event at {@code nowMillis} and returns the window's count including it.
+     */
+    public long increment(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % buckets.length());
+        while (true) {
+            long current = buckets.get(slot);
+            long next = (current >>> COUNT_BITS) == epoch
+                    ? current + ((current & COUNT_MASK) < COUNT_MASK ? 1 : 0)
+                    : (epoch << COUNT_BITS) | 1;
+            if (buckets.compareAndSet(slot, current, next)) {
+                break;
+            }
+        }
+        return count(nowMillis);
+    }
+
+    public long count(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long oldest = epoch - buckets.length() + 1;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            long bucket = buckets.get(i);
+            long bucketEpoch = bucket >>> COUNT_BITS;
+            if (bucketEpoch >= oldest && bucketEpoch <= epoch) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fraud;
+
+import org.banking.model.Transaction;
+
+/**
+ * Declines a posting of the watched type once an account has made more than
+ * {@code maxPerWindow} of them within the window. Declined attempts are counted too, so a
+ * burst keeps being declined until it slows down.
+ */
+public class VelocityRule implements FraudRule {
+
+    private static final int BUCKETS = 6;
+
+    private final Transaction.TransactionType type;
+    private final int maxPerWindow;
+    private final long windowMillis;
+    private final ConcurrentLongMap<SlidingWindowCounter> counters = new ConcurrentLongMap<>();
+
+    public VelocityRule(Transaction.TransactionType type, int maxPerWindow, long windowMillis) {
+        this.type = type;
+        this.maxPerWindow = maxPerWindow;
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public String getName() {
+        return "velocity";
+    }
+
+    @Override
+    public String evaluate(PostingAttempt attempt) {
+        if (attempt.type() != type) {
+            return null;
+        }
+        long count = counters.computeIfAbsent(attempt.accountId(), id -> new SlidingWindowCounter(BUCKETS, windowMillis))
+                .increment(attempt.timestampMillis());
+        if (count > maxPerWindow) {
+            return "More than " + maxPerWindow + " " + type.name().toLowerCase() + "s within "
+                    + windowMillis / 1000 + "s";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fx;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * ISO 4217 currency codes accepted for accounts and rate tables. Balances are stored to
+ * the cent, so currencies with more than two minor digits (e.g. BHD) are not supported.
+ */
+public final class Currencies {
+
+    public static final String DEFAULT = "USD";
+
+    private Currencies() {
+    }
+
+    /** The upper-cased code; throws {@link IllegalArgumentException} if it is not supported. */
+    public static String normalize(String code) {
+        if (code == null || code.length() != 3) {
+            throw new IllegalArgumentException("Currency must be a 3-letter ISO 4217 code: " + code);
+        }
+        String upper = code.toUpperCase(Locale.ROOT);
+        Currency currency;
+        try {
+            currency = Currency.getInstance(upper);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency: " + code);
+        }
+        int digits = currency.getDefaultFractionDigits();
+        if (digits < 0 || digits > 2) {
+            throw new IllegalArgumentException("Currency " + upper + " is not supported");
+        }
+        return upper;
+    }
+
+    /** Minor-unit digits of a supported currency: 2 for USD, 0 for JPY. */
+    public static int fractionDigits(String code) {
+        return Currency.getInstance(code).getDefaultFractionDigits();
+    }
+
+    /** Throws {@link IllegalArgumentException} if {@code amount} has more decimals than the currency. */
+    public static void requireMinorUnits(BigDecimal amount, String code) {
+        int digits = fractionDigits(code);
+        if (amount.stripTrailingZeros().scale() > digits) {
+            throw new IllegalArgumentException(code + " amounts have at most " + digits + " decimal places");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fx;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Units of {@code toCurrency} per unit of {@code fromCurrency}. {@code scale} is the
+ * minor-unit digits of {@code toCurrency}, worked out once when the table is built.
+ */
+public record FxRate(String fromCurrency, String toCurrency, BigDecimal rate, int scale) {
+
+    /** {@code amount} in {@code toCurrency}, rounded half-even to its minor unit. */
+    public BigDecimal convert(BigDecimal amount) {
+        return amount.multiply(rate).setScale(scale, RoundingMode.HALF_EVEN);
+    }
+}
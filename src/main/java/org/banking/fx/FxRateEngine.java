@@ -0,0 +1,116 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fx;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Converts transfer amounts between account currencies. Rates come from the rate table at
+ * {@code banking.fx.rate-file}, which is checked every {@code reload-check-ms} and
+ * re-read when its modification time changes. Each load builds a new {@link FxRateTable}
+ * and swaps it in with a single volatile write, so postings always see one whole table
+ * and the posting path never locks or touches the database. A table that fails to parse
+ * is logged and the previous one stays in use.
+ */
+@Component
+public class FxRateEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateEngine.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.fx.rate-file:classpath:fx-rates.csv}")
+    private Resource rateFile;
+
+    @Value("${banking.fx.pivot-currency:USD}")
+    private String pivotCurrency;
+
+    private volatile FxRateTable rates;
+    private long loadedModified;
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            rates = load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read FX rate table " + rateFile, e);
+        }
+        log.info("Loaded {} FX rates from {}", rates.size(), rateFile);
+        Gauge.builder("banking.fx.rates", this, engine -> engine.rates.size())
+                .register(meterRegistry);
+    }
+
+    /** Re-reads the rate table if it changed since the last load; returns whether it did. */
+    @Scheduled(fixedDelayString = "${banking.fx.reload-check-ms:60000}")
+    public synchronized boolean reloadIfChanged() {
+        try {
+            if (lastModified() == loadedModified) {
+                return false;
+            }
+            FxRateTable reloaded = load();
+            rates = reloaded;
+            log.info("Reloaded {} FX rates from {}", reloaded.size(), rateFile);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Keeping the FX rates loaded at {}; could not reload {}", rates.getLoadedAt(), rateFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * The rate from one currency to another. Throws {@link IllegalArgumentException} if the
+     * table has no rate for the pair.
+     */
+    public FxRate rate(String fromCurrency, String toCurrency) {
+        FxRate rate = rates.find(fromCurrency, toCurrency);
+        if (rate == null) {
+            throw new IllegalArgumentException("No FX rate from " + fromCurrency + " to " + toCurrency);
+        }
+        return rate;
+    }
+
+    public FxRateTable getRates() {
+        return rates;
+    }
+
+    private synchronized FxRateTable load() throws IOException {
+        long modified = lastModified();
+        FxRateTable table;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(rateFile.getInputStream(), StandardCharsets.UTF_8))) {
+            table = FxRateTable.parse(reader, pivotCurrency, Instant.now());
+        }
+        loadedModified = modified;
+        return table;
+    }
+
+    /** 0 for resources without a modification time, such as entries inside a jar. */
+    private long lastModified() {
+        try {
+            return rateFile.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
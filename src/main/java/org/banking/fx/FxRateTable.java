@@ -0,0 +1,152 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.fx;
+
+import org.banking.fraud.ConcurrentLongMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of exchange rates, read from a rate table with one
+ * {@code FROM,TO,RATE} line per quote ({@code EUR,USD,1.0834}: one euro buys 1.0834
+ * dollars). Blank lines and lines starting with {@code #} are skipped.
+ * <p>
+ * Every rate is kept to {@value #RATE_SCALE} decimal places, so the rate stored on a
+ * posting is exactly the one it was converted with. The reverse of a quote that is not
+ * quoted itself is derived as its reciprocal, and a pair with no quote in either
+ * direction is crossed through the pivot currency. Quotes always win over derived rates.
+ * <p>
+ * Pairs are looked up in a {@link ConcurrentLongMap} keyed by both codes packed into one
+ * {@code long}, so a lookup neither locks nor allocates.
+ */
+public final class FxRateTable {
+
+    public static final int RATE_SCALE = 10;
+
+    private static final MathContext DERIVED = MathContext.DECIMAL64;
+
+    private final ConcurrentLongMap<FxRate> rates = new ConcurrentLongMap<>();
+    private final int size;
+    private final Instant loadedAt;
+
+    private FxRateTable(Map<String, FxRate> byPair, Instant loadedAt) {
+        for (FxRate rate : byPair.values()) {
+            rates.computeIfAbsent(pairKey(rate.fromCurrency(), rate.toCurrency()), key -> rate);
+        }
+        this.size = byPair.size();
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Parses a rate table. Throws {@link IllegalArgumentException} naming the line for a
+     * malformed or duplicate quote, an unsupported currency or a non-positive rate.
+     */
+    public static FxRateTable parse(BufferedReader reader, String pivotCurrency, Instant loadedAt) throws IOException {
+        String pivot = Currencies.normalize(pivotCurrency);
+        Map<String, FxRate> quoted = new LinkedHashMap<>();
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException("expected FROM,TO,RATE");
+                }
+                String from = Currencies.normalize(fields[0].strip());
+                String to = Currencies.normalize(fields[1].strip());
+                if (from.equals(to)) {
+                    throw new IllegalArgumentException("quotes " + from + " against itself");
+                }
+                BigDecimal rate = new BigDecimal(fields[2].strip()).setScale(RATE_SCALE, RoundingMode.HALF_EVEN);
+                if (rate.signum() <= 0) {
+                    throw new IllegalArgumentException("rate must be positive");
+                }
+                if (quoted.put(from + to, rate(from, to, rate)) != null) {
+                    throw new IllegalArgumentException(from + "/" + to + " is quoted twice");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Rate table line " + number + ": " + e.getMessage(), e);
+            }
+        }
+
+        Map<String, FxRate> byPair = new LinkedHashMap<>(quoted);
+        for (FxRate quote : quoted.values()) {
+            derive(byPair, quote.toCurrency(), quote.fromCurrency(), BigDecimal.ONE.divide(quote.rate(), DERIVED));
+        }
+        List<FxRate> toPivot = new ArrayList<>();
+        List<FxRate> fromPivot = new ArrayList<>();
+        for (FxRate rate : byPair.values()) {
+            if (rate.toCurrency().equals(pivot)) {
+                toPivot.add(rate);
+            } else if (rate.fromCurrency().equals(pivot)) {
+                fromPivot.add(rate);
+            }
+        }
+        for (FxRate in : toPivot) {
+            for (FxRate out : fromPivot) {
+                if (!in.fromCurrency().equals(out.toCurrency())) {
+                    derive(byPair, in.fromCurrency(), out.toCurrency(), in.rate().multiply(out.rate(), DERIVED));
+                }
+            }
+        }
+        return new FxRateTable(byPair, loadedAt);
+    }
+
+    /** The rate from one currency to another, or null if the table has none. */
+    public FxRate find(String fromCurrency, String toCurrency) {
+        if (fromCurrency.length() != 3 || toCurrency.length() != 3) {
+            return null;
+        }
+        return rates.get(pairKey(fromCurrency, toCurrency));
+    }
+
+    /** Number of currency pairs, quoted and derived. */
+    public int size() {
+        return size;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    private static void derive(Map<String, FxRate> byPair, String from, String to, BigDecimal rate) {
+        BigDecimal scaled = rate.setScale(RATE_SCALE, RoundingMode.HALF_EVEN);
+        if (scaled.signum() > 0) {
+            byPair.putIfAbsent(from + to, rate(from, to, scaled));
+        }
+    }
+
+    private static FxRate rate(String from, String to, BigDecimal rate) {
+        return new FxRate(from, to, rate, Currencies.fractionDigits(to));
+    }
+
+    /** Five bits per letter; never 0, which {@link ConcurrentLongMap} reserves. */
+    private static long pairKey(String from, String to) {
+        long key = 0;
+        for (int i = 0; i < 3; i++) {
+            key = key << 5 | (from.charAt(i) & 31);
+        }
+        for (int i = 0; i < 3; i++) {
+            key = key << 5 | (to.charAt(i) & 31);
+        }
+        return key;
+    }
+}
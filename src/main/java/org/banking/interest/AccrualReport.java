@@ -0,0 +1,27 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.interest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Outcome of one interest run. Counts only cover chunks processed by this run, so a
+ * resumed run reports the remainder.
+ */
+public record AccrualReport(LocalDate accrualDate,
+                            int partitions,
+                            long accounts,
+                            long postings,
+                            BigDecimal interestCredited,
+                            BigDecimal interestCharged,
+                            long elapsedMillis) {
+
+    public double accountsPerSecond() {
+        return accounts * 1000.0 / Math.max(1, elapsedMillis);
+    }
+}
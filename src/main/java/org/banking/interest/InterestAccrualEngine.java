@@ -0,0 +1,309 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.interest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.banking.event.AccountSnapshot;
+import org.banking.event.TransactionPostedEvent;
+import org.banking.fx.Currencies;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.repository.TransactionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-of-day interest for SAVINGS and CREDIT accounts. Savings earn
+ * {@code balance * annualRate / daysInYear}. A credit account is charged only on what it
+ * has actually borrowed, a negative balance; the unused limit and any positive balance
+ * cost nothing. Each amount is rounded once, half-even, to the currency's minor unit.
+ * <p>
+ * Accounts are split into partitions by {@code id MOD partitions} and each partition is
+ * streamed in id order, one chunk per database transaction: the chunk's rows are locked,
+ * its postings are batch-inserted through {@link TransactionStore#saveAll}, balances are
+ * moved with one batched update and the partition's checkpoint is advanced, all in the
+ * same commit. A restarted run for the same date skips what is already committed. Every
+ * posting is also published as a {@link TransactionPostedEvent} so summaries, rollups,
+ * the outbox and the event stream see it like any other posting. Postings lock their
+ * accounts too (see {@code AccountService#lockAccounts}), so a posting never writes back a
+ * balance it read before the interest was added.
+ * <p>
+ * An account's interest depends only on its own balance, so any number of threads yields
+ * the same postings; the transaction reference ({@code INT-yyyyMMdd-accountId}) is fixed
+ * per account and day.
+ */
+@Component
+public class InterestAccrualEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualEngine.class);
+
+    private static final DateTimeFormatter REFERENCE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String CHUNK_SQL = "SELECT id, user_id, account_number, account_type, status, balance, "
+            + "currency, credit_limit, created_at FROM accounts WHERE id > ? AND MOD(id, ?) = ? ORDER BY id "
+            + "FETCH FIRST ? ROWS ONLY FOR UPDATE";
+
+    private static final String BALANCE_SQL = "UPDATE accounts SET balance = balance + ?, updated_at = ? WHERE id = ?";
+
+    private static final String CHECKPOINT_SQL = "UPDATE interest_checkpoints SET last_account_id = ?, "
+            + "accounts = accounts + ?, postings = postings + ?, completed = ?, updated_at = ? "
+            + "WHERE accrual_date = ? AND partition_no = ?";
+
+    private static final RowMapper<AccountSnapshot> ACCOUNT_ROW = (rs, rowNum) -> new AccountSnapshot(
+            rs.getLong("id"),
+            rs.getObject("user_id", Long.class),
+            rs.getString("account_number"),
+            Account.AccountType.valueOf(rs.getString("account_type")),
+            Account.AccountStatus.valueOf(rs.getString("status")),
+            rs.getBigDecimal("balance"),
+            rs.getString("currency"),
+            rs.getBigDecimal("credit_limit"),
+            rs.getObject("created_at", LocalDateTime.class)
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionStore transactionStore;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.interest.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.interest.savings-annual-rate:0.0200}")
+    private BigDecimal savingsAnnualRate;
+
+    @Value("${banking.interest.credit-annual-rate:0.1999}")
+    private BigDecimal creditAnnualRate;
+
+    @Value("${banking.interest.days-in-year:365}")
+    private int daysInYear;
+
+    @Value("${banking.interest.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${banking.interest.threads:4}")
+    private int threads;
+
+    @Scheduled(cron = "${banking.interest.cron:0 5 0 * * *}")
+    public void accrueYesterday() {
+        if (enabled) {
+            accrue(LocalDate.now().minusDays(1));
+        }
+    }
+
+    public AccrualReport accrue(LocalDate date) {
+        return accrue(date, threads);
+    }
+
+    /**
+     * Accrues interest for {@code date} on up to {@code threads} workers. A date that was
+     * started before keeps its original partitioning and resumes from its checkpoints.
+     */
+    public synchronized AccrualReport accrue(LocalDate date, int threads) {
+        long started = System.nanoTime();
+        int partitions = preparePartitions(date, Math.max(1, threads));
+        List<Integer> pending = jdbcTemplate.queryForList("SELECT partition_no FROM interest_checkpoints "
+                + "WHERE accrual_date = ? AND completed = FALSE ORDER BY partition_no", Integer.class, Date.valueOf(date));
+
+        PartitionResult total = new PartitionResult();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, pending.size())));
+        try {
+            List<Future<PartitionResult>> results = new ArrayList<>(pending.size());
+            for (Integer partition : pending) {
+                results.add(workers.submit(() -> accruePartition(date, partition, partitions)));
+            }
+            for (Future<PartitionResult> result : results) {
+                total.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interest run for " + date + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Interest run for " + date + " failed; rerun to resume", e.getCause());
+        } finally {
+            workers.shutdown();
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        AccrualReport report = new AccrualReport(date, partitions, total.accounts, total.postings,
+                total.credited, total.charged, elapsedMillis);
+        meterRegistry.counter("banking.interest.accounts").increment(report.accounts());
+        meterRegistry.counter("banking.interest.postings").increment(report.postings());
+        log.info("Interest for {}: {} accounts, {} postings, {} credited, {} charged in {} ms ({} accounts/s)",
+                date, report.accounts(), report.postings(), report.interestCredited(), report.interestCharged(),
+                elapsedMillis, Math.round(report.accountsPerSecond()));
+        return report;
+    }
+
+    /**
+     * Interest for one day on {@code account}, signed as it applies to the balance and
+     * rounded to the minor unit of its currency; zero when the account does not accrue.
+     */
+    public BigDecimal dailyInterest(AccountSnapshot account) {
+        if (account.status() != Account.AccountStatus.ACTIVE || account.balance() == null) {
+            return BigDecimal.ZERO;
+        }
+        int scale = account.currency() != null ? Currencies.fractionDigits(account.currency()) : 2;
+        if (account.accountType() == Account.AccountType.SAVINGS && account.balance().signum() > 0) {
+            return account.balance().multiply(savingsAnnualRate)
+                    .divide(BigDecimal.valueOf(daysInYear), scale, RoundingMode.HALF_EVEN);
+        }
+        if (account.accountType() == Account.AccountType.CREDIT && account.balance().signum() < 0) {
+            BigDecimal drawn = account.balance().negate();
+            return drawn.multiply(creditAnnualRate)
+                    .divide(BigDecimal.valueOf(daysInYear), scale, RoundingMode.HALF_EVEN)
+                    .negate();
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private int preparePartitions(LocalDate date, int requested) {
+        return transactionTemplate.execute(status -> {
+            List<Integer> existing = jdbcTemplate.queryForList(
+                    "SELECT partitions FROM interest_checkpoints WHERE accrual_date = ?", Integer.class, Date.valueOf(date));
+            if (!existing.isEmpty()) {
+                return existing.get(0);
+            }
+            List<Object[]> rows = new ArrayList<>(requested);
+            for (int partition = 0; partition < requested; partition++) {
+                rows.add(new Object[]{Date.valueOf(date), partition, requested});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO interest_checkpoints (accrual_date, partition_no, partitions, "
+                    + "last_account_id, accounts, postings, completed) VALUES (?, ?, ?, 0, 0, 0, FALSE)", rows);
+            return requested;
+        });
+    }
+
+    private PartitionResult accruePartition(LocalDate date, int partition, int partitions) {
+        PartitionResult result = new PartitionResult();
+        long lastAccountId = jdbcTemplate.queryForObject("SELECT last_account_id FROM interest_checkpoints "
+                + "WHERE accrual_date = ? AND partition_no = ?", Long.class, Date.valueOf(date), partition);
+        boolean completed = false;
+        while (!completed) {
+            long after = lastAccountId;
+            PartitionResult chunk = transactionTemplate.execute(status -> accrueChunk(date, partition, partitions, after));
+            result.add(chunk);
+            lastAccountId = chunk.lastAccountId;
+            completed = chunk.completed;
+        }
+        return result;
+    }
+
+    private PartitionResult accrueChunk(LocalDate date, int partition, int partitions, long afterAccountId) {
+        List<AccountSnapshot> accounts = jdbcTemplate.query(CHUNK_SQL, ACCOUNT_ROW,
+                afterAccountId, partitions, partition, chunkSize);
+        LocalDateTime postedAt = date.atTime(23, 59, 59);
+        LocalDateTime now = LocalDateTime.now();
+
+        PartitionResult chunk = new PartitionResult();
+        List<Transaction> postings = new ArrayList<>();
+        List<AccountSnapshot> after = new ArrayList<>();
+        List<Object[]> balanceUpdates = new ArrayList<>();
+        for (AccountSnapshot account : accounts) {
+            BigDecimal interest = dailyInterest(account);
+            if (interest.signum() == 0) {
+                continue;
+            }
+            postings.add(posting(account, interest, date, postedAt, now));
+            after.add(new AccountSnapshot(account.id(), account.userId(), account.accountNumber(), account.accountType(),
+                    account.status(), account.balance().add(interest), account.currency(), account.creditLimit(),
+                    account.createdAt()));
+            balanceUpdates.add(new Object[]{interest, now, account.id()});
+            if (interest.signum() > 0) {
+                chunk.credited = chunk.credited.add(interest);
+            } else {
+                chunk.charged = chunk.charged.add(interest.negate());
+            }
+        }
+
+        transactionStore.saveAll(postings);
+        jdbcTemplate.batchUpdate(BALANCE_SQL, balanceUpdates);
+        for (int i = 0; i < postings.size(); i++) {
+            Transaction posting = postings.get(i);
+            eventPublisher.publishEvent(new TransactionPostedEvent(posting.getId(), posting.getTransactionReference(),
+                    posting.getTransactionType(), posting.getStatus(), posting.getAmount(), posting.getFee(),
+                    posting.getCurrency(), null, posting.getDescription(), posting.getCreatedAt(), after.get(i), null));
+        }
+
+        chunk.accounts = accounts.size();
+        chunk.postings = postings.size();
+        chunk.lastAccountId = accounts.isEmpty() ? afterAccountId : accounts.get(accounts.size() - 1).id();
+        chunk.completed = accounts.size() < chunkSize;
+        jdbcTemplate.update(CHECKPOINT_SQL, chunk.lastAccountId, chunk.accounts, chunk.postings, chunk.completed, now,
+                Date.valueOf(date), partition);
+        return chunk;
+    }
+
+    private static Transaction posting(AccountSnapshot account, BigDecimal interest, LocalDate date,
+                                       LocalDateTime postedAt, LocalDateTime processedAt) {
+        Account from = new Account();
+        from.setId(account.id());
+        from.setAccountNumber(account.accountNumber());
+        from.setAccountType(account.accountType());
+        boolean credit = interest.signum() > 0;
+        Transaction transaction = new Transaction(
+                "INT-" + REFERENCE_DATE.format(date) + "-" + account.id(),
+                from,
+                null,
+                interest.abs(),
+                credit ? Transaction.TransactionType.DEPOSIT : Transaction.TransactionType.PAYMENT,
+                (credit ? "Interest credit " : "Interest charge ") + date
+        );
+        transaction.setCurrency(account.currency());
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setCreatedAt(postedAt);
+        transaction.setProcessedAt(processedAt);
+        return transaction;
+    }
+
+    private static final class PartitionResult {
+        long accounts;
+        long postings;
+        BigDecimal credited = BigDecimal.ZERO;
+        BigDecimal charged = BigDecimal.ZERO;
+        long lastAccountId;
+        boolean completed;
+
+        void add(PartitionResult other) {
+            accounts += other.accounts;
+            postings += other.postings;
+            credited = credited.add(other.credited);
+            charged = charged.add(other.charged);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.journal;
+
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+
+/**
+ * A posting accepted into the {@link WriteAheadJournal} but not necessarily applied to
+ * the database yet. {@code toAccountId} is 0 when there is no to account. A transfer
+ * carries what it credits and, between currencies, the FX rate it was accepted at, so
+ * applying it later does not depend on the rates of the day.
+ */
+public record JournalEntry(long sequence,
+                           String transactionReference,
+                           long fromAccountId,
+                           long toAccountId,
+                           Transaction.TransactionType transactionType,
+                           BigDecimal amount,
+                           BigDecimal fee,
+                           BigDecimal creditedAmount,
+                           BigDecimal fxRate,
+                           String description,
+                           long acceptedAtMillis) {
+
+    public JournalEntry withSequence(long sequence) {
+        return new JournalEntry(sequence, transactionReference, fromAccountId, toAccountId, transactionType,
+                amount, fee, creditedAmount, fxRate, description, acceptedAtMillis);
+    }
+
+    /** What the posting takes out of the from account: nothing for a deposit, else amount plus fee. */
+    public BigDecimal debit() {
+        return transactionType == Transaction.TransactionType.DEPOSIT ? BigDecimal.ZERO : amount.add(fee);
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.banking.exception.InsufficientFundsException;
+import org.banking.fraud.ConcurrentLongMap;
+import org.banking.model.Transaction;
+import org.banking.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * High-throughput posting mode. {@link TransactionService#submitTransaction} validates a
+ * posting, appends it to the {@link WriteAheadJournal} and returns it PENDING as soon as
+ * the journal has it on disk, without a database write. An applier thread drains durable
+ * entries in sequence order and applies up to {@code apply-batch-size} of them per
+ * database transaction, advancing {@code journal_checkpoints} in the same commit. Fully
+ * applied segments are then deleted.
+ * <p>
+ * Funds are checked against the account's committed balance less the debits journaled
+ * for it but not yet applied, under a per-account hold, so concurrent postings cannot
+ * overdraw it. A debit that is applied but not yet released counts twice, which only
+ * makes the check stricter. A batch that fails for a non-transient reason is retried one
+ * entry at a time. An entry that still fails is logged, counted in
+ * {@code banking.journal.rejected} and skipped. A transient failure retries the batch from
+ * the first entry not yet applied, so no entry is applied, checkpointed or released twice.
+ * <p>
+ * On startup the entries after the checkpoint are read back from the journal, their holds
+ * restored and queued for the applier, so a crash loses no acknowledged posting.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.journal", name = "enabled", havingValue = "true")
+public class PostingJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PostingJournal.class);
+
+    private static final String CHECKPOINT_SQL =
+            "UPDATE journal_checkpoints SET applied_sequence = ?, updated_at = ? WHERE id = 1";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.journal.directory:./journal}")
+    private String directory;
+
+    @Value("${banking.journal.segment-size:67108864}")
+    private long segmentSize;
+
+    @Value("${banking.journal.apply-batch-size:500}")
+    private int applyBatchSize;
+
+    @Value("${banking.journal.retry-delay-ms:1000}")
+    private long retryDelayMillis;
+
+    @Value("${banking.sharding.enabled:false}")
+    private boolean shardingEnabled;
+
+    private final ConcurrentLongMap<Hold> holds = new ConcurrentLongMap<>();
+    private final LinkedBlockingQueue<JournalEntry> unapplied = new LinkedBlockingQueue<>();
+    private WriteAheadJournal journal;
+    private Thread applier;
+    private volatile boolean running;
+    private volatile long appliedSequence;
+    private Timer commitLatency;
+    private Counter applied;
+    private Counter rejected;
+
+    @PostConstruct
+    public void initialize() throws IOException {
+        if (shardingEnabled) {
+            throw new IllegalStateException("The posting journal needs banking.sharding.enabled=false");
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM journal_checkpoints WHERE id = 1", Integer.class) == 0) {
+                jdbcTemplate.update("INSERT INTO journal_checkpoints (id, applied_sequence, updated_at) VALUES (1, 0, ?)",
+                        LocalDateTime.now());
+            }
+        });
+        appliedSequence = jdbcTemplate.queryForObject(
+                "SELECT applied_sequence FROM journal_checkpoints WHERE id = 1", Long.class);
+
+        journal = new WriteAheadJournal(Paths.get(directory), segmentSize, unapplied::addAll);
+        List<JournalEntry> recovered = journal.readAfter(appliedSequence);
+        for (JournalEntry entry : recovered) {
+            holds.computeIfAbsent(entry.fromAccountId(), id -> new Hold()).add(entry.debit());
+        }
+        unapplied.addAll(recovered);
+        if (!recovered.isEmpty()) {
+            log.info("Replaying {} journaled postings after sequence {}", recovered.size(), appliedSequence);
+        }
+
+        commitLatency = Timer.builder("banking.journal.commit.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        applied = meterRegistry.counter("banking.journal.applied");
+        rejected = meterRegistry.counter("banking.journal.rejected");
+        FunctionCounter.builder("banking.journal.fsyncs", journal, WriteAheadJournal::getFlushCount)
+                .register(meterRegistry);
+        Gauge.builder("banking.journal.backlog", unapplied, LinkedBlockingQueue::size)
+                .register(meterRegistry);
+
+        running = true;
+        applier = new Thread(this::applyLoop, "journal-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    /**
+     * Journals a validated, unprocessed posting and returns it PENDING once it is durable.
+     * Throws {@link InsufficientFundsException} if the from account cannot cover a
+     * withdrawal or transfer after the debits still waiting to be applied.
+     */
+    public Transaction submit(Transaction transaction) {
+        long started = System.nanoTime();
+        JournalEntry entry = new JournalEntry(0, transaction.getTransactionReference(),
+                transaction.getFromAccount().getId(),
+                transaction.getToAccount() != null ? transaction.getToAccount().getId() : 0,
+                transaction.getTransactionType(), transaction.getAmount(), transaction.getFee(),
+                transaction.getCreditedAmount(), transaction.getFxRate(),
+                transaction.getDescription(), System.currentTimeMillis());
+
+        Hold hold = holds.computeIfAbsent(entry.fromAccountId(), id -> new Hold());
+        BigDecimal debit = entry.debit();
+        synchronized (hold) {
+            if (entry.transactionType() == Transaction.TransactionType.WITHDRAWAL
+                    || entry.transactionType() == Transaction.TransactionType.TRANSFER) {
+                BigDecimal balance = jdbcTemplate.queryForObject(
+                        "SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, entry.fromAccountId());
+                if (balance.subtract(hold.pending).compareTo(debit) < 0) {
+                    throw new InsufficientFundsException("Insufficient funds in account");
+                }
+            }
+            hold.add(debit);
+        }
+        try {
+            journal.append(entry);
+        } catch (RuntimeException e) {
+            hold.add(debit.negate());
+            throw e;
+        }
+        commitLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        transaction.setStatus(Transaction.TransactionStatus.PENDING);
+        return transaction;
+    }
+
+    /**
+     * Waits until every posting journaled before the call has been applied to the
+     * database, and returns whether that happened within {@code timeout}.
+     */
+    public boolean awaitApplied(Duration timeout) throws InterruptedException {
+        long target = journal.getDurableSequence();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (appliedSequence < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public WriteAheadJournal getJournal() {
+        return journal;
+    }
+
+    /** Stops the applier once the backlog is applied, then closes the journal. */
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        running = false;
+        applier.join(TimeUnit.SECONDS.toMillis(30));
+        journal.close();
+    }
+
+    private void applyLoop() {
+        List<JournalEntry> batch = new ArrayList<>(applyBatchSize);
+        while (running || !batch.isEmpty() || !unapplied.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    JournalEntry first = unapplied.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    unapplied.drainTo(batch, applyBatchSize - 1);
+                }
+                // Entries applied one at a time before a transient failure stay applied
+                long done = appliedSequence;
+                batch.removeIf(entry -> entry.sequence() <= done);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                apply(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Stopping with {} journaled postings unapplied; they are replayed on restart",
+                            batch.size() + unapplied.size());
+                    return;
+                }
+                log.warn("Applying {} journaled postings failed, retrying in {} ms", batch.size(), retryDelayMillis, e);
+                try {
+                    Thread.sleep(retryDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(List<JournalEntry> batch) {
+        long last = batch.get(batch.size() - 1).sequence();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                transactionService.applyJournaled(batch);
+                jdbcTemplate.update(CHECKPOINT_SQL, last, LocalDateTime.now());
+            });
+        } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                for (JournalEntry entry : batch) {
+                    apply(List.of(entry));
+                }
+                return;
+            }
+            log.error("Skipping journaled posting {} ({}) which cannot be applied", last,
+                    batch.get(0).transactionReference(), e);
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(CHECKPOINT_SQL, last, LocalDateTime.now()));
+            rejected.increment();
+            advance(batch);
+            return;
+        }
+        applied.increment(batch.size());
+        advance(batch);
+    }
+
+    private void advance(List<JournalEntry> batch) {
+        appliedSequence = batch.get(batch.size() - 1).sequence();
+        for (JournalEntry entry : batch) {
+            holds.get(entry.fromAccountId()).add(entry.debit().negate());
+        }
+        journal.truncate(appliedSequence);
+    }
+
+    private static final class Hold {
+        private BigDecimal pending = BigDecimal.ZERO;
+
+        synchronized void add(BigDecimal amount) {
+            pending = pending.add(amount);
+        }
+    }
+}
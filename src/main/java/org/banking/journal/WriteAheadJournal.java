@@ -0,0 +1,410 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.journal;
+
+import org.banking.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal of postings in {@code journal-<first sequence>.wal} segment files.
+ * Each record is a length, a CRC32C and the encoded {@link JournalEntry}.
+ * <p>
+ * {@link #append} returns once the entry is on disk, with group commit: appenders add
+ * their entry to the open batch and wait, while a single flusher thread writes the whole
+ * batch with one {@code write} and one {@code force}. Entries that arrive during a force
+ * form the next batch, so under load each fsync covers many postings without a timer.
+ * Durable batches are handed to {@code onDurable} in sequence order.
+ * <p>
+ * Opening the journal checks every segment. A torn record at the end of the last segment
+ * is cut off, since its append never returned. Damage anywhere else fails the open.
+ * {@link #truncate} deletes segments whose entries have all been applied.
+ */
+public class WriteAheadJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadJournal.class);
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d{20})\\.wal");
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final Path directory;
+    private final long segmentSize;
+    private final Consumer<List<JournalEntry>> onDurable;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final Thread flusher;
+
+    private FileChannel active;
+    private Batch open = new Batch();
+    private long lastSequence;
+    private boolean closed;
+    private volatile long durableSequence;
+    private volatile IOException failure;
+    private volatile long flushes;
+    private volatile long flushedEntries;
+
+    public WriteAheadJournal(Path directory, long segmentSize, Consumer<List<JournalEntry>> onDurable) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.onDurable = onDurable;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.put(Long.parseLong(matcher.group(1)), file);
+                }
+            });
+        }
+
+        long next = segments.isEmpty() ? 1 : segments.firstKey();
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            if (segment.getKey() != next) {
+                throw new IOException("Journal segment " + segment.getValue() + " does not start at sequence " + next);
+            }
+            boolean last = segment.getKey().equals(segments.lastKey());
+            Scan scan = scan(segment.getValue(), segment.getKey(), entry -> { });
+            if (!scan.clean()) {
+                if (!last) {
+                    throw new IOException("Journal segment " + segment.getValue() + " is damaged at byte " + scan.validBytes());
+                }
+                log.warn("Cutting torn record off {} at byte {}", segment.getValue(), scan.validBytes());
+                try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.WRITE)) {
+                    channel.truncate(scan.validBytes());
+                    channel.force(true);
+                }
+            }
+            next = scan.nextSequence();
+        }
+        lastSequence = durableSequence = next - 1;
+
+        if (segments.isEmpty()) {
+            segments.put(next, segmentFile(next));
+        }
+        active = FileChannel.open(segments.lastEntry().getValue(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        active.position(active.size());
+
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Assigns the entry the next sequence number and returns it once the entry is on disk.
+     * Throws {@link UncheckedIOException} if the journal could not be written.
+     */
+    public JournalEntry append(JournalEntry entry) {
+        byte[] payload = encode(entry);
+        Batch batch;
+        JournalEntry sequenced;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Journal is unavailable", failure);
+            }
+            sequenced = entry.withSequence(++lastSequence);
+            ByteBuffer.wrap(payload).putLong(0, sequenced.sequence());
+            batch = open;
+            batch.entries.add(sequenced);
+            batch.payloads.add(payload);
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            batch.durable.join();
+        } catch (CompletionException e) {
+            throw new UncheckedIOException("Could not write journal entry " + sequenced.sequence(), (IOException) e.getCause());
+        }
+        return sequenced;
+    }
+
+    /** Durable entries after {@code sequence}, read back from the segment files. */
+    public List<JournalEntry> readAfter(long sequence) throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        long durable = durableSequence;
+        List<Map.Entry<Long, Path>> candidates;
+        synchronized (segments) {
+            Long first = segments.floorKey(sequence + 1);
+            candidates = new ArrayList<>((first != null ? segments.tailMap(first, true) : segments).entrySet());
+        }
+        for (Map.Entry<Long, Path> segment : candidates) {
+            scan(segment.getValue(), segment.getKey(), entry -> {
+                if (entry.sequence() > sequence && entry.sequence() <= durable) {
+                    entries.add(entry);
+                }
+            });
+        }
+        return entries;
+    }
+
+    /** Deletes segments holding only entries at or before {@code appliedSequence}. */
+    public int truncate(long appliedSequence) {
+        List<Path> deletable = new ArrayList<>();
+        synchronized (segments) {
+            Long previous = null;
+            for (Long first : new ArrayList<>(segments.keySet())) {
+                if (previous != null && first <= appliedSequence + 1) {
+                    deletable.add(segments.remove(previous));
+                }
+                previous = first;
+            }
+        }
+        for (Path file : deletable) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete applied journal segment {}", file, e);
+            }
+        }
+        return deletable.size();
+    }
+
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    /** Number of fsyncs so far; {@link #getFlushedEntries()} divided by this is the mean group size. */
+    public long getFlushCount() {
+        return flushes;
+    }
+
+    public long getFlushedEntries() {
+        return flushedEntries;
+    }
+
+    public int getSegmentCount() {
+        synchronized (segments) {
+            return segments.size();
+        }
+    }
+
+    /** Lets the flusher write what is pending, then closes the active segment. */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        active.close();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            Batch batch;
+            lock.lock();
+            try {
+                while (open.entries.isEmpty() && !closed) {
+                    batchReady.awaitUninterruptibly();
+                }
+                if (open.entries.isEmpty()) {
+                    return;
+                }
+                batch = open;
+                open = new Batch();
+            } finally {
+                lock.unlock();
+            }
+
+            if (failure != null) {
+                batch.durable.completeExceptionally(failure);
+                continue;
+            }
+            try {
+                write(batch);
+            } catch (IOException e) {
+                log.error("Journal write failed; no further postings are accepted", e);
+                failure = e;
+                batch.durable.completeExceptionally(e);
+                continue;
+            }
+            durableSequence = batch.entries.get(batch.entries.size() - 1).sequence();
+            flushes++;
+            flushedEntries += batch.entries.size();
+            batch.durable.complete(null);
+            try {
+                onDurable.accept(batch.entries);
+            } catch (RuntimeException e) {
+                log.error("Durable journal batch listener failed", e);
+            }
+        }
+    }
+
+    private void write(Batch batch) throws IOException {
+        if (active.size() >= segmentSize) {
+            long first = batch.entries.get(0).sequence();
+            FileChannel next = FileChannel.open(segmentFile(first), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            active.close();
+            active = next;
+            synchronized (segments) {
+                segments.put(first, segmentFile(first));
+            }
+        }
+
+        int size = 0;
+        for (byte[] payload : batch.payloads) {
+            size += HEADER_SIZE + payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32C crc = new CRC32C();
+        for (byte[] payload : batch.payloads) {
+            crc.reset();
+            crc.update(payload);
+            buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            active.write(buffer);
+        }
+        active.force(false);
+    }
+
+    private Path segmentFile(long firstSequence) {
+        return directory.resolve(String.format("journal-%020d.wal", firstSequence));
+    }
+
+    private static Scan scan(Path file, long firstSequence, Consumer<JournalEntry> sink) throws IOException {
+        long size = Files.size(file);
+        long position = 0;
+        long next = firstSequence;
+        CRC32C crc = new CRC32C();
+        try (InputStream raw = Files.newInputStream(file)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16));
+            while (position < size) {
+                if (size - position < HEADER_SIZE) {
+                    return new Scan(position, next, false);
+                }
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_SIZE || size - position - HEADER_SIZE < length) {
+                    return new Scan(position, next, false);
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return new Scan(position, next, false);
+                }
+                JournalEntry entry = decode(payload);
+                if (entry.sequence() != next) {
+                    return new Scan(position, next, false);
+                }
+                sink.accept(entry);
+                position += HEADER_SIZE + length;
+                next++;
+            }
+        } catch (EOFException e) {
+            return new Scan(position, next, false);
+        }
+        return new Scan(position, next, true);
+    }
+
+    static byte[] encode(JournalEntry entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(entry.sequence());
+            out.writeUTF(entry.transactionReference());
+            out.writeLong(entry.fromAccountId());
+            out.writeLong(entry.toAccountId());
+            out.writeByte(entry.transactionType().ordinal());
+            out.writeUTF(entry.amount().toPlainString());
+            out.writeUTF(entry.fee().toPlainString());
+            writeDecimal(out, entry.creditedAmount());
+            writeDecimal(out, entry.fxRate());
+            out.writeBoolean(entry.description() != null);
+            if (entry.description() != null) {
+                out.writeUTF(entry.description());
+            }
+            out.writeLong(entry.acceptedAtMillis());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static JournalEntry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long sequence = in.readLong();
+        String reference = in.readUTF();
+        long fromAccountId = in.readLong();
+        long toAccountId = in.readLong();
+        Transaction.TransactionType type = TYPES[in.readUnsignedByte()];
+        BigDecimal amount = new BigDecimal(in.readUTF());
+        BigDecimal fee = new BigDecimal(in.readUTF());
+        BigDecimal creditedAmount = readDecimal(in);
+        BigDecimal fxRate = readDecimal(in);
+        String description = in.readBoolean() ? in.readUTF() : null;
+        return new JournalEntry(sequence, reference, fromAccountId, toAccountId, type, amount, fee,
+                creditedAmount, fxRate, description, in.readLong());
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value.toPlainString());
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new BigDecimal(in.readUTF()) : null;
+    }
+
+    private record Scan(long validBytes, long nextSequence, boolean clean) {
+    }
+
+    private static final class Batch {
+        final List<JournalEntry> entries = new ArrayList<>();
+        final List<byte[]> payloads = new ArrayList<>();
+        final CompletableFuture<Void> durable = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ledger;
+
+import org.banking.fraud.ConcurrentLongMap;
+
+import java.util.OptionalLong;
+
+/**
+ * Account balances in cents folded from {@link LedgerEvent}s. Events are applied by one
+ * writer at a time; reads are lock-free map lookups. An account is readable once its
+ * OPENED event has been applied and until it is CLOSED. Postings seen before an account's
+ * OPENED event (possible while catching up after a crash) are kept and counted in.
+ */
+public class AccountProjection {
+
+    static final byte PENDING = 0;
+    static final byte OPEN = 1;
+    static final byte CLOSED = 2;
+
+    private final ConcurrentLongMap<Slot> accounts = new ConcurrentLongMap<>();
+    private volatile long appliedSequence;
+    private volatile long lastTransactionId;
+    private long snapshotSequence;
+
+    /**
+     * Loads the newest usable snapshot from {@code snapshots} and replays the rest of
+     * {@code log} on top of it. Snapshots newer than the log are skipped.
+     */
+    public static AccountProjection rebuild(EventLog log, ProjectionSnapshotStore snapshots) {
+        AccountProjection projection = new AccountProjection();
+        ProjectionSnapshot snapshot = snapshots.loadLatest(log.getLastSequence());
+        if (snapshot != null) {
+            projection.restore(snapshot);
+        }
+        log.replay(projection.appliedSequence, projection::apply);
+        return projection;
+    }
+
+    public void apply(LedgerEvent event) {
+        Slot slot = slot(event.accountId());
+        switch (event.type()) {
+            case OPENED -> {
+                slot.cents += event.amountCents();
+                slot.state = OPEN;
+            }
+            case POSTED -> {
+                slot.cents += event.amountCents();
+                if (event.counterpartyId() != 0) {
+                    slot(event.counterpartyId()).cents += event.counterpartyCents();
+                }
+            }
+            case ADJUSTED -> slot.cents += event.amountCents();
+            case CLOSED -> slot.state = CLOSED;
+        }
+        if (event.transactionId() > lastTransactionId) {
+            lastTransactionId = event.transactionId();
+        }
+        appliedSequence = event.sequence();
+    }
+
+    /** Balance in cents of an open account, or empty if it is unknown or closed. */
+    public OptionalLong balanceCents(long accountId) {
+        Slot slot = accounts.get(accountId);
+        return slot != null && slot.state == OPEN ? OptionalLong.of(slot.cents) : OptionalLong.empty();
+    }
+
+    /** Raw balance in cents including postings applied before the account was opened. */
+    public long foldedCents(long accountId) {
+        Slot slot = accounts.get(accountId);
+        return slot != null ? slot.cents : 0;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /** Sequence of the snapshot the projection was restored from, or 0. */
+    public long getSnapshotSequence() {
+        return snapshotSequence;
+    }
+
+    public long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    /**
+     * Copies the projection for a snapshot. The caller must hold off writers so the copy
+     * matches {@link #getAppliedSequence()}.
+     */
+    public ProjectionSnapshot capture() {
+        int capacity = accounts.size();
+        long[] ids = new long[capacity];
+        long[] cents = new long[capacity];
+        byte[] states = new byte[capacity];
+        int[] count = {0};
+        accounts.forEach((slot, id) -> {
+            int i = count[0]++;
+            ids[i] = id;
+            cents[i] = slot.cents;
+            states[i] = slot.state;
+        });
+        return new ProjectionSnapshot(appliedSequence, lastTransactionId, ids, cents, states);
+    }
+
+    void restore(ProjectionSnapshot snapshot) {
+        for (int i = 0; i < snapshot.accountIds().length; i++) {
+            Slot slot = slot(snapshot.accountIds()[i]);
+            slot.cents = snapshot.cents()[i];
+            slot.state = snapshot.states()[i];
+        }
+        lastTransactionId = snapshot.lastTransactionId();
+        appliedSequence = snapshotSequence = snapshot.sequence();
+    }
+
+    private Slot slot(long accountId) {
+        return accounts.computeIfAbsent(accountId, id -> new Slot());
+    }
+
+    private static final class Slot {
+        volatile long cents;
+        volatile byte state;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of {@link LedgerEvent}s in one memory-mapped file. Records are a fixed
+ * {@value #RECORD_SIZE} bytes (seven longs, the event type and a CRC32C of the rest), so
+ * event {@code n} lives at offset {@code (n - 1) * 64} and replay can start anywhere
+ * without an index. The file is mapped in regions of {@code regionSize} bytes, a new one
+ * being mapped (and the file extended) when an append reaches it.
+ * <p>
+ * Opening the log scans it from the start and stops at the first record whose sequence is
+ * out of order or whose checksum fails, which is where a crash tore the tail. Everything
+ * after it is zeroed so a stale record further on can never be taken for a later append.
+ * Appends reach the page cache immediately; with {@code syncOnAppend} each one is also
+ * forced to disk before {@link #append} returns.
+ */
+public class EventLog implements Closeable {
+
+    public static final int RECORD_SIZE = 64;
+
+    private static final int TYPE_OFFSET = 56;
+    private static final int CRC_OFFSET = 60;
+    private static final LedgerEvent.Type[] TYPES = LedgerEvent.Type.values();
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private final boolean syncOnAppend;
+    private final List<MappedByteBuffer> regions = new CopyOnWriteArrayList<>();
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final ByteBuffer record = ByteBuffer.wrap(scratch);
+    private final CRC32C crc = new CRC32C();
+
+    private volatile long lastSequence;
+    private long discardedRecords;
+
+    public EventLog(Path file, int regionSize, boolean syncOnAppend) throws IOException {
+        if (regionSize <= 0 || regionSize % RECORD_SIZE != 0) {
+            throw new IllegalArgumentException("Region size must be a positive multiple of " + RECORD_SIZE);
+        }
+        this.regionSize = regionSize;
+        this.syncOnAppend = syncOnAppend;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long mapped = (channel.size() + regionSize - 1) / regionSize;
+        for (long i = 0; i < mapped; i++) {
+            mapRegion();
+        }
+        recover();
+    }
+
+    /**
+     * Writes the next event and returns it with its sequence number. Appends are serialized;
+     * an append is visible to {@link #replay} once this returns.
+     */
+    public synchronized LedgerEvent append(LedgerEvent.Type type, long transactionId, long accountId, long amountCents,
+                                           long counterpartyId, long counterpartyCents, long timestampMillis) {
+        long sequence = lastSequence + 1;
+        record.clear();
+        record.putLong(sequence).putLong(transactionId).putLong(accountId).putLong(amountCents)
+                .putLong(counterpartyId).putLong(counterpartyCents).putLong(timestampMillis)
+                .putInt(type.ordinal());
+        crc.reset();
+        crc.update(scratch, 0, CRC_OFFSET);
+        record.putInt((int) crc.getValue());
+
+        long offset = (sequence - 1) * RECORD_SIZE;
+        MappedByteBuffer region = region(offset, true);
+        int position = (int) (offset % regionSize);
+        region.put(position, scratch);
+        if (syncOnAppend) {
+            region.force(position, RECORD_SIZE);
+        }
+        lastSequence = sequence;
+        return new LedgerEvent(sequence, type, transactionId, accountId, amountCents,
+                counterpartyId, counterpartyCents, timestampMillis);
+    }
+
+    /**
+     * Hands every event after {@code afterSequence} to {@code consumer} in order and returns
+     * how many there were.
+     */
+    public long replay(long afterSequence, Consumer<LedgerEvent> consumer) {
+        long last = lastSequence;
+        for (long sequence = Math.max(0, afterSequence) + 1; sequence <= last; sequence++) {
+            long offset = (sequence - 1) * RECORD_SIZE;
+            consumer.accept(decode(region(offset, false), (int) (offset % regionSize)));
+        }
+        return Math.max(0, last - Math.max(0, afterSequence));
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /** Non-empty records past the valid end of the log that were zeroed when it was opened. */
+    public long getDiscardedRecords() {
+        return discardedRecords;
+    }
+
+    public synchronized void force() {
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void recover() {
+        long capacity = (long) regions.size() * regionSize / RECORD_SIZE;
+        long sequence = 0;
+        while (sequence < capacity) {
+            long offset = sequence * RECORD_SIZE;
+            MappedByteBuffer region = region(offset, false);
+            if (!isValid(region, (int) (offset % regionSize), sequence + 1)) {
+                break;
+            }
+            sequence++;
+        }
+        lastSequence = sequence;
+
+        for (long index = sequence; index < capacity; index++) {
+            long offset = index * RECORD_SIZE;
+            MappedByteBuffer region = region(offset, false);
+            int position = (int) (offset % regionSize);
+            if (!isZero(region, position)) {
+                region.put(position, new byte[RECORD_SIZE]);
+                discardedRecords++;
+            }
+        }
+    }
+
+    private boolean isValid(MappedByteBuffer region, int position, long expectedSequence) {
+        if (region.getLong(position) != expectedSequence) {
+            return false;
+        }
+        int type = region.getInt(position + TYPE_OFFSET);
+        if (type < 0 || type >= TYPES.length) {
+            return false;
+        }
+        region.get(position, scratch);
+        crc.reset();
+        crc.update(scratch, 0, CRC_OFFSET);
+        return region.getInt(position + CRC_OFFSET) == (int) crc.getValue();
+    }
+
+    private static boolean isZero(MappedByteBuffer region, int position) {
+        for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+            if (region.getLong(position + i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LedgerEvent decode(MappedByteBuffer region, int position) {
+        return new LedgerEvent(
+                region.getLong(position),
+                TYPES[region.getInt(position + TYPE_OFFSET)],
+                region.getLong(position + 8),
+                region.getLong(position + 16),
+                region.getLong(position + 24),
+                region.getLong(position + 32),
+                region.getLong(position + 40),
+                region.getLong(position + 48)
+        );
+    }
+
+    private MappedByteBuffer region(long offset, boolean grow) {
+        int index = (int) (offset / regionSize);
+        while (grow && regions.size() <= index) {
+            mapRegion();
+        }
+        return regions.get(index);
+    }
+
+    private void mapRegion() {
+        try {
+            regions.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) regions.size() * regionSize, regionSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map event log region " + regions.size(), e);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ledger;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.banking.event.AccountChangedEvent;
+import org.banking.event.TransactionPostedEvent;
+import org.banking.model.Transaction;
+import org.banking.reconciliation.LedgerLegs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Event-sourced account balances. Every committed posting and account change is appended
+ * to a memory-mapped {@link EventLog} on local disk and folded into an in-memory
+ * {@link AccountProjection}, so current balances are served without touching the
+ * database. The relational {@code transactions} table stays the system of record: the log
+ * is written after commit, and on startup the projection is rebuilt from the newest
+ * snapshot plus the log tail and then caught up with the database.
+ * <p>
+ * Catch-up appends committed postings missing from the last {@code catch-up-window}
+ * transaction ids of the log (lost if the process died between commit and append), opens
+ * accounts the log does not hold open, closes deleted ones and adjusts any balance that still
+ * differs from the {@code accounts} row. A log whose transaction ids run past the
+ * database's belongs to another database and is discarded. Projection snapshots are
+ * written every {@code snapshot-every-events} events to bound replay on the next start.
+ * <p>
+ * Catch-up reads the local {@code transactions} table, so this mode needs sharding off.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.event-sourcing", name = "enabled", havingValue = "true")
+public class EventSourcedLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSourcedLedger.class);
+
+    private static final String LOG_FILE = "events.log";
+
+    private static final String RECENT_POSTINGS_SQL = "SELECT id, from_account_id, to_account_id, transaction_type, "
+            + "amount, fee, " + LedgerLegs.INCOMING_DELTA + " AS credited, created_at FROM transactions "
+            + "WHERE status = 'COMPLETED' AND id > ? ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.event-sourcing.directory:./ledger}")
+    private String directory;
+
+    @Value("${banking.event-sourcing.region-size:67108864}")
+    private int regionSize;
+
+    @Value("${banking.event-sourcing.sync-on-append:false}")
+    private boolean syncOnAppend;
+
+    @Value("${banking.event-sourcing.snapshot-every-events:1000000}")
+    private long snapshotEveryEvents;
+
+    @Value("${banking.event-sourcing.retained-snapshots:2}")
+    private int retainedSnapshots;
+
+    @Value("${banking.event-sourcing.catch-up-window:10000}")
+    private long catchUpWindow;
+
+    @Value("${banking.sharding.enabled:false}")
+    private boolean shardingEnabled;
+
+    private final Object lock = new Object();
+    private ProjectionSnapshotStore snapshots;
+    private volatile EventLog eventLog;
+    private volatile AccountProjection projection;
+    private volatile long snapshotSequence;
+
+    @PostConstruct
+    public void initialize() {
+        if (shardingEnabled) {
+            throw new IllegalStateException("Event-sourced balances need banking.sharding.enabled=false");
+        }
+        snapshots = new ProjectionSnapshotStore(Paths.get(directory), retainedSnapshots);
+        recover();
+        FunctionCounter.builder("banking.ledger.events", this, EventSourcedLedger::getLastSequence)
+                .register(meterRegistry);
+        Gauge.builder("banking.ledger.accounts", this, ledger -> ledger.projection.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * (Re)opens the log, rebuilds the projection from the newest snapshot plus the log tail
+     * and catches it up with the database. Postings committed meanwhile wait for it.
+     */
+    public void recover() {
+        synchronized (lock) {
+            long started = System.nanoTime();
+            try {
+                close();
+                Path root = Paths.get(directory);
+                Files.createDirectories(root);
+                eventLog = new EventLog(root.resolve(LOG_FILE), regionSize, syncOnAppend);
+                projection = AccountProjection.rebuild(eventLog, snapshots);
+
+                Long maxTransactionId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+                if (projection.getLastTransactionId() > (maxTransactionId != null ? maxTransactionId : 0)) {
+                    log.warn("Event log in {} runs past the database's transactions; discarding it", root);
+                    eventLog.close();
+                    deleteLedgerFiles(root);
+                    eventLog = new EventLog(root.resolve(LOG_FILE), regionSize, syncOnAppend);
+                    projection = new AccountProjection();
+                }
+                snapshotSequence = projection.getSnapshotSequence();
+                long replayed = projection.getAppliedSequence() - snapshotSequence;
+                long caughtUp = catchUp();
+                log.info("Rebuilt {} account balances from snapshot {} and {} logged events, {} caught up from the database, in {} ms",
+                        projection.size(), snapshotSequence, replayed, caughtUp, (System.nanoTime() - started) / 1_000_000);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open event log in " + directory, e);
+            }
+        }
+        snapshotIfDue();
+    }
+
+    @TransactionalEventListener
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        if (event.status() != Transaction.TransactionStatus.COMPLETED) {
+            return;
+        }
+        synchronized (lock) {
+            appendPosting(event.transactionId(), event.fromAccount().id(),
+                    event.toAccount() != null ? event.toAccount().id() : null,
+                    event.transactionType(), event.amount(), event.fee(), event.credited(), event.createdAt());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        synchronized (lock) {
+            long timestamp = System.currentTimeMillis();
+            switch (event.changeType()) {
+                case CREATED -> append(LedgerEvent.Type.OPENED, 0, event.accountId(),
+                        cents(event.after().balance()), 0, 0, timestamp);
+                case UPDATED -> {
+                    long delta = cents(event.after().balance()) - cents(event.before().balance());
+                    if (delta != 0) {
+                        append(LedgerEvent.Type.ADJUSTED, 0, event.accountId(), delta, 0, 0, timestamp);
+                    }
+                }
+                case DELETED -> append(LedgerEvent.Type.CLOSED, 0, event.accountId(), 0, 0, 0, timestamp);
+            }
+        }
+    }
+
+    /** Current balance of an open account from memory, or {@code null} if the ledger does not know it. */
+    public BigDecimal getBalance(long accountId) {
+        OptionalLong cents = projection.balanceCents(accountId);
+        return cents.isPresent() ? BigDecimal.valueOf(cents.getAsLong(), 2) : null;
+    }
+
+    public long getLastSequence() {
+        EventLog current = eventLog;
+        return current != null ? current.getLastSequence() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${banking.event-sourcing.snapshot-check-ms:10000}")
+    public void snapshotIfDue() {
+        ProjectionSnapshot snapshot;
+        synchronized (lock) {
+            if (eventLog == null || projection.getAppliedSequence() - snapshotSequence < snapshotEveryEvents) {
+                return;
+            }
+            eventLog.force();
+            snapshot = projection.capture();
+            snapshotSequence = snapshot.sequence();
+        }
+        long started = System.nanoTime();
+        Path file = snapshots.write(snapshot);
+        log.info("Wrote projection snapshot {} of {} accounts in {} ms", file.getFileName(),
+                snapshot.accountIds().length, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (eventLog != null) {
+                eventLog.close();
+                eventLog = null;
+            }
+        }
+    }
+
+    private long catchUp() {
+        long before = eventLog.getLastSequence();
+        long floor = Math.max(0, projection.getLastTransactionId() - catchUpWindow);
+        Set<Long> logged = new HashSet<>();
+        eventLog.replay(Math.max(0, eventLog.getLastSequence() - catchUpWindow), event -> {
+            if (event.type() == LedgerEvent.Type.POSTED) {
+                logged.add(event.transactionId());
+            }
+        });
+        jdbcTemplate.query(RECENT_POSTINGS_SQL, rs -> {
+            long transactionId = rs.getLong("id");
+            if (!logged.contains(transactionId)) {
+                long toAccountId = rs.getLong("to_account_id");
+                Long counterpartyId = rs.wasNull() ? null : toAccountId;
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                appendPosting(transactionId, rs.getLong("from_account_id"), counterpartyId,
+                        Transaction.TransactionType.valueOf(rs.getString("transaction_type")),
+                        rs.getBigDecimal("amount"), rs.getBigDecimal("fee"), rs.getBigDecimal("credited"),
+                        createdAt != null ? createdAt.toLocalDateTime() : null);
+            }
+        }, floor);
+
+        Set<Long> existing = new HashSet<>();
+        long timestamp = System.currentTimeMillis();
+        jdbcTemplate.query("SELECT id, balance FROM accounts", rs -> {
+            long accountId = rs.getLong("id");
+            long balance = cents(rs.getBigDecimal("balance"));
+            existing.add(accountId);
+            long folded = projection.foldedCents(accountId);
+            if (projection.balanceCents(accountId).isEmpty()) {
+                append(LedgerEvent.Type.OPENED, 0, accountId, balance - folded, 0, 0, timestamp);
+            } else if (folded != balance) {
+                log.warn("Ledger balance of account {} differs from the database by {} cents; adjusting",
+                        accountId, balance - folded);
+                append(LedgerEvent.Type.ADJUSTED, 0, accountId, balance - folded, 0, 0, timestamp);
+            }
+        });
+        for (long accountId : projection.capture().accountIds()) {
+            if (!existing.contains(accountId) && projection.balanceCents(accountId).isPresent()) {
+                append(LedgerEvent.Type.CLOSED, 0, accountId, 0, 0, 0, timestamp);
+            }
+        }
+        return eventLog.getLastSequence() - before;
+    }
+
+    private void appendPosting(long transactionId, long fromAccountId, Long toAccountId,
+                               Transaction.TransactionType type, BigDecimal amount, BigDecimal fee,
+                               BigDecimal credited, LocalDateTime createdAt) {
+        long outgoing = cents(LedgerLegs.outgoing(type, amount, fee != null ? fee : BigDecimal.ZERO));
+        boolean transfer = type == Transaction.TransactionType.TRANSFER && toAccountId != null;
+        long timestamp = createdAt != null
+                ? createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        append(LedgerEvent.Type.POSTED, transactionId, fromAccountId, outgoing,
+                transfer ? toAccountId : 0, transfer ? cents(credited) : 0, timestamp);
+    }
+
+    private void append(LedgerEvent.Type type, long transactionId, long accountId, long amountCents,
+                        long counterpartyId, long counterpartyCents, long timestampMillis) {
+        if (eventLog == null) {
+            throw new IllegalStateException("Event log is closed");
+        }
+        projection.apply(eventLog.append(type, transactionId, accountId, amountCents,
+                counterpartyId, counterpartyCents, timestampMillis));
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    private static void deleteLedgerFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.equals(LOG_FILE) || name.startsWith("projection-")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ledger;
+
+/**
+ * One record of the {@link EventLog}. Amounts are in cents. A POSTED event moves
+ * {@code amountCents} on {@code accountId} and, for transfers, {@code counterpartyCents} on
+ * {@code counterpartyId}; OPENED and ADJUSTED move {@code amountCents} on
+ * {@code accountId}; CLOSED only marks the account closed. Unused ids are 0.
+ */
+public record LedgerEvent(long sequence,
+                          Type type,
+                          long transactionId,
+                          long accountId,
+                          long amountCents,
+                          long counterpartyId,
+                          long counterpartyCents,
+                          long timestampMillis) {
+
+    public enum Type {
+        OPENED, POSTED, ADJUSTED, CLOSED
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ledger;
+
+/**
+ * Copy of an {@link AccountProjection} after event {@code sequence}: parallel arrays of
+ * account id, balance in cents and account state.
+ */
+public record ProjectionSnapshot(long sequence,
+                                 long lastTransactionId,
+                                 long[] accountIds,
+                                 long[] cents,
+                                 byte[] states) {
+}
@@ -0,0 +1,165 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Projection snapshots as {@code projection-<sequence>.snap} files in one directory. A
+ * snapshot is written to a temporary file, forced to disk and atomically renamed, and
+ * carries a trailing CRC32C, so a crash leaves either the whole file or none of it. Only
+ * the newest {@code retained} snapshots are kept; loading falls back to an older one when
+ * the newest cannot be read.
+ */
+public class ProjectionSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionSnapshotStore.class);
+
+    private static final int MAGIC = 0x504A534E;
+    private static final int ENTRY_SIZE = Long.BYTES * 2 + 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES * 2 + Integer.BYTES;
+    private static final Pattern FILE_NAME = Pattern.compile("projection-(\\d{20})\\.snap");
+
+    private final Path directory;
+    private final int retained;
+
+    public ProjectionSnapshotStore(Path directory, int retained) {
+        this.directory = directory;
+        this.retained = Math.max(1, retained);
+    }
+
+    public Path write(ProjectionSnapshot snapshot) {
+        Path target = directory.resolve(String.format("projection-%020d.snap", snapshot.sequence()));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream raw = Channels.newOutputStream(channel);
+                CRC32C crc = new CRC32C();
+                DataOutputStream out = new DataOutputStream(
+                        new CheckedOutputStream(new BufferedOutputStream(raw, 1 << 16), crc));
+                out.writeInt(MAGIC);
+                out.writeLong(snapshot.sequence());
+                out.writeLong(snapshot.lastTransactionId());
+                out.writeInt(snapshot.accountIds().length);
+                for (int i = 0; i < snapshot.accountIds().length; i++) {
+                    out.writeLong(snapshot.accountIds()[i]);
+                    out.writeLong(snapshot.cents()[i]);
+                    out.writeByte(snapshot.states()[i]);
+                }
+                out.flush();
+                new DataOutputStream(raw).writeLong(crc.getValue());
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write projection snapshot " + target, e);
+        }
+
+        List<Path> snapshots = list();
+        for (Path stale : snapshots.subList(Math.min(retained, snapshots.size()), snapshots.size())) {
+            try {
+                Files.deleteIfExists(stale);
+            } catch (IOException e) {
+                log.warn("Could not delete old projection snapshot {}", stale, e);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * The newest readable snapshot at or before {@code maxSequence}, or {@code null} if
+     * there is none.
+     */
+    public ProjectionSnapshot loadLatest(long maxSequence) {
+        for (Path file : list()) {
+            if (sequenceOf(file) > maxSequence) {
+                log.warn("Skipping projection snapshot {} which is ahead of the event log", file);
+                continue;
+            }
+            try {
+                return read(file);
+            } catch (IOException e) {
+                log.warn("Skipping unreadable projection snapshot {}: {}", file, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /** Snapshot files, newest first. */
+    public List<Path> list() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(ProjectionSnapshotStore::sequenceOf).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list projection snapshots in " + directory, e);
+        }
+    }
+
+    private static ProjectionSnapshot read(Path file) throws IOException {
+        long size = Files.size(file);
+        CRC32C crc = new CRC32C();
+        try (InputStream raw = Files.newInputStream(file)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(raw, 1 << 16), crc));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("bad magic number");
+            }
+            long sequence = in.readLong();
+            long lastTransactionId = in.readLong();
+            int count = in.readInt();
+            if (count < 0 || size != HEADER_SIZE + (long) count * ENTRY_SIZE + Long.BYTES) {
+                throw new IOException("truncated file");
+            }
+            long[] ids = new long[count];
+            long[] cents = new long[count];
+            byte[] states = new byte[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = in.readLong();
+                cents[i] = in.readLong();
+                states[i] = in.readByte();
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("checksum mismatch");
+            }
+            return new ProjectionSnapshot(sequence, lastTransactionId, ids, cents, states);
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -46,9 +47,19 @@ public class Account {
     @Column(precision = 15, scale = 2)
     private BigDecimal balance;
 
+    /** ISO 4217 code of the balance and of every amount posted from this account; fixed at opening. */
+    @Column(length = 3, nullable = false)
+    @ColumnDefault("'USD'")
+    private String currency = "USD";
+
     @Column(precision = 15, scale = 2)
     private BigDecimal creditLimit = BigDecimal.ZERO;
 
+    /** Balance the account was opened with; reconciliation folds transactions on top of it. */
+    @Column(precision = 15, scale = 2)
+    @JsonIgnore
+    private BigDecimal openingBalance = BigDecimal.ZERO;
+
     @Enumerated(EnumType.STRING)
     private AccountStatus status = AccountStatus.ACTIVE;
 
@@ -83,6 +94,7 @@ public class Account {
         this.user = user;
         this.accountType = accountType;
         this.balance = balance;
+        this.openingBalance = balance;
     }
 
     // Getters and Setters
@@ -126,6 +138,14 @@ public class Account {
         this.balance = balance;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
     public BigDecimal getCreditLimit() {
         return creditLimit;
     }
@@ -134,6 +154,14 @@ public class Account {
         this.creditLimit = creditLimit;
     }
 
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public void setOpeningBalance(BigDecimal openingBalance) {
+        this.openingBalance = openingBalance;
+    }
+
     public AccountStatus getStatus() {
         return status;
     }
@@ -0,0 +1,193 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Posting totals for one account over one hour or day. Rows are written by
+ * {@link org.banking.analytics.AccountRollupAggregator} and never by JPA, so the entity
+ * only exists for reads and schema generation.
+ */
+@Entity
+@Table(name = "account_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_account_rollups_bucket", columnNames = {"account_id", "granularity", "bucket_start"})
+})
+public class AccountRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+
+    private long creditCount;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+
+    private long debitCount;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal feeTotal = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal depositTotal = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal withdrawalTotal = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal transferTotal = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal paymentTotal = BigDecimal.ZERO;
+
+    public enum Granularity {
+        HOUR, DAY;
+
+        public static Granularity fromParameter(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported granularity: " + value + " (expected hour or day)");
+            }
+        }
+    }
+
+    // Constructors
+    public AccountRollup() {
+    }
+
+    public BigDecimal getTypeTotal(Transaction.TransactionType type) {
+        return switch (type) {
+            case DEPOSIT -> depositTotal;
+            case WITHDRAWAL -> withdrawalTotal;
+            case TRANSFER -> transferTotal;
+            case PAYMENT -> paymentTotal;
+        };
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(Granularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+
+    public long getCreditCount() {
+        return creditCount;
+    }
+
+    public void setCreditCount(long creditCount) {
+        this.creditCount = creditCount;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+
+    public long getDebitCount() {
+        return debitCount;
+    }
+
+    public void setDebitCount(long debitCount) {
+        this.debitCount = debitCount;
+    }
+
+    public BigDecimal getFeeTotal() {
+        return feeTotal;
+    }
+
+    public void setFeeTotal(BigDecimal feeTotal) {
+        this.feeTotal = feeTotal;
+    }
+
+    public BigDecimal getDepositTotal() {
+        return depositTotal;
+    }
+
+    public void setDepositTotal(BigDecimal depositTotal) {
+        this.depositTotal = depositTotal;
+    }
+
+    public BigDecimal getWithdrawalTotal() {
+        return withdrawalTotal;
+    }
+
+    public void setWithdrawalTotal(BigDecimal withdrawalTotal) {
+        this.withdrawalTotal = withdrawalTotal;
+    }
+
+    public BigDecimal getTransferTotal() {
+        return transferTotal;
+    }
+
+    public void setTransferTotal(BigDecimal transferTotal) {
+        this.transferTotal = transferTotal;
+    }
+
+    public BigDecimal getPaymentTotal() {
+        return paymentTotal;
+    }
+
+    public void setPaymentTotal(BigDecimal paymentTotal) {
+        this.paymentTotal = paymentTotal;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An account's balance as derived from its history up to and including transaction
+ * {@code lastTransactionId}. {@code asOf} is the latest {@code createdAt} among the
+ * transactions it includes. Rows are written in batches by
+ * {@link org.banking.scheduler.BalanceSnapshotScheduler}.
+ */
+@Entity
+@Table(name = "balance_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_balance_snapshots_account", columnNames = {"account_id", "last_transaction_id"})
+}, indexes = {
+        @Index(name = "idx_balance_snapshots_as_of", columnList = "account_id, as_of")
+})
+public class BalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Long lastTransactionId;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private LocalDateTime asOf;
+
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public BalanceSnapshot() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+
+/**
+ * A user's balances and available credit in one currency. Amounts in different currencies
+ * are never added together here; the summary response converts them when it is read.
+ */
+@Embeddable
+public class CurrencyTotals {
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal savingsBalance = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal checkingBalance = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal creditBalance = BigDecimal.ZERO;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal availableCredit = BigDecimal.ZERO;
+
+    public BigDecimal getBalance(Account.AccountType accountType) {
+        return switch (accountType) {
+            case SAVINGS -> savingsBalance;
+            case CHECKING -> checkingBalance;
+            case CREDIT -> creditBalance;
+        };
+    }
+
+    public void addBalance(Account.AccountType accountType, BigDecimal delta) {
+        switch (accountType) {
+            case SAVINGS -> savingsBalance = savingsBalance.add(delta);
+            case CHECKING -> checkingBalance = checkingBalance.add(delta);
+            case CREDIT -> creditBalance = creditBalance.add(delta);
+        }
+    }
+
+    public BigDecimal getAvailableCredit() {
+        return availableCredit;
+    }
+
+    public void addAvailableCredit(BigDecimal delta) {
+        availableCredit = availableCredit.add(delta);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one partition of an end-of-day interest run: the last account id whose
+ * chunk has committed. Rows are written by {@link org.banking.interest.InterestAccrualEngine}
+ * in the same transaction as the chunk's postings, so a restarted run resumes after the
+ * last committed chunk.
+ */
+@Entity
+@Table(name = "interest_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_interest_checkpoints_partition", columnNames = {"accrual_date", "partition_no"})
+})
+public class InterestCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate accrualDate;
+
+    @Column(nullable = false)
+    private int partitionNo;
+
+    @Column(nullable = false)
+    private int partitions;
+
+    private long lastAccountId;
+
+    private long accounts;
+
+    private long postings;
+
+    private boolean completed;
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public InterestCheckpoint() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getAccrualDate() {
+        return accrualDate;
+    }
+
+    public int getPartitionNo() {
+        return partitionNo;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public long getLastAccountId() {
+        return lastAccountId;
+    }
+
+    public long getAccounts() {
+        return accounts;
+    }
+
+    public long getPostings() {
+        return postings;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last write-ahead journal sequence applied to the database. The single row is
+ * advanced by {@link org.banking.journal.PostingJournal} in the same transaction as the
+ * postings it applies, so recovery replays exactly the entries after it.
+ */
+@Entity
+@Table(name = "journal_checkpoints")
+public class JournalCheckpoint {
+    @Id
+    private Long id;
+
+    private long appliedSequence;
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public JournalCheckpoint() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished reconciliation run. The next incremental run rechecks only accounts with
+ * transactions after {@code highWaterTransactionId} or updated since {@code cutoff}.
+ */
+@Entity
+@Table(name = "reconciliation_runs")
+public class ReconciliationRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 12)
+    private Mode mode;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    private long highWaterTransactionId;
+
+    private long accountsChecked;
+
+    private long legsFolded;
+
+    private long deferred;
+
+    private long drifted;
+
+    private long elapsedMillis;
+
+    public enum Mode {
+        FULL, INCREMENTAL
+    }
+
+    // Constructors
+    public ReconciliationRun() {
+    }
+
+    public ReconciliationRun(Mode mode, LocalDateTime startedAt, LocalDateTime cutoff, long highWaterTransactionId) {
+        this.mode = mode;
+        this.startedAt = startedAt;
+        this.cutoff = cutoff;
+        this.highWaterTransactionId = highWaterTransactionId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCutoff() {
+        return cutoff;
+    }
+
+    public long getHighWaterTransactionId() {
+        return highWaterTransactionId;
+    }
+
+    public long getAccountsChecked() {
+        return accountsChecked;
+    }
+
+    public void setAccountsChecked(long accountsChecked) {
+        this.accountsChecked = accountsChecked;
+    }
+
+    public long getLegsFolded() {
+        return legsFolded;
+    }
+
+    public void setLegsFolded(long legsFolded) {
+        this.legsFolded = legsFolded;
+    }
+
+    public long getDeferred() {
+        return deferred;
+    }
+
+    public void setDeferred(long deferred) {
+        this.deferred = deferred;
+    }
+
+    public long getDrifted() {
+        return drifted;
+    }
+
+    public void setDrifted(long drifted) {
+        this.drifted = drifted;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
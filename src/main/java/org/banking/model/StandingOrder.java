@@ -0,0 +1,265 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A recurring PAYMENT or TRANSFER. Occurrence {@code n} is due at {@code startAt} plus
+ * {@code n} periods, so monthly orders keep their day of month (clamped to the month's
+ * last day). Executions and claims are written by
+ * {@link org.banking.scheduler.StandingOrderScheduler} with plain SQL.
+ */
+@Entity
+@Table(name = "standing_orders", indexes = {
+        @Index(name = "idx_standing_orders_due", columnList = "status, next_run_at"),
+        @Index(name = "idx_standing_orders_from_account", columnList = "from_account_id")
+})
+public class StandingOrder {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long fromAccountId;
+
+    private Long toAccountId;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Transaction.TransactionType transactionType;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Frequency frequency;
+
+    @Column(nullable = false)
+    private LocalDateTime startAt;
+
+    private LocalDateTime endAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextRunAt;
+
+    private long executionCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status = Status.ACTIVE;
+
+    private LocalDateTime lastRunAt;
+
+    private Long lastTransactionId;
+
+    private int failureCount;
+
+    private String lastError;
+
+    @Column(length = 36)
+    private String claimToken;
+
+    private LocalDateTime claimedUntil;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY;
+
+        public LocalDateTime occurrence(LocalDateTime startAt, long n) {
+            return switch (this) {
+                case DAILY -> startAt.plusDays(n);
+                case WEEKLY -> startAt.plusWeeks(n);
+                case MONTHLY -> startAt.plusMonths(n);
+            };
+        }
+    }
+
+    public enum Status {
+        ACTIVE, COMPLETED, CANCELLED
+    }
+
+    // Constructors
+    public StandingOrder() {
+    }
+
+    public StandingOrder(Long fromAccountId, Long toAccountId, BigDecimal amount,
+                         Transaction.TransactionType transactionType, String description,
+                         Frequency frequency, LocalDateTime startAt, LocalDateTime endAt) {
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.transactionType = transactionType;
+        this.description = description;
+        this.frequency = frequency;
+        this.startAt = startAt;
+        this.endAt = endAt;
+        this.nextRunAt = startAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(Long fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public Long getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(Long toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Transaction.TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(Transaction.TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(LocalDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return endAt;
+    }
+
+    public void setEndAt(LocalDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    public LocalDateTime getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public void setNextRunAt(LocalDateTime nextRunAt) {
+        this.nextRunAt = nextRunAt;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public void setExecutionCount(long executionCount) {
+        this.executionCount = executionCount;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public void setLastRunAt(LocalDateTime lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+
+    public Long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public void setLastTransactionId(Long lastTransactionId) {
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(int failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(LocalDateTime claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
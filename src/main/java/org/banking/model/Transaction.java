@@ -15,7 +15,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_created_at", columnList = "created_at")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Transaction {
     @Id
@@ -55,7 +57,20 @@ public class Transaction {
     @Column(precision = 15, scale = 2)
     private BigDecimal fee = BigDecimal.ZERO;
 
+    /** Currency of amount and fee: the from account's. */
+    @Column(length = 3)
+    private String currency;
+
+    /** What a TRANSFER credits to the to account, in its currency; equals amount unless converted. */
+    @Column(precision = 15, scale = 2)
+    private BigDecimal creditedAmount;
+
+    /** Units of the to account's currency per unit of {@code currency}, for converted transfers. */
+    @Column(precision = 20, scale = 10)
+    private BigDecimal fxRate;
+
     @CreationTimestamp
+    @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     private LocalDateTime processedAt;
@@ -109,6 +124,15 @@ public class Transaction {
     public BigDecimal getFee() { return fee; }
     public void setFee(BigDecimal fee) { this.fee = fee; }
 
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public BigDecimal getCreditedAmount() { return creditedAmount; }
+    public void setCreditedAmount(BigDecimal creditedAmount) { this.creditedAmount = creditedAmount; }
+
+    public BigDecimal getFxRate() { return fxRate; }
+    public void setFxRate(BigDecimal fxRate) { this.fxRate = fxRate; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,117 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user portfolio totals, kept current by applying deltas from account and posting
+ * events so reads are a single primary-key lookup. Balances are kept per currency.
+ */
+@Entity
+@Table(name = "user_summaries")
+public class UserSummary {
+    @Id
+    private Long userId;
+
+    @ElementCollection
+    @CollectionTable(name = "user_summary_balances", joinColumns = @JoinColumn(name = "user_id"))
+    @MapKeyColumn(name = "currency", length = 3)
+    private Map<String, CurrencyTotals> totalsByCurrency = new HashMap<>();
+
+    private int activeAccounts;
+
+    private int inactiveAccounts;
+
+    private int frozenAccounts;
+
+    private int closedAccounts;
+
+    private LocalDateTime lastActivityAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public UserSummary() {
+    }
+
+    public UserSummary(Long userId) {
+        this.userId = userId;
+    }
+
+    public Map<String, CurrencyTotals> getTotalsByCurrency() {
+        return totalsByCurrency;
+    }
+
+    public void addBalance(String currency, Account.AccountType accountType, BigDecimal delta) {
+        totals(currency).addBalance(accountType, delta);
+    }
+
+    public void addAvailableCredit(String currency, BigDecimal delta) {
+        totals(currency).addAvailableCredit(delta);
+    }
+
+    private CurrencyTotals totals(String currency) {
+        return totalsByCurrency.computeIfAbsent(currency, code -> new CurrencyTotals());
+    }
+
+    public int getAccountCount(Account.AccountStatus status) {
+        return switch (status) {
+            case ACTIVE -> activeAccounts;
+            case INACTIVE -> inactiveAccounts;
+            case FROZEN -> frozenAccounts;
+            case CLOSED -> closedAccounts;
+        };
+    }
+
+    public void addAccountCount(Account.AccountStatus status, int delta) {
+        switch (status) {
+            case ACTIVE -> activeAccounts += delta;
+            case INACTIVE -> inactiveAccounts += delta;
+            case FROZEN -> frozenAccounts += delta;
+            case CLOSED -> closedAccounts += delta;
+        }
+    }
+
+    public void recordActivity(LocalDateTime at) {
+        if (at != null && (lastActivityAt == null || at.isAfter(lastActivityAt))) {
+            lastActivityAt = at;
+        }
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(LocalDateTime lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
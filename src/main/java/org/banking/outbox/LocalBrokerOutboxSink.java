@@ -0,0 +1,63 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for a partitioned message broker: bounded in-memory queues, with each account
+ * pinned to one partition so its events stay in order. Consumers poll a partition.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.outbox", name = "sink", havingValue = "broker")
+public class LocalBrokerOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxMessage>[] partitions;
+
+    @SuppressWarnings("unchecked")
+    public LocalBrokerOutboxSink(@Value("${banking.outbox.broker.partitions:8}") int partitionCount,
+                                 @Value("${banking.outbox.broker.capacity:10000}") int capacity) {
+        partitions = new BlockingQueue[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            BlockingQueue<OutboxMessage> partition = partitions[partitionFor(message.aggregateId())];
+            try {
+                if (!partition.offer(message, 100, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Broker partition is full");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while publishing to broker", e);
+            }
+        }
+    }
+
+    public OutboxMessage poll(int partition, long timeout, TimeUnit unit) throws InterruptedException {
+        return partitions[partition].poll(timeout, unit);
+    }
+
+    public int partitionFor(Long aggregateId) {
+        return Math.floorMod(aggregateId, partitions.length);
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+}
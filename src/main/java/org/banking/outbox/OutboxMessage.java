@@ -0,0 +1,34 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.outbox;
+
+import org.banking.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox row as handed to a sink. {@code id} increases monotonically per account and
+ * is the deduplication key for consumers, since delivery is at-least-once.
+ */
+public record OutboxMessage(Long id,
+                            String aggregateType,
+                            Long aggregateId,
+                            String eventType,
+                            String payload,
+                            LocalDateTime createdAt) {
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(
+                event.getId(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getCreatedAt()
+        );
+    }
+}
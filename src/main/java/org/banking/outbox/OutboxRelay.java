@@ -0,0 +1,144 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.outbox;
+
+import org.banking.model.OutboxEvent;
+import org.banking.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Publishes pending outbox rows in batches. Events are grouped per account and handed to
+ * the sink oldest first; an account whose batch fails is skipped for the rest of the run,
+ * so a later event never overtakes an earlier one. Rows are marked published only after
+ * the sink accepted them, which gives at-least-once delivery.
+ * <p>
+ * A page that had failures is followed by another one without the failed accounts, so
+ * one account's backlog cannot fill every page and starve the others. A failing account
+ * is then left out of later runs for an exponentially growing delay, up to
+ * {@code max-backoff-ms}, and tried again afterwards.
+ * <p>
+ * Row ids are assigned at insert, before the posting commits, so a lower id can become
+ * visible after a higher one. The relay only reads rows created at least {@code settle-ms}
+ * ago; a posting transaction that is still open after that long could have its events
+ * published behind later ones, so {@code settle-ms} must exceed the longest posting
+ * transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    @Value("${banking.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.outbox.relay.interval-ms:200}")
+    private long intervalMillis;
+
+    @Value("${banking.outbox.relay.settle-ms:2000}")
+    private long settleMillis;
+
+    @Value("${banking.outbox.relay.max-backoff-ms:30000}")
+    private long maxBackoffMillis;
+
+    @Value("${banking.outbox.retention-hours:24}")
+    private int retentionHours;
+
+    private final Map<Long, Backoff> backoffs = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${banking.outbox.relay.interval-ms:200}")
+    public synchronized int relay() {
+        long now = System.currentTimeMillis();
+        Set<Long> skipped = new HashSet<>();
+        backoffs.forEach((accountId, backoff) -> {
+            if (backoff.retryAt > now) {
+                skipped.add(accountId);
+            }
+        });
+
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMillis * 1_000_000);
+        int published = 0;
+        while (true) {
+            List<OutboxEvent> pending = skipped.isEmpty()
+                    ? outboxEventRepository.findUnpublished(settledBefore, PageRequest.of(0, batchSize))
+                    : outboxEventRepository.findUnpublishedExcept(settledBefore, skipped, PageRequest.of(0, batchSize));
+            if (pending.isEmpty()) {
+                return published;
+            }
+            int failed = skipped.size();
+            published += relayPage(pending, skipped, now);
+            if (skipped.size() == failed || pending.size() < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        int purged = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            log.debug("Purged {} published outbox events", purged);
+        }
+    }
+
+    /** Hands one page to the sink; accounts that fail are added to {@code skipped}. */
+    private int relayPage(List<OutboxEvent> pending, Set<Long> skipped, long now) {
+        Map<Long, List<OutboxMessage>> byAccount = new LinkedHashMap<>();
+        for (OutboxEvent event : pending) {
+            byAccount.computeIfAbsent(event.getAggregateId(), id -> new ArrayList<>()).add(OutboxMessage.of(event));
+        }
+
+        List<Long> published = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, List<OutboxMessage>> entry : byAccount.entrySet()) {
+            Long accountId = entry.getKey();
+            try {
+                outboxSink.publish(entry.getValue());
+                entry.getValue().forEach(message -> published.add(message.id()));
+                backoffs.remove(accountId);
+            } catch (RuntimeException e) {
+                Backoff backoff = backoffs.computeIfAbsent(accountId, id -> new Backoff());
+                backoff.failures++;
+                long delay = Math.min(maxBackoffMillis, intervalMillis << Math.min(backoff.failures - 1, 20));
+                backoff.retryAt = now + delay;
+                skipped.add(accountId);
+                log.warn("Outbox delivery failed for account {}, retrying in {} ms: {}", accountId, delay, e.getMessage());
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxEventRepository.markPublished(published, LocalDateTime.now());
+        }
+        return published.size();
+    }
+
+    private static final class Backoff {
+        private int failures;
+        private long retryAt;
+    }
+}
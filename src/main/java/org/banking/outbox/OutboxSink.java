@@ -0,0 +1,19 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events. The relay hands over the pending events of one
+ * account at a time, oldest first. A sink must either accept the whole batch or throw;
+ * on failure the batch is retried on the next relay run.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> batch);
+}
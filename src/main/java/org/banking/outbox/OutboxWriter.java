@@ -0,0 +1,72 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.banking.event.AccountChangedEvent;
+import org.banking.event.AccountSnapshot;
+import org.banking.event.TransactionPostedEvent;
+import org.banking.model.OutboxEvent;
+import org.banking.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns domain events into outbox rows. Listeners run synchronously in the publishing
+ * transaction, so an event row is committed if and only if the change it describes is.
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String ACCOUNT = "ACCOUNT";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        append(event.fromAccount().id(), "TRANSACTION_POSTED", event);
+        appendBalanceChange(event.fromAccount(), event.transactionId());
+        if (event.toAccount() != null) {
+            appendBalanceChange(event.toAccount(), event.transactionId());
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAccountChanged(AccountChangedEvent event) {
+        append(event.accountId(), "ACCOUNT_" + event.changeType().name(), event);
+    }
+
+    private void appendBalanceChange(AccountSnapshot account, Long transactionId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("accountId", account.id());
+        payload.put("balance", account.balance());
+        payload.put("currency", account.currency());
+        payload.put("transactionId", transactionId);
+        append(account.id(), "BALANCE_CHANGED", payload);
+    }
+
+    private void append(Long accountId, String eventType, Object payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(ACCOUNT, accountId, eventType, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " outbox event", e);
+        }
+    }
+}
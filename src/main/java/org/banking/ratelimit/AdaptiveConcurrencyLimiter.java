@@ -0,0 +1,173 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ratelimit;
+
+import org.banking.exception.ServiceOverloadedException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency limit that learns how many calls the downstream can take (TCP Vegas style).
+ * The lowest latency seen approximates the no-load latency; from each sample the number of
+ * calls waiting downstream is estimated as {@code limit * (1 - noLoadRtt / rtt)}. The limit
+ * grows while that estimate is small and shrinks once it exceeds a few calls, so queueing
+ * stays in front of the database instead of inside it. Failures that signal overload shrink
+ * the limit multiplicatively.
+ * <p>
+ * Callers above the limit wait up to {@code maxQueueWait} in a bounded queue and are then
+ * rejected with {@link ServiceOverloadedException}. The no-load latency is re-probed every
+ * {@code probeInterval} samples so it can follow a database that got permanently slower.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final long maxQueueWaitNanos;
+    private final int probeInterval;
+    private final Predicate<RuntimeException> overloadSignal;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final AtomicLong rejected = new AtomicLong();
+    private int inFlight;
+    private int queued;
+    private volatile double limit;
+    private long noLoadRttNanos = Long.MAX_VALUE;
+    private int samplesSinceProbe;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueued,
+                                      long maxQueueWaitMillis, int probeInterval,
+                                      Predicate<RuntimeException> overloadSignal) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+        this.probeInterval = probeInterval;
+        this.overloadSignal = overloadSignal;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        acquire();
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            dropped = overloadSignal.test(e);
+            throw e;
+        } finally {
+            release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return;
+            }
+            if (queued >= maxQueued) {
+                throw reject();
+            }
+            queued++;
+            try {
+                long remaining = maxQueueWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        throw reject();
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long rttNanos, boolean dropped) {
+        lock.lock();
+        try {
+            int concurrent = inFlight;
+            inFlight--;
+            double previous = limit;
+            if (dropped) {
+                limit = Math.max(minLimit, previous * BACKOFF_RATIO);
+            } else {
+                sample(rttNanos, concurrent);
+            }
+            if (limit > previous) {
+                released.signalAll();
+            } else {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sample(long rttNanos, int concurrent) {
+        if (++samplesSinceProbe >= probeInterval) {
+            samplesSinceProbe = 0;
+            noLoadRttNanos = rttNanos;
+        }
+        noLoadRttNanos = Math.min(noLoadRttNanos, Math.max(1L, rttNanos));
+
+        double current = limit;
+        double queue = current * (1.0 - (double) noLoadRttNanos / Math.max(1L, rttNanos));
+        double step = Math.max(1.0, Math.log10(current));
+        double next;
+        if (queue < 3 * step) {
+            if (concurrent * 2 < current) {
+                return;
+            }
+            next = current + step;
+        } else if (queue > 6 * step) {
+            next = current - step;
+        } else {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    private ServiceOverloadedException reject() {
+        rejected.incrementAndGet();
+        return new ServiceOverloadedException("Posting capacity exhausted, retry shortly");
+    }
+}
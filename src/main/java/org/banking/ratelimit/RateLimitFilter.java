@@ -0,0 +1,180 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.banking.exception.GlobalExceptionHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for {@code /api/**}. Each client (a configured API key, else its
+ * address as seen past any {@link TrustedProxies trusted proxies}) gets separate read and
+ * write token buckets; a request over budget is answered 429. Admitted
+ * requests then need one of a fixed number of in-flight permits, waiting at most a short
+ * queue timeout, so overload is shed with 503 before it reaches the connection pool.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public record Budget(double tokensPerSecond, int burst) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final TrustedProxies trustedProxies;
+    private final Budget readBudget;
+    private final Budget writeBudget;
+    private final Semaphore inFlight;
+    private final long queueTimeoutMillis;
+    private final Map<String, TokenBucket> readBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> writeBuckets = new ConcurrentHashMap<>();
+    private final Counter readRateLimited;
+    private final Counter writeRateLimited;
+    private final Counter readOverloaded;
+    private final Counter writeOverloaded;
+
+    public RateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry, String apiKeyHeader,
+                           Set<String> apiKeys, Set<String> trustedProxies, Budget readBudget,
+                           Budget writeBudget, int maxInFlight, long queueTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.trustedProxies = new TrustedProxies(trustedProxies);
+        this.readBudget = readBudget;
+        this.writeBudget = writeBudget;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.queueTimeoutMillis = queueTimeoutMillis;
+
+        this.readRateLimited = rejected(meterRegistry, "rate_limited", "read");
+        this.writeRateLimited = rejected(meterRegistry, "rate_limited", "write");
+        this.readOverloaded = rejected(meterRegistry, "overloaded", "read");
+        this.writeOverloaded = rejected(meterRegistry, "overloaded", "write");
+        Gauge.builder("banking.ratelimit.in.flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                .description("API requests currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("banking.ratelimit.clients", readBuckets, buckets -> buckets.size() + writeBuckets.size())
+                .description("Client token buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request);
+        long now = System.nanoTime();
+
+        long waitNanos = bucketFor(write, clientKey(request), now).tryAcquire(now);
+        if (waitNanos > 0) {
+            (write ? writeRateLimited : readRateLimited).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded",
+                    Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L));
+            return;
+        }
+
+        if (!admit()) {
+            (write ? writeOverloaded : readOverloaded).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, retry shortly", 1);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely; recreating one later is equivalent.
+     */
+    @Scheduled(fixedDelayString = "${banking.ratelimit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        readBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        writeBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private TokenBucket bucketFor(boolean write, String client, long now) {
+        Map<String, TokenBucket> buckets = write ? writeBuckets : readBuckets;
+        TokenBucket bucket = buckets.get(client);
+        if (bucket == null) {
+            Budget budget = write ? writeBudget : readBudget;
+            bucket = buckets.computeIfAbsent(client, key -> new TokenBucket(budget.tokensPerSecond(), budget.burst(), now));
+        }
+        return bucket;
+    }
+
+    private boolean admit() {
+        try {
+            return inFlight.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * The header is not authenticated, so only a configured key names the client. Anything
+     * else counts against the remote address; otherwise a caller could rotate made-up keys
+     * for a fresh budget on every request and fill the bucket maps.
+     */
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        return apiKey != null && apiKeys.contains(apiKey)
+                ? "key:" + apiKey
+                : "ip:" + trustedProxies.clientAddress(request);
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return false;
+        }
+        return !request.getRequestURI().endsWith("/lookup");
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, long retryAfterSeconds)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new GlobalExceptionHandler.ErrorResponse(status.value(), message, LocalDateTime.now()));
+    }
+
+    private static Counter rejected(MeterRegistry registry, String reason, String budget) {
+        return Counter.builder("banking.ratelimit.rejected")
+                .description("API requests rejected by admission control")
+                .tag("reason", reason)
+                .tag("budget", budget)
+                .register(registry);
+    }
+}
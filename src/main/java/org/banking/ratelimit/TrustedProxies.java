@@ -0,0 +1,132 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the client address of a request that may have come through load balancers.
+ * Forwarding headers are only believed when the connection comes from a configured proxy
+ * (an address or CIDR range). The hops in {@code Forwarded} (or, without it,
+ * {@code X-Forwarded-For}) are then walked from the right, skipping trusted proxies; the
+ * first other hop is the client. Entries left of it were written by the client and are
+ * never used, so a caller cannot pick its own bucket by sending the headers itself.
+ */
+final class TrustedProxies {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    // Only literals reach IpAddressMatcher, which would otherwise resolve host names
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final List<IpAddressMatcher> matchers;
+
+    TrustedProxies(Collection<String> proxies) {
+        List<IpAddressMatcher> matchers = new ArrayList<>(proxies.size());
+        for (String proxy : proxies) {
+            matchers.add(new IpAddressMatcher(proxy));
+        }
+        this.matchers = List.copyOf(matchers);
+    }
+
+    String clientAddress(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (matchers.isEmpty() || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+        List<String> hops = forwardedFor(request);
+        if (hops.isEmpty()) {
+            hops = headerValues(request, X_FORWARDED_FOR);
+        }
+        String client = remoteAddr;
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            String hop = hops.get(i);
+            if (!isLiteral(hop)) {
+                // "unknown" or an obfuscated identifier: the last trusted hop is all we know
+                break;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        if (address == null || !isLiteral(address)) {
+            return false;
+        }
+        for (IpAddressMatcher matcher : matchers) {
+            if (matcher.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String address) {
+        return IPV4.matcher(address).matches() || IPV6.matcher(address).matches();
+    }
+
+    /** The {@code for=} parameter of each RFC 7239 element, ports and brackets removed. */
+    private static List<String> forwardedFor(HttpServletRequest request) {
+        List<String> hops = new ArrayList<>();
+        for (String element : headerValues(request, HttpHeaders.FORWARDED)) {
+            String node = "";
+            for (String pair : element.split(";")) {
+                int equals = pair.indexOf('=');
+                if (equals > 0 && pair.substring(0, equals).strip().toLowerCase(Locale.ROOT).equals("for")) {
+                    node = stripPort(unquote(pair.substring(equals + 1).strip()));
+                }
+            }
+            hops.add(node);
+        }
+        return hops;
+    }
+
+    private static String unquote(String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1)
+                : value;
+    }
+
+    private static String stripPort(String node) {
+        if (node.startsWith("[")) {
+            int close = node.indexOf(']');
+            return close > 0 ? node.substring(1, close) : node;
+        }
+        int colon = node.indexOf(':');
+        return colon > 0 && colon == node.lastIndexOf(':') ? node.substring(0, colon) : node;
+    }
+
+    /** Every value of a list header, split on commas, in order. */
+    private static List<String> headerValues(HttpServletRequest request, String name) {
+        Enumeration<String> values = request.getHeaders(name);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        List<String> entries = new ArrayList<>();
+        while (values.hasMoreElements()) {
+            for (String entry : values.nextElement().split(",")) {
+                entries.add(entry.strip());
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,20 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.reconciliation;
+
+import java.math.BigDecimal;
+
+/**
+ * An account whose stored balance differs from its opening balance plus the effects of
+ * its completed transactions.
+ */
+public record BalanceDrift(long accountId, BigDecimal recordedBalance, BigDecimal expectedBalance) {
+
+    public BigDecimal difference() {
+        return recordedBalance.subtract(expectedBalance);
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.reconciliation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An account's balance at {@code asOf}, derived from history: the snapshot it started
+ * from ({@code snapshotTransactionId} 0 when it started from the opening balance) and how
+ * many transactions were replayed on top.
+ */
+public record HistoricalBalance(long accountId,
+                                LocalDateTime asOf,
+                                BigDecimal balance,
+                                long snapshotTransactionId,
+                                LocalDateTime snapshotAsOf,
+                                long replayedTransactions) {
+}
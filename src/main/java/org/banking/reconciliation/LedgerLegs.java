@@ -0,0 +1,104 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.reconciliation;
+
+import org.banking.archive.ArchivedTransaction;
+import org.banking.archive.TransactionArchive;
+import org.banking.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The balance effect of a completed transaction on each account it touches, as
+ * {@code TransactionService} applies it: a DEPOSIT adds its amount to the from account, a
+ * WITHDRAWAL, PAYMENT or TRANSFER subtracts amount plus fee from it, and a TRANSFER adds
+ * its credited amount, in the to account's currency, to the to account. Rows from before
+ * currencies have no credited amount and credit the amount. Shared by reconciliation,
+ * balance snapshots and point-in-time balance queries so they all fold history the same way.
+ */
+public final class LedgerLegs {
+
+    /** SQL expression for the from-account effect of a {@code transactions} row. */
+    public static final String OUTGOING_DELTA =
+            "CASE WHEN transaction_type = 'DEPOSIT' THEN amount ELSE -(amount + COALESCE(fee, 0)) END";
+
+    /** SQL expression for the to-account effect of a TRANSFER row. */
+    public static final String INCOMING_DELTA = "COALESCE(credited_amount, amount)";
+
+    private LedgerLegs() {
+    }
+
+    /**
+     * Legs of completed transactions with {@code :floor < id <= :highWater} for the accounts
+     * matched by {@code accountScope} (e.g. {@code "IN (:ids)"}), ordered by account and
+     * transaction id. Columns: {@code account_id, transaction_id, created_at, delta}.
+     */
+    public static String legsSql(String accountScope) {
+        return "SELECT from_account_id AS account_id, id AS transaction_id, created_at, " + OUTGOING_DELTA + " AS delta "
+                + "FROM transactions WHERE status = 'COMPLETED' AND id > :floor AND id <= :highWater "
+                + "AND from_account_id " + accountScope + " "
+                + "UNION ALL SELECT to_account_id AS account_id, id AS transaction_id, created_at, " + INCOMING_DELTA + " AS delta "
+                + "FROM transactions WHERE status = 'COMPLETED' AND transaction_type = 'TRANSFER' "
+                + "AND id > :floor AND id <= :highWater AND to_account_id " + accountScope + " "
+                + "ORDER BY account_id, transaction_id";
+    }
+
+    public static BigDecimal outgoing(Transaction.TransactionType type, BigDecimal amount, BigDecimal fee) {
+        return type == Transaction.TransactionType.DEPOSIT ? amount : amount.add(fee).negate();
+    }
+
+    public static BigDecimal incoming(BigDecimal amount, BigDecimal creditedAmount) {
+        return creditedAmount != null ? creditedAmount : amount;
+    }
+
+    /**
+     * Net effect of every archived completed transaction, per account. Archive files are
+     * read one month at a time.
+     */
+    public static Map<Long, BigDecimal> foldArchive(TransactionArchive archive) {
+        Map<Long, BigDecimal> net = new HashMap<>();
+        for (YearMonth month : archive.getArchivedMonths()) {
+            for (ArchivedTransaction row : archive.readMonth(month)) {
+                if (row.status() != Transaction.TransactionStatus.COMPLETED) {
+                    continue;
+                }
+                net.merge(row.fromAccountId(), outgoing(row.transactionType(), row.amount(), row.fee()), BigDecimal::add);
+                if (row.transactionType() == Transaction.TransactionType.TRANSFER && row.toAccountId() != null) {
+                    net.merge(row.toAccountId(), incoming(row.amount(), row.creditedAmount()), BigDecimal::add);
+                }
+            }
+        }
+        return net;
+    }
+
+    /**
+     * Net effect on one account of its archived completed transactions created at or
+     * before {@code asOf}; only months up to {@code asOf} are read.
+     */
+    public static BigDecimal foldArchive(TransactionArchive archive, long accountId, LocalDateTime asOf) {
+        BigDecimal net = BigDecimal.ZERO;
+        for (YearMonth month : archive.getArchivedMonths().headSet(YearMonth.from(asOf), true)) {
+            for (ArchivedTransaction row : archive.readMonth(month)) {
+                if (row.status() != Transaction.TransactionStatus.COMPLETED || row.createdAt().isAfter(asOf)) {
+                    continue;
+                }
+                if (row.fromAccountId() == accountId) {
+                    net = net.add(outgoing(row.transactionType(), row.amount(), row.fee()));
+                }
+                if (row.transactionType() == Transaction.TransactionType.TRANSFER && row.toAccountId() != null
+                        && row.toAccountId() == accountId) {
+                    net = net.add(incoming(row.amount(), row.creditedAmount()));
+                }
+            }
+        }
+        return net;
+    }
+}
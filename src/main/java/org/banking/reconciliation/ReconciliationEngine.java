@@ -0,0 +1,346 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.reconciliation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.banking.archive.TransactionArchive;
+import org.banking.model.ReconciliationRun;
+import org.banking.repository.ReconciliationRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks stored account balances against transaction history. An account's expected
+ * balance is its latest balance snapshot plus the {@link LedgerLegs} of the completed
+ * transactions after it; an account without a snapshot starts from its opening balance
+ * plus its archived transactions, which are folded once per run.
+ * <p>
+ * The account id space is split on a {@link ForkJoinPool} down to slices of
+ * {@code slice-size} accounts. A leaf loads its slice's accounts, streams their
+ * transaction legs ordered by account id with a bounded fetch size and folds them into
+ * one running total per account; tallies are merged as the tasks join. Memory is bounded
+ * by slice size and parallelism, never by the number of transactions.
+ * <p>
+ * A run folds only transactions up to the highest id present when it starts. Accounts
+ * updated after its cutoff (start minus {@code in-flight-grace-ms}) may already include
+ * later postings, so they are deferred rather than reported. An incremental run rechecks
+ * only accounts with transactions above the previous run's high-water mark or updated
+ * since its cutoff, which covers everything deferred last time.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class ReconciliationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationEngine.class);
+
+    private static final String RANGE = "BETWEEN :first AND :last";
+    private static final String IDS = "IN (:ids)";
+
+    private static final String ACCOUNTS_SQL = "SELECT a.id, a.balance, COALESCE(a.opening_balance, 0) AS opening_balance, "
+            + "a.updated_at, s.last_transaction_id AS snapshot_transaction_id, s.balance AS snapshot_balance "
+            + "FROM accounts a LEFT JOIN balance_snapshots s ON s.account_id = a.id AND s.last_transaction_id = "
+            + "(SELECT MAX(last_transaction_id) FROM balance_snapshots WHERE account_id = a.id "
+            + "AND last_transaction_id <= :highWater) "
+            + "WHERE a.id %s ORDER BY a.id";
+
+    private static final String TOUCHED_SQL = "SELECT from_account_id AS account_id FROM transactions "
+            + "WHERE id > :after AND id <= :highWater "
+            + "UNION SELECT to_account_id AS account_id FROM transactions "
+            + "WHERE id > :after AND id <= :highWater AND to_account_id IS NOT NULL "
+            + "UNION SELECT id AS account_id FROM accounts WHERE updated_at >= :since "
+            + "ORDER BY account_id";
+
+    private static final RowMapper<AccountBalance> ACCOUNT_ROW = (rs, rowNum) -> new AccountBalance(
+            rs.getLong("id"),
+            rs.getBigDecimal("balance"),
+            rs.getBigDecimal("opening_balance"),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getLong("snapshot_transaction_id"),
+            rs.getBigDecimal("snapshot_balance")
+    );
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReconciliationRunRepository reconciliationRunRepository;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.reconciliation.parallelism:4}")
+    private int parallelism;
+
+    @Value("${banking.reconciliation.slice-size:10000}")
+    private int sliceSize;
+
+    @Value("${banking.reconciliation.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${banking.reconciliation.in-flight-grace-ms:5000}")
+    private long inFlightGraceMillis;
+
+    @Value("${banking.reconciliation.max-reported-drifts:100}")
+    private int maxReportedDrifts;
+
+    private NamedParameterJdbcTemplate jdbc;
+
+    @PostConstruct
+    public void initialize() {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        jdbc = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    @Scheduled(cron = "${banking.reconciliation.cron:0 15 * * * *}")
+    public void reconcileScheduled() {
+        if (enabled) {
+            reconcileIncremental();
+        }
+    }
+
+    public synchronized ReconciliationReport reconcile(ReconciliationRun.Mode mode) {
+        return mode == ReconciliationRun.Mode.INCREMENTAL ? reconcileIncremental() : reconcileAll();
+    }
+
+    public synchronized ReconciliationReport reconcileAll() {
+        RunContext run = start(ReconciliationRun.Mode.FULL);
+        Map<String, Object> bounds = jdbc.getJdbcTemplate().queryForMap("SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM accounts");
+        Tally tally = bounds.get("last_id") == null ? new Tally()
+                : invoke(new RangeSlice(run, ((Number) bounds.get("first_id")).longValue(),
+                ((Number) bounds.get("last_id")).longValue()));
+        return finish(run, tally);
+    }
+
+    /**
+     * Rechecks accounts touched since the last run; the first run is a full one.
+     */
+    public synchronized ReconciliationReport reconcileIncremental() {
+        Optional<ReconciliationRun> previous = reconciliationRunRepository.findFirstByOrderByIdDesc();
+        if (previous.isEmpty()) {
+            return reconcileAll();
+        }
+        RunContext run = start(ReconciliationRun.Mode.INCREMENTAL);
+        long[] touched = jdbc.queryForList(TOUCHED_SQL, new MapSqlParameterSource()
+                        .addValue("after", previous.get().getHighWaterTransactionId())
+                        .addValue("highWater", run.highWater())
+                        .addValue("since", previous.get().getCutoff()), Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        Tally tally = touched.length == 0 ? new Tally() : invoke(new IdSlice(run, touched, 0, touched.length));
+        return finish(run, tally);
+    }
+
+    private RunContext start(ReconciliationRun.Mode mode) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Long highWater = jdbc.getJdbcTemplate().queryForObject("SELECT COALESCE(MAX(id), 0) FROM transactions", Long.class);
+        return new RunContext(mode, startedAt, startedAt.minusNanos(inFlightGraceMillis * 1_000_000),
+                highWater, LedgerLegs.foldArchive(transactionArchive), System.nanoTime());
+    }
+
+    private ReconciliationReport finish(RunContext run, Tally tally) {
+        long elapsedMillis = (System.nanoTime() - run.startedNanos()) / 1_000_000;
+        ReconciliationRun record = new ReconciliationRun(run.mode(), run.startedAt(), run.cutoff(), run.highWater());
+        record.setAccountsChecked(tally.accounts);
+        record.setLegsFolded(tally.legs);
+        record.setDeferred(tally.deferred);
+        record.setDrifted(tally.drifted);
+        record.setElapsedMillis(elapsedMillis);
+        record = reconciliationRunRepository.save(record);
+
+        String mode = run.mode().name().toLowerCase();
+        meterRegistry.counter("banking.reconciliation.accounts", "mode", mode).increment(tally.accounts);
+        meterRegistry.counter("banking.reconciliation.drifted", "mode", mode).increment(tally.drifted);
+        log.info("Reconciliation {} #{}: {} accounts, {} legs, {} deferred, {} drifting in {} ms",
+                mode, record.getId(), tally.accounts, tally.legs, tally.deferred, tally.drifted, elapsedMillis);
+        for (BalanceDrift drift : tally.drifts) {
+            log.warn("Account {} balance {} differs from history {} by {}", drift.accountId(),
+                    drift.recordedBalance(), drift.expectedBalance(), drift.difference());
+        }
+        return new ReconciliationReport(record.getId(), run.mode(), run.highWater(), tally.accounts, tally.legs,
+                tally.deferred, tally.drifted, List.copyOf(tally.drifts), elapsedMillis);
+    }
+
+    private Tally invoke(RecursiveTask<Tally> task) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            return pool.invoke(task);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Tally reconcileSlice(RunContext run, String scope, MapSqlParameterSource params) {
+        Tally tally = new Tally();
+        params.addValue("highWater", run.highWater());
+        List<AccountBalance> accounts = jdbc.query(String.format(ACCOUNTS_SQL, scope), params, ACCOUNT_ROW);
+        if (accounts.isEmpty()) {
+            return tally;
+        }
+
+        long floor = Long.MAX_VALUE;
+        for (AccountBalance account : accounts) {
+            floor = Math.min(floor, account.snapshotTransactionId());
+        }
+        BigDecimal[] folded = new BigDecimal[accounts.size()];
+        Arrays.fill(folded, BigDecimal.ZERO);
+        int[] cursor = new int[1];
+        jdbc.query(LedgerLegs.legsSql(scope), params.addValue("floor", floor), rs -> {
+            long accountId = rs.getLong("account_id");
+            while (cursor[0] < accounts.size() && accounts.get(cursor[0]).id() < accountId) {
+                cursor[0]++;
+            }
+            if (cursor[0] < accounts.size() && accounts.get(cursor[0]).id() == accountId
+                    && rs.getLong("transaction_id") > accounts.get(cursor[0]).snapshotTransactionId()) {
+                folded[cursor[0]] = folded[cursor[0]].add(rs.getBigDecimal("delta"));
+                tally.legs++;
+            }
+        });
+
+        for (int i = 0; i < accounts.size(); i++) {
+            AccountBalance account = accounts.get(i);
+            if (account.updatedAt() != null && !account.updatedAt().isBefore(run.cutoff())) {
+                tally.deferred++;
+                continue;
+            }
+            BigDecimal base = account.snapshotBalance() != null ? account.snapshotBalance()
+                    : account.openingBalance().add(run.archived().getOrDefault(account.id(), BigDecimal.ZERO));
+            BigDecimal expected = base.add(folded[i]);
+            tally.accounts++;
+            if (account.balance().compareTo(expected) != 0) {
+                tally.drift(new BalanceDrift(account.id(), account.balance(), expected), maxReportedDrifts);
+            }
+        }
+        return tally;
+    }
+
+    private final class RangeSlice extends RecursiveTask<Tally> {
+        private final RunContext run;
+        private final long first;
+        private final long last;
+
+        RangeSlice(RunContext run, long first, long last) {
+            this.run = run;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (last - first < sliceSize) {
+                return reconcileSlice(run, RANGE, new MapSqlParameterSource()
+                        .addValue("first", first)
+                        .addValue("last", last));
+            }
+            long middle = first + (last - first) / 2;
+            RangeSlice left = new RangeSlice(run, first, middle);
+            left.fork();
+            Tally right = new RangeSlice(run, middle + 1, last).compute();
+            return left.join().merge(right, maxReportedDrifts);
+        }
+    }
+
+    private final class IdSlice extends RecursiveTask<Tally> {
+        private final RunContext run;
+        private final long[] ids;
+        private final int from;
+        private final int to;
+
+        IdSlice(RunContext run, long[] ids, int from, int to) {
+            this.run = run;
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= sliceSize) {
+                List<Long> slice = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    slice.add(ids[i]);
+                }
+                return reconcileSlice(run, IDS, new MapSqlParameterSource("ids", slice));
+            }
+            int middle = (from + to) >>> 1;
+            IdSlice left = new IdSlice(run, ids, from, middle);
+            left.fork();
+            Tally right = new IdSlice(run, ids, middle, to).compute();
+            return left.join().merge(right, maxReportedDrifts);
+        }
+    }
+
+    private record RunContext(ReconciliationRun.Mode mode,
+                              LocalDateTime startedAt,
+                              LocalDateTime cutoff,
+                              long highWater,
+                              Map<Long, BigDecimal> archived,
+                              long startedNanos) {
+    }
+
+    private record AccountBalance(long id,
+                                  BigDecimal balance,
+                                  BigDecimal openingBalance,
+                                  LocalDateTime updatedAt,
+                                  long snapshotTransactionId,
+                                  BigDecimal snapshotBalance) {
+    }
+
+    private static final class Tally {
+        long accounts;
+        long legs;
+        long deferred;
+        long drifted;
+        final List<BalanceDrift> drifts = new ArrayList<>();
+
+        void drift(BalanceDrift drift, int maxReported) {
+            drifted++;
+            if (drifts.size() < maxReported) {
+                drifts.add(drift);
+            }
+        }
+
+        Tally merge(Tally right, int maxReported) {
+            accounts += right.accounts;
+            legs += right.legs;
+            deferred += right.deferred;
+            drifted += right.drifted;
+            for (BalanceDrift drift : right.drifts) {
+                if (drifts.size() < maxReported) {
+                    drifts.add(drift);
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.reconciliation;
+
+import org.banking.model.ReconciliationRun;
+
+import java.util.List;
+
+/**
+ * Outcome of one reconciliation run. {@code drifts} holds at most the configured number
+ * of drifting accounts, lowest ids first; {@code drifted} counts all of them. Accounts
+ * updated while the run was in flight are counted as {@code deferred} and rechecked by the
+ * next incremental run.
+ */
+public record ReconciliationReport(Long runId,
+                                   ReconciliationRun.Mode mode,
+                                   long highWaterTransactionId,
+                                   long accountsChecked,
+                                   long legsFolded,
+                                   long deferred,
+                                   long drifted,
+                                   List<BalanceDrift> drifts,
+                                   long elapsedMillis) {
+}
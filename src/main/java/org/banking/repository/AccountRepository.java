@@ -6,11 +6,17 @@
  */
 package org.banking.repository;
 
+import jakarta.persistence.LockModeType;
 import org.banking.model.Account;
 import org.banking.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,5 +28,21 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
     boolean existsByAccountNumber(String accountNumber);
+
+    @Query("SELECT a.id FROM Account a ORDER BY a.id")
+    List<Long> findAllIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findForUpdate(@Param("id") Long id);
+
+    @Query("SELECT a.updatedAt FROM Account a WHERE a.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT new org.banking.repository.AccountVersion(a.updatedAt, u.updatedAt) "
+            + "FROM Account a LEFT JOIN a.user u WHERE a.id = :id")
+    Optional<AccountVersion> findVersionById(@Param("id") Long id);
 }
\ No newline at end of file
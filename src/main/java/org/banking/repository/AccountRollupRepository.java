@@ -0,0 +1,21 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.repository;
+
+import org.banking.model.AccountRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AccountRollupRepository extends JpaRepository<AccountRollup, Long> {
+
+    List<AccountRollup> findByAccountIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+            Long accountId, AccountRollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
+}
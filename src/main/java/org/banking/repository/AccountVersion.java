@@ -0,0 +1,16 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versions of everything an account read returns: the account row and the owning user
+ * embedded in it. Either one changing changes the account's ETag.
+ */
+public record AccountVersion(LocalDateTime accountUpdatedAt, LocalDateTime userUpdatedAt) {
+}
@@ -0,0 +1,24 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.repository;
+
+import org.banking.model.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    /**
+     * Latest snapshot whose transactions all happened at or before {@code asOf}.
+     */
+    Optional<BalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByLastTransactionIdDesc(Long accountId,
+                                                                                                  LocalDateTime asOf);
+}
@@ -0,0 +1,25 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.repository;
+
+/**
+ * Cheap fingerprint of an account's hot transaction history: it changes whenever a
+ * transaction is added to or archived out of the history.
+ */
+public record HistoryVersion(Long transactionCount, Long latestTransactionId) {
+
+    public HistoryVersion {
+        if (latestTransactionId == null) {
+            latestTransactionId = 0L;
+        }
+    }
+
+    public HistoryVersion plus(HistoryVersion other) {
+        return new HistoryVersion(transactionCount + other.transactionCount,
+                Math.max(latestTransactionId, other.latestTransactionId));
+    }
+}
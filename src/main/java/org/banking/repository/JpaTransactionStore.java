@@ -0,0 +1,127 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.repository;
+
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@ConditionalOnProperty(prefix = "banking.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class JpaTransactionStore implements TransactionStore {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions (transaction_reference, from_account_id, "
+            + "to_account_id, amount, transaction_type, status, description, fee, currency, credited_amount, fx_rate, "
+            + "created_at, processed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        return transactionRepository.save(transaction);
+    }
+
+    /**
+     * JDBC batch insert; identity ids are read back by reference, which is unique.
+     */
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+        List<Object[]> rows = new ArrayList<>(transactions.size());
+        Map<String, Transaction> byReference = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getCreatedAt() == null) {
+                transaction.setCreatedAt(LocalDateTime.now());
+            }
+            rows.add(new Object[]{
+                    transaction.getTransactionReference(),
+                    transaction.getFromAccount().getId(),
+                    transaction.getToAccount() != null ? transaction.getToAccount().getId() : null,
+                    transaction.getAmount(),
+                    transaction.getTransactionType().name(),
+                    transaction.getStatus().name(),
+                    transaction.getDescription(),
+                    transaction.getFee(),
+                    transaction.getCurrency(),
+                    transaction.getCreditedAmount(),
+                    transaction.getFxRate(),
+                    Timestamp.valueOf(transaction.getCreatedAt()),
+                    transaction.getProcessedAt() != null ? Timestamp.valueOf(transaction.getProcessedAt()) : null
+            });
+            byReference.put(transaction.getTransactionReference(), transaction);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(
+                "SELECT id, transaction_reference FROM transactions WHERE transaction_reference IN (:references)",
+                new MapSqlParameterSource("references", byReference.keySet()),
+                rs -> {
+                    byReference.get(rs.getString("transaction_reference")).setId(rs.getLong("id"));
+                });
+        return transactions;
+    }
+
+    @Override
+    public Optional<Transaction> findById(Long id) {
+        return transactionRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Transaction> findByTransactionReference(String transactionReference) {
+        return transactionRepository.findByTransactionReference(transactionReference);
+    }
+
+    @Override
+    public boolean existsByTransactionReference(String transactionReference) {
+        return transactionRepository.existsByTransactionReference(transactionReference);
+    }
+
+    @Override
+    public List<Transaction> findPage(int page, int size) {
+        return transactionRepository.findAllByOrderByCreatedAtDescIdDesc(PageRequest.of(page, size));
+    }
+
+    @Override
+    public List<Transaction> findAllById(Collection<Long> ids) {
+        return transactionRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Transaction> findByAccountOrderByCreatedAtDesc(Account account) {
+        return transactionRepository.findByAccountOrderByCreatedAtDesc(account);
+    }
+
+    @Override
+    public List<Transaction> findByAccountAndCreatedAtRange(Account account, LocalDateTime from, LocalDateTime to) {
+        return transactionRepository.findByAccountAndCreatedAtRange(account, from, to);
+    }
+
+    @Override
+    public HistoryVersion findHistoryVersion(Long accountId) {
+        return transactionRepository.findHistoryVersion(accountId);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.repository;
+
+import org.banking.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.createdAt <= :settledBefore ORDER BY e.id")
+    List<OutboxEvent> findUnpublished(@Param("settledBefore") LocalDateTime settledBefore, Pageable pageable);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.createdAt <= :settledBefore "
+            + "AND e.aggregateId NOT IN :skipped ORDER BY e.id")
+    List<OutboxEvent> findUnpublishedExcept(@Param("settledBefore") LocalDateTime settledBefore,
+                                            @Param("skipped") Collection<Long> skippedAggregateIds,
+                                            Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
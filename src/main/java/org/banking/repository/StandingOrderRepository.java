@@ -0,0 +1,31 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.repository;
+
+import org.banking.model.StandingOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StandingOrderRepository extends JpaRepository<StandingOrder, Long> {
+
+    List<StandingOrder> findByFromAccountIdOrderByNextRunAt(Long fromAccountId);
+
+    /**
+     * Cancels without rewriting the columns the scheduler owns; an execution in flight
+     * then fails its claim check and rolls back.
+     */
+    @Modifying
+    @Query("UPDATE StandingOrder o SET o.status = org.banking.model.StandingOrder.Status.CANCELLED "
+            + "WHERE o.id = :id AND o.status = org.banking.model.StandingOrder.Status.ACTIVE")
+    int cancel(@Param("id") Long id);
+}
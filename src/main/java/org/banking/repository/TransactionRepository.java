@@ -8,11 +8,15 @@ package org.banking.repository;
 
 import org.banking.model.Transaction;
 import org.banking.model.Account;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +24,8 @@ import java.util.Optional;
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByTransactionReference(String transactionReference);
 
+    List<Transaction> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
     List<Transaction> findByFromAccountOrderByCreatedAtDesc(Account fromAccount);
 
     List<Transaction> findByToAccountOrderByCreatedAtDesc(Account toAccount);
@@ -27,5 +33,25 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @Query("SELECT t FROM Transaction t WHERE t.fromAccount = :account OR t.toAccount = :account ORDER BY t.createdAt DESC")
     List<Transaction> findByAccountOrderByCreatedAtDesc(@Param("account") Account account);
 
+    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) " +
+            "AND t.createdAt >= :from AND t.createdAt < :to ORDER BY t.createdAt DESC")
+    List<Transaction> findByAccountAndCreatedAtRange(@Param("account") Account account,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+
     boolean existsByTransactionReference(String transactionReference);
+
+    @Query("SELECT new org.banking.repository.HistoryVersion(COUNT(t), MAX(t.id)) FROM Transaction t " +
+            "WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId")
+    HistoryVersion findHistoryVersion(@Param("accountId") Long accountId);
+
+    @Query("SELECT MIN(t.createdAt) FROM Transaction t")
+    LocalDateTime findOldestCreatedAt();
+
+    @Query("SELECT t FROM Transaction t WHERE t.createdAt >= :from AND t.createdAt < :to ORDER BY t.id")
+    List<Transaction> findByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,50 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.repository;
+
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for posted transactions. Backed by {@link TransactionRepository} by default,
+ * or by the account-sharded store when {@code banking.sharding.enabled=true}.
+ */
+public interface TransactionStore {
+
+    Transaction save(Transaction transaction);
+
+    /**
+     * Stores already processed transactions with batched inserts and assigns their ids.
+     * Meant for bulk postings such as interest accrual; nothing is cascaded to the accounts.
+     */
+    List<Transaction> saveAll(List<Transaction> transactions);
+
+    Optional<Transaction> findById(Long id);
+
+    Optional<Transaction> findByTransactionReference(String transactionReference);
+
+    boolean existsByTransactionReference(String transactionReference);
+
+    /**
+     * One page of every transaction, newest first ({@code createdAt} then id, descending).
+     * Only the requested page is held in memory.
+     */
+    List<Transaction> findPage(int page, int size);
+
+    List<Transaction> findAllById(Collection<Long> ids);
+
+    List<Transaction> findByAccountOrderByCreatedAtDesc(Account account);
+
+    List<Transaction> findByAccountAndCreatedAtRange(Account account, LocalDateTime from, LocalDateTime to);
+
+    HistoryVersion findHistoryVersion(Long accountId);
+}
@@ -0,0 +1,174 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.banking.archive.TransactionArchive;
+import org.banking.reconciliation.LedgerLegs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes balance snapshots in the background. A pass picks a high-water transaction id,
+ * finds the accounts with transactions above the previous pass's mark, and writes one
+ * snapshot per account: its latest snapshot, or its opening balance plus archived
+ * transactions, plus the {@link LedgerLegs} in between. Accounts are handled
+ * {@code batch-size} at a time with one batched insert per batch.
+ * <p>
+ * A pass only reads committed rows and writes its own table, so it never locks accounts
+ * or waits on postings. The high-water mark is the highest id among transactions
+ * processed at least {@code settle-ms} ago: a posting transaction that is still open after
+ * that long would be left out of the snapshot, so {@code settle-ms} must exceed the
+ * longest posting transaction. Each snapshot builds on the account's own latest snapshot,
+ * so a pass that stops halfway loses nothing but the snapshots it did not write.
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class BalanceSnapshotScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotScheduler.class);
+
+    private static final String HIGH_WATER_SQL = "SELECT COALESCE(MAX(id), 0) FROM transactions "
+            + "WHERE COALESCE(processed_at, created_at) <= ?";
+
+    private static final String TOUCHED_SQL = "SELECT from_account_id AS account_id FROM transactions "
+            + "WHERE id > ? AND id <= ? "
+            + "UNION SELECT to_account_id AS account_id FROM transactions "
+            + "WHERE id > ? AND id <= ? AND to_account_id IS NOT NULL "
+            + "ORDER BY account_id";
+
+    private static final String BASE_SQL = "SELECT a.id, COALESCE(a.opening_balance, 0) AS opening_balance, "
+            + "s.last_transaction_id, s.balance, s.as_of "
+            + "FROM accounts a LEFT JOIN balance_snapshots s ON s.account_id = a.id AND s.last_transaction_id = "
+            + "(SELECT MAX(last_transaction_id) FROM balance_snapshots WHERE account_id = a.id) "
+            + "WHERE a.id IN (:ids)";
+
+    private static final String INSERT_SQL = "INSERT INTO balance_snapshots (account_id, last_transaction_id, balance, "
+            + "as_of, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.snapshots.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.snapshots.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${banking.snapshots.settle-ms:60000}")
+    private long settleMillis;
+
+    @Scheduled(fixedDelayString = "${banking.snapshots.interval-ms:300000}",
+            initialDelayString = "${banking.snapshots.interval-ms:300000}")
+    public void poll() {
+        if (enabled) {
+            takeSnapshots(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Snapshots every account with transactions settled since the previous pass and
+     * returns how many snapshots were written.
+     */
+    public synchronized int takeSnapshots(LocalDateTime now) {
+        long previous = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(last_transaction_id), 0) FROM balance_snapshots", Long.class);
+        long highWater = jdbcTemplate.queryForObject(HIGH_WATER_SQL, Long.class,
+                now.minusNanos(settleMillis * 1_000_000));
+        if (highWater <= previous) {
+            return 0;
+        }
+
+        List<Long> touched = jdbcTemplate.queryForList(TOUCHED_SQL, Long.class, previous, highWater, previous, highWater);
+        Map<Long, BigDecimal> archived = transactionArchive.getArchivedMonths().isEmpty()
+                ? Map.of() : LedgerLegs.foldArchive(transactionArchive);
+        int written = 0;
+        for (int from = 0; from < touched.size(); from += batchSize) {
+            List<Long> batch = touched.subList(from, Math.min(touched.size(), from + batchSize));
+            written += transactionTemplate.execute(status -> snapshotBatch(batch, highWater, archived, now));
+        }
+        meterRegistry.counter("banking.snapshots.written").increment(written);
+        log.debug("Wrote {} balance snapshots up to transaction {}", written, highWater);
+        return written;
+    }
+
+    private int snapshotBatch(List<Long> accountIds, long highWater, Map<Long, BigDecimal> archived, LocalDateTime now) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", accountIds).addValue("highWater", highWater);
+
+        Map<Long, Fold> folds = new HashMap<>();
+        named.query(BASE_SQL, params, rs -> {
+            long accountId = rs.getLong("id");
+            BigDecimal snapshot = rs.getBigDecimal("balance");
+            folds.put(accountId, snapshot != null
+                    ? new Fold(rs.getLong("last_transaction_id"), snapshot, rs.getObject("as_of", LocalDateTime.class))
+                    : new Fold(0, rs.getBigDecimal("opening_balance")
+                    .add(archived.getOrDefault(accountId, BigDecimal.ZERO)), null));
+        });
+        if (folds.isEmpty()) {
+            return 0;
+        }
+
+        long floor = folds.values().stream().mapToLong(fold -> fold.since).min().orElse(0);
+        named.query(LedgerLegs.legsSql("IN (:ids)"), params.addValue("floor", floor), rs -> {
+            Fold fold = folds.get(rs.getLong("account_id"));
+            if (fold != null && rs.getLong("transaction_id") > fold.since) {
+                fold.balance = fold.balance.add(rs.getBigDecimal("delta"));
+                LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+                if (fold.asOf == null || createdAt.isAfter(fold.asOf)) {
+                    fold.asOf = createdAt;
+                }
+            }
+        });
+
+        List<Object[]> rows = new ArrayList<>(folds.size());
+        folds.forEach((accountId, fold) -> {
+            if (fold.asOf != null) {
+                rows.add(new Object[]{accountId, highWater, fold.balance, fold.asOf, now});
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return rows.size();
+    }
+
+    private static final class Fold {
+        final long since;
+        BigDecimal balance;
+        LocalDateTime asOf;
+
+        Fold(long since, BigDecimal balance, LocalDateTime asOf) {
+            this.since = since;
+            this.balance = balance;
+            this.asOf = asOf;
+        }
+    }
+}
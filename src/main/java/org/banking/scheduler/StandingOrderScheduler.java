@@ -0,0 +1,226 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.banking.dto.TransactionDto;
+import org.banking.exception.InsufficientFundsException;
+import org.banking.exception.ResourceNotFoundException;
+import org.banking.exception.TransactionDeclinedException;
+import org.banking.model.StandingOrder;
+import org.banking.model.Transaction;
+import org.banking.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executes due standing orders. Due rows are found through the {@code (status, next_run_at)}
+ * index, oldest first, and claimed a batch at a time with {@code FOR UPDATE SKIP LOCKED}:
+ * concurrent nodes skip each other's rows instead of waiting, and each claim is stamped with
+ * a token and a lease so a crashed node's batch is picked up once the lease runs out.
+ * <p>
+ * Every execution posts through {@link TransactionService} and advances the order in the
+ * same database transaction, guarded by the claim token, so an occurrence is posted at
+ * most once even if a lease expires mid-run. Business failures (insufficient funds,
+ * declined, missing account) are recorded and the order moves on to its next occurrence;
+ * other failures leave the claim to expire and are retried. Missed occurrences are caught
+ * up one per claim.
+ */
+@Component
+public class StandingOrderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingOrderScheduler.class);
+
+    private static final String CLAIM_SQL = "SELECT id, from_account_id, to_account_id, amount, transaction_type, "
+            + "description, frequency, start_at, end_at, next_run_at, execution_count FROM standing_orders "
+            + "WHERE status = 'ACTIVE' AND next_run_at <= ? AND (claimed_until IS NULL OR claimed_until < ?) "
+            + "ORDER BY next_run_at FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+
+    private static final String STAMP_SQL = "UPDATE standing_orders SET claim_token = ?, claimed_until = ? WHERE id = ?";
+
+    private static final String ADVANCE_SQL = "UPDATE standing_orders SET execution_count = ?, next_run_at = ?, "
+            + "status = ?, last_run_at = ?, last_transaction_id = ?, failure_count = 0, last_error = NULL, "
+            + "claim_token = NULL, claimed_until = NULL WHERE id = ? AND claim_token = ? AND status = 'ACTIVE'";
+
+    private static final String SKIP_SQL = "UPDATE standing_orders SET execution_count = ?, next_run_at = ?, "
+            + "status = ?, last_run_at = ?, failure_count = failure_count + 1, last_error = ?, "
+            + "claim_token = NULL, claimed_until = NULL WHERE id = ? AND claim_token = ? AND status = 'ACTIVE'";
+
+    private static final RowMapper<StandingOrder> CLAIMED_ROW = (rs, rowNum) -> {
+        StandingOrder order = new StandingOrder(
+                rs.getLong("from_account_id"),
+                rs.getObject("to_account_id", Long.class),
+                rs.getBigDecimal("amount"),
+                Transaction.TransactionType.valueOf(rs.getString("transaction_type")),
+                rs.getString("description"),
+                StandingOrder.Frequency.valueOf(rs.getString("frequency")),
+                rs.getObject("start_at", LocalDateTime.class),
+                rs.getObject("end_at", LocalDateTime.class));
+        order.setId(rs.getLong("id"));
+        order.setNextRunAt(rs.getObject("next_run_at", LocalDateTime.class));
+        order.setExecutionCount(rs.getLong("execution_count"));
+        return order;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.standing-orders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.standing-orders.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.standing-orders.workers:8}")
+    private int workers;
+
+    @Value("${banking.standing-orders.claim-lease-ms:300000}")
+    private long claimLeaseMillis;
+
+    private ExecutorService executor;
+    private Counter executed;
+    private Counter skipped;
+    private Counter retried;
+
+    @PostConstruct
+    void initialize() {
+        executor = Executors.newFixedThreadPool(Math.max(1, workers));
+        executed = meterRegistry.counter("banking.standing_orders.executions", "outcome", "executed");
+        skipped = meterRegistry.counter("banking.standing_orders.executions", "outcome", "skipped");
+        retried = meterRegistry.counter("banking.standing_orders.executions", "outcome", "retried");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${banking.standing-orders.poll-interval-ms:1000}")
+    public void poll() {
+        if (enabled) {
+            runDueOrders(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Claims and executes batches of orders due at {@code now} until none are left, and
+     * returns how many occurrences were posted.
+     */
+    public synchronized int runDueOrders(LocalDateTime now) {
+        int posted = 0;
+        while (true) {
+            String token = UUID.randomUUID().toString();
+            List<StandingOrder> claimed = claim(token, now);
+            if (claimed.isEmpty()) {
+                return posted;
+            }
+            List<CompletableFuture<Boolean>> results = new ArrayList<>(claimed.size());
+            for (StandingOrder order : claimed) {
+                results.add(CompletableFuture.supplyAsync(() -> execute(order, token), executor));
+            }
+            for (CompletableFuture<Boolean> result : results) {
+                if (result.join()) {
+                    posted++;
+                }
+            }
+        }
+    }
+
+    private List<StandingOrder> claim(String token, LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            List<StandingOrder> due = jdbcTemplate.query(CLAIM_SQL, CLAIMED_ROW, now, now, batchSize);
+            LocalDateTime leaseEnd = now.plusNanos(claimLeaseMillis * 1_000_000);
+            List<Object[]> stamps = new ArrayList<>(due.size());
+            for (StandingOrder order : due) {
+                stamps.add(new Object[]{token, leaseEnd, order.getId()});
+            }
+            jdbcTemplate.batchUpdate(STAMP_SQL, stamps);
+            return due;
+        });
+    }
+
+    private boolean execute(StandingOrder order, String token) {
+        LocalDateTime runAt = LocalDateTime.now();
+        try {
+            boolean posted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Transaction transaction = transactionService.createTransaction(toTransaction(order));
+                long count = order.getExecutionCount() + 1;
+                LocalDateTime next = order.getFrequency().occurrence(order.getStartAt(), count);
+                if (jdbcTemplate.update(ADVANCE_SQL, count, next, statusAfter(order, next).name(), runAt,
+                        transaction.getId(), order.getId(), token) == 0) {
+                    // Cancelled or re-claimed meanwhile: the posting must not stand
+                    status.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            }));
+            if (posted) {
+                executed.increment();
+            }
+            return posted;
+        } catch (ResourceNotFoundException | InsufficientFundsException | TransactionDeclinedException
+                 | IllegalArgumentException e) {
+            long count = order.getExecutionCount() + 1;
+            LocalDateTime next = order.getFrequency().occurrence(order.getStartAt(), count);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(SKIP_SQL, count, next,
+                    statusAfter(order, next).name(), runAt, truncate(e.getMessage()), order.getId(), token));
+            skipped.increment();
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Standing order {} failed; it is retried once its claim expires", order.getId(), e);
+            retried.increment();
+            return false;
+        }
+    }
+
+    private static TransactionDto toTransaction(StandingOrder order) {
+        return new TransactionDto(
+                order.getFromAccountId(),
+                order.getToAccountId(),
+                order.getAmount(),
+                order.getTransactionType(),
+                order.getDescription() != null ? order.getDescription() : "Standing order #" + order.getId()
+        );
+    }
+
+    private static StandingOrder.Status statusAfter(StandingOrder order, LocalDateTime next) {
+        return order.getEndAt() != null && next.isAfter(order.getEndAt())
+                ? StandingOrder.Status.COMPLETED
+                : StandingOrder.Status.ACTIVE;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
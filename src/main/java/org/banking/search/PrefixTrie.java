@@ -0,0 +1,250 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Character trie mapping keys to long values, for typeahead. Children are kept in sorted
+ * parallel arrays rather than maps to keep nodes small, keys are truncated to
+ * {@link #MAX_KEY_LENGTH} so memory grows at most linearly with the number of keys, and
+ * nodes left empty by a removal are pruned. Not thread-safe.
+ * <p>
+ * {@link #search} returns values whose key starts with the query, or with a string within
+ * {@code maxEdits} Levenshtein edits of it. Completions are gathered breadth first, so the
+ * shortest keys are found first.
+ */
+public class PrefixTrie {
+
+    public static final int MAX_KEY_LENGTH = 40;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_VALUES = new long[0];
+
+    public record Match(long value, int edits, int keyLength) {
+    }
+
+    private final Node root = new Node();
+    private int nodeCount = 1;
+    private long childSlots;
+    private long valueCount;
+
+    public void add(String key, long value) {
+        Node node = root;
+        for (int i = 0, length = Math.min(key.length(), MAX_KEY_LENGTH); i < length; i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        if (node.addValue(value)) {
+            valueCount++;
+        }
+    }
+
+    public void remove(String key, long value) {
+        remove(root, key, 0, Math.min(key.length(), MAX_KEY_LENGTH), value);
+    }
+
+    /**
+     * Up to {@code maxMatches} completions of {@code query}, each value reported once with
+     * the fewest edits it was found with.
+     */
+    public Map<Long, Match> search(String query, int maxEdits, int maxMatches) {
+        Map<Long, Match> matches = new HashMap<>();
+        String prefix = query.length() > MAX_KEY_LENGTH ? query.substring(0, MAX_KEY_LENGTH) : query;
+        if (maxEdits == 0) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node != null) {
+                collect(node, prefix.length(), 0, matches, maxMatches);
+            }
+            return matches;
+        }
+
+        int[] firstRow = new int[prefix.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        if (firstRow[prefix.length()] <= maxEdits) {
+            collect(root, 0, firstRow[prefix.length()], matches, maxMatches);
+            return matches;
+        }
+        for (int i = 0; i < root.size && matches.size() < maxMatches; i++) {
+            searchFuzzy(root.children[i], root.labels[i], 1, prefix, firstRow, maxEdits, matches, maxMatches);
+        }
+        return matches;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public long getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * Rough heap footprint: node objects and their arrays, child slots and stored values.
+     */
+    public long estimatedBytes() {
+        return nodeCount * 72L + childSlots * 6L + valueCount * 8L;
+    }
+
+    private void searchFuzzy(Node node, char label, int depth, String query, int[] previous, int maxEdits,
+                             Map<Long, Match> matches, int maxMatches) {
+        int columns = query.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previous[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < columns; i++) {
+            int substitution = previous[i - 1] + (query.charAt(i - 1) == label ? 0 : 1);
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previous[i] + 1), substitution);
+            best = Math.min(best, row[i]);
+        }
+
+        int edits = row[query.length()];
+        if (edits <= maxEdits && best >= edits) {
+            // No deeper node can match with fewer edits: everything below completes this prefix
+            collect(node, depth, edits, matches, maxMatches);
+            return;
+        }
+        if (edits <= maxEdits) {
+            report(node, depth, edits, matches);
+        }
+        if (best <= maxEdits) {
+            for (int i = 0; i < node.size && matches.size() < maxMatches; i++) {
+                searchFuzzy(node.children[i], node.labels[i], depth + 1, query, row, maxEdits, matches, maxMatches);
+            }
+        }
+    }
+
+    private void collect(Node start, int startDepth, int edits, Map<Long, Match> matches, int maxMatches) {
+        Deque<Node> queue = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        queue.add(start);
+        depths.add(startDepth);
+        while (!queue.isEmpty() && matches.size() < maxMatches) {
+            Node node = queue.poll();
+            int depth = depths.poll();
+            report(node, depth, edits, matches);
+            for (int i = 0; i < node.size; i++) {
+                queue.add(node.children[i]);
+                depths.add(depth + 1);
+            }
+        }
+    }
+
+    private static void report(Node node, int depth, int edits, Map<Long, Match> matches) {
+        for (int i = 0; i < node.valueCount; i++) {
+            long value = node.values[i];
+            Match existing = matches.get(value);
+            if (existing == null || edits < existing.edits()) {
+                matches.put(value, new Match(value, edits, depth));
+            }
+        }
+    }
+
+    private boolean remove(Node node, String key, int position, int length, long value) {
+        if (position == length) {
+            if (node.removeValue(value)) {
+                valueCount--;
+            }
+        } else {
+            int index = node.indexOf(key.charAt(position));
+            if (index < 0) {
+                return false;
+            }
+            if (remove(node.children[index], key, position + 1, length, value)) {
+                node.removeChild(index);
+            }
+        }
+        return node != root && node.valueCount == 0 && node.size == 0;
+    }
+
+    private final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private long[] values = NO_VALUES;
+        private int size;
+        private int valueCount;
+
+        Node child(char label) {
+            int index = indexOf(label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        int indexOf(char label) {
+            return Arrays.binarySearch(labels, 0, size, label);
+        }
+
+        Node childOrCreate(char label) {
+            int index = indexOf(label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                childSlots += capacity - labels.length;
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node child = new Node();
+            labels[insertAt] = label;
+            children[insertAt] = child;
+            size++;
+            nodeCount++;
+            return child;
+        }
+
+        void removeChild(int index) {
+            System.arraycopy(labels, index + 1, labels, index, size - index - 1);
+            System.arraycopy(children, index + 1, children, index, size - index - 1);
+            size--;
+            children[size] = null;
+            nodeCount--;
+            if (size == 0) {
+                childSlots -= labels.length;
+                labels = NO_LABELS;
+                children = NO_CHILDREN;
+            }
+        }
+
+        boolean addValue(long value) {
+            for (int i = 0; i < valueCount; i++) {
+                if (values[i] == value) {
+                    return false;
+                }
+            }
+            if (valueCount == values.length) {
+                values = Arrays.copyOf(values, Math.max(1, valueCount * 2));
+            }
+            values[valueCount++] = value;
+            return true;
+        }
+
+        boolean removeValue(long value) {
+            for (int i = 0; i < valueCount; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--valueCount];
+                    if (valueCount == 0) {
+                        values = NO_VALUES;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.search;
+
+import java.util.List;
+
+/**
+ * One page of matching document ids, newest (highest id) first, with the total number of
+ * matches across all pages.
+ */
+public record SearchHits(long total, List<Long> ids) {
+}
@@ -0,0 +1,221 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from lower-cased word tokens to sorted document id postings.
+ * The term dictionary is sorted, so a prefix query is a range scan over it. Query terms
+ * are ANDed; a term ending in {@code *} matches every indexed term with that prefix.
+ * Results are ordered by descending id, which for transactions is newest first.
+ */
+public class TextIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private long postingCount;
+
+    public void add(long documentId, String text) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String token : tokens) {
+                if (terms.computeIfAbsent(token, t -> new Postings()).add(documentId)) {
+                    postingCount++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, long offset, int limit) {
+        List<QueryTerm> queryTerms = parse(query);
+        if (queryTerms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+
+        long[] matches;
+        lock.readLock().lock();
+        try {
+            List<long[]> candidates = new ArrayList<>(queryTerms.size());
+            for (QueryTerm term : queryTerms) {
+                long[] ids = term.prefix() ? prefixPostings(term.text()) : exactPostings(term.text());
+                if (ids.length == 0) {
+                    return new SearchHits(0, List.of());
+                }
+                candidates.add(ids);
+            }
+            candidates.sort(Comparator.comparingInt(ids -> ids.length));
+            matches = candidates.get(0);
+            for (int i = 1; i < candidates.size() && matches.length > 0; i++) {
+                matches = intersect(matches, candidates.get(i));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (offset >= matches.length) {
+            return new SearchHits(matches.length, List.of());
+        }
+        List<Long> page = new ArrayList<>(Math.min(limit, matches.length));
+        for (int i = matches.length - 1 - (int) offset; i >= 0 && page.size() < limit; i--) {
+            page.add(matches[i]);
+        }
+        return new SearchHits(matches.length, page);
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getPostingCount() {
+        lock.readLock().lock();
+        try {
+            return postingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<QueryTerm> parse(String query) {
+        List<QueryTerm> queryTerms = new ArrayList<>();
+        if (query == null) {
+            return queryTerms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = tokenize(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                queryTerms.add(new QueryTerm(tokens.get(i), prefix && i == tokens.size() - 1));
+            }
+        }
+        return queryTerms;
+    }
+
+    private long[] exactPostings(String term) {
+        Postings postings = terms.get(term);
+        return postings != null ? postings.toArray() : new long[0];
+    }
+
+    private long[] prefixPostings(String prefix) {
+        NavigableMap<String, Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.size() == 1) {
+            return range.firstEntry().getValue().toArray();
+        }
+        int size = 0;
+        for (Postings postings : range.values()) {
+            size += postings.size;
+        }
+        long[] union = new long[size];
+        int position = 0;
+        for (Postings postings : range.values()) {
+            System.arraycopy(postings.ids, 0, union, position, postings.size);
+            position += postings.size;
+        }
+        Arrays.sort(union);
+        int distinct = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (i == 0 || union[i] != union[i - 1]) {
+                union[distinct++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, distinct);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private record QueryTerm(String text, boolean prefix) {
+    }
+
+    /**
+     * Ascending document ids. Ids normally arrive in order and are appended; out-of-order
+     * ids (a backfill racing live postings) are inserted in place, duplicates are ignored.
+     */
+    private static final class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        boolean add(long id) {
+            if (size > 0 && id <= ids[size - 1]) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return false;
+                }
+                int insertAt = -position - 1;
+                grow();
+                System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+                ids[insertAt] = id;
+            } else {
+                grow();
+                ids[size] = id;
+            }
+            size++;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
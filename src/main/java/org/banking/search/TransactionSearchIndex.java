@@ -0,0 +1,103 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.search;
+
+import org.banking.event.TransactionPostedEvent;
+import org.banking.model.Transaction;
+import org.banking.repository.TransactionStore;
+import org.banking.service.AccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-account {@link TextIndex} over transaction descriptions. An account's index is built
+ * from its history on the first search and then kept current from committed postings. The
+ * entry is registered before the history is read, so a posting that commits during the
+ * build is either in the history or delivered to the entry, and postings dedupe by id.
+ * Least recently searched accounts are dropped beyond {@code banking.search.max-indexed-accounts}
+ * and rebuilt on demand.
+ */
+@Component
+public class TransactionSearchIndex {
+
+    @Autowired
+    private TransactionStore transactionStore;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Value("${banking.search.max-indexed-accounts:10000}")
+    private int maxIndexedAccounts;
+
+    private final Map<Long, AccountEntry> accounts = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, AccountEntry> eldest) {
+            return size() > maxIndexedAccounts;
+        }
+    };
+
+    @TransactionalEventListener
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        addIfIndexed(event.fromAccount().id(), event.transactionId(), event.description());
+        if (event.toAccount() != null) {
+            addIfIndexed(event.toAccount().id(), event.transactionId(), event.description());
+        }
+    }
+
+    public SearchHits search(Long accountId, String query, long offset, int limit) {
+        AccountEntry entry;
+        synchronized (accounts) {
+            entry = accounts.computeIfAbsent(accountId, id -> new AccountEntry());
+        }
+        entry.ensureLoaded(accountId);
+        return entry.index.search(query, offset, limit);
+    }
+
+    public int getIndexedAccountCount() {
+        synchronized (accounts) {
+            return accounts.size();
+        }
+    }
+
+    private void addIfIndexed(Long accountId, Long transactionId, String description) {
+        AccountEntry entry;
+        synchronized (accounts) {
+            entry = accounts.get(accountId);
+        }
+        if (entry != null) {
+            entry.index.add(transactionId, description);
+        }
+    }
+
+    private final class AccountEntry {
+        private final TextIndex index = new TextIndex();
+        private boolean loaded;
+
+        synchronized void ensureLoaded(Long accountId) {
+            if (loaded) {
+                return;
+            }
+            try {
+                for (Transaction transaction : transactionStore.findByAccountOrderByCreatedAtDesc(accountService.getAccountById(accountId))) {
+                    index.add(transaction.getId(), transaction.getDescription());
+                }
+                loaded = true;
+            } finally {
+                if (!loaded) {
+                    synchronized (accounts) {
+                        accounts.remove(accountId, this);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.banking.event.UserChangedEvent;
+import org.banking.model.User;
+import org.banking.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Typeahead over username, email, full name (whole and per word) and phone digits, held in
+ * one {@link PrefixTrie}. Each stored value packs the user id with the field it came from,
+ * which ranks matches: fewer edits first, then username over name over email over phone,
+ * then shorter keys. Typo-tolerant matching is only tried when exact prefixes do not fill
+ * the page. Built from the users table at startup and updated from committed user changes;
+ * a change that commits during the initial load wins over the loaded row. Deletions seen
+ * while loading are kept as tombstones, so a user deleted after the table was read is not
+ * indexed from its stale row.
+ */
+@Component
+public class UserDirectoryIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDirectoryIndex.class);
+
+    private static final int FIELD_BITS = 2;
+    private static final int USERNAME = 0;
+    private static final int FULL_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int PHONE = 3;
+    private static final int FUZZY_MIN_LENGTH = 4;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PrefixTrie trie = new PrefixTrie();
+    private final Map<Long, List<IndexedKey>> keysByUser = new HashMap<>();
+    private final Set<Long> deletedDuringLoad = new HashSet<>();
+    private boolean loading;
+    private Timer searchTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("banking.user_search.users", this, index -> index.read(() -> (double) index.keysByUser.size()))
+                .register(meterRegistry);
+        Gauge.builder("banking.user_search.nodes", this, index -> index.read(() -> (double) index.trie.getNodeCount()))
+                .register(meterRegistry);
+        Gauge.builder("banking.user_search.memory", this, index -> index.read(() -> (double) index.trie.estimatedBytes()))
+                .baseUnit("bytes")
+                .description("Estimated heap used by the user search trie")
+                .register(meterRegistry);
+        searchTimer = Timer.builder("banking.user_search.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUsers() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<User> users = userRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            for (User user : users) {
+                if (!keysByUser.containsKey(user.getId()) && !deletedDuringLoad.contains(user.getId())) {
+                    index(user.getId(), user.getUsername(), user.getEmail(), user.getFullName(), user.getPhoneNumber());
+                }
+            }
+            deletedDuringLoad.clear();
+            loading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} users for search ({} trie nodes)", users.size(), trie.getNodeCount());
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            unindex(event.userId());
+            if (event.changeType() != UserChangedEvent.ChangeType.DELETED) {
+                index(event.userId(), event.username(), event.email(), event.fullName(), event.phoneNumber());
+            } else if (loading) {
+                deletedDuringLoad.add(event.userId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of up to {@code limit} users best matching {@code query}, best first.
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        String digits = normalized.replaceAll("[^0-9]", "");
+        boolean phoneLike = !digits.isEmpty() && normalized.matches("[0-9+()\\- ]+");
+        int candidates = limit * 4;
+
+        return searchTimer.record(() -> {
+            Map<Long, PrefixTrie.Match> matches = new HashMap<>();
+            lock.readLock().lock();
+            try {
+                matches.putAll(trie.search(normalized, 0, candidates));
+                if (phoneLike && !digits.equals(normalized)) {
+                    trie.search(digits, 0, candidates).forEach(matches::putIfAbsent);
+                }
+                if (distinctUsers(matches) < limit && normalized.length() >= FUZZY_MIN_LENGTH) {
+                    trie.search(normalized, 1, candidates).forEach(matches::putIfAbsent);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return rank(matches.values(), limit);
+        });
+    }
+
+    private void index(Long userId, String username, String email, String fullName, String phoneNumber) {
+        List<IndexedKey> keys = new ArrayList<>();
+        addKey(keys, userId, USERNAME, normalize(username));
+        addKey(keys, userId, EMAIL, normalize(email));
+        String name = normalize(fullName);
+        addKey(keys, userId, FULL_NAME, name);
+        for (String word : name.split(" ")) {
+            if (!word.equals(name)) {
+                addKey(keys, userId, FULL_NAME, word);
+            }
+        }
+        addKey(keys, userId, PHONE, phoneNumber != null ? phoneNumber.replaceAll("[^0-9]", "") : "");
+        keysByUser.put(userId, keys);
+    }
+
+    private void addKey(List<IndexedKey> keys, Long userId, int field, String key) {
+        if (!key.isEmpty()) {
+            trie.add(key, pack(userId, field));
+            keys.add(new IndexedKey(key, field));
+        }
+    }
+
+    private void unindex(Long userId) {
+        List<IndexedKey> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            for (IndexedKey key : keys) {
+                trie.remove(key.key(), pack(userId, key.field()));
+            }
+        }
+    }
+
+    private static List<Long> rank(Iterable<PrefixTrie.Match> matches, int limit) {
+        Map<Long, PrefixTrie.Match> bestByUser = new HashMap<>();
+        Comparator<PrefixTrie.Match> order = Comparator.comparingInt(PrefixTrie.Match::edits)
+                .thenComparingLong(match -> match.value() & ((1 << FIELD_BITS) - 1))
+                .thenComparingInt(PrefixTrie.Match::keyLength)
+                .thenComparingLong(PrefixTrie.Match::value);
+        for (PrefixTrie.Match match : matches) {
+            bestByUser.merge(match.value() >>> FIELD_BITS, match, (a, b) -> order.compare(a, b) <= 0 ? a : b);
+        }
+        return bestByUser.values().stream()
+                .sorted(order)
+                .limit(limit)
+                .map(match -> match.value() >>> FIELD_BITS)
+                .toList();
+    }
+
+    private static long distinctUsers(Map<Long, PrefixTrie.Match> matches) {
+        return matches.keySet().stream().map(value -> value >>> FIELD_BITS).distinct().count();
+    }
+
+    private static long pack(Long userId, int field) {
+        return (userId << FIELD_BITS) | field;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private double read(DoubleSupplier supplier) {
+        lock.readLock().lock();
+        try {
+            return supplier.getAsDouble();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record IndexedKey(String key, int field) {
+    }
+}
@@ -7,16 +7,31 @@
 package org.banking.service;
 
 import org.banking.dto.AccountDto;
+import org.banking.event.AccountChangedEvent;
+import org.banking.event.AccountSnapshot;
 import org.banking.exception.ResourceNotFoundException;
+import org.banking.fx.Currencies;
 import org.banking.model.Account;
 import org.banking.model.User;
 import org.banking.repository.AccountRepository;
+import org.banking.repository.AccountVersion;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -28,8 +43,28 @@ public class AccountService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${banking.lookup.collapse-window-ms:2}")
+    private long collapseWindowMillis;
+
+    private RequestCollapser<Long, Account> byIdCollapser;
+    private RequestCollapser<String, Account> byNumberCollapser;
+
+    @PostConstruct
+    public void initCollapsers() {
+        byIdCollapser = new RequestCollapser<>(ids -> accountRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity())), collapseWindowMillis, 1000);
+        byNumberCollapser = new RequestCollapser<>(numbers -> accountRepository.findByAccountNumberIn(numbers).stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity())), collapseWindowMillis, 1000);
+    }
+
     public Account createAccount(AccountDto accountDto) {
         User user = userService.getUserById(accountDto.getUserId());
+        String currency = accountDto.getCurrency() != null
+                ? Currencies.normalize(accountDto.getCurrency()) : Currencies.DEFAULT;
+        Currencies.requireMinorUnits(accountDto.getBalance(), currency);
 
         String accountNumber = generateAccountNumber();
         while (accountRepository.existsByAccountNumber(accountNumber)) {
@@ -42,21 +77,79 @@ public class AccountService {
                 accountDto.getAccountType(),
                 accountDto.getBalance()
         );
+        account.setCurrency(currency);
         account.setCreditLimit(accountDto.getCreditLimit());
         account.setStatus(accountDto.getStatus());
 
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.created(saved));
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public Account getAccountById(Long id) {
         return accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
     }
 
+    /**
+     * Loads and row-locks accounts for a posting, in id order so two postings (or a posting
+     * and an interest chunk) touching the same accounts cannot deadlock. Balances read from
+     * the returned accounts stay current until the caller's transaction ends.
+     */
+    public Map<Long, Account> lockAccounts(Collection<Long> ids) {
+        Map<Long, Account> accounts = new HashMap<>();
+        for (Long id : new TreeSet<>(ids)) {
+            accounts.put(id, accountRepository.findForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id)));
+        }
+        return accounts;
+    }
+
+    /**
+     * Version of an account for conditional requests, read with a single-column projection
+     * instead of loading the entity.
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime getAccountVersion(Long id) {
+        return accountRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
+    }
+
+    /**
+     * Strong ETag for an account read. The response embeds the owning user, so the user's
+     * version is part of the tag as well as the account's.
+     */
+    @Transactional(readOnly = true)
+    public String getAccountETag(Long id) {
+        AccountVersion version = accountRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
+        return "\"a" + id + "-" + version.accountUpdatedAt() + "-" + version.userUpdatedAt() + "\"";
+    }
+
+    /**
+     * Resolves accounts by id and/or account number with one IN query per key type, shared
+     * with concurrent lookups for the same keys. The result is keyed by the requested value;
+     * unknown keys are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Account> lookupAccounts(List<Long> ids, List<String> accountNumbers) {
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        if (ids != null && !ids.isEmpty()) {
+            byIdCollapser.load(ids).forEach((id, account) -> accounts.put(String.valueOf(id), account));
+        }
+        if (accountNumbers != null && !accountNumbers.isEmpty()) {
+            accounts.putAll(byNumberCollapser.load(accountNumbers));
+        }
+        return accounts;
+    }
+
+    @Transactional(readOnly = true)
     public List<Account> getAllAccounts() {
         return accountRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Account> getAccountsByUserId(Long userId) {
         userService.getUserById(userId); // Verify user exists
         return accountRepository.findByUserId(userId);
@@ -64,22 +157,29 @@ public class AccountService {
 
     public Account updateAccount(Long id, AccountDto accountDto) {
         Account account = getAccountById(id);
+        AccountSnapshot before = AccountSnapshot.of(account);
+        if (accountDto.getCurrency() != null && !Currencies.normalize(accountDto.getCurrency()).equals(account.getCurrency())) {
+            throw new IllegalArgumentException("The currency of an account cannot be changed");
+        }
 
         account.setAccountType(accountDto.getAccountType());
         account.setBalance(accountDto.getBalance());
         account.setCreditLimit(accountDto.getCreditLimit());
         account.setStatus(accountDto.getStatus());
 
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangedEvent.updated(before, saved));
+        return saved;
     }
 
     public void deleteAccount(Long id) {
-        if (!accountRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Account not found with id: " + id);
-        }
-        accountRepository.deleteById(id);
+        Account account = getAccountById(id);
+        AccountSnapshot before = AccountSnapshot.of(account);
+        accountRepository.delete(account);
+        eventPublisher.publishEvent(AccountChangedEvent.deleted(before));
     }
 
+    @Transactional(readOnly = true)
     public Account findByAccountNumber(String accountNumber) {
         return accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with number: " + accountNumber));
@@ -0,0 +1,82 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.service;
+
+import org.banking.archive.TransactionArchive;
+import org.banking.model.Account;
+import org.banking.model.BalanceSnapshot;
+import org.banking.reconciliation.HistoricalBalance;
+import org.banking.reconciliation.LedgerLegs;
+import org.banking.repository.BalanceSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Transactional(readOnly = true)
+@ConditionalOnProperty(prefix = "banking.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class BalanceHistoryService {
+
+    private static final String REPLAY_SQL = "SELECT COUNT(*) AS replayed, COALESCE(SUM(delta), 0) AS net FROM ("
+            + LedgerLegs.legsSql("= :accountId") + ") legs WHERE created_at <= :asOf";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Balance of an account at {@code asOf} as its transaction history explains it: the
+     * latest snapshot whose transactions all happened by then, plus the completed
+     * transactions after that snapshot created at or before {@code asOf}.
+     */
+    public HistoricalBalance getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        Account account = accountService.getAccountById(accountId);
+        if (account.getCreatedAt() != null && asOf.isBefore(account.getCreatedAt())) {
+            throw new IllegalArgumentException("Account " + accountId + " was opened at " + account.getCreatedAt());
+        }
+
+        Optional<BalanceSnapshot> snapshot =
+                balanceSnapshotRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByLastTransactionIdDesc(accountId, asOf);
+        BigDecimal base;
+        long since;
+        if (snapshot.isPresent()) {
+            base = snapshot.get().getBalance();
+            since = snapshot.get().getLastTransactionId();
+        } else {
+            base = account.getOpeningBalance() != null ? account.getOpeningBalance() : BigDecimal.ZERO;
+            if (!transactionArchive.getArchivedMonths().isEmpty()) {
+                base = base.add(LedgerLegs.foldArchive(transactionArchive, accountId, asOf));
+            }
+            since = 0;
+        }
+
+        Map<String, Object> replay = namedParameterJdbcTemplate.queryForMap(REPLAY_SQL, new MapSqlParameterSource()
+                .addValue("accountId", accountId)
+                .addValue("floor", since)
+                .addValue("highWater", Long.MAX_VALUE)
+                .addValue("asOf", asOf));
+        BigDecimal net = new BigDecimal(replay.get("net").toString());
+        return new HistoricalBalance(accountId, asOf, base.add(net), since,
+                snapshot.map(BalanceSnapshot::getAsOf).orElse(null), ((Number) replay.get("replayed")).longValue());
+    }
+}
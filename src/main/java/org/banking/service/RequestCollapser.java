@@ -0,0 +1,132 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent key lookups into shared batch loads. The first caller to ask for a
+ * key that is not already being loaded opens a batch, waits {@code windowMillis} for other
+ * callers to add their keys, and then runs one bulk load for all of them on its own thread.
+ * Callers asking for a key that is already in a pending or running batch wait for that
+ * result instead of querying again.
+ * <p>
+ * Results are not cached: once a batch completes, later lookups start a new batch.
+ */
+public class RequestCollapser<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> loader;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private Batch<K, V> open;
+
+    public RequestCollapser(Function<Set<K>, Map<K, V>> loader, long windowMillis, int maxBatchSize) {
+        this.loader = loader;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Returns the values found for the given keys, in request order; keys without a value
+     * are left out.
+     */
+    public Map<K, V> load(Collection<K> keys) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        List<Batch<K, V>> led = new ArrayList<>();
+
+        synchronized (this) {
+            for (K key : keys) {
+                if (futures.containsKey(key)) {
+                    continue;
+                }
+                CompletableFuture<V> future = inFlight.get(key);
+                if (future == null) {
+                    if (open == null) {
+                        open = new Batch<>();
+                        led.add(open);
+                    }
+                    future = new CompletableFuture<>();
+                    inFlight.put(key, future);
+                    open.futures.put(key, future);
+                    if (open.futures.size() >= maxBatchSize) {
+                        open = null;
+                    }
+                }
+                futures.put(key, future);
+            }
+        }
+
+        if (!led.isEmpty()) {
+            pause();
+            synchronized (this) {
+                if (led.contains(open)) {
+                    open = null;
+                }
+            }
+            for (Batch<K, V> batch : led) {
+                execute(batch);
+            }
+        }
+
+        Map<K, V> results = new LinkedHashMap<>();
+        for (Map.Entry<K, CompletableFuture<V>> entry : futures.entrySet()) {
+            V value = join(entry.getValue());
+            if (value != null) {
+                results.put(entry.getKey(), value);
+            }
+        }
+        return results;
+    }
+
+    private void execute(Batch<K, V> batch) {
+        try {
+            Map<K, V> loaded = loader.apply(new LinkedHashSet<>(batch.futures.keySet()));
+            batch.futures.forEach((key, future) -> future.complete(loaded.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            batch.futures.forEach(inFlight::remove);
+        }
+    }
+
+    private void pause() {
+        if (windowMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(windowMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Batch<K, V> {
+        private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.service;
+
+import org.banking.dto.StandingOrderDto;
+import org.banking.exception.ResourceNotFoundException;
+import org.banking.model.StandingOrder;
+import org.banking.model.Transaction;
+import org.banking.repository.StandingOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional
+public class StandingOrderService {
+
+    @Autowired
+    private StandingOrderRepository standingOrderRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    public StandingOrder createStandingOrder(StandingOrderDto dto) {
+        Transaction.TransactionType type = dto.getTransactionType();
+        if (type != Transaction.TransactionType.PAYMENT && type != Transaction.TransactionType.TRANSFER) {
+            throw new IllegalArgumentException("Standing orders support PAYMENT and TRANSFER only");
+        }
+        accountService.getAccountById(dto.getFromAccountId());
+        if (type == Transaction.TransactionType.TRANSFER) {
+            if (dto.getToAccountId() == null || dto.getToAccountId().equals(dto.getFromAccountId())) {
+                throw new IllegalArgumentException("Transfers need a to account other than the from account");
+            }
+            accountService.getAccountById(dto.getToAccountId());
+        } else if (dto.getToAccountId() != null) {
+            throw new IllegalArgumentException("To account is only used for transfers");
+        }
+
+        LocalDateTime startAt = dto.getStartAt() != null ? dto.getStartAt() : LocalDateTime.now();
+        if (dto.getEndAt() != null && dto.getEndAt().isBefore(startAt)) {
+            throw new IllegalArgumentException("endAt must not be before startAt");
+        }
+
+        return standingOrderRepository.save(new StandingOrder(
+                dto.getFromAccountId(),
+                dto.getToAccountId(),
+                dto.getAmount(),
+                type,
+                dto.getDescription(),
+                dto.getFrequency(),
+                startAt,
+                dto.getEndAt()
+        ));
+    }
+
+    @Transactional(readOnly = true)
+    public StandingOrder getStandingOrderById(Long id) {
+        return standingOrderRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Standing order not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StandingOrder> getStandingOrdersByAccountId(Long accountId) {
+        accountService.getAccountById(accountId);
+        return standingOrderRepository.findByFromAccountIdOrderByNextRunAt(accountId);
+    }
+
+    public void cancelStandingOrder(Long id) {
+        getStandingOrderById(id);
+        standingOrderRepository.cancel(id);
+    }
+}
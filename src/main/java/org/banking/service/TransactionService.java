@@ -6,38 +6,165 @@
  */
 package org.banking.service;
 
+import org.banking.archive.TransactionArchive;
 import org.banking.dto.TransactionDto;
+import org.banking.event.TransactionPostedEvent;
 import org.banking.exception.ResourceNotFoundException;
+import org.banking.fraud.FraudRuleEngine;
+import org.banking.fraud.PostingAttempt;
+import org.banking.fx.Currencies;
+import org.banking.fx.FxRate;
+import org.banking.fx.FxRateEngine;
+import org.banking.journal.JournalEntry;
+import org.banking.journal.PostingJournal;
 import org.banking.exception.InsufficientFundsException;
 import org.banking.model.Transaction;
 import org.banking.model.Account;
-import org.banking.repository.TransactionRepository;
+import org.banking.repository.HistoryVersion;
+import org.banking.repository.TransactionStore;
+import org.banking.search.SearchHits;
+import org.banking.search.TransactionSearchIndex;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TransactionService {
 
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     @Autowired
-    private TransactionRepository transactionRepository;
+    private TransactionStore transactionStore;
 
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Autowired
+    private FraudRuleEngine fraudRuleEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FxRateEngine fxRateEngine;
+
+    @Autowired
+    private ObjectProvider<PostingJournal> postingJournal;
+
+    @Value("${banking.search.max-page-size:100}")
+    private int maxSearchPageSize;
+
+    @Value("${banking.transactions.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${banking.fraud.currency:USD}")
+    private String fraudCurrency;
+
     public Transaction createTransaction(TransactionDto transactionDto) {
-        Account fromAccount = accountService.getAccountById(transactionDto.getFromAccountId());
-        Account toAccount = transactionDto.getToAccountId() != null ?
-                accountService.getAccountById(transactionDto.getToAccountId()) : null;
+        Transaction transaction = prepareTransaction(transactionDto);
+
+        // Process transaction
+        processTransaction(transaction);
+
+        Transaction saved = transactionStore.save(transaction);
+        eventPublisher.publishEvent(TransactionPostedEvent.of(saved));
+        return saved;
+    }
+
+    /**
+     * Posts a transaction requested through the API. With the posting journal enabled it is
+     * validated, made durable in the journal and returned PENDING without an id; balances
+     * move when the journal is applied. Otherwise it is created like
+     * {@link #createTransaction}.
+     */
+    public Transaction submitTransaction(TransactionDto transactionDto) {
+        PostingJournal journal = postingJournal.getIfAvailable();
+        if (journal == null) {
+            return createTransaction(transactionDto);
+        }
+        return journal.submit(prepareTransaction(transactionDto));
+    }
+
+    /**
+     * Applies journaled postings in the caller's transaction. Each is stored with its
+     * journal time as {@code createdAt}, as COMPLETED with balances moved, or as FAILED if
+     * its from account can no longer cover it. A missing account fails the whole call.
+     */
+    public void applyJournaled(List<JournalEntry> entries) {
+        Set<Long> accountIds = new HashSet<>();
+        for (JournalEntry entry : entries) {
+            accountIds.add(entry.fromAccountId());
+            if (entry.toAccountId() != 0) {
+                accountIds.add(entry.toAccountId());
+            }
+        }
+        Map<Long, Account> accounts = accountService.lockAccounts(accountIds);
+
+        List<Transaction> transactions = new ArrayList<>(entries.size());
+        for (JournalEntry entry : entries) {
+            Account fromAccount = accounts.get(entry.fromAccountId());
+            Account toAccount = entry.toAccountId() != 0 ? accounts.get(entry.toAccountId()) : null;
+            Transaction transaction = new Transaction(entry.transactionReference(), fromAccount, toAccount,
+                    entry.amount(), entry.transactionType(), entry.description());
+            transaction.setFee(entry.fee());
+            transaction.setCurrency(fromAccount.getCurrency());
+            transaction.setCreditedAmount(entry.creditedAmount());
+            transaction.setFxRate(entry.fxRate());
+            transaction.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.acceptedAtMillis()), ZoneId.systemDefault()));
+            if (fromAccount.getBalance().compareTo(entry.debit()) < 0) {
+                transaction.setStatus(Transaction.TransactionStatus.FAILED);
+                transaction.setProcessedAt(LocalDateTime.now());
+            } else {
+                processTransaction(transaction);
+            }
+            transactions.add(transaction);
+        }
+        for (Transaction saved : transactionStore.saveAll(transactions)) {
+            if (saved.getStatus() == Transaction.TransactionStatus.COMPLETED) {
+                eventPublisher.publishEvent(TransactionPostedEvent.of(saved));
+            }
+        }
+    }
+
+    private Transaction prepareTransaction(TransactionDto transactionDto) {
+        // Locked so the balance written back is the one checked here, not a stale copy
+        Set<Long> accountIds = new HashSet<>();
+        accountIds.add(transactionDto.getFromAccountId());
+        if (transactionDto.getToAccountId() != null) {
+            accountIds.add(transactionDto.getToAccountId());
+        }
+        Map<Long, Account> accounts = accountService.lockAccounts(accountIds);
+        Account fromAccount = accounts.get(transactionDto.getFromAccountId());
+        Account toAccount = transactionDto.getToAccountId() != null ? accounts.get(transactionDto.getToAccountId()) : null;
 
         String transactionReference = generateTransactionReference();
-        while (transactionRepository.existsByTransactionReference(transactionReference)) {
+        while (transactionStore.existsByTransactionReference(transactionReference)) {
             transactionReference = generateTransactionReference();
         }
 
@@ -59,29 +186,95 @@ public class TransactionService {
                 transactionDto.getDescription()
         );
         transaction.setFee(transactionDto.getFee());
+        convert(transaction);
 
-        // Process transaction
-        processTransaction(transaction);
-
-        return transactionRepository.save(transaction);
+        // Screen before any balance moves; throws if a fraud rule declines the posting
+        fraudRuleEngine.check(PostingAttempt.of(transaction, fxRateEngine.getRates(), fraudCurrency,
+                System.currentTimeMillis()));
+        return transaction;
     }
 
+    @Transactional(readOnly = true)
     public Transaction getTransactionById(Long id) {
-        return transactionRepository.findById(id)
+        return transactionStore.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
     }
 
-    public List<Transaction> getAllTransactions() {
-        return transactionRepository.findAll();
+    /**
+     * One page of every transaction, newest first. A page past the last transaction is empty.
+     */
+    @Transactional(readOnly = true)
+    public List<Transaction> getTransactions(int page, int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + maxPageSize);
+        }
+        return transactionStore.findPage(page, size);
     }
 
+    /**
+     * Hot rows only. Callers that show an account's history use the range variant, which
+     * also reads the archived months containing the account.
+     */
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByAccountId(Long accountId) {
         Account account = accountService.getAccountById(accountId);
-        return transactionRepository.findByAccountOrderByCreatedAtDesc(account);
+        return transactionStore.findByAccountOrderByCreatedAtDesc(account);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Transaction> getTransactionsByAccountId(Long accountId, LocalDateTime from, LocalDateTime to) {
+        Account account = accountService.getAccountById(accountId);
+        LocalDateTime start = from != null ? from : EARLIEST;
+        LocalDateTime end = to != null ? to : LATEST;
+
+        List<Transaction> transactions = new ArrayList<>(transactionStore.findByAccountAndCreatedAtRange(account, start, end));
+        if (transactionArchive.covers(start)) {
+            transactions.addAll(transactionArchive.findByAccountBetween(accountId, start, end));
+            transactions.sort(Comparator.comparing(Transaction::getCreatedAt).reversed());
+        }
+        return transactions;
     }
 
+    /**
+     * Searches an account's transaction descriptions. Words are ANDed and a trailing
+     * {@code *} makes a word a prefix; results are newest first. Only hot rows are indexed,
+     * so archived transactions are never found. A page past the last match is empty.
+     */
+    @Transactional(readOnly = true)
+    public SearchHits searchTransactions(Long accountId, String query, int page, int size) {
+        if (page < 0 || size < 1 || size > maxSearchPageSize) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + maxSearchPageSize);
+        }
+        return transactionSearchIndex.search(accountId, query, (long) page * size, size);
+    }
+
+    /**
+     * Loads transactions with one store query, in the order of {@code ids}. Ids that no
+     * longer exist (e.g. archived) are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<Transaction> getTransactionsByIds(List<Long> ids) {
+        Map<Long, Transaction> byId = transactionStore.findAllById(ids).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Strong ETag for an account's history, computed from the account version and an
+     * aggregate over its transactions so unchanged history can be answered with 304
+     * without loading any transactions.
+     */
+    @Transactional(readOnly = true)
+    public String getHistoryETag(Long accountId) {
+        LocalDateTime accountVersion = accountService.getAccountVersion(accountId);
+        HistoryVersion history = transactionStore.findHistoryVersion(accountId);
+        return "\"h" + accountId + "-" + accountVersion + "-" + history.transactionCount()
+                + "-" + history.latestTransactionId() + "\"";
+    }
+
+    @Transactional(readOnly = true)
     public Transaction findByTransactionReference(String reference) {
-        return transactionRepository.findByTransactionReference(reference)
+        return transactionStore.findByTransactionReference(reference)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with reference: " + reference));
     }
 
@@ -104,7 +297,8 @@ public class TransactionService {
                         throw new IllegalArgumentException("To account is required for transfers");
                     }
                     fromAccount.setBalance(fromAccount.getBalance().subtract(amount).subtract(fee));
-                    toAccount.setBalance(toAccount.getBalance().add(amount));
+                    toAccount.setBalance(toAccount.getBalance().add(
+                            transaction.getCreditedAmount() != null ? transaction.getCreditedAmount() : amount));
                     break;
                 case PAYMENT:
                     fromAccount.setBalance(fromAccount.getBalance().subtract(amount).subtract(fee));
@@ -119,6 +313,34 @@ public class TransactionService {
         }
     }
 
+    /**
+     * Sets the posting's currency, the from account's, and what a transfer credits to the
+     * to account. A transfer between currencies is converted at the cached FX rate, which
+     * is kept on the posting; the credit is rounded half-even to the to currency's minor unit.
+     */
+    private void convert(Transaction transaction) {
+        String currency = transaction.getFromAccount().getCurrency();
+        Currencies.requireMinorUnits(transaction.getAmount(), currency);
+        Currencies.requireMinorUnits(transaction.getFee(), currency);
+        transaction.setCurrency(currency);
+
+        Account toAccount = transaction.getToAccount();
+        if (transaction.getTransactionType() != Transaction.TransactionType.TRANSFER || toAccount == null) {
+            return;
+        }
+        if (currency.equals(toAccount.getCurrency())) {
+            transaction.setCreditedAmount(transaction.getAmount());
+            return;
+        }
+        FxRate rate = fxRateEngine.rate(currency, toAccount.getCurrency());
+        BigDecimal credited = rate.convert(transaction.getAmount());
+        if (credited.signum() <= 0) {
+            throw new IllegalArgumentException("Amount is too small to convert to " + toAccount.getCurrency());
+        }
+        transaction.setCreditedAmount(credited);
+        transaction.setFxRate(rate.rate());
+    }
+
     private String generateTransactionReference() {
         return "TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
@@ -7,15 +7,25 @@
 package org.banking.service;
 
 import org.banking.dto.UserDto;
+import org.banking.event.UserChangedEvent;
 import org.banking.exception.ResourceNotFoundException;
 import org.banking.exception.DuplicateResourceException;
 import org.banking.model.User;
 import org.banking.repository.UserRepository;
+import org.banking.search.UserDirectoryIndex;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,6 +34,32 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private UserDirectoryIndex userDirectoryIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${banking.user-search.max-results:50}")
+    private int maxSearchResults;
+
+    @Value("${banking.lookup.collapse-window-ms:2}")
+    private long collapseWindowMillis;
+
+    private RequestCollapser<Long, User> byIdCollapser;
+    private RequestCollapser<String, User> byUsernameCollapser;
+
+    @PostConstruct
+    public void initCollapsers() {
+        byIdCollapser = new RequestCollapser<>(ids -> userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity())), collapseWindowMillis, 1000);
+        byUsernameCollapser = new RequestCollapser<>(usernames -> userRepository.findByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(User::getUsername, Function.identity())), collapseWindowMillis, 1000);
+    }
+
     public User createUser(UserDto userDto) {
         if (userRepository.existsByUsername(userDto.getUsername())) {
             throw new DuplicateResourceException("Username already exists");
@@ -40,14 +76,50 @@ public class UserService {
                 userDto.getPhoneNumber()
         );
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userSummaryService.initialize(saved.getId());
+        eventPublisher.publishEvent(UserChangedEvent.created(saved));
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
+    /**
+     * Resolves users by id and/or username with one IN query per key type, shared with
+     * concurrent lookups for the same keys. The result is keyed by the requested value;
+     * unknown keys are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, User> lookupUsers(List<Long> ids, List<String> usernames) {
+        Map<String, User> users = new LinkedHashMap<>();
+        if (ids != null && !ids.isEmpty()) {
+            byIdCollapser.load(ids).forEach((id, user) -> users.put(String.valueOf(id), user));
+        }
+        if (usernames != null && !usernames.isEmpty()) {
+            users.putAll(byUsernameCollapser.load(usernames));
+        }
+        return users;
+    }
+
+    /**
+     * Typeahead over username, email, full name and phone number, best matches first. Served
+     * from the in-memory directory index; only the returned page is loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<User> searchUsers(String query, int limit) {
+        if (limit < 1 || limit > maxSearchResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxSearchResults);
+        }
+        List<Long> ids = userDirectoryIndex.search(query, limit);
+        Map<Long, User> users = byIdCollapser.load(ids);
+        return ids.stream().map(users::get).filter(Objects::nonNull).toList();
+    }
+
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -73,7 +145,9 @@ public class UserService {
             user.setPassword(userDto.getPassword()); // In production, hash the password
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(saved));
+        return saved;
     }
 
     public void deleteUser(Long id) {
@@ -81,8 +155,11 @@ public class UserService {
             throw new ResourceNotFoundException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        userSummaryService.remove(id);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
     }
 
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
@@ -0,0 +1,179 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.service;
+
+import org.banking.event.AccountChangedEvent;
+import org.banking.event.AccountSnapshot;
+import org.banking.event.TransactionPostedEvent;
+import org.banking.dto.UserSummaryResponse;
+import org.banking.exception.ResourceNotFoundException;
+import org.banking.fx.Currencies;
+import org.banking.fx.FxRateEngine;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.model.UserSummary;
+import org.banking.repository.AccountRepository;
+import org.banking.repository.UserRepository;
+import org.banking.repository.UserSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Maintains {@link UserSummary} rows from account and posting events. Listeners run in the
+ * publishing transaction, so a summary always matches the committed balances. Summary rows
+ * are locked in user id order so a transfer between two users cannot deadlock with one
+ * going the other way.
+ * <p>
+ * Balances are kept per currency. The response converts them into
+ * {@code banking.summary.reporting-currency} at the current FX rates when it is read, so
+ * rate changes never leave drift in the stored totals.
+ */
+@Service
+@Transactional
+public class UserSummaryService {
+
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FxRateEngine fxRateEngine;
+
+    @Value("${banking.summary.reporting-currency:USD}")
+    private String reportingCurrency;
+
+    public UserSummaryResponse summarize(Long userId) {
+        return UserSummaryResponse.of(getUserSummary(userId), Currencies.normalize(reportingCurrency),
+                fxRateEngine.getRates());
+    }
+
+    public UserSummary getUserSummary(Long userId) {
+        return userSummaryRepository.findById(userId).orElseGet(() -> {
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("User not found with id: " + userId);
+            }
+            return userSummaryRepository.save(rebuild(userId));
+        });
+    }
+
+    public void initialize(Long userId) {
+        userSummaryRepository.save(new UserSummary(userId));
+    }
+
+    public void remove(Long userId) {
+        userSummaryRepository.findById(userId).ifPresent(userSummaryRepository::delete);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        AccountSnapshot from = event.fromAccount();
+        AccountSnapshot to = event.toAccount();
+        Map<Long, UserSummary> summaries = lockForUpdate(from.userId(), to != null ? to.userId() : null);
+        LocalDateTime at = event.createdAt() != null ? event.createdAt() : LocalDateTime.now();
+
+        BigDecimal fee = event.fee() != null ? event.fee() : BigDecimal.ZERO;
+        BigDecimal fromDelta = event.transactionType() == Transaction.TransactionType.DEPOSIT
+                ? event.amount()
+                : event.amount().add(fee).negate();
+        UserSummary fromSummary = summaries.get(from.userId());
+        if (fromSummary != null) {
+            fromSummary.addBalance(currency(from), from.accountType(), fromDelta);
+            fromSummary.recordActivity(at);
+        }
+        if (to != null) {
+            UserSummary toSummary = summaries.get(to.userId());
+            if (toSummary != null) {
+                toSummary.addBalance(currency(to), to.accountType(), event.credited());
+                toSummary.recordActivity(at);
+            }
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAccountChanged(AccountChangedEvent event) {
+        AccountSnapshot before = event.before();
+        AccountSnapshot after = event.after();
+        Map<Long, UserSummary> summaries = lockForUpdate(
+                before != null ? before.userId() : null,
+                after != null ? after.userId() : null);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (before != null && summaries.containsKey(before.userId())) {
+            UserSummary summary = summaries.get(before.userId());
+            apply(summary, before, -1);
+            summary.recordActivity(now);
+        }
+        if (after != null && summaries.containsKey(after.userId())) {
+            UserSummary summary = summaries.get(after.userId());
+            apply(summary, after, 1);
+            summary.recordActivity(now);
+        }
+    }
+
+    /**
+     * Locks the summaries the deltas apply to. A user without a summary row gets one rebuilt
+     * from its accounts; that query flushes the current change, so the rebuilt row already
+     * includes it and is left out of the returned map.
+     */
+    private Map<Long, UserSummary> lockForUpdate(Long... userIds) {
+        Map<Long, UserSummary> summaries = new HashMap<>();
+        TreeSet<Long> ordered = new TreeSet<>();
+        Stream.of(userIds).filter(Objects::nonNull).forEach(ordered::add);
+        for (Long userId : ordered) {
+            userSummaryRepository.findForUpdate(userId).ifPresentOrElse(
+                    summary -> summaries.put(userId, summary),
+                    () -> userSummaryRepository.save(rebuild(userId)));
+        }
+        return summaries;
+    }
+
+    private UserSummary rebuild(Long userId) {
+        UserSummary summary = new UserSummary(userId);
+        for (Account account : accountRepository.findByUserId(userId)) {
+            apply(summary, AccountSnapshot.of(account), 1);
+            summary.recordActivity(account.getUpdatedAt());
+        }
+        return summary;
+    }
+
+    private void apply(UserSummary summary, AccountSnapshot account, int sign) {
+        if (account.balance() != null) {
+            summary.addBalance(currency(account), account.accountType(),
+                    sign > 0 ? account.balance() : account.balance().negate());
+        }
+        if (account.status() != null) {
+            summary.addAccountCount(account.status(), sign);
+        }
+        if (account.status() == Account.AccountStatus.ACTIVE && account.creditLimit() != null) {
+            BigDecimal credit = sign > 0 ? account.creditLimit() : account.creditLimit().negate();
+            summary.addAvailableCredit(currency(account), credit);
+        }
+    }
+
+    private static String currency(AccountSnapshot account) {
+        return account.currency() != null ? account.currency() : Currencies.DEFAULT;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.sharding;
+
+/**
+ * Maps account ids to shards. Transaction ids are allocated per shard and encode
+ * their home shard, so a transaction can be found again from its id alone.
+ */
+public class ShardRouter {
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardForAccount(long accountId) {
+        return Math.floorMod(accountId, shardCount);
+    }
+
+    public int shardForTransaction(long transactionId) {
+        return Math.floorMod(transactionId, shardCount);
+    }
+
+    public long transactionId(long shardSequence, int shard) {
+        return shardSequence * shardCount + shard;
+    }
+}
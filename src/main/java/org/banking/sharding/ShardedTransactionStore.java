@@ -0,0 +1,454 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.sharding;
+
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.repository.AccountRepository;
+import org.banking.repository.HistoryVersion;
+import org.banking.repository.TransactionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Transaction store spread over N databases by account id.
+ * <p>
+ * A transaction lives on the shard of its from-account. When a transfer credits an
+ * account on another shard, an outbox row is written in the same local transaction and
+ * {@link #relayTransferLegs()} later copies an index entry ("leg") to the destination
+ * shard, so the transfer shows up in the receiving account's history there too.
+ * Balances are still moved atomically by the account database; if that transaction
+ * rolls back, the rows written here are compensated.
+ */
+public class ShardedTransactionStore implements TransactionStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedTransactionStore.class);
+
+    private static final String COLUMNS = "id, transaction_reference, from_account_id, to_account_id, amount, "
+            + "transaction_type, status, description, fee, currency, credited_amount, fx_rate, created_at, processed_at";
+
+    private static final Comparator<TransactionRow> NEWEST_FIRST =
+            Comparator.comparing(TransactionRow::createdAt).thenComparingLong(TransactionRow::id).reversed();
+
+    private static final RowMapper<TransactionRow> ROW_MAPPER = (rs, rowNum) -> new TransactionRow(
+            rs.getLong("id"),
+            rs.getString("transaction_reference"),
+            rs.getLong("from_account_id"),
+            rs.getObject("to_account_id", Long.class),
+            rs.getBigDecimal("amount"),
+            Transaction.TransactionType.valueOf(rs.getString("transaction_type")),
+            Transaction.TransactionStatus.valueOf(rs.getString("status")),
+            rs.getString("description"),
+            rs.getBigDecimal("fee"),
+            rs.getString("currency"),
+            rs.getBigDecimal("credited_amount"),
+            rs.getBigDecimal("fx_rate"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("processed_at", LocalDateTime.class)
+    );
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private final List<NamedParameterJdbcTemplate> namedShards = new ArrayList<>();
+    private final List<TransactionTemplate> shardTransactions = new ArrayList<>();
+    private final ShardRouter router;
+    private final AccountRepository accountRepository;
+    private final int relayBatchSize;
+
+    public ShardedTransactionStore(List<DataSource> dataSources, AccountRepository accountRepository, int relayBatchSize) {
+        this.dataSources = dataSources;
+        this.router = new ShardRouter(dataSources.size());
+        this.accountRepository = accountRepository;
+        this.relayBatchSize = relayBatchSize;
+        for (DataSource dataSource : dataSources) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            shards.add(jdbc);
+            namedShards.add(new NamedParameterJdbcTemplate(jdbc));
+            shardTransactions.add(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+    }
+
+    public void initialize() {
+        for (JdbcTemplate shard : shards) {
+            shard.execute("CREATE SEQUENCE IF NOT EXISTS transaction_id_seq");
+            shard.execute("CREATE TABLE IF NOT EXISTS transactions ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "transaction_reference VARCHAR(50) NOT NULL UNIQUE, "
+                    + "from_account_id BIGINT NOT NULL, "
+                    + "to_account_id BIGINT, "
+                    + "amount DECIMAL(15,2) NOT NULL, "
+                    + "transaction_type VARCHAR(20) NOT NULL, "
+                    + "status VARCHAR(20) NOT NULL, "
+                    + "description VARCHAR(500), "
+                    + "fee DECIMAL(15,2), "
+                    + "currency VARCHAR(3), "
+                    + "credited_amount DECIMAL(15,2), "
+                    + "fx_rate DECIMAL(20,10), "
+                    + "created_at TIMESTAMP NOT NULL, "
+                    + "processed_at TIMESTAMP)");
+            // Shards created before multi-currency support
+            shard.execute("ALTER TABLE transactions ADD COLUMN IF NOT EXISTS currency VARCHAR(3)");
+            shard.execute("ALTER TABLE transactions ADD COLUMN IF NOT EXISTS credited_amount DECIMAL(15,2)");
+            shard.execute("ALTER TABLE transactions ADD COLUMN IF NOT EXISTS fx_rate DECIMAL(20,10)");
+            shard.execute("CREATE INDEX IF NOT EXISTS idx_transactions_from_account ON transactions (from_account_id)");
+            shard.execute("CREATE INDEX IF NOT EXISTS idx_transactions_to_account ON transactions (to_account_id)");
+            shard.execute("CREATE INDEX IF NOT EXISTS idx_transactions_created_at ON transactions (created_at)");
+            shard.execute("CREATE TABLE IF NOT EXISTS transfer_outbox ("
+                    + "transaction_id BIGINT PRIMARY KEY, "
+                    + "to_account_id BIGINT NOT NULL)");
+            shard.execute("CREATE TABLE IF NOT EXISTS transfer_legs ("
+                    + "transaction_id BIGINT PRIMARY KEY, "
+                    + "to_account_id BIGINT NOT NULL)");
+            shard.execute("CREATE INDEX IF NOT EXISTS idx_transfer_legs_account ON transfer_legs (to_account_id)");
+        }
+    }
+
+    public ShardRouter getRouter() {
+        return router;
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        saveAll(List.of(transaction));
+        return transaction;
+    }
+
+    /**
+     * Inserts each shard's transactions in one batch and one shard transaction. Cross-shard
+     * transfers also get their outbox rows in the same batch.
+     */
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        Map<Integer, List<Transaction>> byShard = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getCreatedAt() == null) {
+                transaction.setCreatedAt(LocalDateTime.now());
+            }
+            byShard.computeIfAbsent(router.shardForAccount(transaction.getFromAccount().getId()), shard -> new ArrayList<>())
+                    .add(transaction);
+        }
+
+        byShard.forEach((shard, batch) -> {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            List<Object[]> outbox = new ArrayList<>();
+            shardTransactions.get(shard).executeWithoutResult(status -> {
+                JdbcTemplate jdbc = shards.get(shard);
+                for (Transaction transaction : batch) {
+                    Long sequence = jdbc.queryForObject("SELECT NEXT VALUE FOR transaction_id_seq", Long.class);
+                    transaction.setId(router.transactionId(sequence, shard));
+                    Long toAccountId = crossShardAccountId(transaction, shard);
+                    rows.add(new Object[]{
+                            transaction.getId(),
+                            transaction.getTransactionReference(),
+                            transaction.getFromAccount().getId(),
+                            transaction.getToAccount() != null ? transaction.getToAccount().getId() : null,
+                            transaction.getAmount(),
+                            transaction.getTransactionType().name(),
+                            transaction.getStatus().name(),
+                            transaction.getDescription(),
+                            transaction.getFee(),
+                            transaction.getCurrency(),
+                            transaction.getCreditedAmount(),
+                            transaction.getFxRate(),
+                            Timestamp.valueOf(transaction.getCreatedAt()),
+                            transaction.getProcessedAt() != null ? Timestamp.valueOf(transaction.getProcessedAt()) : null
+                    });
+                    if (toAccountId != null) {
+                        outbox.add(new Object[]{transaction.getId(), toAccountId});
+                    }
+                }
+                jdbc.batchUpdate("INSERT INTO transactions (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                if (!outbox.isEmpty()) {
+                    jdbc.batchUpdate("INSERT INTO transfer_outbox (transaction_id, to_account_id) VALUES (?, ?)", outbox);
+                }
+            });
+            for (Transaction transaction : batch) {
+                registerCompensation(transaction.getId(), shard, crossShardAccountId(transaction, shard));
+            }
+        });
+        return transactions;
+    }
+
+    private Long crossShardAccountId(Transaction transaction, int shard) {
+        Long toAccountId = transaction.getToAccount() != null ? transaction.getToAccount().getId() : null;
+        return toAccountId != null && router.shardForAccount(toAccountId) != shard ? toAccountId : null;
+    }
+
+    @Override
+    public Optional<Transaction> findById(Long id) {
+        return findRowsByIds(List.of(id)).stream().findFirst().map(row -> hydrate(List.of(row)).get(0));
+    }
+
+    @Override
+    public Optional<Transaction> findByTransactionReference(String transactionReference) {
+        for (JdbcTemplate shard : shards) {
+            List<TransactionRow> rows = shard.query(
+                    "SELECT " + COLUMNS + " FROM transactions WHERE transaction_reference = ?", ROW_MAPPER, transactionReference);
+            if (!rows.isEmpty()) {
+                return Optional.of(hydrate(rows).get(0));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean existsByTransactionReference(String transactionReference) {
+        for (JdbcTemplate shard : shards) {
+            Integer count = shard.queryForObject(
+                    "SELECT COUNT(*) FROM transactions WHERE transaction_reference = ?", Integer.class, transactionReference);
+            if (count != null && count > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scatter-gather over every shard. A page can only draw on the first
+     * {@code offset + size} rows of each shard, so each shard streams at most that many,
+     * newest first. The cursors are merged lazily, the offset is skipped without keeping
+     * rows, and only the page itself is hydrated. Deep pages cost more database work, but
+     * memory stays bounded by the page size.
+     */
+    @Override
+    public List<Transaction> findPage(int page, int size) {
+        long offset = (long) page * size;
+        List<Stream<TransactionRow>> streams = new ArrayList<>();
+        try {
+            List<Iterator<TransactionRow>> cursors = new ArrayList<>();
+            for (JdbcTemplate shard : shards) {
+                Stream<TransactionRow> stream = shard.queryForStream(
+                        "SELECT " + COLUMNS + " FROM transactions ORDER BY created_at DESC, id DESC LIMIT ?",
+                        ROW_MAPPER, offset + size);
+                streams.add(stream);
+                cursors.add(stream.iterator());
+            }
+
+            SortedMergeIterator<TransactionRow> merged = new SortedMergeIterator<>(cursors, NEWEST_FIRST);
+            for (long skipped = 0; skipped < offset && merged.hasNext(); skipped++) {
+                merged.next();
+            }
+            List<TransactionRow> rows = new ArrayList<>(size);
+            while (rows.size() < size && merged.hasNext()) {
+                rows.add(merged.next());
+            }
+            return hydrate(rows);
+        } finally {
+            streams.forEach(Stream::close);
+        }
+    }
+
+    @Override
+    public List<Transaction> findAllById(Collection<Long> ids) {
+        return hydrate(findRowsByIds(ids));
+    }
+
+    @Override
+    public List<Transaction> findByAccountOrderByCreatedAtDesc(Account account) {
+        long accountId = account.getId();
+        JdbcTemplate shard = shards.get(router.shardForAccount(accountId));
+
+        List<TransactionRow> rows = new ArrayList<>(shard.query(
+                "SELECT " + COLUMNS + " FROM transactions WHERE from_account_id = ? OR to_account_id = ?",
+                ROW_MAPPER, accountId, accountId));
+        List<Long> incomingLegs = shard.queryForList(
+                "SELECT transaction_id FROM transfer_legs WHERE to_account_id = ?", Long.class, accountId);
+        rows.addAll(findRowsByIds(incomingLegs));
+
+        rows.sort(NEWEST_FIRST);
+        return hydrate(rows);
+    }
+
+    @Override
+    public List<Transaction> findByAccountAndCreatedAtRange(Account account, LocalDateTime from, LocalDateTime to) {
+        long accountId = account.getId();
+        JdbcTemplate shard = shards.get(router.shardForAccount(accountId));
+
+        List<TransactionRow> rows = new ArrayList<>(shard.query(
+                "SELECT " + COLUMNS + " FROM transactions WHERE (from_account_id = ? OR to_account_id = ?) "
+                        + "AND created_at >= ? AND created_at < ?",
+                ROW_MAPPER, accountId, accountId, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        List<Long> incomingLegs = shard.queryForList(
+                "SELECT transaction_id FROM transfer_legs WHERE to_account_id = ?", Long.class, accountId);
+        for (TransactionRow leg : findRowsByIds(incomingLegs)) {
+            if (!leg.createdAt().isBefore(from) && leg.createdAt().isBefore(to)) {
+                rows.add(leg);
+            }
+        }
+
+        rows.sort(NEWEST_FIRST);
+        return hydrate(rows);
+    }
+
+    @Override
+    public HistoryVersion findHistoryVersion(Long accountId) {
+        JdbcTemplate shard = shards.get(router.shardForAccount(accountId));
+        RowMapper<HistoryVersion> mapper = (rs, rowNum) -> new HistoryVersion(rs.getLong(1), rs.getLong(2));
+        HistoryVersion local = shard.queryForObject(
+                "SELECT COUNT(*), COALESCE(MAX(id), 0) FROM transactions WHERE from_account_id = ? OR to_account_id = ?",
+                mapper, accountId, accountId);
+        HistoryVersion legs = shard.queryForObject(
+                "SELECT COUNT(*), COALESCE(MAX(transaction_id), 0) FROM transfer_legs WHERE to_account_id = ?",
+                mapper, accountId);
+        return local.plus(legs);
+    }
+
+    /**
+     * Delivers pending cross-shard transfer legs. Delivery is idempotent, so a crash between
+     * writing the leg and clearing the outbox row only causes a harmless redelivery.
+     */
+    @Scheduled(fixedDelayString = "${banking.sharding.relay-interval-ms:500}")
+    public synchronized int relayTransferLegs() {
+        int delivered = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate source = shards.get(shard);
+            List<long[]> pending = source.query(
+                    "SELECT transaction_id, to_account_id FROM transfer_outbox ORDER BY transaction_id LIMIT ?",
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, relayBatchSize);
+
+            for (long[] leg : pending) {
+                try {
+                    JdbcTemplate destination = shards.get(router.shardForAccount(leg[1]));
+                    Integer existing = destination.queryForObject(
+                            "SELECT COUNT(*) FROM transfer_legs WHERE transaction_id = ?", Integer.class, leg[0]);
+                    if (existing == null || existing == 0) {
+                        destination.update("INSERT INTO transfer_legs (transaction_id, to_account_id) VALUES (?, ?)",
+                                leg[0], leg[1]);
+                    }
+                    source.update("DELETE FROM transfer_outbox WHERE transaction_id = ?", leg[0]);
+                    delivered++;
+                } catch (Exception e) {
+                    log.warn("Could not relay transfer leg for transaction {}: {}", leg[0], e.getMessage());
+                }
+            }
+        }
+        return delivered;
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close shard data source: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void registerCompensation(long transactionId, int shard, Long crossShardAccountId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensate(transactionId, shard, crossShardAccountId);
+                }
+            }
+        });
+    }
+
+    private void compensate(long transactionId, int shard, Long crossShardAccountId) {
+        try {
+            shards.get(shard).update("DELETE FROM transfer_outbox WHERE transaction_id = ?", transactionId);
+            shards.get(shard).update("DELETE FROM transactions WHERE id = ?", transactionId);
+            if (crossShardAccountId != null) {
+                shards.get(router.shardForAccount(crossShardAccountId))
+                        .update("DELETE FROM transfer_legs WHERE transaction_id = ?", transactionId);
+            }
+        } catch (Exception e) {
+            log.error("Could not compensate sharded transaction {}", transactionId, e);
+        }
+    }
+
+    private List<TransactionRow> findRowsByIds(Collection<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = new HashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(router.shardForTransaction(id), shard -> new ArrayList<>()).add(id);
+        }
+
+        List<TransactionRow> rows = new ArrayList<>();
+        idsByShard.forEach((shard, shardIds) -> rows.addAll(namedShards.get(shard).query(
+                "SELECT " + COLUMNS + " FROM transactions WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", shardIds), ROW_MAPPER)));
+        return rows;
+    }
+
+    private List<Transaction> hydrate(List<TransactionRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> accountIds = new HashSet<>();
+        for (TransactionRow row : rows) {
+            accountIds.add(row.fromAccountId());
+            if (row.toAccountId() != null) {
+                accountIds.add(row.toAccountId());
+            }
+        }
+        Map<Long, Account> accounts = new HashMap<>();
+        accountRepository.findAllById(accountIds).forEach(account -> accounts.put(account.getId(), account));
+
+        List<Transaction> transactions = new ArrayList<>(rows.size());
+        for (TransactionRow row : rows) {
+            Transaction transaction = new Transaction(
+                    row.reference(),
+                    accounts.get(row.fromAccountId()),
+                    row.toAccountId() != null ? accounts.get(row.toAccountId()) : null,
+                    row.amount(),
+                    row.type(),
+                    row.description()
+            );
+            transaction.setId(row.id());
+            transaction.setStatus(row.status());
+            transaction.setFee(row.fee());
+            transaction.setCurrency(row.currency());
+            transaction.setCreditedAmount(row.creditedAmount());
+            transaction.setFxRate(row.fxRate());
+            transaction.setCreatedAt(row.createdAt());
+            transaction.setProcessedAt(row.processedAt());
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    private record TransactionRow(long id, String reference, long fromAccountId, Long toAccountId,
+                                  BigDecimal amount, Transaction.TransactionType type,
+                                  Transaction.TransactionStatus status, String description, BigDecimal fee,
+                                  String currency, BigDecimal creditedAmount, BigDecimal fxRate,
+                                  LocalDateTime createdAt, LocalDateTime processedAt) {
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.sharding;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of already sorted cursors. Only one element per cursor is held in memory.
+ */
+public class SortedMergeIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Head<T>> heads;
+
+    public SortedMergeIterator(List<? extends Iterator<T>> cursors, Comparator<? super T> order) {
+        this.heads = new PriorityQueue<>(Math.max(1, cursors.size()), (a, b) -> order.compare(a.value, b.value));
+        for (Iterator<T> cursor : cursors) {
+            if (cursor.hasNext()) {
+                heads.add(new Head<>(cursor.next(), cursor));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        if (head.cursor.hasNext()) {
+            heads.add(new Head<>(head.cursor.next(), head.cursor));
+        }
+        return head.value;
+    }
+
+    private static final class Head<T> {
+        private final T value;
+        private final Iterator<T> cursor;
+
+        private Head(T value, Iterator<T> cursor) {
+            this.value = value;
+            this.cursor = cursor;
+        }
+    }
+}
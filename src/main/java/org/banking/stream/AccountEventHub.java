@@ -0,0 +1,347 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.banking.event.AccountChangedEvent;
+import org.banking.event.AccountSnapshot;
+import org.banking.event.TransactionPostedEvent;
+import org.banking.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fan-out hub for the per-account Server-Sent Events stream.
+ * <p>
+ * Emitters are async-servlet responses, so an idle subscriber costs a socket and a small
+ * object, not a thread. Everything that touches one account (registering a subscriber,
+ * buffering an event, fanning it out) runs on a single dispatcher stripe chosen by account
+ * id, which keeps per-account ordering without locks and keeps the commit thread free.
+ * Stripes never block: snapshots are read on the request thread before subscribing, and
+ * fan-out only appends to each subscriber's bounded queue, which a sender pool drains into
+ * the socket. A subscriber whose queue fills up is too slow to keep up and is evicted; it
+ * can reconnect and resume. Event ids are {@code <bootId>-<sequence>}; a client
+ * reconnecting with Last-Event-ID gets the buffered events it missed, or a fresh snapshot
+ * unless the account's buffer provably holds every event after that id.
+ */
+@Component
+public class AccountEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountEventHub.class);
+
+    @Value("${banking.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${banking.stream.replay-size:100}")
+    private int replaySize;
+
+    @Value("${banking.stream.replay-window-ms:300000}")
+    private long replayWindowMillis;
+
+    @Value("${banking.stream.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    @Value("${banking.stream.send-threads:8}")
+    private int sendThreads;
+
+    @Value("${banking.stream.client-queue-size:256}")
+    private int clientQueueSize;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+    private ExecutorService[] dispatchers;
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        dispatchers = new ExecutorService[dispatchThreads];
+        for (int i = 0; i < dispatchThreads; i++) {
+            String name = "account-events-" + i;
+            dispatchers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        AtomicInteger senderCount = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "account-events-send-" + senderCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.shutdownNow();
+        }
+        senders.shutdownNow();
+        subscribers.values().forEach(accountSubscribers -> accountSubscribers.forEach(
+                subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    /**
+     * Subscribes to an account's events. The snapshot is read here, on the calling thread,
+     * and is only sent when the client cannot resume from Last-Event-ID. Every event
+     * sequenced before the read was committed before it, so the snapshot is followed by the
+     * buffered events sequenced after the read; one of them may already be reflected in the
+     * snapshot, and since events carry the balance after posting, applying it again is harmless.
+     */
+    public SseEmitter subscribe(Long accountId, String lastEventId, Supplier<AccountSnapshot> snapshot) {
+        long asOf = sequence.get();
+        AccountSnapshot current = snapshot.get();
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(accountId, emitter);
+        emitter.onCompletion(() -> removeSubscriber(subscriber));
+        emitter.onTimeout(() -> removeSubscriber(subscriber));
+        emitter.onError(error -> removeSubscriber(subscriber));
+
+        dispatcherFor(accountId).execute(() -> {
+            if (subscriber.closed) {
+                return;
+            }
+            subscribers.computeIfAbsent(accountId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            long resumeFrom = resumableSequence(accountId, lastEventId);
+            ReplayBuffer buffer = replayBuffers.computeIfAbsent(accountId, id -> new ReplayBuffer(sequence.get()));
+            if (resumeFrom < 0) {
+                subscriber.enqueue(new AccountStreamEvent(asOf, accountId, "snapshot", current,
+                        System.currentTimeMillis()));
+                resumeFrom = asOf;
+            }
+            for (AccountStreamEvent event : buffer.events) {
+                if (event.sequence() > resumeFrom) {
+                    subscriber.enqueue(event);
+                }
+            }
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTransactionPosted(TransactionPostedEvent event) {
+        boolean deposit = event.transactionType() == Transaction.TransactionType.DEPOSIT;
+        publish(event.fromAccount().id(), "transaction",
+                transactionPayload(event, event.fromAccount(), deposit ? "CREDIT" : "DEBIT", event.amount()));
+        if (event.toAccount() != null) {
+            publish(event.toAccount().id(), "transaction",
+                    transactionPayload(event, event.toAccount(), "CREDIT", event.credited()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("changeType", event.changeType());
+        data.put("account", event.after() != null ? event.after() : event.before());
+        publish(event.accountId(), "account", data);
+    }
+
+    @Scheduled(fixedRateString = "${banking.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(accountSubscribers -> accountSubscribers.forEach(
+                subscriber -> subscriber.enqueue(SseEmitter.event().comment("heartbeat"))));
+
+        long expiry = System.currentTimeMillis() - replayWindowMillis;
+        for (Long accountId : replayBuffers.keySet()) {
+            dispatcherFor(accountId).execute(() -> {
+                ReplayBuffer buffer = replayBuffers.get(accountId);
+                if (buffer == null) {
+                    return;
+                }
+                while (!buffer.events.isEmpty() && buffer.events.peekFirst().createdAtMillis() < expiry) {
+                    buffer.heldAfter = buffer.events.pollFirst().sequence();
+                }
+                if (buffer.events.isEmpty() && !subscribers.containsKey(accountId)) {
+                    replayBuffers.remove(accountId);
+                }
+            });
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void publish(Long accountId, String name, Object data) {
+        dispatcherFor(accountId).execute(() -> {
+            ReplayBuffer buffer = replayBuffers.computeIfAbsent(accountId, id -> new ReplayBuffer(sequence.get()));
+            AccountStreamEvent event = new AccountStreamEvent(sequence.incrementAndGet(), accountId, name, data,
+                    System.currentTimeMillis());
+            buffer.events.addLast(event);
+            while (buffer.events.size() > replaySize) {
+                buffer.heldAfter = buffer.events.pollFirst().sequence();
+            }
+
+            Set<Subscriber> accountSubscribers = subscribers.get(accountId);
+            if (accountSubscribers != null) {
+                for (Subscriber subscriber : accountSubscribers) {
+                    subscriber.enqueue(event);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the sequence to resume after, or -1 when the client has to start over from a
+     * snapshot: no Last-Event-ID, an id from a previous process or from the future, or an
+     * id the account's buffer does not reach back to. A buffer dropped after expiry takes
+     * its history with it, so the new one only covers events from its creation on.
+     */
+    private long resumableSequence(Long accountId, String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(bootId + "-")) {
+            return -1;
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(bootId.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        ReplayBuffer buffer = replayBuffers.get(accountId);
+        if (buffer == null || lastSequence < buffer.heldAfter || lastSequence > sequence.get()) {
+            return -1;
+        }
+        return lastSequence;
+    }
+
+    private void removeSubscriber(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.accountId, (id, accountSubscribers) -> {
+            accountSubscribers.remove(subscriber);
+            return accountSubscribers.isEmpty() ? null : accountSubscribers;
+        });
+    }
+
+    private ExecutorService dispatcherFor(Long accountId) {
+        return dispatchers[Math.floorMod(accountId, dispatchers.length)];
+    }
+
+    /** {@code amount} is in the currency of {@code account}, the one the event is sent to. */
+    private static Map<String, Object> transactionPayload(TransactionPostedEvent event, AccountSnapshot account,
+                                                          String direction, BigDecimal amount) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("transactionId", event.transactionId());
+        data.put("transactionReference", event.transactionReference());
+        data.put("transactionType", event.transactionType());
+        data.put("direction", direction);
+        data.put("amount", amount);
+        data.put("currency", account.currency());
+        data.put("fee", event.fee());
+        data.put("balance", account.balance());
+        data.put("createdAt", event.createdAt());
+        return data;
+    }
+
+    /**
+     * One connected client. Events are queued without blocking and written to the socket by
+     * at most one sender task at a time, so the client sees them in order. The queue holds
+     * up to {@code clientQueueSize} events; a client that lets it fill is evicted.
+     */
+    private final class Subscriber {
+        private final Long accountId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean evicted;
+
+        private Subscriber(Long accountId, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(AccountStreamEvent event) {
+            enqueue(SseEmitter.event()
+                    .id(bootId + "-" + event.sequence())
+                    .name(event.name())
+                    .data(event.data(), MediaType.APPLICATION_JSON));
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (queued.incrementAndGet() > clientQueueSize) {
+                log.info("Evicting account {} subscriber: {} events queued", accountId, clientQueueSize);
+                evicted = true;
+                removeSubscriber(this);
+                pending.clear();
+            } else {
+                pending.add(event);
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    queued.decrementAndGet();
+                    emitter.send(event);
+                }
+                if (evicted) {
+                    // Completed here, not on the stripe, as it waits for any send in progress
+                    emitter.complete();
+                    return;
+                }
+            } catch (Exception e) {
+                log.debug("Dropping account {} subscriber: {}", accountId, e.getMessage());
+                removeSubscriber(this);
+                return;
+            }
+            draining.set(false);
+            if (!closed && !pending.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Recent events of one account, oldest first. It holds every event of the account with a
+     * sequence above {@code heldAfter}, which starts at the sequence current when the buffer
+     * is created and moves up as events are evicted.
+     */
+    private static final class ReplayBuffer {
+        private final Deque<AccountStreamEvent> events = new ArrayDeque<>();
+        private long heldAfter;
+
+        private ReplayBuffer(long heldAfter) {
+            this.heldAfter = heldAfter;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+package org.banking.stream;
+
+public record AccountStreamEvent(long sequence, Long accountId, String name, Object data, long createdAtMillis) {
+}
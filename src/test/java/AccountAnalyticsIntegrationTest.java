@@ -0,0 +1,179 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+import org.banking.analytics.AccountRollupAggregator;
+import org.banking.analytics.RollupDelta;
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.model.Account;
+import org.banking.model.AccountRollup;
+import org.banking.model.Transaction;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AccountAnalyticsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRollupAggregator accountRollupAggregator;
+
+    private Long checkingId;
+    private Long savingsId;
+    private final List<Transaction> postings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        Long userId = userService.createUser(
+                new UserDto("analytics", "analytics@example.com", "password123", "Analytics User", "+1234567890")).getId();
+        checkingId = accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal("1000.00"))).getId();
+        savingsId = accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.SAVINGS, new BigDecimal("0.00"))).getId();
+
+        post(checkingId, null, "250.00", Transaction.TransactionType.DEPOSIT, null);
+        post(checkingId, null, "40.00", Transaction.TransactionType.WITHDRAWAL, "1.50");
+        post(checkingId, savingsId, "300.00", Transaction.TransactionType.TRANSFER, "0.50");
+        post(checkingId, null, "60.00", Transaction.TransactionType.PAYMENT, null);
+    }
+
+    @Test
+    void rollups_ShouldBeServedBeforeAndAfterFlush() {
+        assertCheckingDay(dayRollup(checkingId));
+
+        accountRollupAggregator.flush();
+        assertEquals(0, accountRollupAggregator.flush());
+        assertCheckingDay(dayRollup(checkingId));
+
+        RollupDelta savings = dayRollup(savingsId);
+        assertEquals(new BigDecimal("300.00"), savings.getCreditTotal());
+        assertEquals(1, savings.getCreditCount());
+        assertEquals(0, savings.getDebitCount());
+
+        // The postings may straddle an hour (or midnight), so expect one bucket per hour they fall in
+        JsonPath hourly = given()
+                .when()
+                .get("/api/accounts/" + checkingId + "/analytics?granularity=hour")
+                .then()
+                .statusCode(200)
+                .body("granularity", equalTo("HOUR"))
+                .extract().jsonPath();
+        assertEquals(buckets(checkingId, ChronoUnit.HOURS), hourly.getList("buckets.start", String.class).stream()
+                .map(LocalDateTime::parse)
+                .collect(Collectors.toCollection(TreeSet::new)));
+        assertEquals(new BigDecimal("400.00"), sum(hourly.getList("buckets.debitTotal", String.class)));
+        assertEquals(new BigDecimal("300.00"), sum(hourly.getList("buckets.totalsByType.TRANSFER", String.class)));
+
+        given()
+                .when()
+                .get("/api/accounts/" + checkingId + "/analytics?granularity=week")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void rebuildFromHistory_ShouldReproduceIncrementalRollups() {
+        accountRollupAggregator.flush();
+        post(checkingId, null, "10.00", Transaction.TransactionType.DEPOSIT, null);
+
+        assertEquals(6, accountRollupAggregator.rebuildFromHistory());
+
+        RollupDelta checking = dayRollup(checkingId);
+        assertEquals(new BigDecimal("260.00"), checking.getCreditTotal());
+        assertEquals(2, checking.getCreditCount());
+        assertEquals(new BigDecimal("400.00"), checking.getDebitTotal());
+        assertEquals(new BigDecimal("2.00"), checking.getFeeTotal());
+        assertEquals(new BigDecimal("300.00"), dayRollup(savingsId).getCreditTotal());
+    }
+
+    private void assertCheckingDay(RollupDelta day) {
+        assertEquals(new BigDecimal("250.00"), day.getCreditTotal());
+        assertEquals(1, day.getCreditCount());
+        assertEquals(new BigDecimal("400.00"), day.getDebitTotal());
+        assertEquals(3, day.getDebitCount());
+        assertEquals(new BigDecimal("2.00"), day.getFeeTotal());
+        assertEquals(new BigDecimal("250.00"), day.getTypeTotal(Transaction.TransactionType.DEPOSIT));
+        assertEquals(new BigDecimal("40.00"), day.getTypeTotal(Transaction.TransactionType.WITHDRAWAL));
+        assertEquals(new BigDecimal("300.00"), day.getTypeTotal(Transaction.TransactionType.TRANSFER));
+        assertEquals(new BigDecimal("60.00"), day.getTypeTotal(Transaction.TransactionType.PAYMENT));
+    }
+
+    private RollupDelta dayRollup(Long accountId) {
+        return rollup(accountId, AccountRollup.Granularity.DAY);
+    }
+
+    /**
+     * The account's rollups summed over all buckets, after checking there is exactly one
+     * bucket per day or hour its postings were created in.
+     */
+    private RollupDelta rollup(Long accountId, AccountRollup.Granularity granularity) {
+        LocalDateTime now = LocalDateTime.now();
+        SortedMap<LocalDateTime, RollupDelta> rollups = accountRollupAggregator.getRollups(
+                accountId, granularity, now.minusDays(2), now.plusDays(1));
+        assertEquals(buckets(accountId, granularity == AccountRollup.Granularity.DAY ? ChronoUnit.DAYS : ChronoUnit.HOURS),
+                rollups.keySet());
+        return rollups.values().stream().reduce(new RollupDelta(), RollupDelta::merge);
+    }
+
+    private Set<LocalDateTime> buckets(Long accountId, ChronoUnit unit) {
+        return postings.stream()
+                .filter(posting -> posting.getFromAccount().getId().equals(accountId)
+                        || (posting.getToAccount() != null && posting.getToAccount().getId().equals(accountId)))
+                .map(posting -> posting.getCreatedAt().truncatedTo(unit))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static BigDecimal sum(List<String> amounts) {
+        return amounts.stream().map(BigDecimal::new).reduce(BigDecimal::add).orElseThrow();
+    }
+
+    private void post(Long fromId, Long toId, String amount, Transaction.TransactionType type, String fee) {
+        TransactionDto dto = new TransactionDto(fromId, toId, new BigDecimal(amount), type, "analytics test");
+        if (fee != null) {
+            dto.setFee(new BigDecimal(fee));
+        }
+        postings.add(transactionService.createTransaction(dto));
+    }
+}
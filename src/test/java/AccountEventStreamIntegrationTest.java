@@ -0,0 +1,243 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.banking.stream.AccountEventHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.stream.replay-size=3",
+        "banking.stream.replay-window-ms=200",
+        "banking.stream.heartbeat-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class AccountEventStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountEventHub accountEventHub;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        String name = "stream" + UUID.randomUUID().toString().substring(0, 8);
+        Long userId = userService.createUser(
+                new UserDto(name, name + "@example.com", "password123", "Stream User", "+1234567890")).getId();
+        accountId = accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal("100.00"))).getId();
+    }
+
+    @Test
+    void reconnect_ShouldReplayOnlyTheMissedEvents() throws Exception {
+        String lastEventId;
+        try (EventStream stream = open(null)) {
+            lastEventId = stream.next("snapshot").id();
+        }
+
+        deposit("10.00");
+        deposit("20.00");
+
+        try (EventStream stream = open(lastEventId)) {
+            assertBalance(stream.next("transaction"), "110.00");
+            assertBalance(stream.next("transaction"), "130.00");
+            assertNull(stream.poll(300));
+        }
+    }
+
+    @Test
+    void reconnectAfterEviction_ShouldStartOverFromSnapshot() throws Exception {
+        String lastEventId;
+        try (EventStream stream = open(null)) {
+            lastEventId = stream.next("snapshot").id();
+        }
+
+        for (int i = 0; i < 4; i++) {
+            deposit("5.00");
+        }
+
+        try (EventStream stream = open(lastEventId)) {
+            SseEvent snapshot = stream.next("snapshot");
+            assertEquals(0, new BigDecimal("120.00").compareTo(
+                    objectMapper.readTree(snapshot.data()).get("balance").decimalValue()));
+            assertNull(stream.poll(300));
+        }
+    }
+
+    @Test
+    void reconnectAfterExpiredBufferWasDropped_ShouldStartOverFromSnapshot() throws Exception {
+        String snapshotId;
+        try (EventStream stream = open(null)) {
+            snapshotId = stream.next("snapshot").id();
+            deposit("10.00");
+            assertBalance(stream.next("transaction"), "110.00");
+        }
+        awaitNoSubscribers();
+
+        // Expire the buffered deposit so the empty, unwatched buffer is dropped
+        Thread.sleep(300);
+        accountEventHub.heartbeat();
+        deposit("20.00");
+
+        try (EventStream stream = open(snapshotId)) {
+            SseEvent snapshot = stream.next("snapshot");
+            assertEquals(0, new BigDecimal("130.00").compareTo(
+                    objectMapper.readTree(snapshot.data()).get("balance").decimalValue()));
+            assertNull(stream.poll(300));
+        }
+    }
+
+    @Test
+    void unknownAccount_ShouldFailOnTheRequestThreadWithoutSubscribing() throws Exception {
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/accounts/999999/events"))
+                .header("Accept", "text/event-stream").build(), HttpResponse.BodyHandlers.discarding());
+
+        assertNotEquals(200, response.statusCode());
+    }
+
+    private void awaitNoSubscribers() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (accountEventHub.getSubscriberCount() > 0) {
+            assertTrue(System.nanoTime() < deadline, "subscriber still registered");
+            accountEventHub.heartbeat();
+            Thread.sleep(50);
+        }
+    }
+
+    private void deposit(String amount) {
+        transactionService.createTransaction(new TransactionDto(accountId, null, new BigDecimal(amount),
+                Transaction.TransactionType.DEPOSIT, "stream test"));
+    }
+
+    private void assertBalance(SseEvent event, String expected) throws IOException {
+        assertEquals(0, new BigDecimal(expected).compareTo(
+                objectMapper.readTree(event.data()).get("balance").decimalValue()), event.data());
+    }
+
+    private EventStream open(String lastEventId) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/accounts/" + accountId + "/events"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        return new EventStream(response.body());
+    }
+
+    private record SseEvent(String id, String name, String data) {
+    }
+
+    /** Parses the stream on a reader thread so tests can wait for events with a timeout. */
+    private static final class EventStream implements AutoCloseable {
+        private final InputStream body;
+        private final BlockingQueue<SseEvent> events = new LinkedBlockingQueue<>();
+
+        EventStream(InputStream body) {
+            this.body = body;
+            Thread reader = new Thread(this::read, "sse-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        SseEvent next(String expectedName) throws InterruptedException {
+            SseEvent event = poll(10_000);
+            assertNotNull(event, "no " + expectedName + " event");
+            assertEquals(expectedName, event.name());
+            return event;
+        }
+
+        SseEvent poll(long timeoutMillis) throws InterruptedException {
+            return events.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void read() {
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                String id = null;
+                String name = null;
+                StringBuilder data = new StringBuilder();
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (name != null) {
+                            events.add(new SseEvent(id, name, data.toString()));
+                        }
+                        id = null;
+                        name = null;
+                        data.setLength(0);
+                    } else if (line.startsWith("id:")) {
+                        id = line.substring(3).strip();
+                    } else if (line.startsWith("event:")) {
+                        name = line.substring(6).strip();
+                    } else if (line.startsWith("data:")) {
+                        data.append(line.substring(5).strip());
+                    }
+                }
+            } catch (IOException e) {
+                // closed by the test
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
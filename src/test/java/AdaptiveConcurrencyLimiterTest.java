@@ -0,0 +1,147 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.exception.ServiceOverloadedException;
+import org.banking.ratelimit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final int CLIENTS = 64;
+    private static final int CONNECTIONS = 8;
+    private static final long POSTING_MILLIS = 5;
+    private static final long DEADLINE_MILLIS = 25;
+    private static final long RUN_MILLIS = 1000;
+
+    @Test
+    void slowedPostingPath_ShouldKeepGoodputUnderOverload() throws Exception {
+        long unlimitedGoodput = simulate(null);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, CLIENTS, 16, 10, 100_000, e -> false);
+        long limitedGoodput = simulate(limiter);
+
+        assertTrue(limitedGoodput > unlimitedGoodput * 5,
+                "limited " + limitedGoodput + " vs unlimited " + unlimitedGoodput);
+        assertTrue(limiter.getLimit() < CLIENTS / 2, "limit settled at " + limiter.getLimit());
+        assertTrue(limiter.getRejectedCount() > 0);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void overloadFailures_ShouldShrinkLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 0, 0, 1000,
+                e -> e instanceof QueryTimeoutException);
+
+        assertThrows(QueryTimeoutException.class, () -> limiter.execute(() -> {
+            throw new QueryTimeoutException("lock wait timeout");
+        }));
+        assertEquals(18, limiter.getLimit());
+
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException("business failure");
+        }));
+        assertTrue(limiter.getLimit() >= 18);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void callsOverLimit_ShouldBeRejectedOnceQueueIsFull() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0, 0, 1000, e -> false);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                await(finish);
+                return null;
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            assertThrows(ServiceOverloadedException.class, () -> limiter.execute(() -> "rejected"));
+            assertEquals(1, limiter.getRejectedCount());
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals("admitted", limiter.execute(() -> "admitted"));
+    }
+
+    /**
+     * Closed-loop clients against a posting path that holds one of a few pooled connections for a fixed time,
+     * so excess concurrency only adds queueing delay. Goodput counts postings that finish within the deadline.
+     */
+    private long simulate(AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        Semaphore connectionPool = new Semaphore(CONNECTIONS, true);
+        Supplier<Boolean> posting = () -> {
+            connectionPool.acquireUninterruptibly();
+            try {
+                Thread.sleep(POSTING_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                connectionPool.release();
+            }
+            return true;
+        };
+
+        AtomicLong goodput = new AtomicLong();
+        long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(DEADLINE_MILLIS);
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    try {
+                        if (limiter == null) {
+                            posting.get();
+                        } else {
+                            limiter.execute(posting);
+                        }
+                        if (System.nanoTime() - start <= deadlineNanos) {
+                            goodput.incrementAndGet();
+                        }
+                    } catch (ServiceOverloadedException e) {
+                        sleep(2);
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(10, TimeUnit.SECONDS));
+        return goodput.get();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.restassured.RestAssured;
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.reconciliation.HistoricalBalance;
+import org.banking.reconciliation.ReconciliationEngine;
+import org.banking.reconciliation.ReconciliationReport;
+import org.banking.scheduler.BalanceSnapshotScheduler;
+import org.banking.service.AccountService;
+import org.banking.service.BalanceHistoryService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.snapshots.enabled=false",
+        "banking.snapshots.settle-ms=0",
+        "banking.snapshots.batch-size=2",
+        "banking.reconciliation.enabled=false",
+        "banking.reconciliation.in-flight-grace-ms=0"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BalanceSnapshotIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceSnapshotScheduler balanceSnapshotScheduler;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private ReconciliationEngine reconciliationEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long checkingId;
+    private Long savingsId;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        userId = userService.createUser(
+                new UserDto("snapshot", "snapshot@example.com", "password123", "Snapshot User", "+1234567890")).getId();
+        checkingId = account("100.00");
+        savingsId = account("0.00");
+        base = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusHours(1);
+    }
+
+    @Test
+    void balanceAsOf_ShouldReplayOnlyAfterNearestSnapshot() {
+        post(checkingId, null, "50.00", Transaction.TransactionType.DEPOSIT, base);
+        post(checkingId, null, "20.00", Transaction.TransactionType.WITHDRAWAL, base.plusHours(1));
+        post(checkingId, savingsId, "30.00", Transaction.TransactionType.TRANSFER, base.plusHours(2));
+        assertEquals(2, balanceSnapshotScheduler.takeSnapshots(LocalDateTime.now()));
+        post(checkingId, null, "5.00", Transaction.TransactionType.DEPOSIT, base.plusHours(3));
+
+        HistoricalBalance beforeSnapshot = balanceHistoryService.getBalanceAsOf(checkingId, base.plusHours(1));
+        assertEquals(0, new BigDecimal("130.00").compareTo(beforeSnapshot.balance()));
+        assertEquals(0, beforeSnapshot.snapshotTransactionId());
+        assertEquals(2, beforeSnapshot.replayedTransactions());
+
+        HistoricalBalance atSnapshot = balanceHistoryService.getBalanceAsOf(checkingId, base.plusHours(2).plusMinutes(30));
+        assertEquals(0, new BigDecimal("100.00").compareTo(atSnapshot.balance()));
+        assertEquals(base.plusHours(2), atSnapshot.snapshotAsOf());
+        assertEquals(0, atSnapshot.replayedTransactions());
+
+        HistoricalBalance latest = balanceHistoryService.getBalanceAsOf(checkingId, base.plusDays(1));
+        assertEquals(0, new BigDecimal("105.00").compareTo(latest.balance()));
+        assertEquals(1, latest.replayedTransactions());
+        assertEquals(0, accountService.getAccountById(checkingId).getBalance().compareTo(latest.balance()));
+
+        given()
+                .queryParam("asOf", base.plusHours(2).plusMinutes(30).toString())
+                .when()
+                .get("/api/accounts/" + savingsId + "/balance")
+                .then()
+                .statusCode(200)
+                .body("balance", equalTo("30.00"))
+                .body("replayedTransactions", equalTo(0));
+
+        given()
+                .queryParam("asOf", base.minusDays(1).toString())
+                .when()
+                .get("/api/accounts/" + checkingId + "/balance")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void snapshots_ShouldBuildOnEachOtherAndShortenReconciliation() {
+        Long[] extra = {account("10.00"), account("20.00"), account("30.00")};
+        for (Long id : extra) {
+            post(id, null, "1.00", Transaction.TransactionType.DEPOSIT, base);
+        }
+        post(checkingId, savingsId, "40.00", Transaction.TransactionType.TRANSFER, base);
+
+        assertEquals(5, balanceSnapshotScheduler.takeSnapshots(LocalDateTime.now()));
+        assertEquals(0, balanceSnapshotScheduler.takeSnapshots(LocalDateTime.now()));
+
+        post(savingsId, null, "15.00", Transaction.TransactionType.WITHDRAWAL, base.plusHours(1));
+        assertEquals(1, balanceSnapshotScheduler.takeSnapshots(LocalDateTime.now()));
+        assertEquals(new BigDecimal("25.00"), jdbcTemplate.queryForObject("SELECT balance FROM balance_snapshots "
+                + "WHERE account_id = ? ORDER BY last_transaction_id DESC FETCH FIRST 1 ROWS ONLY", BigDecimal.class, savingsId));
+
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 2.00 WHERE id = ?", extra[1]);
+        ReconciliationReport report = reconciliationEngine.reconcileAll();
+
+        assertEquals(5, report.accountsChecked());
+        assertEquals(0, report.legsFolded());
+        assertEquals(1, report.drifted());
+        assertEquals(extra[1], report.drifts().get(0).accountId());
+        assertEquals(0, new BigDecimal("21.00").compareTo(report.drifts().get(0).expectedBalance()));
+    }
+
+    @Test
+    void accountWithoutHistory_ShouldReportOpeningBalance() {
+        HistoricalBalance balance = balanceHistoryService.getBalanceAsOf(checkingId, base);
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance.balance()));
+        assertEquals(0, balance.replayedTransactions());
+        assertNull(balance.snapshotAsOf());
+    }
+
+    private Long account(String openingBalance) {
+        return accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal(openingBalance))).getId();
+    }
+
+    private void post(Long fromId, Long toId, String amount, Transaction.TransactionType type, LocalDateTime createdAt) {
+        Transaction transaction = transactionService.createTransaction(
+                new TransactionDto(fromId, toId, new BigDecimal(amount), type, "snapshot test"));
+        jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE id = ?", createdAt, transaction.getId());
+    }
+}
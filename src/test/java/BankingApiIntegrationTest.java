@@ -4,6 +4,8 @@
  * Project: Mobile Banking API
  * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
  */
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -141,7 +144,7 @@ class BankingApiIntegrationTest {
                 .then()
                 .statusCode(201)
                 .body("accountType", equalTo("SAVINGS"))
-                .body("balance", equalTo(1000.0f))
+                .body("balance", equalTo("1000.00"))
                 .extract()
                 .path("id");
 
@@ -181,7 +184,7 @@ class BankingApiIntegrationTest {
                 .then()
                 .statusCode(200)
                 .body("accountType", equalTo("CHECKING"))
-                .body("balance", equalTo(1500.0f));
+                .body("balance", equalTo("1500.00"));
     }
 
     @Test
@@ -242,7 +245,7 @@ class BankingApiIntegrationTest {
                 .post("/api/transactions")
                 .then()
                 .statusCode(201)
-                .body("amount", equalTo(500.0f))
+                .body("amount", equalTo("500.00"))
                 .body("transactionType", equalTo("DEPOSIT"))
                 .extract()
                 .path("id");
@@ -266,6 +269,430 @@ class BankingApiIntegrationTest {
                 .body("[0].id", equalTo(transactionId.intValue()));
     }
 
+    @Test
+    void accountRead_ShouldNegotiateCbor() throws Exception {
+        String userJson = """
+                {
+                    "username": "cborclient",
+                    "email": "cbor@example.com",
+                    "password": "password123",
+                    "fullName": "Cbor Client",
+                    "phoneNumber": "+1234567890"
+                }
+                """;
+
+        Long userId = given()
+                .contentType(ContentType.JSON)
+                .body(userJson)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        String accountJson = String.format("""
+                {
+                    "userId": %d,
+                    "accountType": "SAVINGS",
+                    "balance": 1000.00
+                }
+                """, userId);
+
+        Long accountId = given()
+                .contentType(ContentType.JSON)
+                .body(accountJson)
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        byte[] body = given()
+                .accept("application/cbor")
+                .when()
+                .get("/api/accounts/" + accountId)
+                .then()
+                .statusCode(200)
+                .contentType("application/cbor")
+                .extract()
+                .asByteArray();
+
+        JsonNode account = new CBORMapper().readTree(body);
+        assertEquals(accountId.longValue(), account.get("id").longValue());
+        assertEquals("1000.00", account.get("balance").textValue());
+    }
+
+    @Test
+    void batchLookup_ShouldReturnKeyedMap() {
+        String userJson = """
+                {
+                    "username": "lookupuser",
+                    "email": "lookup@example.com",
+                    "password": "password123",
+                    "fullName": "Lookup User",
+                    "phoneNumber": "+1234567890"
+                }
+                """;
+
+        int userId = given()
+                .contentType(ContentType.JSON)
+                .body(userJson)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        String accountJson = String.format("""
+                {
+                    "userId": %d,
+                    "accountType": "SAVINGS",
+                    "balance": 250.00
+                }
+                """, userId);
+
+        int accountId = given()
+                .contentType(ContentType.JSON)
+                .body(accountJson)
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        String accountNumber = given()
+                .when()
+                .get("/api/accounts/" + accountId)
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("accountNumber");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"ids\": [%d, 999999], \"accountNumbers\": [\"%s\"]}", accountId, accountNumber))
+                .when()
+                .post("/api/accounts/lookup")
+                .then()
+                .statusCode(200)
+                .body("size()", equalTo(2))
+                .body("'" + accountId + "'.balance", equalTo("250.00"))
+                .body("'" + accountNumber + "'.id", equalTo(accountId));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"ids\": [%d], \"usernames\": [\"lookupuser\", \"nobody\"]}", userId))
+                .when()
+                .post("/api/users/lookup")
+                .then()
+                .statusCode(200)
+                .body("size()", equalTo(2))
+                .body("lookupuser.id", equalTo(userId));
+    }
+
+    @Test
+    void userSummary_ShouldFollowPostingsAndAccountChanges() {
+        String userJson = """
+                {
+                    "username": "summaryuser",
+                    "email": "summary@example.com",
+                    "password": "password123",
+                    "fullName": "Summary User",
+                    "phoneNumber": "+1234567890"
+                }
+                """;
+
+        int userId = given()
+                .contentType(ContentType.JSON)
+                .body(userJson)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        int savingsId = given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"userId\": %d, \"accountType\": \"SAVINGS\", \"balance\": 1000.00}", userId))
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        int creditId = given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"userId\": %d, \"accountType\": \"CREDIT\", \"balance\": 0.00, \"creditLimit\": 500.00}", userId))
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"fromAccountId\": %d, \"amount\": 200.00, \"transactionType\": \"DEPOSIT\"}", savingsId))
+                .when()
+                .post("/api/transactions")
+                .then()
+                .statusCode(201);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"fromAccountId\": %d, \"toAccountId\": %d, \"amount\": 100.00, \"transactionType\": \"TRANSFER\"}",
+                        savingsId, creditId))
+                .when()
+                .post("/api/transactions")
+                .then()
+                .statusCode(201);
+
+        given()
+                .when()
+                .get("/api/users/" + userId + "/summary")
+                .then()
+                .statusCode(200)
+                .body("balancesByType.SAVINGS", equalTo("1100.00"))
+                .body("balancesByType.CREDIT", equalTo("100.00"))
+                .body("totalBalance", equalTo("1200.00"))
+                .body("availableCredit", equalTo("500.00"))
+                .body("accountsByStatus.ACTIVE", equalTo(2))
+                .body("totalAccounts", equalTo(2))
+                .body("lastActivityAt", notNullValue());
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"userId\": %d, \"accountType\": \"CREDIT\", \"balance\": 100.00, \"creditLimit\": 500.00, \"status\": \"FROZEN\"}", userId))
+                .when()
+                .put("/api/accounts/" + creditId)
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .get("/api/users/" + userId + "/summary")
+                .then()
+                .statusCode(200)
+                .body("balancesByType.CREDIT", equalTo("100.00"))
+                .body("availableCredit", equalTo("0.00"))
+                .body("accountsByStatus.ACTIVE", equalTo(1))
+                .body("accountsByStatus.FROZEN", equalTo(1));
+    }
+
+    @Test
+    void transactionSearch_ShouldFindDescriptionsIncludingNewPostings() {
+        String userJson = """
+                {
+                    "username": "searchuser",
+                    "email": "search@example.com",
+                    "password": "password123",
+                    "fullName": "Search User",
+                    "phoneNumber": "+1234567890"
+                }
+                """;
+
+        int userId = given()
+                .contentType(ContentType.JSON)
+                .body(userJson)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        int accountId = given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"userId\": %d, \"accountType\": \"CHECKING\", \"balance\": 1000.00}", userId))
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        for (String description : new String[]{"Coffee at Blue Bottle", "Rent March", "coffee beans"}) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(String.format("{\"fromAccountId\": %d, \"amount\": 10.00, \"transactionType\": \"PAYMENT\", \"description\": \"%s\"}",
+                            accountId, description))
+                    .when()
+                    .post("/api/transactions")
+                    .then()
+                    .statusCode(201);
+        }
+
+        given()
+                .when()
+                .get("/api/transactions/account/" + accountId + "/search?q=coffee")
+                .then()
+                .statusCode(200)
+                .header("X-Total-Count", "2")
+                .body("$", hasSize(2))
+                .body("[0].description", equalTo("coffee beans"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"fromAccountId\": %d, \"amount\": 10.00, \"transactionType\": \"PAYMENT\", \"description\": \"Rent April\"}", accountId))
+                .when()
+                .post("/api/transactions")
+                .then()
+                .statusCode(201);
+
+        given()
+                .when()
+                .get("/api/transactions/account/" + accountId + "/search?q=ren*&size=1")
+                .then()
+                .statusCode(200)
+                .header("X-Total-Count", "2")
+                .body("$", hasSize(1))
+                .body("[0].description", equalTo("Rent April"));
+
+        // page * size would overflow an int
+        given()
+                .when()
+                .get("/api/transactions/account/" + accountId + "/search?q=ren*&page=2147483647&size=2")
+                .then()
+                .statusCode(200)
+                .header("X-Total-Count", "2")
+                .body("$", hasSize(0));
+    }
+
+    @Test
+    void userSearch_ShouldMatchPrefixesTyposAndUpdates() {
+        String userJson = """
+                {
+                    "username": "directoryuser",
+                    "email": "dora@example.com",
+                    "password": "password123",
+                    "fullName": "Dora Directory",
+                    "phoneNumber": "+15550001234"
+                }
+                """;
+
+        int userId = given()
+                .contentType(ContentType.JSON)
+                .body(userJson)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        given()
+                .when()
+                .get("/api/users/search?q=DORA")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(1))
+                .body("[0].id", equalTo(userId));
+
+        given()
+                .when()
+                .get("/api/users/search?q=directry")
+                .then()
+                .statusCode(200)
+                .body("id", hasItem(userId));
+
+        given()
+                .when()
+                .get("/api/users/search?q=555000")
+                .then()
+                .statusCode(200)
+                .body("id", hasItem(userId));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(userJson.replace("Dora Directory", "Theodora Index"))
+                .when()
+                .put("/api/users/" + userId)
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .get("/api/users/search?q=theo")
+                .then()
+                .statusCode(200)
+                .body("id", hasItem(userId));
+
+        given()
+                .when()
+                .get("/api/users/search?q=dora&limit=0")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void fraudRules_ShouldDeclineLargeTransferToNewPayee() {
+        int[] userIds = new int[2];
+        for (int i = 0; i < 2; i++) {
+            userIds[i] = given()
+                    .contentType(ContentType.JSON)
+                    .body(String.format("{\"username\": \"fraudcheck%d\", \"email\": \"fraudcheck%d@example.com\", "
+                            + "\"password\": \"password123\", \"fullName\": \"Fraud Check\", \"phoneNumber\": \"+1234567890\"}", i, i))
+                    .when()
+                    .post("/api/users")
+                    .then()
+                    .statusCode(201)
+                    .extract()
+                    .path("id");
+        }
+
+        int payerId = given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"userId\": %d, \"accountType\": \"CHECKING\", \"balance\": 5000.00}", userIds[0]))
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        int payeeId = given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"userId\": %d, \"accountType\": \"CHECKING\", \"balance\": 0.00}", userIds[1]))
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"fromAccountId\": %d, \"toAccountId\": %d, \"amount\": 1500.00, \"transactionType\": \"TRANSFER\"}",
+                        payerId, payeeId))
+                .when()
+                .post("/api/transactions")
+                .then()
+                .statusCode(422)
+                .body("message", containsString("opened less than"));
+
+        given()
+                .when()
+                .get("/api/accounts/" + payerId)
+                .then()
+                .statusCode(200)
+                .body("balance", equalTo("5000.00"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"fromAccountId\": %d, \"toAccountId\": %d, \"amount\": 100.00, \"transactionType\": \"TRANSFER\"}",
+                        payerId, payeeId))
+                .when()
+                .post("/api/transactions")
+                .then()
+                .statusCode(201);
+    }
+
     @Test
     void errorHandling_ShouldReturnAppropriateErrors() {
         // Test 404 for non-existent user
@@ -0,0 +1,113 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.TransactionResponse;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the CPU cost of JSON and CBOR with the mappers the API uses: encoding and
+ * decoding a {@code TransactionDto} request (the settlement clients' hot path) and a
+ * 100-transaction history response. Prints ns/op and bytes/op per format and checks a
+ * CBOR request round trip is cheaper than a JSON one.
+ * Opt-in: {@code mvn test -Dtest=CborSerializationBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CborSerializationBenchmarkTest {
+
+    private static final int ITERATIONS = 1_000_000;
+    private static final int HISTORY_ITERATIONS = 20_000;
+
+    private static volatile long sink;
+
+    @Test
+    void cborRoundTrip_ShouldCostLessCpuThanJson() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .factory(new CBORFactory())
+                .build();
+
+        TransactionDto dto = new TransactionDto(1L, 2L, new BigDecimal("200.00"),
+                Transaction.TransactionType.TRANSFER, "Settlement batch 2025-01-15");
+        dto.setFee(new BigDecimal("2.50"));
+        byte[] jsonDto = json.writeValueAsBytes(dto);
+        byte[] cborDto = cbor.writeValueAsBytes(dto);
+
+        double jsonEncode = nanosPerOp(ITERATIONS, () -> json.writeValueAsBytes(dto).length);
+        double cborEncode = nanosPerOp(ITERATIONS, () -> cbor.writeValueAsBytes(dto).length);
+        double jsonDecode = nanosPerOp(ITERATIONS, () -> json.readValue(jsonDto, TransactionDto.class).hashCode());
+        double cborDecode = nanosPerOp(ITERATIONS, () -> cbor.readValue(cborDto, TransactionDto.class).hashCode());
+
+        List<TransactionResponse> history = history();
+        byte[] jsonHistory = json.writeValueAsBytes(history);
+        byte[] cborHistory = cbor.writeValueAsBytes(history);
+        double jsonHistoryEncode = nanosPerOp(HISTORY_ITERATIONS, () -> json.writeValueAsBytes(history).length);
+        double cborHistoryEncode = nanosPerOp(HISTORY_ITERATIONS, () -> cbor.writeValueAsBytes(history).length);
+        double jsonHistoryDecode = nanosPerOp(HISTORY_ITERATIONS, () -> json.readTree(jsonHistory).size());
+        double cborHistoryDecode = nanosPerOp(HISTORY_ITERATIONS, () -> cbor.readTree(cborHistory).size());
+
+        System.out.printf("TransactionDto json: encode %,8.0f ns/op decode %,8.0f ns/op %,6d bytes%n",
+                jsonEncode, jsonDecode, jsonDto.length);
+        System.out.printf("TransactionDto cbor: encode %,8.0f ns/op decode %,8.0f ns/op %,6d bytes%n",
+                cborEncode, cborDecode, cborDto.length);
+        System.out.printf("history json:        encode %,8.0f ns/op decode %,8.0f ns/op %,6d bytes%n",
+                jsonHistoryEncode, jsonHistoryDecode, jsonHistory.length);
+        System.out.printf("history cbor:        encode %,8.0f ns/op decode %,8.0f ns/op %,6d bytes%n",
+                cborHistoryEncode, cborHistoryDecode, cborHistory.length);
+        assertTrue(cborEncode + cborDecode < jsonEncode + jsonDecode,
+                "cbor round trip " + (cborEncode + cborDecode) + " ns vs json " + (jsonEncode + jsonDecode) + " ns");
+    }
+
+    private static double nanosPerOp(int iterations, Operation operation) throws Exception {
+        // Warm up for a fifth of the measured run so each path is compiled before timing
+        for (int i = 0; i < iterations / 5; i++) {
+            sink += operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += operation.run();
+        }
+        return (double) (System.nanoTime() - start) / iterations;
+    }
+
+    private static List<TransactionResponse> history() {
+        List<TransactionResponse> history = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            Account from = new Account("ACC00000000" + id, null, Account.AccountType.CHECKING,
+                    new BigDecimal("1000.00"));
+            from.setId(id);
+            Transaction transaction = new Transaction("TXN-" + id, from, null, new BigDecimal("125.75"),
+                    Transaction.TransactionType.DEPOSIT, "Salary deposit");
+            transaction.setId(id);
+            transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+            transaction.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 30).plusMinutes(id));
+            history.add(TransactionResponse.of(transaction));
+        }
+        return history;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        long run() throws Exception;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.TransactionResponse;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CborSerializationTest {
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+
+    @BeforeEach
+    void setUp() {
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        cborMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .factory(new CBORFactory())
+                .build();
+    }
+
+    @Test
+    void transactionDto_ShouldRoundTripThroughCbor() throws Exception {
+        TransactionDto dto = new TransactionDto(1L, 2L, new BigDecimal("200.00"),
+                Transaction.TransactionType.TRANSFER, "Transfer to savings");
+        dto.setFee(new BigDecimal("2.50"));
+
+        TransactionDto decoded = cborMapper.readValue(cborMapper.writeValueAsBytes(dto), TransactionDto.class);
+
+        assertEquals(dto.getFromAccountId(), decoded.getFromAccountId());
+        assertEquals(dto.getToAccountId(), decoded.getToAccountId());
+        assertEquals(dto.getAmount(), decoded.getAmount());
+        assertEquals(dto.getFee(), decoded.getFee());
+        assertEquals(dto.getTransactionType(), decoded.getTransactionType());
+        assertEquals(dto.getDescription(), decoded.getDescription());
+    }
+
+    @Test
+    void transactionHistory_ShouldDecodeToSameTreeAndBeSmallerThanJson() throws Exception {
+        List<TransactionResponse> history = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            history.add(TransactionResponse.of(transaction(id)));
+        }
+
+        byte[] json = jsonMapper.writeValueAsBytes(history);
+        byte[] cbor = cborMapper.writeValueAsBytes(history);
+
+        JsonNode fromJson = jsonMapper.readTree(json);
+        JsonNode fromCbor = cborMapper.readTree(cbor);
+        assertEquals(fromJson, fromCbor);
+        assertEquals("125.75", fromCbor.get(0).get("amount").textValue());
+        assertTrue(cbor.length < json.length, "cbor " + cbor.length + " bytes vs json " + json.length + " bytes");
+    }
+
+    private Transaction transaction(Long id) {
+        Account from = new Account("ACC00000000" + id, null, Account.AccountType.CHECKING, new BigDecimal("1000.00"));
+        from.setId(id);
+        Transaction transaction = new Transaction("TXN-" + id, from, null, new BigDecimal("125.75"),
+                Transaction.TransactionType.DEPOSIT, "Salary deposit");
+        transaction.setId(id);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 30).plusMinutes(id));
+        return transaction;
+    }
+}
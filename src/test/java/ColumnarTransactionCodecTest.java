@@ -0,0 +1,99 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.archive.ArchivedTransaction;
+import org.banking.archive.ColumnarTransactionCodec;
+import org.banking.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarTransactionCodecTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 14, 9, 26, 53, 589_793_000);
+
+    @Test
+    void currentVersion_ShouldRoundTripEveryColumn() throws IOException {
+        List<ArchivedTransaction> rows = List.of(
+                new ArchivedTransaction(7L, "TXN-1", 1L, 2L, new BigDecimal("100.00"),
+                        Transaction.TransactionType.TRANSFER, Transaction.TransactionStatus.COMPLETED, "rent",
+                        new BigDecimal("0.25"), "EUR", new BigDecimal("108.34"), new BigDecimal("1.0834000000"),
+                        CREATED, CREATED.plusSeconds(1)),
+                new ArchivedTransaction(8L, "TXN-2", 1L, null, new BigDecimal("5.50"),
+                        Transaction.TransactionType.WITHDRAWAL, Transaction.TransactionStatus.FAILED, null,
+                        new BigDecimal("0.00"), null, null, null, CREATED.plusDays(1), null)
+        );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarTransactionCodec.write(rows, out);
+
+        assertEquals(rows, ColumnarTransactionCodec.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void emptyPartition_ShouldRoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarTransactionCodec.write(List.of(), out);
+
+        assertTrue(ColumnarTransactionCodec.read(new ByteArrayInputStream(out.toByteArray())).isEmpty());
+    }
+
+    @Test
+    void versionOneFile_ShouldBeReadWithoutTheCurrencyColumns() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(0x54584E43);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeLong(42L);
+            out.writeUTF("TXN-V1");
+            out.writeLong(3L);
+            out.writeLong(-1L);
+            out.writeLong(1234L);
+            out.writeLong(0L);
+            out.writeByte(Transaction.TransactionType.DEPOSIT.ordinal());
+            out.writeByte(Transaction.TransactionStatus.COMPLETED.ordinal());
+            out.writeBoolean(true);
+            out.writeUTF("salary");
+            out.writeBoolean(true);
+            out.writeLong(CREATED.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(CREATED.getNano());
+            out.writeBoolean(false);
+        }
+
+        List<ArchivedTransaction> rows = ColumnarTransactionCodec.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(List.of(new ArchivedTransaction(42L, "TXN-V1", 3L, null, new BigDecimal("12.34"),
+                Transaction.TransactionType.DEPOSIT, Transaction.TransactionStatus.COMPLETED, "salary",
+                new BigDecimal("0.00"), null, null, null, CREATED, null)), rows);
+    }
+
+    @Test
+    void unknownVersion_ShouldBeRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(0x54584E43);
+            out.writeInt(3);
+            out.writeInt(0);
+        }
+
+        IOException e = assertThrows(IOException.class,
+                () -> ColumnarTransactionCodec.read(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals("Unsupported transaction archive version: 3", e.getMessage());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ConditionalGetIntegrationTest {
+
+    private static final int POLLS = 20;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+    }
+
+    @Test
+    void pollingHistory_ShouldBeAnsweredWithNotModifiedAndCompressedBodies() throws Exception {
+        Long accountId = createAccount();
+        for (int i = 0; i < 40; i++) {
+            deposit(accountId);
+        }
+        String path = "/api/transactions/account/" + accountId;
+
+        HttpResponse<byte[]> first = get(path, null);
+        assertEquals(200, first.statusCode());
+        assertEquals("gzip", first.headers().firstValue("Content-Encoding").orElse(null));
+        String etag = first.headers().firstValue("ETag").orElse(null);
+        assertNotNull(etag);
+        int compressed = first.body().length;
+        int uncompressed = gunzip(first.body()).length;
+        assertTrue(compressed < uncompressed / 2, compressed + " gzip bytes vs " + uncompressed + " bytes");
+
+        long transferred = compressed;
+        for (int i = 0; i < POLLS; i++) {
+            HttpResponse<byte[]> poll = get(path, etag);
+            assertEquals(304, poll.statusCode());
+            assertEquals(0, poll.body().length);
+            transferred += poll.body().length;
+        }
+        long naive = (long) uncompressed * (POLLS + 1);
+        assertTrue(transferred * 10 < naive, transferred + " bytes transferred vs " + naive + " without caching");
+
+        deposit(accountId);
+        HttpResponse<byte[]> changed = get(path, etag);
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElse(null));
+    }
+
+    @Test
+    void accountRead_ShouldChangeETagWhenBalanceMoves() throws Exception {
+        Long accountId = createAccount();
+        String path = "/api/accounts/" + accountId;
+
+        HttpResponse<byte[]> first = get(path, null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertEquals(304, get(path, etag).statusCode());
+
+        deposit(accountId);
+
+        HttpResponse<byte[]> afterDeposit = get(path, etag);
+        assertEquals(200, afterDeposit.statusCode());
+        assertNotEquals(etag, afterDeposit.headers().firstValue("ETag").orElseThrow());
+        assertEquals(404, get("/api/accounts/999999", etag).statusCode());
+    }
+
+    @Test
+    void accountRead_ShouldChangeETagWhenEmbeddedUserChanges() throws Exception {
+        int userId = createUser();
+        Long accountId = createAccount(userId);
+        String path = "/api/accounts/" + accountId;
+        String etag = get(path, null).headers().firstValue("ETag").orElseThrow();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "username": "poller",
+                            "email": "poller@example.com",
+                            "password": "password123",
+                            "fullName": "Renamed Client",
+                            "phoneNumber": "+1987654321"
+                        }
+                        """)
+                .when()
+                .put("/api/users/" + userId)
+                .then()
+                .statusCode(200);
+
+        HttpResponse<byte[]> afterRename = get(path, etag);
+        assertEquals(200, afterRename.statusCode());
+        assertTrue(new String(afterRename.body()).contains("Renamed Client"));
+    }
+
+    @Test
+    void jsonAndCborReads_ShouldNotShareAnETag() throws Exception {
+        Long accountId = createAccount();
+        String path = "/api/accounts/" + accountId;
+
+        HttpResponse<byte[]> json = get(path, null);
+        HttpResponse<byte[]> cbor = get(path, null, "application/cbor");
+        String jsonTag = json.headers().firstValue("ETag").orElseThrow();
+        String cborTag = cbor.headers().firstValue("ETag").orElseThrow();
+        assertEquals("application/cbor", cbor.headers().firstValue("Content-Type").orElseThrow());
+        assertNotEquals(jsonTag, cborTag);
+        assertTrue(json.headers().allValues("Vary").stream().anyMatch(vary -> vary.contains("Accept")));
+
+        assertEquals(200, get(path, jsonTag, "application/cbor").statusCode());
+        HttpResponse<byte[]> notModified = get(path, cborTag, "application/cbor");
+        assertEquals(304, notModified.statusCode());
+        assertTrue(notModified.headers().allValues("Vary").stream().anyMatch(vary -> vary.contains("Accept")));
+        assertEquals(304, get(path, jsonTag, "application/cbor;q=0.5, application/json").statusCode());
+    }
+
+    private HttpResponse<byte[]> get(String path, String etag) throws Exception {
+        return get(path, etag, "application/json");
+    }
+
+    private HttpResponse<byte[]> get(String path, String etag, String accept) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip");
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Long createAccount() {
+        return createAccount(createUser());
+    }
+
+    private int createUser() {
+        return given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "username": "poller",
+                            "email": "poller@example.com",
+                            "password": "password123",
+                            "fullName": "Polling Client",
+                            "phoneNumber": "+1234567890"
+                        }
+                        """)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+
+    private Long createAccount(int userId) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(String.format("""
+                        {
+                            "userId": %d,
+                            "accountType": "CHECKING",
+                            "balance": 1000.00
+                        }
+                        """, userId))
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(201)
+                .extract()
+                .<Integer>path("id")
+                .longValue();
+    }
+
+    private void deposit(Long accountId) {
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("""
+                        {
+                            "fromAccountId": %d,
+                            "amount": 25.00,
+                            "transactionType": "DEPOSIT",
+                            "description": "Polling workload deposit"
+                        }
+                        """, accountId))
+                .when()
+                .post("/api/transactions")
+                .then()
+                .statusCode(201);
+    }
+}
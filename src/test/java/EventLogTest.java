@@ -0,0 +1,180 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.ledger.AccountProjection;
+import org.banking.ledger.EventLog;
+import org.banking.ledger.LedgerEvent;
+import org.banking.ledger.ProjectionSnapshotStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class EventLogTest {
+
+    private static final int REGION_SIZE = EventLog.RECORD_SIZE * 16;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenedLog_ShouldReplayEveryEventAcrossRegions() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file, REGION_SIZE, true)) {
+            open(log, 1, 10_000);
+            for (int i = 0; i < 40; i++) {
+                log.append(LedgerEvent.Type.POSTED, i + 1, 1, -100, 2, 100, i);
+            }
+        }
+
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            assertEquals(41, log.getLastSequence());
+            List<LedgerEvent> events = new ArrayList<>();
+            assertEquals(11, log.replay(30, events::add));
+            assertEquals(31, events.get(0).sequence());
+            assertEquals(30, events.get(0).transactionId());
+
+            AccountProjection projection = AccountProjection.rebuild(log, new ProjectionSnapshotStore(directory, 2));
+            assertEquals(10_000 - 4_000, projection.balanceCents(1).getAsLong());
+            assertFalse(projection.balanceCents(2).isPresent());
+            assertEquals(40, projection.getLastTransactionId());
+        }
+    }
+
+    @Test
+    void tornLastRecord_ShouldBeDroppedAndOverwritten() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            open(log, 1, 500);
+            log.append(LedgerEvent.Type.ADJUSTED, 0, 1, 25, 0, 0, 0);
+            log.append(LedgerEvent.Type.ADJUSTED, 0, 1, 25, 0, 0, 0);
+        }
+        corrupt(file, 2, 20);
+
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            assertEquals(2, log.getLastSequence());
+            assertEquals(1, log.getDiscardedRecords());
+            log.append(LedgerEvent.Type.ADJUSTED, 0, 1, 100, 0, 0, 0);
+        }
+
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            assertEquals(3, log.getLastSequence());
+            AccountProjection projection = AccountProjection.rebuild(log, new ProjectionSnapshotStore(directory, 2));
+            assertEquals(625, projection.balanceCents(1).getAsLong());
+        }
+    }
+
+    @Test
+    void recordsAfterAHole_ShouldNeverReappear() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            open(log, 1, 0);
+            for (int i = 0; i < 5; i++) {
+                log.append(LedgerEvent.Type.ADJUSTED, 0, 1, 1, 0, 0, 0);
+            }
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(2L * EventLog.RECORD_SIZE);
+            raf.write(new byte[EventLog.RECORD_SIZE]);
+        }
+
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            assertEquals(2, log.getLastSequence());
+            assertEquals(3, log.getDiscardedRecords());
+            log.append(LedgerEvent.Type.ADJUSTED, 0, 1, 1, 0, 0, 0);
+        }
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            assertEquals(3, log.getLastSequence());
+            assertEquals(0, log.getDiscardedRecords());
+        }
+    }
+
+    @Test
+    void snapshotPlusTail_ShouldMatchFullReplayAndFallBackWhenCorrupt() throws IOException {
+        Path file = directory.resolve("events.log");
+        ProjectionSnapshotStore snapshots = new ProjectionSnapshotStore(directory, 2);
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            AccountProjection live = new AccountProjection();
+            for (long account = 1; account <= 20; account++) {
+                live.apply(open(log, account, account * 100));
+            }
+            for (int i = 0; i < 300; i++) {
+                long from = 1 + i % 20;
+                long to = 1 + (i * 7) % 20;
+                live.apply(log.append(LedgerEvent.Type.POSTED, i + 1, from, -(i % 50), to, i % 50, i));
+                if (i == 99 || i == 199) {
+                    snapshots.write(live.capture());
+                }
+            }
+            live.apply(log.append(LedgerEvent.Type.CLOSED, 0, 20, 0, 0, 0, 0));
+            assertEquals(2, snapshots.list().size());
+
+            AccountProjection rebuilt = AccountProjection.rebuild(log, snapshots);
+            assertEquals(220, rebuilt.getSnapshotSequence());
+            assertSameBalances(live, rebuilt);
+
+            try (RandomAccessFile raf = new RandomAccessFile(snapshots.list().get(0).toFile(), "rw")) {
+                raf.seek(40);
+                raf.write(0x7f);
+            }
+            AccountProjection fallback = AccountProjection.rebuild(log, snapshots);
+            assertEquals(120, fallback.getSnapshotSequence());
+            assertSameBalances(live, fallback);
+
+            Files.delete(snapshots.list().get(1));
+            AccountProjection full = AccountProjection.rebuild(log, snapshots);
+            assertEquals(0, full.getSnapshotSequence());
+            assertSameBalances(live, full);
+            assertFalse(full.balanceCents(20).isPresent());
+        }
+    }
+
+    @Test
+    void snapshotAheadOfTruncatedLog_ShouldBeIgnored() throws IOException {
+        Path file = directory.resolve("events.log");
+        ProjectionSnapshotStore snapshots = new ProjectionSnapshotStore(directory, 2);
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            AccountProjection live = new AccountProjection();
+            live.apply(open(log, 1, 1_000));
+            live.apply(log.append(LedgerEvent.Type.ADJUSTED, 0, 1, 500, 0, 0, 0));
+            snapshots.write(live.capture());
+        }
+        corrupt(file, 1, 8);
+
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            assertEquals(1, log.getLastSequence());
+            AccountProjection rebuilt = AccountProjection.rebuild(log, snapshots);
+            assertEquals(0, rebuilt.getSnapshotSequence());
+            assertEquals(1_000, rebuilt.balanceCents(1).getAsLong());
+        }
+    }
+
+    private static LedgerEvent open(EventLog log, long accountId, long cents) {
+        return log.append(LedgerEvent.Type.OPENED, 0, accountId, cents, 0, 0, 0);
+    }
+
+    private static void corrupt(Path file, long recordIndex, int byteOffset) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(recordIndex * EventLog.RECORD_SIZE + byteOffset);
+            raf.write(0x5a);
+        }
+    }
+
+    private static void assertSameBalances(AccountProjection expected, AccountProjection actual) {
+        assertEquals(expected.getAppliedSequence(), actual.getAppliedSequence());
+        for (long account = 1; account <= 20; account++) {
+            assertEquals(expected.balanceCents(account), actual.balanceCents(account), "account " + account);
+        }
+    }
+}
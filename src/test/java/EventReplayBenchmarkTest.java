@@ -0,0 +1,85 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.ledger.AccountProjection;
+import org.banking.ledger.EventLog;
+import org.banking.ledger.LedgerEvent;
+import org.banking.ledger.ProjectionSnapshotStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes 10M ledger events (1M account openings and 9M postings, 640 MB of log), then
+ * times a cold rebuild of the projection by full replay and by loading a snapshot taken
+ * 1M events before the end. Checks the full replay stays within 30 s and the snapshot
+ * cuts it down. Opt-in: {@code mvn test -Dtest=EventReplayBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventReplayBenchmarkTest {
+
+    private static final int ACCOUNTS = 1_000_000;
+    private static final int EVENTS = 10_000_000;
+    private static final int SNAPSHOT_AT = EVENTS - 1_000_000;
+    private static final int REGION_SIZE = 64 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void startupReplay_ShouldRebuildTenMillionEventsQuickly() throws Exception {
+        Path file = directory.resolve("events.log");
+        ProjectionSnapshotStore snapshots = new ProjectionSnapshotStore(Files.createDirectory(directory.resolve("snapshots")), 2);
+        AccountProjection live = new AccountProjection();
+
+        long writeStart = System.nanoTime();
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            Random random = new Random(42);
+            for (long account = 1; account <= ACCOUNTS; account++) {
+                live.apply(log.append(LedgerEvent.Type.OPENED, 0, account, 100_000, 0, 0, 0));
+            }
+            for (long transactionId = 1; log.getLastSequence() < EVENTS; transactionId++) {
+                long from = 1 + random.nextInt(ACCOUNTS);
+                long to = 1 + random.nextInt(ACCOUNTS);
+                long cents = 1 + random.nextInt(10_000);
+                live.apply(log.append(LedgerEvent.Type.POSTED, transactionId, from, -cents, to, cents, transactionId));
+                if (log.getLastSequence() == SNAPSHOT_AT) {
+                    snapshots.write(live.capture());
+                }
+            }
+        }
+        System.out.printf("event log: wrote %d events in %d ms%n", EVENTS, (System.nanoTime() - writeStart) / 1_000_000);
+
+        long fullMillis = rebuild(file, new ProjectionSnapshotStore(Files.createDirectory(directory.resolve("none")), 2), live, "full replay");
+        long snapshotMillis = rebuild(file, snapshots, live, "snapshot + 1M tail");
+
+        assertTrue(fullMillis < 30_000, "full replay took " + fullMillis + " ms");
+        assertTrue(snapshotMillis < fullMillis, "snapshot rebuild took " + snapshotMillis + " ms");
+    }
+
+    private static long rebuild(Path file, ProjectionSnapshotStore snapshots, AccountProjection expected, String label) throws Exception {
+        long start = System.nanoTime();
+        AccountProjection projection;
+        try (EventLog log = new EventLog(file, REGION_SIZE, false)) {
+            projection = AccountProjection.rebuild(log, snapshots);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("  %-20s %6d ms (%d accounts)%n", label, millis, projection.size());
+
+        assertEquals(EVENTS, projection.getAppliedSequence());
+        for (long account = 1; account <= ACCOUNTS; account += 9_973) {
+            assertEquals(expected.balanceCents(account), projection.balanceCents(account));
+        }
+        return millis;
+    }
+}
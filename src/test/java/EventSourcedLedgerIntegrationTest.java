@@ -0,0 +1,151 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.restassured.RestAssured;
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.ledger.EventLog;
+import org.banking.ledger.EventSourcedLedger;
+import org.banking.ledger.ProjectionSnapshotStore;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.event-sourcing.enabled=true",
+        "banking.event-sourcing.region-size=65536",
+        "banking.event-sourcing.snapshot-every-events=5",
+        "banking.event-sourcing.snapshot-check-ms=3600000"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventSourcedLedgerIntegrationTest {
+
+    @TempDir
+    static Path ledgerDirectory;
+
+    @DynamicPropertySource
+    static void ledgerProperties(DynamicPropertyRegistry registry) {
+        registry.add("banking.event-sourcing.directory", () -> ledgerDirectory.toString());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EventSourcedLedger ledger;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        String name = "ledger" + UUID.randomUUID().toString().substring(0, 8);
+        userId = userService.createUser(
+                new UserDto(name, name + "@example.com", "password123", "Ledger User", "+1234567890")).getId();
+    }
+
+    @Test
+    void balances_ShouldBeServedFromMemoryAfterEachCommit() {
+        Long checkingId = account("100.00");
+        Long savingsId = account("0.00");
+
+        post(checkingId, null, "50.00", Transaction.TransactionType.DEPOSIT);
+        post(checkingId, null, "20.00", Transaction.TransactionType.WITHDRAWAL);
+        post(checkingId, savingsId, "30.00", Transaction.TransactionType.TRANSFER);
+
+        assertMatchesDatabase(checkingId);
+        assertEquals(0, new BigDecimal("30.00").compareTo(ledger.getBalance(savingsId)));
+
+        given()
+                .when()
+                .get("/api/accounts/" + savingsId + "/balance")
+                .then()
+                .statusCode(200)
+                .body("balance", equalTo("30.00"))
+                .body("replayedTransactions", equalTo(0));
+
+        Account savings = accountService.getAccountById(savingsId);
+        AccountDto update = new AccountDto(userId, savings.getAccountType(), new BigDecimal("45.50"));
+        update.setStatus(savings.getStatus());
+        accountService.updateAccount(savingsId, update);
+        assertEquals(0, new BigDecimal("45.50").compareTo(ledger.getBalance(savingsId)));
+    }
+
+    @Test
+    void recover_ShouldCatchUpEventsLostBetweenCommitAndAppend() throws IOException {
+        Long fromId = account("500.00");
+        Long toId = account("0.00");
+        for (int i = 0; i < 4; i++) {
+            post(fromId, toId, "10.00", Transaction.TransactionType.TRANSFER);
+        }
+        Long lateId = account("75.00");
+        long lastSequence = ledger.getLastSequence();
+
+        try (RandomAccessFile log = new RandomAccessFile(ledgerDirectory.resolve("events.log").toFile(), "rw")) {
+            log.seek((lastSequence - 3) * EventLog.RECORD_SIZE);
+            log.write(new byte[3 * EventLog.RECORD_SIZE]);
+        }
+        ledger.recover();
+
+        assertEquals(lastSequence, ledger.getLastSequence());
+        assertMatchesDatabase(fromId);
+        assertMatchesDatabase(toId);
+        assertMatchesDatabase(lateId);
+        assertFalse(new ProjectionSnapshotStore(ledgerDirectory, 2).list().isEmpty());
+
+        ledger.recover();
+        assertEquals(lastSequence, ledger.getLastSequence());
+        assertMatchesDatabase(fromId);
+    }
+
+    private void assertMatchesDatabase(Long accountId) {
+        assertEquals(0, accountService.getAccountById(accountId).getBalance().compareTo(ledger.getBalance(accountId)),
+                "account " + accountId);
+    }
+
+    private Long account(String openingBalance) {
+        return accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal(openingBalance))).getId();
+    }
+
+    private void post(Long fromId, Long toId, String amount, Transaction.TransactionType type) {
+        transactionService.createTransaction(new TransactionDto(fromId, toId, new BigDecimal(amount), type, "ledger test"));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.banking.exception.TransactionDeclinedException;
+import org.banking.fraud.AmountSpikeRule;
+import org.banking.fraud.FraudRuleEngine;
+import org.banking.fraud.NewPayeeRule;
+import org.banking.fraud.PostingAttempt;
+import org.banking.fraud.VelocityRule;
+import org.banking.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pushes 2M postings over 100k accounts through the default rule set on 8 threads and
+ * checks the engine sustains well over 50k postings/s with a p99 rule latency in
+ * microseconds. Opt-in: {@code mvn test -Dtest=FraudRuleEngineBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FraudRuleEngineBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int POSTINGS_PER_THREAD = 250_000;
+    private static final int ACCOUNTS = 100_000;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    @Test
+    void engine_ShouldSustainFiftyThousandPostingsPerSecond() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FraudRuleEngine engine = new FraudRuleEngine(List.of(
+                new VelocityRule(Transaction.TransactionType.WITHDRAWAL, 30, 60_000),
+                new AmountSpikeRule(10, 0.1, 5),
+                new NewPayeeRule(3_600_000, 100_000)), registry);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int thread = 0; thread < THREADS; thread++) {
+            long seed = thread;
+            executor.execute(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < POSTINGS_PER_THREAD; i++) {
+                    long accountId = 1 + random.nextInt(ACCOUNTS);
+                    long now = System.currentTimeMillis();
+                    long amount = 1_000 + random.nextInt(200_000);
+                    PostingAttempt attempt = new PostingAttempt(accountId, accountId, accountId + 1, accountId + 1,
+                            now - random.nextInt(7_200_000), TYPES[random.nextInt(TYPES.length)],
+                            amount, amount, now);
+                    try {
+                        engine.check(attempt);
+                    } catch (TransactionDeclinedException ignored) {
+                        // declines are part of the workload
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double throughput = THREADS * POSTINGS_PER_THREAD / seconds;
+
+        System.out.printf("fraud rules: %.0f postings/s over %d threads%n", throughput, THREADS);
+        for (Timer timer : registry.get("banking.fraud.rule.latency").timers()) {
+            double p99Micros = p99(timer) / 1_000;
+            System.out.printf("  %-13s p99 <= %.1f us%n", timer.getId().getTag("rule"), p99Micros);
+            assertTrue(p99Micros < 100, "p99 latency of " + timer.getId().getTag("rule"));
+        }
+        assertTrue(throughput > 50_000, "throughput " + throughput);
+    }
+
+    private static double p99(Timer timer) {
+        double target = timer.count() * 0.99;
+        for (CountAtBucket bucket : timer.takeSnapshot().histogramCounts()) {
+            if (bucket.count() >= target) {
+                return bucket.bucket(TimeUnit.NANOSECONDS);
+            }
+        }
+        return Double.MAX_VALUE;
+    }
+}
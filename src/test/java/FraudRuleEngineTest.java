@@ -0,0 +1,138 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.banking.exception.TransactionDeclinedException;
+import org.banking.fraud.AmountSpikeRule;
+import org.banking.fraud.ConcurrentLongMap;
+import org.banking.fraud.FraudRuleEngine;
+import org.banking.fraud.NewPayeeRule;
+import org.banking.fraud.PostingAttempt;
+import org.banking.fraud.SlidingWindowCounter;
+import org.banking.fraud.VelocityRule;
+import org.banking.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FraudRuleEngineTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void slidingWindowCounter_ShouldForgetExpiredBuckets() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(6, 60_000);
+
+        counter.increment(NOW);
+        counter.increment(NOW + 1_000);
+        assertEquals(3, counter.increment(NOW + 30_000));
+
+        assertEquals(1, counter.count(NOW + 75_000));
+        assertEquals(0, counter.count(NOW + 95_000));
+    }
+
+    @Test
+    void velocityRule_ShouldDeclineOnceLimitIsExceeded() {
+        VelocityRule rule = new VelocityRule(Transaction.TransactionType.WITHDRAWAL, 3, 60_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(rule.evaluate(attempt(1, Transaction.TransactionType.WITHDRAWAL, 1_000, NOW + i)));
+        }
+        assertNotNull(rule.evaluate(attempt(1, Transaction.TransactionType.WITHDRAWAL, 1_000, NOW + 3)));
+        assertNull(rule.evaluate(attempt(2, Transaction.TransactionType.WITHDRAWAL, 1_000, NOW + 3)));
+        assertNull(rule.evaluate(attempt(1, Transaction.TransactionType.DEPOSIT, 1_000, NOW + 3)));
+        assertNull(rule.evaluate(attempt(1, Transaction.TransactionType.WITHDRAWAL, 1_000, NOW + 120_000)));
+    }
+
+    @Test
+    void amountSpikeRule_ShouldCompareWithMovingAverageAfterWarmUp() {
+        AmountSpikeRule rule = new AmountSpikeRule(10, 0.1, 5);
+
+        assertNull(rule.evaluate(attempt(1, Transaction.TransactionType.PAYMENT, 1_000_000, NOW)));
+        for (int i = 0; i < 5; i++) {
+            PostingAttempt small = attempt(1, Transaction.TransactionType.PAYMENT, 2_000, NOW + i);
+            assertNull(rule.evaluate(small));
+            rule.onAccepted(small);
+        }
+
+        assertNull(rule.evaluate(attempt(1, Transaction.TransactionType.PAYMENT, 20_000, NOW)));
+        assertNotNull(rule.evaluate(attempt(1, Transaction.TransactionType.PAYMENT, 20_001, NOW)));
+        assertNull(rule.evaluate(attempt(1, Transaction.TransactionType.DEPOSIT, 1_000_000, NOW)));
+    }
+
+    @Test
+    void newPayeeRule_ShouldDeclineLargeTransfersToFreshAccountsOfOtherUsers() {
+        NewPayeeRule rule = new NewPayeeRule(3_600_000, 100_000);
+        long freshAccount = NOW - 60_000;
+        long oldAccount = NOW - 7_200_000;
+
+        assertNotNull(rule.evaluate(transfer(10, 20, freshAccount, 150_000)));
+        assertNull(rule.evaluate(transfer(10, 20, freshAccount, 50_000)));
+        assertNull(rule.evaluate(transfer(10, 20, oldAccount, 150_000)));
+        assertNull(rule.evaluate(transfer(10, 10, freshAccount, 150_000)));
+    }
+
+    @Test
+    void engine_ShouldStopAtFirstDeclineAndRecordMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AmountSpikeRule spike = new AmountSpikeRule(10, 0.1, 1);
+        FraudRuleEngine engine = new FraudRuleEngine(
+                List.of(new VelocityRule(Transaction.TransactionType.WITHDRAWAL, 1, 60_000), spike), registry);
+
+        engine.check(attempt(1, Transaction.TransactionType.WITHDRAWAL, 1_000, NOW));
+        TransactionDeclinedException declined = assertThrows(TransactionDeclinedException.class,
+                () -> engine.check(attempt(1, Transaction.TransactionType.WITHDRAWAL, 1_000, NOW + 1)));
+        assertEquals("velocity", declined.getRule());
+        assertThrows(TransactionDeclinedException.class,
+                () -> engine.check(attempt(1, Transaction.TransactionType.PAYMENT, 50_000, NOW + 2)));
+
+        assertEquals(1.0, registry.get("banking.fraud.declined").tag("rule", "velocity").counter().count());
+        assertEquals(1.0, registry.get("banking.fraud.declined").tag("rule", "amount-spike").counter().count());
+        assertEquals(3, registry.get("banking.fraud.rule.latency").tag("rule", "velocity").timer().count());
+        assertEquals(2, registry.get("banking.fraud.rule.latency").tag("rule", "amount-spike").timer().count());
+    }
+
+    @Test
+    void concurrentLongMap_ShouldCreateOneValuePerKeyUnderContention() throws Exception {
+        ConcurrentLongMap<SlidingWindowCounter> map = new ConcurrentLongMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (long key = 1; key <= 20_000; key++) {
+                    map.computeIfAbsent(key, k -> new SlidingWindowCounter(6, 60_000)).increment(NOW);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(20_000, map.size());
+        for (long key = 1; key <= 20_000; key++) {
+            assertEquals(8, map.get(key).count(NOW));
+        }
+        assertSame(map.get(7), map.computeIfAbsent(7, k -> new SlidingWindowCounter(6, 60_000)));
+        assertNull(map.get(20_001));
+    }
+
+    private static PostingAttempt attempt(long accountId, Transaction.TransactionType type, long amountCents, long at) {
+        return new PostingAttempt(accountId, accountId * 10, 0, 0, Long.MIN_VALUE, type, amountCents, amountCents, at);
+    }
+
+    private static PostingAttempt transfer(long ownerId, long payeeOwnerId, long payeeCreatedAt, long amountCents) {
+        return new PostingAttempt(1, ownerId, 2, payeeOwnerId, payeeCreatedAt,
+                Transaction.TransactionType.TRANSFER, amountCents, amountCents, NOW);
+    }
+}
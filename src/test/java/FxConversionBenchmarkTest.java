@@ -0,0 +1,104 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.fx.FxRate;
+import org.banking.fx.FxRateTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Converts 8M random amounts between the bundled currencies on one thread per core while
+ * another thread swaps in a freshly parsed rate table every millisecond, the way the
+ * engine reloads, and checks a lookup plus conversion costs well under a microsecond per
+ * posting. Opt-in: {@code mvn test -Dtest=FxConversionBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FxConversionBenchmarkTest {
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int POSTINGS = 8_000_000;
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "EGP", "AED", "INR"};
+
+    private volatile FxRateTable rates;
+
+    @Test
+    void conversion_ShouldCostLessThanAMicrosecondPerPosting() throws Exception {
+        rates = load();
+        BigDecimal[] amounts = new BigDecimal[1024];
+        Random random = new Random(42);
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2);
+        }
+
+        Thread reloader = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    rates = load();
+                    Thread.sleep(1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        reloader.start();
+
+        AtomicLong checksum = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int thread = 0; thread < THREADS; thread++) {
+            long seed = thread;
+            executor.execute(() -> {
+                Random threadRandom = new Random(seed);
+                long sum = 0;
+                for (int i = 0; i < POSTINGS / THREADS; i++) {
+                    String from = CURRENCIES[threadRandom.nextInt(CURRENCIES.length)];
+                    String to = CURRENCIES[threadRandom.nextInt(CURRENCIES.length)];
+                    BigDecimal amount = amounts[i & (amounts.length - 1)];
+                    if (from.equals(to)) {
+                        sum += amount.unscaledValue().longValue();
+                        continue;
+                    }
+                    FxRate rate = rates.find(from, to);
+                    sum += rate.convert(amount).unscaledValue().longValue();
+                }
+                checksum.addAndGet(sum);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsed = System.nanoTime() - start;
+        reloader.interrupt();
+        reloader.join();
+
+        double nanosPerPosting = (double) elapsed * THREADS / POSTINGS;
+        System.out.printf("fx conversion: %.0f ns per posting, %.0f postings/s over %d threads (checksum %d)%n",
+                nanosPerPosting, POSTINGS / (elapsed / 1e9), THREADS, checksum.get());
+        assertTrue(nanosPerPosting < 1_000, "ns per posting " + nanosPerPosting);
+    }
+
+    private static FxRateTable load() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                FxConversionBenchmarkTest.class.getResourceAsStream("/fx-rates.csv"), StandardCharsets.UTF_8))) {
+            return FxRateTable.parse(reader, "USD", Instant.now());
+        }
+    }
+}
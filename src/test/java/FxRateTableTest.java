@@ -0,0 +1,122 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.fx.Currencies;
+import org.banking.fx.FxRate;
+import org.banking.fx.FxRateTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FxRateTableTest {
+
+    private static final String RATES = """
+            # sample table
+            EUR,USD,1.0834
+            GBP,USD,1.2710
+
+            USD,JPY,149.237
+            """;
+
+    @Test
+    void quotedRate_ShouldConvertToTheMinorUnitOfTheTarget() throws IOException {
+        FxRateTable table = parse(RATES);
+
+        FxRate eurUsd = table.find("EUR", "USD");
+        assertEquals(new BigDecimal("1.0834000000"), eurUsd.rate());
+        assertEquals(new BigDecimal("108.34"), eurUsd.convert(new BigDecimal("100.00")));
+        assertEquals(new BigDecimal("0.01"), eurUsd.convert(new BigDecimal("0.01")));
+
+        FxRate usdJpy = table.find("USD", "JPY");
+        assertEquals(0, usdJpy.scale());
+        assertEquals(new BigDecimal("1492"), usdJpy.convert(new BigDecimal("10.00")));
+        assertEquals(new BigDecimal("1494"), usdJpy.convert(new BigDecimal("10.01")));
+    }
+
+    @Test
+    void conversion_ShouldRoundHalfToEven() throws IOException {
+        FxRate rate = parse("EUR,USD,1.5").find("EUR", "USD");
+
+        assertEquals(new BigDecimal("0.02"), rate.convert(new BigDecimal("0.01")));
+        assertEquals(new BigDecimal("0.04"), rate.convert(new BigDecimal("0.03")));
+        assertEquals(new BigDecimal("0.08"), rate.convert(new BigDecimal("0.05")));
+    }
+
+    @Test
+    void missingDirections_ShouldBeDerivedAtRateScale() throws IOException {
+        FxRateTable table = parse(RATES);
+
+        assertEquals(new BigDecimal("0.0067007512"), table.find("JPY", "USD").rate());
+        assertEquals(new BigDecimal("0.7867820614"), table.find("USD", "GBP").rate());
+        // Crossed through the USD pivot from the two scaled legs
+        FxRate eurGbp = table.find("EUR", "GBP");
+        assertEquals(new BigDecimal("0.8523996853"), eurGbp.rate());
+        assertEquals(new BigDecimal("85.24"), eurGbp.convert(new BigDecimal("100.00")));
+        assertEquals(FxRateTable.RATE_SCALE, table.find("GBP", "JPY").rate().scale());
+        // 3 quotes, 3 reverses, EUR/GBP, GBP/EUR, EUR/JPY, GBP/JPY, JPY/EUR and JPY/GBP
+        assertEquals(12, table.size());
+    }
+
+    @Test
+    void quotes_ShouldWinOverDerivedRates() throws IOException {
+        FxRateTable table = parse("""
+                EUR,USD,1.0834
+                USD,EUR,0.93
+                """);
+
+        assertEquals(new BigDecimal("0.9300000000"), table.find("USD", "EUR").rate());
+        assertEquals(new BigDecimal("1.0834000000"), table.find("EUR", "USD").rate());
+    }
+
+    @Test
+    void unknownPairs_ShouldNotBeFound() throws IOException {
+        FxRateTable table = parse(RATES);
+
+        assertNull(table.find("USD", "CHF"));
+        assertNull(table.find("USD", "US"));
+        assertNull(table.find("USD", "USD"));
+    }
+
+    @Test
+    void badLines_ShouldBeRejectedWithTheirLineNumber() {
+        assertRejected("EUR,USD,1.08\nGBP,USD\n", "line 2");
+        assertRejected("EUR,USD,1.08\nEUR,USD,1.09\n", "line 2: EUR/USD is quoted twice");
+        assertRejected("# header\nEUR,XYZ,1.08\n", "line 2: Unknown currency");
+        assertRejected("BHD,USD,2.65\n", "line 1: Currency BHD is not supported");
+        assertRejected("EUR,EUR,1\n", "line 1");
+        assertRejected("EUR,USD,0.00000000001\n", "line 1: rate must be positive");
+        assertRejected("EUR,USD,abc\n", "line 1");
+    }
+
+    @Test
+    void currencies_ShouldEnforceMinorUnits() {
+        assertEquals("EUR", Currencies.normalize("eur"));
+        Currencies.requireMinorUnits(new BigDecimal("10.50"), "USD");
+        Currencies.requireMinorUnits(new BigDecimal("1500.00"), "JPY");
+
+        assertThrows(IllegalArgumentException.class, () -> Currencies.requireMinorUnits(new BigDecimal("10.005"), "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Currencies.requireMinorUnits(new BigDecimal("1500.5"), "JPY"));
+        assertThrows(IllegalArgumentException.class, () -> Currencies.normalize("EURO"));
+    }
+
+    private static void assertRejected(String rates, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> parse(rates));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    private static FxRateTable parse(String rates) throws IOException {
+        return FxRateTable.parse(new BufferedReader(new StringReader(rates)), "USD", Instant.EPOCH);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.dto.UserDto;
+import org.banking.interest.AccrualReport;
+import org.banking.interest.InterestAccrualEngine;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Serial versus partitioned end-of-day run over a large book of savings and credit
+ * accounts. Opt-in:
+ * {@code mvn test -Dtest=InterestAccrualBenchmarkTest -Dbenchmark=true [-Dinterest-accounts=200000]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "banking.interest.enabled=false")
+@ActiveProfiles("test")
+@DirtiesContext
+class InterestAccrualBenchmarkTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InterestAccrualEngine interestAccrualEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void partitionedRun_ShouldOutpaceSerialRun() {
+        int accounts = Integer.getInteger("interest-accounts", 200_000);
+        Long userId = userService.createUser(
+                new UserDto("accrual", "accrual@example.com", "password123", "Accrual Benchmark", "+1234567890")).getId();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < accounts; i++) {
+            boolean credit = i % 2 == 1;
+            batch.add(new Object[]{String.format("BENCH%012d", i), userId, credit ? "CREDIT" : "SAVINGS",
+                    new BigDecimal(credit ? -(1_000 + i % 9_000) : 1_000 + i % 9_000),
+                    credit ? new BigDecimal("15000.00") : BigDecimal.ZERO, now, now});
+            if (batch.size() == 10_000 || i == accounts - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO accounts (account_number, user_id, account_type, status, balance, "
+                        + "credit_limit, created_at, updated_at) VALUES (?, ?, ?, 'ACTIVE', ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        AccrualReport serial = interestAccrualEngine.accrue(LocalDate.of(2025, 1, 1), 1);
+        AccrualReport parallel = interestAccrualEngine.accrue(LocalDate.of(2025, 1, 2), 8);
+
+        System.out.printf("interest: serial %.0f accounts/s, %d partitions %.0f accounts/s%n",
+                serial.accountsPerSecond(), parallel.partitions(), parallel.accountsPerSecond());
+        assertEquals(accounts, serial.accounts());
+        assertEquals(accounts, parallel.accounts());
+        assertEquals(serial.postings(), parallel.postings());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.event.AccountSnapshot;
+import org.banking.interest.AccrualReport;
+import org.banking.interest.InterestAccrualEngine;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"banking.interest.enabled=false", "banking.interest.chunk-size=37"})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class InterestAccrualIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+    private static final int ACCOUNTS = 300;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private InterestAccrualEngine interestAccrualEngine;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> accountIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Long userId = userService.createUser(
+                new UserDto("interest", "interest@example.com", "password123", "Interest User", "+1234567890")).getId();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account.AccountType type = Account.AccountType.values()[i % 3];
+            AccountDto dto = new AccountDto(userId, type, new BigDecimal(i * 137 + 11).movePointLeft(1));
+            if (type == Account.AccountType.CREDIT) {
+                dto.setCreditLimit(new BigDecimal("5000.00"));
+            }
+            accountIds.add(accountService.createAccount(dto).getId());
+        }
+        // Every other credit account has borrowed; the rest only hold a deposit
+        jdbcTemplate.update("UPDATE accounts SET balance = -balance WHERE account_type = 'CREDIT' AND MOD(id, 2) = 0");
+    }
+
+    @Test
+    void dailyInterest_ShouldRoundHalfEvenOnce() {
+        assertEquals(new BigDecimal("0.05"), interest(Account.AccountType.SAVINGS, "1000.00", null));
+        assertEquals(new BigDecimal("0.55"), interest(Account.AccountType.SAVINGS, "10000.00", null));
+        assertEquals(new BigDecimal("0.00"), interest(Account.AccountType.SAVINGS, "91.25", null));
+        assertEquals(new BigDecimal("0.02"), interest(Account.AccountType.SAVINGS, "273.75", null));
+        assertEquals(new BigDecimal("-0.55"), interest(Account.AccountType.CREDIT, "-1000.00", "5000.00"));
+        assertEquals(new BigDecimal("-0.01"), interest(Account.AccountType.CREDIT, "-9.13", "500.00"));
+        assertEquals(new BigDecimal("0.00"), interest(Account.AccountType.CREDIT, "-9.12", "500.00"));
+        // A deposit on a credit account is not borrowed money, whatever the limit
+        assertEquals(0, interest(Account.AccountType.CREDIT, "100.00", "5000.00").signum());
+        assertEquals(0, interest(Account.AccountType.CREDIT, "0.00", "5000.00").signum());
+        assertEquals(0, interest(Account.AccountType.CHECKING, "1000.00", null).signum());
+    }
+
+    @Test
+    void parallelRun_ShouldPostExactlyWhatSerialRunPosts() {
+        Map<Long, BigDecimal> openingBalances = balances();
+
+        AccrualReport serial = interestAccrualEngine.accrue(DAY, 1);
+        Map<String, BigDecimal> serialPostings = postings();
+        Map<Long, BigDecimal> serialBalances = balances();
+
+        reset(openingBalances);
+        AccrualReport parallel = interestAccrualEngine.accrue(DAY, 4);
+
+        assertEquals(1, serial.partitions());
+        assertEquals(4, parallel.partitions());
+        assertEquals(serial.accounts(), parallel.accounts());
+        assertEquals(serial.postings(), parallel.postings());
+        assertEquals(serial.interestCredited(), parallel.interestCredited());
+        assertEquals(serial.interestCharged(), parallel.interestCharged());
+        assertEquals(serialPostings, postings());
+        assertEquals(serialBalances, balances());
+        assertEquals(serial.postings(), serialPostings.size());
+        assertTrue(serial.interestCredited().signum() > 0);
+        assertTrue(serial.interestCharged().signum() > 0);
+    }
+
+    @Test
+    void postingInFlight_ShouldNotOverwriteInterest() throws Exception {
+        Long savingsId = accountIds.get(0);
+        jdbcTemplate.update("UPDATE accounts SET balance = 1000.00 WHERE id = ?", savingsId);
+        CompletableFuture<AccrualReport> run = new CompletableFuture<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.createTransaction(new TransactionDto(savingsId, null, new BigDecimal("9000.00"),
+                    Transaction.TransactionType.DEPOSIT, "in flight"));
+            CompletableFuture.runAsync(() -> run.complete(interestAccrualEngine.accrue(DAY, 1)));
+            try {
+                // The chunk holding the account waits for the posting's lock
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertFalse(run.isDone());
+        });
+        run.get(30, TimeUnit.SECONDS);
+
+        assertEquals(new BigDecimal("10000.55"), balances().get(savingsId));
+    }
+
+    @Test
+    void interruptedRun_ShouldResumeAfterLastCheckpoint() {
+        Long resumeAfter = accountIds.get(99);
+        jdbcTemplate.update("INSERT INTO interest_checkpoints (accrual_date, partition_no, partitions, last_account_id, "
+                + "accounts, postings, completed) VALUES (?, 0, 1, ?, 100, 66, FALSE)", Date.valueOf(DAY), resumeAfter);
+
+        AccrualReport resumed = interestAccrualEngine.accrue(DAY, 4);
+
+        assertEquals(1, resumed.partitions());
+        assertEquals(ACCOUNTS - 100, resumed.accounts());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE transaction_reference LIKE 'INT-%' AND from_account_id <= ?", Integer.class, resumeAfter));
+        assertEquals(resumed.postings(), postings().size());
+        assertEquals(0, interestAccrualEngine.accrue(DAY, 4).accounts());
+    }
+
+    private BigDecimal interest(Account.AccountType type, String balance, String creditLimit) {
+        return interestAccrualEngine.dailyInterest(new AccountSnapshot(1L, 1L, "ACC1", type, Account.AccountStatus.ACTIVE,
+                new BigDecimal(balance), "USD", creditLimit != null ? new BigDecimal(creditLimit) : null, null));
+    }
+
+    private Map<String, BigDecimal> postings() {
+        Map<String, BigDecimal> postings = new TreeMap<>();
+        jdbcTemplate.query("SELECT transaction_reference, transaction_type, amount FROM transactions "
+                + "WHERE transaction_reference LIKE 'INT-%'", rs -> {
+            BigDecimal amount = rs.getBigDecimal("amount");
+            postings.put(rs.getString("transaction_reference"),
+                    "DEPOSIT".equals(rs.getString("transaction_type")) ? amount : amount.negate());
+        });
+        return postings;
+    }
+
+    private Map<Long, BigDecimal> balances() {
+        Map<Long, BigDecimal> balances = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, balance FROM accounts", rs -> {
+            balances.put(rs.getLong("id"), rs.getBigDecimal("balance"));
+        });
+        return balances;
+    }
+
+    private void reset(Map<Long, BigDecimal> openingBalances) {
+        jdbcTemplate.update("DELETE FROM transactions WHERE transaction_reference LIKE 'INT-%'");
+        jdbcTemplate.update("DELETE FROM interest_checkpoints");
+        openingBalances.forEach((id, balance) ->
+                jdbcTemplate.update("UPDATE accounts SET balance = ? WHERE id = ?", balance, id));
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.banking.dto.UserDto;
+import org.banking.fx.FxRateEngine;
+import org.banking.reconciliation.ReconciliationEngine;
+import org.banking.service.AccountService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.fx.reload-check-ms=3600000",
+        "banking.reconciliation.enabled=false",
+        "banking.reconciliation.in-flight-grace-ms=0",
+        "banking.snapshots.enabled=false"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class MultiCurrencyIntegrationTest {
+
+    private static final String RATES = """
+            EUR,USD,1.0834
+            GBP,USD,1.2710
+            USD,JPY,149.237
+            """;
+
+    @TempDir
+    static Path rateDirectory;
+
+    @DynamicPropertySource
+    static void rateProperties(DynamicPropertyRegistry registry) {
+        Path rateFile = writeRates(RATES);
+        registry.add("banking.fx.rate-file", () -> "file:" + rateFile);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private FxRateEngine fxRateEngine;
+
+    @Autowired
+    private ReconciliationEngine reconciliationEngine;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        String name = "fx" + UUID.randomUUID().toString().substring(0, 8);
+        userId = userService.createUser(
+                new UserDto(name, name + "@example.com", "password123", "FX User", "+1234567890")).getId();
+    }
+
+    @Test
+    void transfer_ShouldCreditTheConvertedAmount() {
+        Long eurId = account("EUR", "500.00");
+        Long usdId = account("USD", "0.00");
+
+        transfer(eurId, usdId, "100.00", 201)
+                .body("currency", equalTo("EUR"))
+                .body("amount", equalTo("100.00"))
+                .body("creditedAmount", equalTo("108.34"))
+                .body("fxRate", equalTo("1.0834000000"));
+        assertBalance(eurId, "400.00");
+        assertBalance(usdId, "108.34");
+
+        // Derived reverse rate, rounded half-even to the cent
+        transfer(usdId, eurId, "8.34", 201)
+                .body("creditedAmount", equalTo("7.70"))
+                .body("fxRate", equalTo("0.9230201218"));
+        assertBalance(usdId, "100.00");
+        assertBalance(eurId, "407.70");
+
+        assertEquals(0, reconciliationEngine.reconcileAll().drifted());
+    }
+
+    @Test
+    void newPayeeThreshold_ShouldApplyToTheUsdValueOfAJpyTransfer() {
+        Long jpyId = account("JPY", "1000000");
+        userId = userService.createUser(new UserDto("payee" + userId, "payee" + userId + "@example.com",
+                "password123", "Payee", "+1234567890")).getId();
+        Long payeeId = account("USD", "0.00");
+
+        // 100,000 JPY is about 670 USD, under the 1,000.00 USD threshold
+        transfer(jpyId, payeeId, "100000", 201).body("creditedAmount", equalTo("670.08"));
+        // 200,000 JPY is about 1,340 USD
+        transfer(jpyId, payeeId, "200000", 422);
+        assertBalance(jpyId, "900000");
+    }
+
+    @Test
+    void crossRate_ShouldRoundToTheMinorUnitOfTheTarget() {
+        Long gbpId = account("GBP", "50.00");
+        Long jpyId = account("JPY", "0");
+
+        String credited = transfer(gbpId, jpyId, "10.00", 201)
+                .body("fxRate", equalTo("189.6802270000"))
+                .extract().path("creditedAmount");
+        assertEquals(0, new BigDecimal("1897").compareTo(new BigDecimal(credited)));
+        assertBalance(jpyId, "1897");
+
+        transfer(jpyId, gbpId, "1000.5", 400)
+                .body("message", equalTo("JPY amounts have at most 0 decimal places"));
+        transfer(jpyId, gbpId, "1", 201).body("creditedAmount", equalTo("0.01"));
+    }
+
+    @Test
+    void sameCurrencyTransfer_ShouldNotConvert() {
+        Long fromId = account("EUR", "100.00");
+        Long toId = account("EUR", "0.00");
+
+        transfer(fromId, toId, "25.00", 201)
+                .body("creditedAmount", equalTo("25.00"))
+                .body("fxRate", nullValue());
+        assertBalance(toId, "25.00");
+    }
+
+    @Test
+    void accounts_ShouldDefaultToUsdAndKeepTheirCurrency() {
+        Long usdId = createAccount(null, "10.00", 201)
+                .body("currency", equalTo("USD"))
+                .extract().<Integer>path("id").longValue();
+        createAccount("eur", "10.00", 201).body("currency", equalTo("EUR"));
+        createAccount("XYZ", "10.00", 400);
+        createAccount("JPY", "10.50", 400);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(accountJson("EUR", "10.00"))
+                .when()
+                .put("/api/accounts/" + usdId)
+                .then()
+                .statusCode(400)
+                .body("message", equalTo("The currency of an account cannot be changed"));
+    }
+
+    @Test
+    void userSummary_ShouldKeepTotalsPerCurrencyAndConvertThemWhenRead() {
+        Long eurId = account("EUR", "500.00");
+        Long usdId = account("USD", "100.00");
+        account("JPY", "1000");
+        transfer(eurId, usdId, "100.00", 201);
+
+        // 208.34 USD + 400.00 EUR at 1.0834 + 1000 JPY at the derived 0.0067007512
+        summary()
+                .body("reportingCurrency", equalTo("USD"))
+                .body("balancesByCurrency.EUR.totalBalance", equalTo("400.00"))
+                .body("balancesByCurrency.USD.balancesByType.CHECKING", equalTo("208.34"))
+                .body("balancesByCurrency.JPY.totalBalance", equalTo("1000"))
+                .body("balancesByType.CHECKING", equalTo("648.40"))
+                .body("totalBalance", equalTo("648.40"))
+                .body("totalAccounts", equalTo(3));
+
+        account("CHF", "10.00");
+        summary()
+                .body("balancesByCurrency.CHF.totalBalance", equalTo("10.00"))
+                .body("balancesByCurrency.EUR.totalBalance", equalTo("400.00"))
+                .body("totalBalance", nullValue())
+                .body("balancesByType", nullValue());
+    }
+
+    @Test
+    void pairWithoutRate_ShouldBeRejected() {
+        Long usdId = account("USD", "100.00");
+        Long chfId = account("CHF", "0.00");
+
+        transfer(usdId, chfId, "10.00", 400)
+                .body("message", equalTo("No FX rate from USD to CHF"));
+        assertBalance(usdId, "100.00");
+    }
+
+    @Test
+    void changedRateFile_ShouldBeSwappedInAndBadOnesIgnored() throws IOException {
+        Long usdId = account("USD", "100.00");
+        Long cadId = account("CAD", "0.00");
+        transfer(usdId, cadId, "10.00", 400);
+
+        Path rateFile = writeRates(RATES + "USD,CAD,1.3605\n");
+        touch(rateFile, 60_000);
+        assertTrue(fxRateEngine.reloadIfChanged());
+        assertFalse(fxRateEngine.reloadIfChanged());
+        // 13.605 is a tie and rounds to the even cent
+        transfer(usdId, cadId, "10.00", 201).body("creditedAmount", equalTo("13.60"));
+
+        writeRates("USD,CAD\n");
+        touch(rateFile, 120_000);
+        assertFalse(fxRateEngine.reloadIfChanged());
+        transfer(usdId, cadId, "10.00", 201).body("creditedAmount", equalTo("13.60"));
+        assertBalance(cadId, "27.20");
+    }
+
+    private static Path writeRates(String rates) {
+        try {
+            return Files.writeString(rateDirectory.resolve("fx-rates.csv"), rates);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void touch(Path file, long aheadMillis) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + aheadMillis));
+    }
+
+    private void assertBalance(Long accountId, String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(accountService.getAccountById(accountId).getBalance()),
+                "account " + accountId);
+    }
+
+    private Long account(String currency, String openingBalance) {
+        return createAccount(currency, openingBalance, 201).extract().<Integer>path("id").longValue();
+    }
+
+    private ValidatableResponse createAccount(String currency, String openingBalance, int status) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(accountJson(currency, openingBalance))
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(status);
+    }
+
+    private String accountJson(String currency, String balance) {
+        return String.format("""
+                {
+                    "userId": %d,
+                    "accountType": "CHECKING",
+                    "balance": %s,
+                    "currency": %s
+                }
+                """, userId, balance, currency == null ? null : "\"" + currency + "\"");
+    }
+
+    private ValidatableResponse summary() {
+        return given()
+                .when()
+                .get("/api/users/" + userId + "/summary")
+                .then()
+                .statusCode(200);
+    }
+
+    private ValidatableResponse transfer(Long fromId, Long toId, String amount, int status) {
+        String json = String.format("""
+                {
+                    "fromAccountId": %d,
+                    "toAccountId": %d,
+                    "amount": %s,
+                    "transactionType": "TRANSFER",
+                    "description": "fx test"
+                }
+                """, fromId, toId, amount);
+        return given()
+                .contentType(ContentType.JSON)
+                .body(json)
+                .when()
+                .post("/api/transactions")
+                .then()
+                .statusCode(status);
+    }
+}
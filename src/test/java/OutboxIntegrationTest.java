@@ -0,0 +1,246 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.outbox.OutboxMessage;
+import org.banking.outbox.OutboxRelay;
+import org.banking.outbox.OutboxSink;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "banking.outbox.sink=file",
+        "banking.outbox.relay.batch-size=4",
+        "banking.outbox.relay.interval-ms=3600000",
+        "banking.outbox.relay.settle-ms=0",
+        "banking.outbox.relay.max-backoff-ms=100"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OutboxIntegrationTest {
+
+    @TempDir
+    static Path outboxDirectory;
+
+    @DynamicPropertySource
+    static void outboxProperties(DynamicPropertyRegistry registry) {
+        registry.add("banking.outbox.file", () -> outboxDirectory.resolve("events.jsonl").toString());
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @SpyBean
+    private OutboxSink outboxSink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        String name = "outbox" + UUID.randomUUID().toString().substring(0, 8);
+        userId = userService.createUser(
+                new UserDto(name, name + "@example.com", "password123", "Outbox User", "+1234567890")).getId();
+    }
+
+    @Test
+    void posting_ShouldWriteItsEventsInTheSameTransaction() throws IOException {
+        Long fromId = account("100.00");
+        Long toId = account("0.00");
+        assertEquals(List.of("ACCOUNT_CREATED"), eventTypes(fromId));
+
+        Transaction transfer = transactionService.createTransaction(
+                new TransactionDto(fromId, toId, new BigDecimal("40.00"), Transaction.TransactionType.TRANSFER, "outbox"));
+
+        assertEquals(List.of("ACCOUNT_CREATED", "TRANSACTION_POSTED", "BALANCE_CHANGED"), eventTypes(fromId));
+        assertEquals(List.of("ACCOUNT_CREATED", "BALANCE_CHANGED"), eventTypes(toId));
+        JsonNode balanceChange = objectMapper.readTree(jdbcTemplate.queryForObject(
+                "SELECT payload FROM outbox_events WHERE aggregate_id = ? AND event_type = 'BALANCE_CHANGED'",
+                String.class, toId));
+        assertEquals(0, new BigDecimal("40.00").compareTo(balanceChange.get("balance").decimalValue()));
+        assertEquals("USD", balanceChange.get("currency").asText());
+        assertEquals(transfer.getId().longValue(), balanceChange.get("transactionId").asLong());
+    }
+
+    @Test
+    void rolledBackPosting_ShouldLeaveNoOutboxRows() {
+        Long accountId = account("100.00");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.createTransaction(new TransactionDto(accountId, null, new BigDecimal("25.00"),
+                    Transaction.TransactionType.DEPOSIT, "rolled back"));
+            assertEquals(3, eventTypes(accountId).size());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of("ACCOUNT_CREATED"), eventTypes(accountId));
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountService.getAccountById(accountId).getBalance()));
+    }
+
+    @Test
+    void relay_ShouldAppendToTheSinkOnceAndMarkRowsPublished() throws IOException {
+        Long accountId = account("100.00");
+        deposit(accountId);
+        drain();
+
+        assertEquals(0, outboxRelay.relay());
+        assertEquals(0, pending(accountId));
+        List<String> lines = linesFor(accountId);
+        assertEquals(3, lines.size());
+        List<Long> ids = new ArrayList<>();
+        for (String line : lines) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void failingAccount_ShouldNotStarveOtherAccounts() throws Exception {
+        Long failingId = account("100.00");
+        Long healthyId = account("100.00");
+        drain();
+
+        doAnswer(invocation -> {
+            List<OutboxMessage> batch = invocation.getArgument(0);
+            if (batch.get(0).aggregateId().equals(failingId)) {
+                throw new IllegalStateException("sink down for account " + failingId);
+            }
+            return invocation.callRealMethod();
+        }).when(outboxSink).publish(anyList());
+
+        // Three deposits are six rows, more than a whole page of four
+        for (int i = 0; i < 3; i++) {
+            deposit(failingId);
+        }
+        deposit(healthyId);
+
+        assertEquals(2, outboxRelay.relay());
+        assertEquals(0, pending(healthyId));
+        assertEquals(6, pending(failingId));
+
+        // Backed off, then delivered once the sink recovers
+        assertEquals(0, outboxRelay.relay());
+        doAnswer(invocation -> invocation.callRealMethod()).when(outboxSink).publish(anyList());
+        Thread.sleep(150);
+        assertEquals(6, drain());
+        assertEquals(0, pending(failingId));
+        assertEquals(7, linesFor(failingId).size());
+    }
+
+    @Test
+    void unsettledRows_ShouldBeHeldBackUntilOlderThanTheSettleWindow() {
+        Long accountId = account("100.00");
+        drain();
+
+        ReflectionTestUtils.setField(outboxRelay, "settleMillis", 60_000L);
+        try {
+            deposit(accountId);
+            // A lower id still in an open transaction could commit after these rows
+            assertEquals(0, outboxRelay.relay());
+            assertEquals(2, pending(accountId));
+
+            jdbcTemplate.update(
+                    "UPDATE outbox_events SET created_at = ? WHERE aggregate_id = ? AND published_at IS NULL",
+                    LocalDateTime.now().minusMinutes(2), accountId);
+            assertEquals(2, outboxRelay.relay());
+            assertEquals(0, pending(accountId));
+        } finally {
+            ReflectionTestUtils.setField(outboxRelay, "settleMillis", 0L);
+        }
+    }
+
+    /** Relays page after page until nothing is left. */
+    private int drain() {
+        int total = 0;
+        int relayed;
+        while ((relayed = outboxRelay.relay()) > 0) {
+            total += relayed;
+        }
+        return total;
+    }
+
+    private List<String> eventTypes(Long accountId) {
+        return jdbcTemplate.queryForList(
+                "SELECT event_type FROM outbox_events WHERE aggregate_id = ? ORDER BY id", String.class, accountId);
+    }
+
+    private int pending(Long accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ? AND published_at IS NULL",
+                Integer.class, accountId);
+    }
+
+    private List<String> linesFor(Long accountId) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(outboxDirectory.resolve("events.jsonl"))) {
+            if (objectMapper.readTree(line).get("aggregateId").asLong() == accountId) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private void deposit(Long accountId) {
+        transactionService.createTransaction(new TransactionDto(accountId, null, new BigDecimal("10.00"),
+                Transaction.TransactionType.DEPOSIT, "outbox"));
+    }
+
+    private Long account(String openingBalance) {
+        return accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal(openingBalance))).getId();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.outbox.InProcessOutboxSink;
+import org.banking.outbox.LocalBrokerOutboxSink;
+import org.banking.outbox.OutboxMessage;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+class OutboxSinkTest {
+
+    @Test
+    void broker_ShouldKeepEachAccountOnOnePartitionInOrder() throws InterruptedException {
+        LocalBrokerOutboxSink sink = new LocalBrokerOutboxSink(4, 10);
+        sink.publish(List.of(message(1, 5), message(2, 5), message(3, 6)));
+        sink.publish(List.of(message(4, 5)));
+
+        int partition = sink.partitionFor(5L);
+        assertEquals(1, partition);
+        assertEquals(1L, sink.poll(partition, 1, TimeUnit.SECONDS).id());
+        assertEquals(2L, sink.poll(partition, 1, TimeUnit.SECONDS).id());
+        assertEquals(4L, sink.poll(partition, 1, TimeUnit.SECONDS).id());
+        assertNull(sink.poll(partition, 10, TimeUnit.MILLISECONDS));
+        assertEquals(3L, sink.poll(sink.partitionFor(6L), 1, TimeUnit.SECONDS).id());
+    }
+
+    @Test
+    void fullBrokerPartition_ShouldFailTheBatch() {
+        LocalBrokerOutboxSink sink = new LocalBrokerOutboxSink(1, 2);
+
+        assertThrows(IllegalStateException.class,
+                () -> sink.publish(List.of(message(1, 7), message(2, 7), message(3, 7))));
+    }
+
+    @Test
+    void inProcess_ShouldRepublishEachMessageInOrder() {
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        InProcessOutboxSink sink = new InProcessOutboxSink();
+        ReflectionTestUtils.setField(sink, "eventPublisher", publisher);
+        OutboxMessage first = message(1, 5);
+        OutboxMessage second = message(2, 5);
+
+        sink.publish(List.of(first, second));
+
+        InOrder order = inOrder(publisher);
+        order.verify(publisher).publishEvent(first);
+        order.verify(publisher).publishEvent(second);
+        order.verifyNoMoreInteractions();
+    }
+
+    private static OutboxMessage message(long id, long accountId) {
+        return new OutboxMessage(id, "ACCOUNT", accountId, "BALANCE_CHANGED", "{}", LocalDateTime.now());
+    }
+}
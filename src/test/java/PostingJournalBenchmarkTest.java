@@ -0,0 +1,137 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.journal.PostingJournal;
+import org.banking.journal.WriteAheadJournal;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 32 threads post 20,000 transfers between 1,000 accounts, first one database commit per
+ * posting, then through the posting journal. Prints commit latency p50/p99, throughput
+ * and the mean number of postings per journal fsync, and checks group commit kicks in.
+ * Opt-in: {@code mvn test -Dtest=PostingJournalBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "banking.journal.enabled=true",
+        "banking.journal.apply-batch-size=1000",
+        "banking.fraud.velocity.enabled=false",
+        "banking.fraud.amount-spike.enabled=false",
+        "banking.fraud.new-payee.enabled=false"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+class PostingJournalBenchmarkTest {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int THREADS = 32;
+    private static final int POSTINGS = 20_000;
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("banking.journal.directory", () -> journalDirectory.toString());
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PostingJournal postingJournal;
+
+    @Test
+    void journaledPostings_ShouldShareFsyncs() throws Exception {
+        Long userId = userService.createUser(
+                new UserDto("journalbench", "journalbench@example.com", "password123", "Journal Benchmark", "+1234567890")).getId();
+        long[] accountIds = new long[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = accountService.createAccount(
+                    new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal("1000000.00"))).getId();
+        }
+
+        run("synchronous", accountIds, transactionService::createTransaction);
+        WriteAheadJournal journal = postingJournal.getJournal();
+        long flushesBefore = journal.getFlushCount();
+        long entriesBefore = journal.getFlushedEntries();
+        run("journaled", accountIds, transactionService::submitTransaction);
+
+        long flushes = journal.getFlushCount() - flushesBefore;
+        long entries = journal.getFlushedEntries() - entriesBefore;
+        System.out.printf("  %d fsyncs, %.1f postings per fsync%n", flushes, (double) entries / flushes);
+
+        long applyStart = System.nanoTime();
+        assertTrue(postingJournal.awaitApplied(Duration.ofMinutes(5)));
+        System.out.printf("  backlog applied in %d ms%n", (System.nanoTime() - applyStart) / 1_000_000);
+        assertEquals(POSTINGS, entries);
+        assertTrue(flushes * 2 < entries, "only " + entries + " postings over " + flushes + " fsyncs");
+    }
+
+    private static void run(String label, long[] accountIds, Function<TransactionDto, Transaction> poster)
+            throws InterruptedException {
+        long[] latencies = new long[POSTINGS];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = next.getAndIncrement(); i < POSTINGS; i = next.getAndIncrement()) {
+                    int from = random.nextInt(ACCOUNTS);
+                    int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                    long posted = System.nanoTime();
+                    poster.apply(new TransactionDto(accountIds[from], accountIds[to], new BigDecimal("1.00"),
+                            Transaction.TransactionType.TRANSFER, "journal benchmark"));
+                    latencies[i] = System.nanoTime() - posted;
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-12s %6d ms, %7.0f postings/s, p50 %.2f ms, p99 %.2f ms%n", label, millis,
+                POSTINGS * 1000.0 / millis, latencies[POSTINGS / 2] / 1e6, latencies[POSTINGS * 99 / 100] / 1e6);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.banking.dto.AccountDto;
+import org.banking.dto.UserDto;
+import org.banking.journal.JournalEntry;
+import org.banking.journal.PostingJournal;
+import org.banking.journal.WriteAheadJournal;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.journal.enabled=true",
+        "banking.journal.segment-size=4096",
+        "banking.journal.retry-delay-ms=50"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class PostingJournalIntegrationTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("banking.journal.directory", () -> journalDirectory.toString());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @SpyBean
+    private TransactionService transactionService;
+
+    @Autowired
+    private PostingJournal postingJournal;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        String name = "journal" + UUID.randomUUID().toString().substring(0, 8);
+        userId = userService.createUser(
+                new UserDto(name, name + "@example.com", "password123", "Journal User", "+1234567890")).getId();
+    }
+
+    @Test
+    void postings_ShouldBeAcceptedBeforeTheyAreApplied() throws InterruptedException {
+        Long checkingId = account("100.00");
+        Long savingsId = account("0.00");
+
+        String reference = post(checkingId, savingsId, "40.00", "TRANSFER", 202)
+                .body("id", nullValue())
+                .body("status", equalTo("PENDING"))
+                .extract().path("transactionReference");
+        post(checkingId, null, "25.00", "DEPOSIT", 202);
+
+        assertTrue(postingJournal.awaitApplied(Duration.ofSeconds(10)));
+        assertBalance(checkingId, "85.00");
+        assertBalance(savingsId, "40.00");
+        assertEquals(Transaction.TransactionStatus.COMPLETED,
+                transactionService.findByTransactionReference(reference).getStatus());
+    }
+
+    @Test
+    void pendingDebits_ShouldCountAgainstAvailableFunds() throws InterruptedException {
+        Long accountId = account("100.00");
+
+        post(accountId, null, "70.00", "WITHDRAWAL", 202);
+        post(accountId, null, "40.00", "WITHDRAWAL", 400);
+        post(accountId, null, "30.00", "WITHDRAWAL", 202);
+
+        assertTrue(postingJournal.awaitApplied(Duration.ofSeconds(10)));
+        assertBalance(accountId, "0.00");
+        post(accountId, null, "0.01", "WITHDRAWAL", 400);
+    }
+
+    @Test
+    void restart_ShouldApplyEntriesJournaledBeforeTheCrash() throws Exception {
+        Long fromId = account("200.00");
+        Long toId = account("0.00");
+        post(fromId, toId, "10.00", "TRANSFER", 202);
+        assertTrue(postingJournal.awaitApplied(Duration.ofSeconds(10)));
+        postingJournal.shutdown();
+
+        // Durable but never applied, as if the process died right after acknowledging them
+        try (WriteAheadJournal journal = new WriteAheadJournal(journalDirectory, 4096, batch -> { })) {
+            for (int i = 0; i < 5; i++) {
+                journal.append(new JournalEntry(0, "TXN-R" + UUID.randomUUID().toString().substring(0, 8), fromId, toId,
+                        Transaction.TransactionType.TRANSFER, new BigDecimal("20.00"), BigDecimal.ZERO,
+                        new BigDecimal("20.00"), null, "replayed", System.currentTimeMillis()));
+            }
+        }
+        tearLastSegment();
+
+        postingJournal.initialize();
+        assertTrue(postingJournal.awaitApplied(Duration.ofSeconds(10)));
+        assertBalance(fromId, "90.00");
+        assertBalance(toId, "110.00");
+        assertEquals(postingJournal.getJournal().getDurableSequence(), postingJournal.getAppliedSequence());
+
+        post(fromId, null, "90.01", "WITHDRAWAL", 400);
+    }
+
+    @Test
+    void transientFailureDuringSingleRetries_ShouldNotReapplyEarlierEntries() throws Exception {
+        Long fromId = account("100.00");
+        assertTrue(postingJournal.awaitApplied(Duration.ofSeconds(10)));
+        postingJournal.shutdown();
+
+        // Journaled while stopped so the applier picks all three up as one batch
+        List<String> references = List.of("TXN-F1" + suffix(), "TXN-F2" + suffix(), "TXN-F3" + suffix());
+        try (WriteAheadJournal journal = new WriteAheadJournal(journalDirectory, 4096, batch -> { })) {
+            for (String reference : references) {
+                journal.append(new JournalEntry(0, reference, fromId, 0, Transaction.TransactionType.WITHDRAWAL,
+                        new BigDecimal("10.00"), BigDecimal.ZERO, null, null, "flaky", System.currentTimeMillis()));
+            }
+        }
+
+        // The batch fails outright, then the second single entry fails once transiently
+        Set<String> failedOnce = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            List<JournalEntry> entries = invocation.getArgument(0);
+            if (entries.size() > 1) {
+                throw new IllegalStateException("injected batch failure");
+            }
+            if (entries.get(0).transactionReference().equals(references.get(1)) && failedOnce.add(references.get(1))) {
+                throw new TransientDataAccessResourceException("injected transient failure");
+            }
+            return invocation.callRealMethod();
+        }).when(transactionService).applyJournaled(anyList());
+
+        postingJournal.initialize();
+        assertTrue(postingJournal.awaitApplied(Duration.ofSeconds(10)));
+        assertEquals(1, failedOnce.size());
+        assertBalance(fromId, "70.00");
+        for (String reference : references) {
+            assertEquals(Transaction.TransactionStatus.COMPLETED,
+                    transactionService.findByTransactionReference(reference).getStatus());
+        }
+        long durable = postingJournal.getJournal().getDurableSequence();
+        assertEquals(durable, postingJournal.getAppliedSequence());
+        assertEquals(durable, jdbcTemplate.queryForObject(
+                "SELECT applied_sequence FROM journal_checkpoints WHERE id = 1", Long.class));
+
+        // Each hold was released once, so the account still cannot be overdrawn
+        post(fromId, null, "70.01", "WITHDRAWAL", 400);
+        post(fromId, null, "70.00", "WITHDRAWAL", 202);
+        post(fromId, null, "0.01", "WITHDRAWAL", 400);
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 6);
+    }
+
+    private void tearLastSegment() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            segments = files.sorted().toList();
+        }
+        try (RandomAccessFile segment = new RandomAccessFile(segments.get(segments.size() - 1).toFile(), "rw")) {
+            segment.seek(segment.length());
+            segment.writeInt(96);
+            segment.write(new byte[17]);
+        }
+    }
+
+    private void assertBalance(Long accountId, String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(accountService.getAccountById(accountId).getBalance()),
+                "account " + accountId);
+    }
+
+    private Long account(String openingBalance) {
+        return accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal(openingBalance))).getId();
+    }
+
+    private ValidatableResponse post(Long fromId, Long toId, String amount, String type, int status) {
+        String json = String.format("""
+                {
+                    "fromAccountId": %d,
+                    "toAccountId": %s,
+                    "amount": %s,
+                    "transactionType": "%s",
+                    "description": "journal test"
+                }
+                """, fromId, toId, amount, type);
+        return given()
+                .contentType(ContentType.JSON)
+                .body(json)
+                .when()
+                .post("/api/transactions")
+                .then()
+                .statusCode(status);
+    }
+}
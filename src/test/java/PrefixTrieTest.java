@@ -0,0 +1,73 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.search.PrefixTrie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTest {
+
+    private PrefixTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new PrefixTrie();
+        trie.add("john", 1);
+        trie.add("johnny", 2);
+        trie.add("joan", 3);
+        trie.add("jane", 4);
+    }
+
+    @Test
+    void exactPrefix_ShouldReturnAllCompletions() {
+        assertEquals(Map.of(1L, 0, 2L, 0), edits(trie.search("joh", 0, 10)));
+        assertEquals(Map.of(1L, 0, 2L, 0, 3L, 0), edits(trie.search("jo", 0, 10)));
+        assertTrue(trie.search("jx", 0, 10).isEmpty());
+        assertEquals(1, trie.search("jo", 0, 1).size());
+    }
+
+    @Test
+    void fuzzyPrefix_ShouldTolerateOneTypo() {
+        Map<Long, Integer> matches = edits(trie.search("jihn", 1, 10));
+
+        assertEquals(1, matches.get(1L));
+        assertEquals(1, matches.get(2L));
+        assertTrue(trie.search("jxxn", 1, 10).isEmpty());
+    }
+
+    @Test
+    void remove_ShouldPruneEmptyBranches() {
+        int nodes = trie.getNodeCount();
+
+        trie.remove("johnny", 2);
+
+        assertEquals(nodes - 2, trie.getNodeCount());
+        assertEquals(3, trie.getValueCount());
+        assertEquals(Map.of(1L, 0), edits(trie.search("joh", 0, 10)));
+    }
+
+    @Test
+    void longKeys_ShouldBeTruncated() {
+        String longKey = "a".repeat(PrefixTrie.MAX_KEY_LENGTH + 20);
+        int nodes = trie.getNodeCount();
+
+        trie.add(longKey, 5);
+
+        assertEquals(nodes + PrefixTrie.MAX_KEY_LENGTH, trie.getNodeCount());
+        assertEquals(Map.of(5L, 0), edits(trie.search(longKey, 0, 10)));
+    }
+
+    private static Map<Long, Integer> edits(Map<Long, PrefixTrie.Match> matches) {
+        return matches.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().edits()));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.banking.ratelimit.RateLimitFilter;
+import org.banking.ratelimit.TokenBucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tokenBucket_ShouldAllowBurstThenRefillAtRate() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(10, 3, now);
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        long wait = bucket.tryAcquire(now);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        assertEquals(0, bucket.tryAcquire(now + wait));
+        assertTrue(bucket.isFull(now + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    void writeBudget_ShouldBeSeparateFromReadsAndPerClient() throws Exception {
+        RateLimitFilter filter = filter(2, 64);
+
+        assertEquals(200, perform(filter, "POST", "/api/transactions", "client-a").getStatus());
+        assertEquals(200, perform(filter, "POST", "/api/transactions", "client-a").getStatus());
+        MockHttpServletResponse limited = perform(filter, "POST", "/api/transactions", "client-a");
+
+        assertEquals(429, limited.getStatus());
+        assertTrue(limited.getContentAsString().contains("Rate limit exceeded"));
+        assertEquals("1000", limited.getHeader("Retry-After"));
+        assertEquals(200, perform(filter, "GET", "/api/transactions/1", "client-a").getStatus());
+        assertEquals(200, perform(filter, "POST", "/api/accounts/lookup", "client-a").getStatus());
+        assertEquals(200, perform(filter, "POST", "/api/transactions", "client-b").getStatus());
+        assertEquals(1.0, meterRegistry.get("banking.ratelimit.rejected")
+                .tag("reason", "rate_limited").tag("budget", "write").counter().count());
+    }
+
+    @Test
+    void unknownApiKeys_ShouldShareTheRemoteAddressBudget() throws Exception {
+        RateLimitFilter filter = filter(2, 64);
+
+        assertEquals(200, perform(filter, "POST", "/api/transactions", "made-up-1").getStatus());
+        assertEquals(200, perform(filter, "POST", "/api/transactions", "made-up-2").getStatus());
+        assertEquals(429, perform(filter, "POST", "/api/transactions", "made-up-3").getStatus());
+        assertEquals(429, perform(filter, "POST", "/api/transactions", null).getStatus());
+        assertEquals(200, perform(filter, "POST", "/api/transactions", "client-a").getStatus());
+
+        MockHttpServletRequest otherHost = request("POST", "/api/transactions", "made-up-4");
+        otherHost.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(otherHost, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void clientsBehindATrustedProxy_ShouldBeKeyedByTheirForwardedAddress() throws Exception {
+        RateLimitFilter filter = filter(1, 64);
+
+        assertEquals(200, forwarded(filter, "192.168.1.5", "X-Forwarded-For", "203.0.113.7").getStatus());
+        assertEquals(429, forwarded(filter, "192.168.1.5", "X-Forwarded-For", "203.0.113.7").getStatus());
+        // Only the hop the proxy appended counts, not whatever the client sent before it
+        assertEquals(429, forwarded(filter, "192.168.1.5", "X-Forwarded-For", "198.51.100.1, 203.0.113.7").getStatus());
+        assertEquals(200, forwarded(filter, "192.168.1.5", "X-Forwarded-For", "203.0.113.8, 192.168.1.6").getStatus());
+        assertEquals(200, forwarded(filter, "192.168.1.5", "Forwarded",
+                "for=\"[2001:db8::1]:4711\";proto=https").getStatus());
+        assertEquals(429, forwarded(filter, "192.168.1.5", "Forwarded", "for=2001:db8::1").getStatus());
+
+        // An untrusted peer's headers are ignored
+        assertEquals(200, forwarded(filter, "203.0.113.9", "X-Forwarded-For", "203.0.113.50").getStatus());
+        assertEquals(429, forwarded(filter, "203.0.113.9", "X-Forwarded-For", "203.0.113.51").getStatus());
+    }
+
+    @Test
+    void saturatedServer_ShouldShedWith503() throws Exception {
+        RateLimitFilter filter = filter(100, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> {
+            try {
+                MockHttpServletRequest request = request("GET", "/api/transactions", "client-a");
+                FilterChain blocking = (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                };
+                filter.doFilter(request, new MockHttpServletResponse(), blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse shed = perform(filter, "GET", "/api/accounts/1", "client-b");
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+
+        assertEquals(503, shed.getStatus());
+        assertEquals(1.0, meterRegistry.get("banking.ratelimit.rejected")
+                .tag("reason", "overloaded").tag("budget", "read").counter().count());
+        assertEquals(200, perform(filter, "GET", "/api/accounts/1", "client-b").getStatus());
+    }
+
+    @Test
+    void nonApiPaths_ShouldNotBeLimited() throws Exception {
+        RateLimitFilter filter = filter(1, 64);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, perform(filter, "POST", "/h2-console/login.do", "client-a").getStatus());
+        }
+    }
+
+    private RateLimitFilter filter(int writeBurst, int maxInFlight) {
+        return new RateLimitFilter(Jackson2ObjectMapperBuilder.json().build(), meterRegistry, "X-API-Key",
+                Set.of("client-a", "client-b"), Set.of("192.168.0.0/16"),
+                new RateLimitFilter.Budget(1000, 1000),
+                new RateLimitFilter.Budget(0.001, writeBurst),
+                maxInFlight, 20);
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, String method, String uri, String apiKey) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, apiKey), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse forwarded(RateLimitFilter filter, String remoteAddr, String header, String value)
+            throws Exception {
+        MockHttpServletRequest request = request("POST", "/api/transactions", null);
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader(header, value);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
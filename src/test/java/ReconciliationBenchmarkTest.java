@@ -0,0 +1,91 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.dto.UserDto;
+import org.banking.reconciliation.ReconciliationEngine;
+import org.banking.reconciliation.ReconciliationReport;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Full reconciliation over a large transaction table. Every account receives the same
+ * number of 1.00 deposits, and one account in a thousand is given a drifting balance.
+ * Opt-in:
+ * {@code mvn test -Dtest=ReconciliationBenchmarkTest -Dbenchmark=true [-Dreconciliation-transactions=5000000]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"banking.reconciliation.enabled=false", "banking.reconciliation.in-flight-grace-ms=0"})
+@ActiveProfiles("test")
+@DirtiesContext
+class ReconciliationBenchmarkTest {
+
+    private static final int ACCOUNTS = 100_000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReconciliationEngine reconciliationEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void fullRun_ShouldStreamLargeHistory() {
+        int transactions = Integer.getInteger("reconciliation-transactions", 5_000_000);
+        int perAccount = transactions / ACCOUNTS;
+        Long userId = userService.createUser(
+                new UserDto("reconcile", "reconcile@example.com", "password123", "Reconciliation", "+1234567890")).getId();
+        LocalDateTime created = LocalDateTime.now().minusDays(1);
+
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            int balance = perAccount + (i % 1_000 == 0 ? 1 : 0);
+            batch.add(new Object[]{String.format("RECON%012d", i), userId, balance, created, created});
+            if (batch.size() == 10_000 || i == ACCOUNTS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO accounts (account_number, user_id, account_type, status, balance, "
+                        + "opening_balance, credit_limit, created_at, updated_at) "
+                        + "VALUES (?, ?, 'CHECKING', 'ACTIVE', ?, 0, 0, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        Long firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM accounts", Long.class);
+        for (int n = 0; n < perAccount * ACCOUNTS; n++) {
+            batch.add(new Object[]{"RECON-" + n, firstId + n % ACCOUNTS, created});
+            if (batch.size() == 10_000 || n == perAccount * ACCOUNTS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO transactions (transaction_reference, from_account_id, amount, "
+                        + "transaction_type, status, description, fee, created_at) "
+                        + "VALUES (?, ?, 1.00, 'DEPOSIT', 'COMPLETED', 'benchmark', 0, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        ReconciliationReport report = reconciliationEngine.reconcileAll();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf("reconciliation: %d legs over %d accounts in %d ms (%.0f legs/s), heap delta %d MB%n",
+                report.legsFolded(), report.accountsChecked(), report.elapsedMillis(),
+                report.legsFolded() * 1000.0 / Math.max(1, report.elapsedMillis()), (heapAfter - heapBefore) >> 20);
+        assertEquals((long) perAccount * ACCOUNTS, report.legsFolded());
+        assertEquals(ACCOUNTS, report.accountsChecked());
+        assertEquals(ACCOUNTS / 1_000, report.drifted());
+    }
+}
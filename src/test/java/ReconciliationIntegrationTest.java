@@ -0,0 +1,159 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.restassured.RestAssured;
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.model.Account;
+import org.banking.model.ReconciliationRun;
+import org.banking.model.Transaction;
+import org.banking.reconciliation.ReconciliationEngine;
+import org.banking.reconciliation.ReconciliationReport;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.reconciliation.enabled=false",
+        "banking.reconciliation.in-flight-grace-ms=0",
+        "banking.reconciliation.slice-size=2",
+        "banking.snapshots.enabled=false"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReconciliationIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ReconciliationEngine reconciliationEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long checkingId;
+    private Long savingsId;
+    private Long creditId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        Long userId = userService.createUser(
+                new UserDto("reconcile", "reconcile@example.com", "password123", "Reconciliation", "+1234567890")).getId();
+        checkingId = accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal("1000.00"))).getId();
+        savingsId = accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.SAVINGS, new BigDecimal("50.00"))).getId();
+        creditId = accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CREDIT, new BigDecimal("500.00"))).getId();
+
+        post(checkingId, null, "200.00", "0.00", Transaction.TransactionType.DEPOSIT);
+        post(checkingId, null, "100.00", "2.50", Transaction.TransactionType.WITHDRAWAL);
+        post(checkingId, savingsId, "300.00", "1.00", Transaction.TransactionType.TRANSFER);
+        post(creditId, null, "75.25", "0.75", Transaction.TransactionType.PAYMENT);
+        post(savingsId, creditId, "20.00", "0.00", Transaction.TransactionType.TRANSFER);
+    }
+
+    @Test
+    void fullRun_ShouldFoldHistoryAcrossSlices() {
+        ReconciliationReport report = reconciliationEngine.reconcileAll();
+
+        assertEquals(ReconciliationRun.Mode.FULL, report.mode());
+        assertEquals(3, report.accountsChecked());
+        assertEquals(7, report.legsFolded());
+        assertEquals(0, report.drifted());
+        assertEquals(0, report.deferred());
+    }
+
+    @Test
+    void fullRun_ShouldReportAccountsThatDriftFromHistory() {
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 1.00 WHERE id = ?", savingsId);
+        jdbcTemplate.update("UPDATE accounts SET balance = balance - 0.01 WHERE id = ?", creditId);
+
+        ReconciliationReport report = reconciliationEngine.reconcileAll();
+
+        assertEquals(2, report.drifted());
+        assertEquals(savingsId, report.drifts().get(0).accountId());
+        assertEquals(new BigDecimal("330.00"), report.drifts().get(0).expectedBalance());
+        assertEquals(0, new BigDecimal("1.00").compareTo(report.drifts().get(0).difference()));
+        assertEquals(creditId, report.drifts().get(1).accountId());
+        assertEquals(0, new BigDecimal("-0.01").compareTo(report.drifts().get(1).difference()));
+
+        given()
+                .queryParam("mode", "FULL")
+                .when()
+                .post("/api/reconciliation/runs")
+                .then()
+                .statusCode(200)
+                .body("drifted", equalTo(2))
+                .body("drifts[0].accountId", equalTo(savingsId.intValue()))
+                .body("drifts[0].difference", equalTo("1.00"));
+    }
+
+    @Test
+    void incrementalRun_ShouldOnlyRecheckTouchedAccounts() {
+        assertEquals(0, reconciliationEngine.reconcileAll().drifted());
+
+        post(checkingId, null, "10.00", "0.00", Transaction.TransactionType.DEPOSIT);
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 5.00 WHERE id = ?", savingsId);
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 7.00, updated_at = ? WHERE id = ?",
+                LocalDateTime.now(), creditId);
+
+        ReconciliationReport report = reconciliationEngine.reconcileIncremental();
+
+        assertEquals(ReconciliationRun.Mode.INCREMENTAL, report.mode());
+        assertEquals(2, report.accountsChecked());
+        assertEquals(1, report.drifted());
+        assertEquals(creditId, report.drifts().get(0).accountId());
+
+        assertEquals(0, reconciliationEngine.reconcileIncremental().accountsChecked());
+        assertEquals(2, reconciliationEngine.reconcileAll().drifted());
+    }
+
+    @Test
+    void accountsUpdatedDuringRun_ShouldBeDeferred() {
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 5.00, updated_at = ? WHERE id = ?",
+                LocalDateTime.now().plusMinutes(5), savingsId);
+
+        ReconciliationReport report = reconciliationEngine.reconcileAll();
+
+        assertEquals(2, report.accountsChecked());
+        assertEquals(1, report.deferred());
+        assertEquals(0, report.drifted());
+    }
+
+    private void post(Long fromId, Long toId, String amount, String fee, Transaction.TransactionType type) {
+        TransactionDto dto = new TransactionDto(fromId, toId, new BigDecimal(amount), type, "reconciliation test");
+        dto.setFee(new BigDecimal(fee));
+        transactionService.createTransaction(dto);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.config.ReplicaLagMonitor;
+import org.banking.config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routedJdbc;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate readWriteTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+
+        for (JdbcTemplate jdbc : new JdbcTemplate[]{primaryJdbc, replicaJdbc}) {
+            jdbc.execute("DROP TABLE IF EXISTS marker");
+            jdbc.execute("DROP TABLE IF EXISTS replica_heartbeat");
+            jdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+        }
+        primaryJdbc.update("INSERT INTO marker VALUES ('primary')");
+        replicaJdbc.update("INSERT INTO marker VALUES ('replica')");
+
+        lagMonitor = new ReplicaLagMonitor(primary, replica, 500);
+        lagMonitor.initialize();
+        replicaJdbc.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+        routedJdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        readWriteTx = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldUseReplicaOnceCaughtUp() {
+        lagMonitor.checkLag();
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", currentDatabase(readOnlyTx));
+
+        replicateHeartbeat();
+        lagMonitor.checkLag();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", currentDatabase(readOnlyTx));
+        assertEquals("primary", currentDatabase(readWriteTx));
+    }
+
+    @Test
+    void laggingReplica_ShouldFallBackToPrimary() {
+        lagMonitor.checkLag();
+        replicateHeartbeat();
+        lagMonitor.checkLag();
+        assertEquals("replica", currentDatabase(readOnlyTx));
+
+        replicaJdbc.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1",
+                System.currentTimeMillis() - 60_000);
+        lagMonitor.checkLag();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertTrue(lagMonitor.getLastObservedLagMillis() > 500);
+        assertEquals("primary", currentDatabase(readOnlyTx));
+    }
+
+    private String currentDatabase(TransactionTemplate tx) {
+        return tx.execute(status -> routedJdbc.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private void replicateHeartbeat() {
+        Long beat = primaryJdbc.queryForObject("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+        replicaJdbc.update("DELETE FROM replica_heartbeat");
+        replicaJdbc.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", beat);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.service.RequestCollapser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCollapserTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Set<Long>> loadedKeys = new ArrayList<>();
+
+    @Test
+    void concurrentIdenticalLookups_ShouldShareOneLoad() throws Exception {
+        RequestCollapser<Long, String> collapser = new RequestCollapser<>(this::load, 100, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Map<Long, String>>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return collapser.load(List.of(1L, 2L, 3L, 4L));
+                }));
+            }
+            start.countDown();
+
+            for (Future<Map<Long, String>> result : results) {
+                assertEquals(Map.of(2L, "value-2", 4L, "value-4"), result.get());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void lookupsInSeparateWindows_ShouldLoadAgain() {
+        RequestCollapser<Long, String> collapser = new RequestCollapser<>(this::load, 0, 1000);
+
+        collapser.load(List.of(2L));
+        collapser.load(List.of(2L));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void oversizedLookup_ShouldBeSplitIntoBatches() {
+        RequestCollapser<Long, String> collapser = new RequestCollapser<>(this::load, 0, 10);
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; key <= 25; key++) {
+            keys.add(key);
+        }
+
+        Map<Long, String> result = collapser.load(keys);
+
+        assertEquals(12, result.size());
+        assertEquals(3, loads.get());
+        assertTrue(loadedKeys.stream().allMatch(batch -> batch.size() <= 10));
+    }
+
+    @Test
+    void failedLoad_ShouldPropagateAndNotPoisonLaterLookups() {
+        AtomicInteger attempts = new AtomicInteger();
+        RequestCollapser<Long, String> collapser = new RequestCollapser<>(keys -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return load(keys);
+        }, 0, 1000);
+
+        assertThrows(IllegalStateException.class, () -> collapser.load(List.of(2L)));
+        assertEquals(Map.of(2L, "value-2"), collapser.load(List.of(2L)));
+    }
+
+    private synchronized Map<Long, String> load(Set<Long> keys) {
+        loads.incrementAndGet();
+        loadedKeys.add(keys);
+        Map<Long, String> values = new HashMap<>();
+        for (Long key : keys) {
+            if (key % 2 == 0) {
+                values.put(key, "value-" + key);
+            }
+        }
+        return values;
+    }
+}
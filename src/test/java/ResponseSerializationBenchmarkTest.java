@@ -0,0 +1,112 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.banking.dto.TransactionResponse;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Serializes a 50-transaction history three ways and reports ns/op and bytes/op: the JPA
+ * entities as controllers used to return them, the response records through their
+ * hand-written serializers, and the same records with annotations switched off so Jackson
+ * falls back to its reflective bean serializer. Checks the hand-written path beats entity
+ * serialization. Opt-in: {@code mvn test -Dtest=ResponseSerializationBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ResponseSerializationBenchmarkTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123_000_000);
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private static volatile int sink;
+
+    @Test
+    void handWrittenSerializers_ShouldBeFasterThanEntitySerialization() throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(MapperFeature.USE_ANNOTATIONS)
+                .build();
+
+        List<Transaction> entities = history();
+        List<TransactionResponse> responses = TransactionResponse.of(entities);
+
+        double entityNanos = nanosPerOp(() -> mapper.writeValueAsBytes(entities));
+        double handWrittenNanos = nanosPerOp(() -> mapper.writeValueAsBytes(responses));
+        double reflectiveNanos = nanosPerOp(() -> reflective.writeValueAsBytes(responses));
+
+        System.out.printf("entities:      %,10.0f ns/op %,7d bytes/op%n",
+                entityNanos, mapper.writeValueAsBytes(entities).length);
+        System.out.printf("hand-written:  %,10.0f ns/op %,7d bytes/op%n",
+                handWrittenNanos, mapper.writeValueAsBytes(responses).length);
+        System.out.printf("reflective:    %,10.0f ns/op %,7d bytes/op%n",
+                reflectiveNanos, reflective.writeValueAsBytes(responses).length);
+        assertTrue(handWrittenNanos < entityNanos,
+                "hand-written " + handWrittenNanos + " ns/op vs entities " + entityNanos + " ns/op");
+    }
+
+    private static double nanosPerOp(Serialization serialization) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += serialization.write().length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += serialization.write().length;
+        }
+        return (double) (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static List<Transaction> history() {
+        User user = new User("johndoe", "john@example.com", "password123", "John Doe", "+1234567890");
+        user.setId(1L);
+        user.setCreatedAt(CREATED);
+        user.setUpdatedAt(CREATED);
+        Account checking = account(10L, "ACC0000000010", user, Account.AccountType.CHECKING);
+        Account savings = account(11L, "ACC0000000011", user, Account.AccountType.SAVINGS);
+
+        List<Transaction> history = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            Transaction transaction = new Transaction("TXN-" + id, checking, savings, new BigDecimal("125.75"),
+                    Transaction.TransactionType.TRANSFER, "Rent share");
+            transaction.setId(id);
+            transaction.setFee(new BigDecimal("2.50"));
+            transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+            transaction.setCreatedAt(CREATED.plusMinutes(id));
+            history.add(transaction);
+        }
+        return history;
+    }
+
+    private static Account account(Long id, String number, User user, Account.AccountType type) {
+        Account account = new Account(number, user, type, new BigDecimal("1500.00"));
+        account.setId(id);
+        account.setCreatedAt(CREATED);
+        account.setUpdatedAt(CREATED);
+        return account;
+    }
+
+    @FunctionalInterface
+    private interface Serialization {
+        byte[] write() throws Exception;
+    }
+}
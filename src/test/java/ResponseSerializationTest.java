@@ -0,0 +1,114 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.banking.dto.AccountResponse;
+import org.banking.dto.TransactionResponse;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseSerializationTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123_000_000);
+
+    private ObjectMapper objectMapper;
+    private Account checking;
+    private Account savings;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        User user = new User("johndoe", "john@example.com", "password123", "John Doe", "+1234567890");
+        user.setId(1L);
+        user.setCreatedAt(CREATED);
+        user.setUpdatedAt(CREATED);
+
+        checking = account(10L, "ACC0000000010", user, Account.AccountType.CHECKING, "1500.00");
+        savings = account(11L, "ACC0000000011", user, Account.AccountType.SAVINGS, "250.50");
+    }
+
+    @Test
+    void transactionResponse_ShouldWriteAmountsAsPlainStrings() throws Exception {
+        Transaction transaction = transaction(1L, new BigDecimal("1E+3"));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(TransactionResponse.of(transaction)));
+
+        assertEquals("1000", json.get("amount").textValue());
+        assertEquals("2.50", json.get("fee").textValue());
+        assertEquals("2025-01-15T10:30:00.123", json.get("createdAt").textValue());
+        assertEquals("ACC0000000010", json.get("fromAccount").get("accountNumber").textValue());
+        assertFalse(json.get("fromAccount").has("balance"));
+        assertFalse(json.has("processedAt"));
+    }
+
+    @Test
+    void accountResponse_ShouldKeepEntityFieldNames() throws Exception {
+        JsonNode entity = objectMapper.readTree(objectMapper.writeValueAsString(checking));
+        JsonNode response = objectMapper.readTree(objectMapper.writeValueAsString(AccountResponse.of(checking)));
+
+        assertEquals(fieldNames(entity), fieldNames(response));
+        assertEquals(fieldNames(entity.get("user")), fieldNames(response.get("user")));
+        assertEquals("1500.00", response.get("balance").textValue());
+        assertEquals(entity.get("createdAt").textValue(), response.get("createdAt").textValue());
+    }
+
+    @Test
+    void transactionHistory_ShouldBeSmallerThanEntitySerialization() throws Exception {
+        List<Transaction> history = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            history.add(transaction(id, new BigDecimal("125.75")));
+        }
+
+        byte[] entityBytes = objectMapper.writeValueAsBytes(history);
+        byte[] responseBytes = objectMapper.writeValueAsBytes(TransactionResponse.of(history));
+
+        assertTrue(responseBytes.length < entityBytes.length,
+                "response " + responseBytes.length + " bytes vs entity " + entityBytes.length + " bytes");
+    }
+
+    private Account account(Long id, String number, User user, Account.AccountType type, String balance) {
+        Account account = new Account(number, user, type, new BigDecimal(balance));
+        account.setId(id);
+        account.setCreatedAt(CREATED);
+        account.setUpdatedAt(CREATED);
+        return account;
+    }
+
+    private Transaction transaction(Long id, BigDecimal amount) {
+        Transaction transaction = new Transaction("TXN-" + id, checking, savings, amount,
+                Transaction.TransactionType.TRANSFER, "Rent share");
+        transaction.setId(id);
+        transaction.setFee(new BigDecimal("2.50"));
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setCreatedAt(CREATED);
+        return transaction;
+    }
+
+    private static TreeSet<String> fieldNames(JsonNode node) {
+        TreeSet<String> names = new TreeSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
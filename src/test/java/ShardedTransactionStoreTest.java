@@ -0,0 +1,166 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.repository.AccountRepository;
+import org.banking.sharding.ShardedTransactionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisabledInNativeImage
+class ShardedTransactionStoreTest {
+
+    private static final int SHARDS = 3;
+
+    private final Map<Long, Account> accounts = new HashMap<>();
+    private final List<JdbcTemplate> shardJdbc = new ArrayList<>();
+    private ShardedTransactionStore store;
+    private int referenceCounter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:shard_test_" + i + ";DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("DROP ALL OBJECTS");
+            dataSources.add(dataSource);
+            shardJdbc.add(jdbc);
+        }
+
+        for (long id = 1; id <= 6; id++) {
+            Account account = new Account("ACC" + id, null, Account.AccountType.CHECKING, new BigDecimal("1000.00"));
+            account.setId(id);
+            accounts.put(id, account);
+        }
+
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Account> found = new ArrayList<>();
+            for (Long id : (Collection<Long>) invocation.getArgument(0)) {
+                found.add(accounts.get(id));
+            }
+            return found;
+        });
+
+        store = new ShardedTransactionStore(dataSources, accountRepository, 100);
+        store.initialize();
+    }
+
+    @Test
+    void transactions_ShouldLiveOnTheFromAccountShard() {
+        Transaction deposit = store.save(transaction(4L, null, Transaction.TransactionType.DEPOSIT, 0));
+
+        int shard = store.getRouter().shardForAccount(4L);
+        assertEquals(shard, store.getRouter().shardForTransaction(deposit.getId()));
+        assertEquals(1, countRows(shard, "transactions"));
+        assertEquals(deposit.getTransactionReference(),
+                store.findById(deposit.getId()).orElseThrow().getTransactionReference());
+        assertTrue(store.existsByTransactionReference(deposit.getTransactionReference()));
+    }
+
+    @Test
+    void crossShardTransfer_ShouldAppearInReceiverHistoryAfterRelay() {
+        Transaction transfer = store.save(transaction(1L, 2L, Transaction.TransactionType.TRANSFER, 0));
+        assertEquals(1, countRows(store.getRouter().shardForAccount(1L), "transfer_outbox"));
+        assertTrue(store.findByAccountOrderByCreatedAtDesc(accounts.get(2L)).isEmpty());
+
+        assertEquals(1, store.relayTransferLegs());
+        assertEquals(0, store.relayTransferLegs());
+
+        List<Transaction> receiverHistory = store.findByAccountOrderByCreatedAtDesc(accounts.get(2L));
+        assertEquals(1, receiverHistory.size());
+        assertEquals(transfer.getId(), receiverHistory.get(0).getId());
+        assertEquals(2L, receiverHistory.get(0).getToAccount().getId());
+    }
+
+    @Test
+    void findPage_ShouldMergeShardsNewestFirst() {
+        for (int i = 0; i < 12; i++) {
+            long from = (i % 6) + 1;
+            store.save(transaction(from, null, Transaction.TransactionType.DEPOSIT, i));
+        }
+
+        List<Transaction> all = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            List<Transaction> transactions = store.findPage(page, 5);
+            assertEquals(page < 2 ? 5 : 2, transactions.size());
+            all.addAll(transactions);
+        }
+
+        assertEquals(12, all.stream().map(Transaction::getId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(!all.get(i).getCreatedAt().isAfter(all.get(i - 1).getCreatedAt()));
+        }
+        assertTrue(store.findPage(3, 5).isEmpty());
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(4, countRows(shard, "transactions"));
+        }
+    }
+
+    @Test
+    void saveAll_ShouldRouteEachTransactionAndQueueCrossShardLegs() {
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            batch.add(transaction((long) i + 1, null, Transaction.TransactionType.DEPOSIT, i));
+        }
+        batch.add(transaction(1L, 2L, Transaction.TransactionType.TRANSFER, 6));
+
+        List<Transaction> saved = store.saveAll(batch);
+
+        assertEquals(7, saved.size());
+        for (Transaction transaction : saved) {
+            long fromId = transaction.getFromAccount().getId();
+            assertEquals(store.getRouter().shardForAccount(fromId), store.getRouter().shardForTransaction(transaction.getId()));
+        }
+        int total = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            total += countRows(shard, "transactions");
+        }
+        assertEquals(7, total);
+        assertEquals(1, store.relayTransferLegs());
+        assertEquals(1, store.findByAccountOrderByCreatedAtDesc(accounts.get(2L)).stream()
+                .filter(t -> t.getTransactionType() == Transaction.TransactionType.TRANSFER).count());
+    }
+
+    private Transaction transaction(Long fromId,Long toId, Transaction.TransactionType type, int minutesOffset) {
+        Transaction transaction = new Transaction(
+                "TXN-TEST" + (++referenceCounter),
+                accounts.get(fromId),
+                toId != null ? accounts.get(toId) : null,
+                new BigDecimal("10.00"),
+                type,
+                "test"
+        );
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(minutesOffset));
+        return transaction;
+    }
+
+    private int countRows(int shard, String table) {
+        return shardJdbc.get(shard).queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.dto.AccountDto;
+import org.banking.dto.UserDto;
+import org.banking.model.Account;
+import org.banking.scheduler.StandingOrderScheduler;
+import org.banking.service.AccountService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Month-start drain: 1M monthly payments spread over 1,000 accounts all fall due at once
+ * and must be posted within 10 minutes. Opt-in:
+ * {@code mvn test -Dtest=StandingOrderDrainBenchmarkTest -Dbenchmark=true [-Dstanding-orders=1000000]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "banking.standing-orders.enabled=false")
+@ActiveProfiles("test")
+@DirtiesContext
+class StandingOrderDrainBenchmarkTest {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private StandingOrderScheduler standingOrderScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void monthStartDrain_ShouldFinishWithinMinutes() {
+        int orders = Integer.getInteger("standing-orders", 1_000_000);
+        Long userId = userService.createUser(
+                new UserDto("drain", "drain@example.com", "password123", "Drain Benchmark", "+1234567890")).getId();
+        long[] accountIds = new long[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = accountService.createAccount(
+                    new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal("100000000.00"))).getId();
+        }
+
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < orders; i++) {
+            batch.add(new Object[]{accountIds[i % ACCOUNTS], MONTH_START, MONTH_START});
+            if (batch.size() == 10_000 || i == orders - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO standing_orders (from_account_id, amount, transaction_type, "
+                        + "description, frequency, start_at, next_run_at, execution_count, status, failure_count) "
+                        + "VALUES (?, 25.00, 'PAYMENT', 'Subscription', 'MONTHLY', ?, ?, 0, 'ACTIVE', 0)", batch);
+                batch.clear();
+            }
+        }
+
+        long started = System.nanoTime();
+        int posted = standingOrderScheduler.runDueOrders(MONTH_START.plusMinutes(1));
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("standing orders: drained %d in %.1f s (%.0f/s)%n", posted, seconds, posted / seconds);
+        assertEquals(orders, posted);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM standing_orders WHERE next_run_at <= ?", Integer.class, MONTH_START));
+        assertTrue(seconds < 600, "drain took " + seconds + " s");
+    }
+}
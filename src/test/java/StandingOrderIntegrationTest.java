@@ -0,0 +1,202 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.banking.dto.AccountDto;
+import org.banking.dto.StandingOrderDto;
+import org.banking.dto.UserDto;
+import org.banking.model.Account;
+import org.banking.model.StandingOrder;
+import org.banking.model.Transaction;
+import org.banking.scheduler.StandingOrderScheduler;
+import org.banking.service.AccountService;
+import org.banking.service.StandingOrderService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "banking.standing-orders.enabled=false")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class StandingOrderIntegrationTest {
+
+    private static final LocalDateTime JAN_31 = LocalDateTime.of(2025, 1, 31, 9, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private StandingOrderService standingOrderService;
+
+    @Autowired
+    private StandingOrderScheduler standingOrderScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long checkingId;
+    private Long savingsId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        Long userId = userService.createUser(
+                new UserDto("standing", "standing@example.com", "password123", "Standing Orders", "+1234567890")).getId();
+        checkingId = accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal("1000.00"))).getId();
+        savingsId = accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.SAVINGS, new BigDecimal("0.00"))).getId();
+    }
+
+    @Test
+    void monthlyTransfer_ShouldCatchUpKeepMonthEndAndComplete() {
+        Long orderId = standingOrderService.createStandingOrder(new StandingOrderDto(checkingId, savingsId,
+                new BigDecimal("100.00"), Transaction.TransactionType.TRANSFER, "Monthly savings",
+                StandingOrder.Frequency.MONTHLY, JAN_31, LocalDateTime.of(2025, 3, 31, 23, 59))).getId();
+
+        assertEquals(2, standingOrderScheduler.runDueOrders(LocalDateTime.of(2025, 3, 1, 0, 0)));
+        StandingOrder order = standingOrderService.getStandingOrderById(orderId);
+        assertEquals(2, order.getExecutionCount());
+        assertEquals(LocalDateTime.of(2025, 3, 31, 9, 0), order.getNextRunAt());
+        assertEquals(StandingOrder.Status.ACTIVE, order.getStatus());
+        assertNotNull(order.getLastTransactionId());
+        assertEquals(0, standingOrderScheduler.runDueOrders(LocalDateTime.of(2025, 3, 1, 0, 0)));
+
+        assertEquals(1, standingOrderScheduler.runDueOrders(LocalDateTime.of(2025, 4, 1, 0, 0)));
+        order = standingOrderService.getStandingOrderById(orderId);
+        assertEquals(StandingOrder.Status.COMPLETED, order.getStatus());
+        assertEquals(LocalDateTime.of(2025, 4, 30, 9, 0), order.getNextRunAt());
+
+        assertEquals(0, new BigDecimal("700.00").compareTo(accountService.getAccountById(checkingId).getBalance()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(accountService.getAccountById(savingsId).getBalance()));
+        assertEquals(3, transactionService.getTransactionsByAccountId(savingsId).size());
+    }
+
+    @Test
+    void failedExecution_ShouldBeRecordedAndSkipToNextOccurrence() {
+        Long orderId = standingOrderService.createStandingOrder(new StandingOrderDto(checkingId, null,
+                new BigDecimal("5000.00"), Transaction.TransactionType.PAYMENT, "Too much",
+                StandingOrder.Frequency.WEEKLY, JAN_31, null)).getId();
+
+        assertEquals(0, standingOrderScheduler.runDueOrders(JAN_31.plusHours(1)));
+
+        StandingOrder order = standingOrderService.getStandingOrderById(orderId);
+        assertEquals(1, order.getFailureCount());
+        assertEquals("Insufficient funds in account", order.getLastError());
+        assertEquals(JAN_31.plusWeeks(1), order.getNextRunAt());
+        assertEquals(0, transactionService.getTransactionsByAccountId(checkingId).size());
+    }
+
+    @Test
+    void rowsLockedByAnotherNode_ShouldBeSkippedUntilReleased() throws Exception {
+        Long lockedId = createDailyPayment();
+        Long freeId = createDailyPayment();
+
+        int whileLocked = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM standing_orders WHERE id = ? FOR UPDATE", lockedId);
+            return CompletableFuture.supplyAsync(() -> standingOrderScheduler.runDueOrders(JAN_31.plusHours(1))).join();
+        });
+
+        assertEquals(1, whileLocked);
+        assertEquals(1, standingOrderService.getStandingOrderById(freeId).getExecutionCount());
+        assertEquals(0, standingOrderService.getStandingOrderById(lockedId).getExecutionCount());
+        assertEquals(1, standingOrderScheduler.runDueOrders(JAN_31.plusHours(1)));
+        assertEquals(1, standingOrderService.getStandingOrderById(lockedId).getExecutionCount());
+    }
+
+    @Test
+    void cancelledOrder_ShouldNotRun() {
+        Long orderId = createDailyPayment();
+
+        given()
+                .when()
+                .delete("/api/standing-orders/" + orderId)
+                .then()
+                .statusCode(204);
+
+        assertEquals(0, standingOrderScheduler.runDueOrders(JAN_31.plusDays(5)));
+        given()
+                .when()
+                .get("/api/standing-orders/account/" + checkingId)
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(1))
+                .body("[0].status", equalTo("CANCELLED"))
+                .body("[0].executionCount", equalTo(0));
+    }
+
+    @Test
+    void createStandingOrder_ShouldValidateRequest() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"fromAccountId\": %d, \"amount\": 10.00, \"transactionType\": \"DEPOSIT\", "
+                        + "\"frequency\": \"DAILY\"}", checkingId))
+                .when()
+                .post("/api/standing-orders")
+                .then()
+                .statusCode(400);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"fromAccountId\": %d, \"amount\": 10.00, \"transactionType\": \"TRANSFER\", "
+                        + "\"frequency\": \"DAILY\"}", checkingId))
+                .when()
+                .post("/api/standing-orders")
+                .then()
+                .statusCode(400);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"fromAccountId\": %d, \"toAccountId\": %d, \"amount\": 10.00, "
+                        + "\"transactionType\": \"TRANSFER\", \"frequency\": \"WEEKLY\", \"startAt\": \"2025-01-31T09:00:00\"}",
+                        checkingId, savingsId))
+                .when()
+                .post("/api/standing-orders")
+                .then()
+                .statusCode(201)
+                .body("frequency", equalTo("WEEKLY"))
+                .body("nextRunAt", equalTo("2025-01-31T09:00:00"))
+                .body("status", equalTo("ACTIVE"));
+    }
+
+    private Long createDailyPayment() {
+        return standingOrderService.createStandingOrder(new StandingOrderDto(checkingId, null,
+                new BigDecimal("10.00"), Transaction.TransactionType.PAYMENT, "Daily",
+                StandingOrder.Frequency.DAILY, JAN_31, JAN_31)).getId();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.search.SearchHits;
+import org.banking.search.TextIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TextIndexTest {
+
+    private TextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TextIndex();
+        index.add(1, "Coffee at Blue Bottle");
+        index.add(2, "Rent March 2025");
+        index.add(3, "coffee beans, 1kg");
+        index.add(4, "Rent march + utilities");
+        index.add(6, "Rent April");
+    }
+
+    @Test
+    void termQueries_ShouldMatchAllWordsNewestFirst() {
+        assertEquals(new SearchHits(2, List.of(3L, 1L)), index.search("COFFEE", 0, 10));
+        assertEquals(new SearchHits(2, List.of(4L, 2L)), index.search("rent march", 0, 10));
+        assertEquals(new SearchHits(0, List.of()), index.search("rent may", 0, 10));
+    }
+
+    @Test
+    void prefixQueries_ShouldPageOverMatchingTerms() {
+        assertEquals(new SearchHits(3, List.of(6L, 4L)), index.search("ren*", 0, 2));
+        assertEquals(new SearchHits(3, List.of(2L)), index.search("ren*", 2, 2));
+        assertEquals(new SearchHits(3, List.of()), index.search("ren*", 3, 2));
+        assertEquals(new SearchHits(3, List.of()), index.search("ren*", (long) Integer.MAX_VALUE * 20, 20));
+        assertEquals(new SearchHits(1, List.of(1L)), index.search("cof* blue", 0, 10));
+        assertEquals(new SearchHits(2, List.of(4L, 2L)), index.search("mar*", 0, 10));
+    }
+
+    @Test
+    void outOfOrderAndRepeatedIds_ShouldBeMergedOnce() {
+        index.add(5, "coffee refund");
+        index.add(3, "coffee beans, 1kg");
+
+        assertEquals(new SearchHits(3, List.of(5L, 3L, 1L)), index.search("coffee", 0, 10));
+        assertEquals(12, index.getTermCount());
+    }
+
+    @Test
+    void queryWithoutWords_ShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.search(" ** ", 0, 10));
+    }
+}
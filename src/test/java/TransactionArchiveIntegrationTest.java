@@ -0,0 +1,228 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.archive.ArchivedTransaction;
+import org.banking.archive.TransactionArchive;
+import org.banking.archive.TransactionArchiver;
+import org.banking.dto.AccountDto;
+import org.banking.dto.TransactionDto;
+import org.banking.dto.UserDto;
+import org.banking.model.Account;
+import org.banking.model.Transaction;
+import org.banking.repository.TransactionRepository;
+import org.banking.service.AccountService;
+import org.banking.service.TransactionService;
+import org.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "banking.archive.enabled=true",
+        "banking.archive.cron=-",
+        "banking.archive.delete-batch-size=1"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class TransactionArchiveIntegrationTest {
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("banking.archive.directory", () -> archiveDirectory.toString());
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiver transactionArchiver;
+
+    @SpyBean
+    private TransactionArchive transactionArchive;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        String name = "archive" + UUID.randomUUID().toString().substring(0, 8);
+        userId = userService.createUser(
+                new UserDto(name, name + "@example.com", "password123", "Archive User", "+1234567890")).getId();
+    }
+
+    @Test
+    void writeMonth_ShouldMergePartitionsAndFindAnAccountsRowsInRange() {
+        Long accountId = account();
+        Long otherId = account();
+        LocalDateTime may = LocalDateTime.of(2019, 5, 10, 12, 0);
+
+        transactionArchive.writeMonth(YearMonth.of(2019, 5), List.of(
+                row(9_000_001L, accountId, otherId, may),
+                row(9_000_002L, otherId, null, may.plusDays(10))));
+        // A rerun after an interrupted delete merges into the existing partition
+        transactionArchive.writeMonth(YearMonth.of(2019, 5), List.of(
+                row(9_000_003L, accountId, null, LocalDateTime.of(2019, 5, 31, 23, 0)),
+                row(9_000_001L, accountId, otherId, may)));
+        transactionArchive.writeMonth(YearMonth.of(2019, 6), List.of(
+                row(9_000_004L, otherId, accountId, LocalDateTime.of(2019, 6, 1, 0, 0))));
+
+        assertTrue(Files.exists(archiveDirectory.resolve("transactions-2019-05.col.gz")));
+        assertEquals(3, transactionArchive.readMonth(YearMonth.of(2019, 5)).size());
+
+        List<Transaction> may2019 = transactionArchive.findByAccountBetween(accountId,
+                LocalDateTime.of(2019, 5, 1, 0, 0), LocalDateTime.of(2019, 6, 1, 0, 0));
+        assertEquals(List.of(9_000_003L, 9_000_001L), ids(may2019));
+        Transaction transfer = may2019.get(1);
+        assertEquals(accountId, transfer.getFromAccount().getId());
+        assertEquals(otherId, transfer.getToAccount().getId());
+        assertEquals(0, new BigDecimal("12.50").compareTo(transfer.getAmount()));
+        assertEquals(may, transfer.getCreatedAt());
+
+        assertEquals(List.of(9_000_004L, 9_000_003L), ids(transactionArchive.findByAccountBetween(accountId,
+                LocalDateTime.of(2019, 5, 20, 0, 0), LocalDateTime.of(2019, 7, 1, 0, 0))));
+        assertTrue(transactionArchive.findByAccountBetween(accountId,
+                LocalDateTime.of(2019, 6, 1, 0, 0), LocalDateTime.of(2019, 6, 1, 0, 0)).isEmpty());
+    }
+
+    @Test
+    void archivedMonths_ShouldLeaveTheHotTableAndStillBeReturnedForARange() {
+        Long accountId = account();
+        Transaction february = backdate(deposit(accountId, "10.00"), LocalDateTime.of(2020, 2, 10, 8, 0));
+        Transaction march = backdate(deposit(accountId, "20.00"), LocalDateTime.of(2020, 3, 5, 8, 0));
+        Transaction hot = deposit(accountId, "30.00");
+
+        assertEquals(2, transactionArchiver.archivePartitionsBefore(YearMonth.of(2021, 1)));
+
+        assertFalse(transactionRepository.existsById(february.getId()));
+        assertFalse(transactionRepository.existsById(march.getId()));
+        List<Long> hotOnly = ids(transactionService.getTransactionsByAccountId(accountId));
+        assertTrue(hotOnly.contains(hot.getId()));
+        assertFalse(hotOnly.contains(february.getId()));
+
+        List<Long> union = ids(transactionService.getTransactionsByAccountId(accountId,
+                LocalDateTime.of(2020, 1, 1, 0, 0), null));
+        assertEquals(List.of(hot.getId(), march.getId(), february.getId()),
+                union.stream().filter(id -> id.equals(hot.getId()) || id.equals(march.getId())
+                        || id.equals(february.getId())).toList());
+        assertEquals(List.of(february.getId()), ids(transactionService.getTransactionsByAccountId(accountId,
+                LocalDateTime.of(2020, 2, 1, 0, 0), LocalDateTime.of(2020, 3, 1, 0, 0))));
+
+        List<Long> unbounded = ids(transactionService.getTransactionsByAccountId(accountId, null, null));
+        assertTrue(unbounded.containsAll(List.of(hot.getId(), march.getId(), february.getId())));
+    }
+
+    @Test
+    void unboundedHistory_ShouldOnlyOpenMonthsContainingTheAccount() throws Exception {
+        Long accountId = account();
+        Long otherId = account();
+        transactionArchive.writeMonth(YearMonth.of(2016, 1), List.of(row(9_100_001L, otherId, null,
+                LocalDateTime.of(2016, 1, 5, 9, 0))));
+        transactionArchive.writeMonth(YearMonth.of(2016, 2), List.of(row(9_100_002L, otherId, accountId,
+                LocalDateTime.of(2016, 2, 5, 9, 0))));
+        // A partition from before sidecars existed gets one rebuilt when the index loads
+        Files.delete(archiveDirectory.resolve("transactions-2016-02.accounts"));
+        transactionArchive.loadIndex();
+        assertTrue(Files.exists(archiveDirectory.resolve("transactions-2016-02.accounts")));
+        clearInvocations(transactionArchive);
+
+        List<Long> history = ids(transactionService.getTransactionsByAccountId(accountId, null, null));
+
+        assertTrue(history.contains(9_100_002L));
+        assertFalse(history.contains(9_100_001L));
+        verify(transactionArchive).readMonth(YearMonth.of(2016, 2));
+        verify(transactionArchive, never()).readMonth(YearMonth.of(2016, 1));
+    }
+
+    @Test
+    void rowBackdatedWhileArchiving_ShouldStayHotUntilTheNextRun() {
+        Long accountId = account();
+        Transaction archived = backdate(deposit(accountId, "10.00"), LocalDateTime.of(2018, 4, 3, 8, 0));
+        AtomicBoolean raced = new AtomicBoolean();
+        Transaction[] late = new Transaction[1];
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                late[0] = backdate(deposit(accountId, "20.00"), LocalDateTime.of(2018, 4, 20, 8, 0));
+            }
+            return invocation.callRealMethod();
+        }).when(transactionArchive).writeMonth(any(YearMonth.class), anyList());
+
+        assertEquals(1, transactionArchiver.archivePartitionsBefore(YearMonth.of(2018, 7)));
+        assertFalse(transactionRepository.existsById(archived.getId()));
+        assertTrue(transactionRepository.existsById(late[0].getId()));
+
+        assertEquals(1, transactionArchiver.archivePartitionsBefore(YearMonth.of(2018, 7)));
+        assertFalse(transactionRepository.existsById(late[0].getId()));
+        assertEquals(List.of(late[0].getId(), archived.getId()), ids(transactionService.getTransactionsByAccountId(
+                accountId, LocalDateTime.of(2018, 4, 1, 0, 0), LocalDateTime.of(2018, 5, 1, 0, 0))));
+    }
+
+    private Long account() {
+        return accountService.createAccount(
+                new AccountDto(userId, Account.AccountType.CHECKING, new BigDecimal("100.00"))).getId();
+    }
+
+    private Transaction deposit(Long accountId, String amount) {
+        return transactionService.createTransaction(new TransactionDto(accountId, null, new BigDecimal(amount),
+                Transaction.TransactionType.DEPOSIT, "archive test"));
+    }
+
+    private Transaction backdate(Transaction transaction, LocalDateTime createdAt) {
+        jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE id = ?", createdAt, transaction.getId());
+        return transaction;
+    }
+
+    private static ArchivedTransaction row(long id, long fromAccountId, Long toAccountId, LocalDateTime createdAt) {
+        return new ArchivedTransaction(id, "TXN-A" + id, fromAccountId, toAccountId, new BigDecimal("12.50"),
+                toAccountId != null ? Transaction.TransactionType.TRANSFER : Transaction.TransactionType.DEPOSIT,
+                Transaction.TransactionStatus.COMPLETED, "archived", new BigDecimal("0.00"), "USD", null, null,
+                createdAt, createdAt);
+    }
+
+    private static List<Long> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).toList();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.search.SearchHits;
+import org.banking.search.TextIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the description index with {@code LIKE '%q%'} over one account holding 1M
+ * transactions. Opt-in: {@code mvn test -Dtest=TransactionSearchBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionSearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int RUNS = 20;
+    private static final String[] WORDS = {
+            "coffee", "rent", "march", "april", "groceries", "fuel", "salary", "transfer", "gym", "netflix",
+            "pharmacy", "insurance", "parking", "taxi", "restaurant", "books", "electricity", "water", "internet", "phone",
+            "bakery", "cinema", "flights", "hotel", "refund", "savings", "gift", "school", "clinic", "market"
+    };
+
+    @Test
+    void indexSearch_ShouldBeatLikeScanOnMillionRows() {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:search_benchmark;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, from_account_id BIGINT, description VARCHAR(500))");
+        jdbc.execute("CREATE INDEX idx_transactions_from_account ON transactions (from_account_id)");
+
+        TextIndex index = new TextIndex();
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (long id = 1; id <= ROWS; id++) {
+            String description = description(random);
+            index.add(id, description);
+            batch.add(new Object[]{id, 1L, description});
+            if (batch.size() == 10_000) {
+                jdbc.batchUpdate("INSERT INTO transactions VALUES (?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        for (String query : new String[]{"coffee", "rent march", "pharm*"}) {
+            String[] likes = query.replace("*", "").split(" ");
+            String where = "from_account_id = 1" + " AND LOWER(description) LIKE ?".repeat(likes.length);
+            Object[] args = new Object[likes.length];
+            for (int i = 0; i < likes.length; i++) {
+                args[i] = "%" + likes[i] + "%";
+            }
+
+            long likeTotal = 0;
+            long likeNanos = 0;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                likeTotal = jdbc.queryForObject("SELECT COUNT(*) FROM transactions WHERE " + where, Long.class, args);
+                jdbc.queryForList("SELECT id FROM transactions WHERE " + where + " ORDER BY id DESC LIMIT 20", Long.class, args);
+                likeNanos += System.nanoTime() - start;
+            }
+
+            SearchHits hits = null;
+            long indexNanos = 0;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                hits = index.search(query, 0, 20);
+                indexNanos += System.nanoTime() - start;
+            }
+
+            System.out.printf("q=%-12s matches=%-7d LIKE %8.2f ms  index %8.3f ms%n",
+                    query, hits.total(), likeNanos / 1e6 / RUNS, indexNanos / 1e6 / RUNS);
+            assertEquals(likeTotal, hits.total());
+            assertTrue(indexNanos < likeNanos, "index should be faster than LIKE for " + query);
+        }
+        System.out.printf("terms=%d postings=%d%n", index.getTermCount(), index.getPostingCount());
+    }
+
+    private static String description(Random random) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+}
@@ -8,9 +8,11 @@ import org.banking.controller.UserController;
 import org.banking.dto.UserDto;
 import org.banking.model.User;
 import org.banking.service.UserService;
+import org.banking.service.UserSummaryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -31,6 +33,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@DisabledInNativeImage
 @WebMvcTest(UserController.class)
 @SpringBootTest
 class UserControllerTest {
@@ -41,6 +44,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserSummaryService userSummaryService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,67 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.banking.event.UserChangedEvent;
+import org.banking.model.User;
+import org.banking.repository.UserRepository;
+import org.banking.search.UserDirectoryIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserDirectoryIndexTest {
+
+    private UserRepository userRepository;
+    private UserDirectoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        index = new UserDirectoryIndex();
+        ReflectionTestUtils.setField(index, "userRepository", userRepository);
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        index.registerMetrics();
+    }
+
+    @Test
+    void userDeletedWhileLoading_ShouldNotBeIndexedFromTheStaleRow() {
+        User kept = user(1L, "johndoe", "John Doe");
+        User deleted = user(2L, "johnsmith", "John Smith");
+        when(userRepository.findAll()).thenAnswer(invocation -> {
+            // The rows were read; the delete commits before the index takes its lock
+            index.onUserChanged(UserChangedEvent.deleted(2L));
+            return List.of(kept, deleted);
+        });
+
+        index.loadUsers();
+
+        assertEquals(List.of(1L), index.search("john", 10));
+    }
+
+    @Test
+    void deletionAfterLoading_ShouldStillUnindex() {
+        when(userRepository.findAll()).thenReturn(List.of(user(1L, "johndoe", "John Doe")));
+        index.loadUsers();
+
+        index.onUserChanged(UserChangedEvent.deleted(1L));
+
+        assertTrue(index.search("john", 10).isEmpty());
+    }
+
+    private static User user(Long id, String username, String fullName) {
+        User user = new User(username, username + "@example.com", "password123", fullName, "+1234567890");
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Author: Shady Ahmed
+ * Date: 2025-09-27
+ * Project: Mobile Banking API
+ * My Linked-in: https://www.linkedin.com/in/shady-ahmed97/.
+ */
+import org.banking.journal.JournalEntry;
+import org.banking.journal.WriteAheadJournal;
+import org.banking.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteAheadJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentAppends_ShouldShareFsyncsAndStayInSequence() throws Exception {
+        List<Long> durable = Collections.synchronizedList(new ArrayList<>());
+        int threads = 8;
+        int perThread = 200;
+        try (WriteAheadJournal journal = new WriteAheadJournal(directory, 1 << 20,
+                batch -> batch.forEach(entry -> durable.add(entry.sequence())))) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.execute(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(entry("T" + thread + "-" + i, thread + 1));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+            assertEquals(threads * perThread, journal.getDurableSequence());
+            assertEquals(threads * perThread, journal.getFlushedEntries());
+            assertTrue(journal.getFlushCount() < threads * perThread, "fsyncs " + journal.getFlushCount());
+        }
+        for (int i = 0; i < durable.size(); i++) {
+            assertEquals(i + 1, durable.get(i));
+        }
+    }
+
+    @Test
+    void reopenedJournal_ShouldReturnEntriesAfterCheckpoint() throws IOException {
+        try (WriteAheadJournal journal = new WriteAheadJournal(directory, 1 << 20, batch -> { })) {
+            journal.append(entry("A", 1));
+            JournalEntry withoutDescription = new JournalEntry(0, "B", 2, 3, Transaction.TransactionType.TRANSFER,
+                    new BigDecimal("12.34"), new BigDecimal("0.50"), new BigDecimal("11.39"),
+                    new BigDecimal("0.9230201218"), null, 42);
+            assertEquals(2, journal.append(withoutDescription).sequence());
+            journal.append(entry("C", 1));
+        }
+
+        try (WriteAheadJournal journal = new WriteAheadJournal(directory, 1 << 20, batch -> { })) {
+            assertEquals(3, journal.getDurableSequence());
+            List<JournalEntry> entries = journal.readAfter(1);
+            assertEquals(2, entries.size());
+            JournalEntry transfer = entries.get(0);
+            assertEquals(2, transfer.sequence());
+            assertEquals("B", transfer.transactionReference());
+            assertEquals(3, transfer.toAccountId());
+            assertEquals(new BigDecimal("12.34"), transfer.amount());
+            assertEquals(new BigDecimal("12.84"), transfer.debit());
+            assertEquals(new BigDecimal("11.39"), transfer.creditedAmount());
+            assertEquals(new BigDecimal("0.9230201218"), transfer.fxRate());
+            assertNull(transfer.description());
+            assertNull(entries.get(1).creditedAmount());
+            assertNull(entries.get(1).fxRate());
+            assertEquals(4, journal.append(entry("D", 1)).sequence());
+        }
+    }
+
+    @Test
+    void tornTail_ShouldBeCutOff() throws IOException {
+        try (WriteAheadJournal journal = new WriteAheadJournal(directory, 1 << 20, batch -> { })) {
+            journal.append(entry("A", 1));
+            journal.append(entry("B", 1));
+        }
+        Path segment = segments().get(0);
+        long intact = Files.size(segment);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(intact);
+            file.writeInt(200);
+            file.writeInt(7);
+            file.write(new byte[50]);
+        }
+
+        try (WriteAheadJournal journal = new WriteAheadJournal(directory, 1 << 20, batch -> { })) {
+            assertEquals(2, journal.getDurableSequence());
+            assertEquals(intact, Files.size(segment));
+            assertEquals(3, journal.append(entry("C", 1)).sequence());
+            assertEquals(3, journal.readAfter(0).size());
+        }
+    }
+
+    @Test
+    void segments_ShouldRollAndBeDeletedOnceApplied() throws IOException {
+        try (WriteAheadJournal journal = new WriteAheadJournal(directory, 256, batch -> { })) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(entry("R" + i, 1));
+            }
+            int rolled = journal.getSegmentCount();
+            assertTrue(rolled > 2, "segments " + rolled);
+            assertEquals(20, journal.readAfter(0).size());
+
+            assertTrue(journal.truncate(10) > 0);
+            assertEquals(10, journal.readAfter(10).size());
+            assertEquals(11, journal.readAfter(10).get(0).sequence());
+
+            assertEquals(journal.getSegmentCount() - 1, journal.truncate(20));
+            assertEquals(1, journal.getSegmentCount());
+        }
+        try (WriteAheadJournal journal = new WriteAheadJournal(directory, 256, batch -> { })) {
+            assertEquals(20, journal.getDurableSequence());
+            assertEquals(21, journal.append(entry("R20", 1)).sequence());
+        }
+    }
+
+    @Test
+    void damageBeforeTheLastSegment_ShouldFailTheOpen() throws IOException {
+        try (WriteAheadJournal journal = new WriteAheadJournal(directory, 128, batch -> { })) {
+            for (int i = 0; i < 6; i++) {
+                journal.append(entry("X" + i, 1));
+            }
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(20);
+            file.write(0x5a);
+        }
+
+        assertThrows(IOException.class, () -> new WriteAheadJournal(directory, 128, batch -> { }));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static JournalEntry entry(String reference, long fromAccountId) {
+        return new JournalEntry(0, reference, fromAccountId, 0, Transaction.TransactionType.DEPOSIT,
+                new BigDecimal("10.00"), BigDecimal.ZERO, null, null, "journal test", System.currentTimeMillis());
+    }
+}